@@ -0,0 +1,66 @@
+package trufflesom.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import trufflesom.primitives.arrays.AtPutPrim;
+import trufflesom.primitives.arrays.AtPutPrimFactory;
+import trufflesom.vm.constants.Nil;
+import trufflesom.vmobjects.SArray;
+
+
+/**
+ * Measures filling arrays with #at:put:, which goes through the storage strategy
+ * transitions from empty, over partially empty, to the specialized or object storage.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArrayStrategyBenchmark {
+  @Param({"16", "1024"}) int length;
+
+  private AtPutPrim atPut;
+
+  @Setup
+  public void setup() {
+    BenchmarkSetup.initialize();
+    atPut = AtPutPrimFactory.create(null, null, null);
+  }
+
+  @Benchmark
+  public SArray fillWithLongs() {
+    SArray arr = new SArray(length);
+    for (long i = 1; i <= length; i += 1) {
+      atPut.executeEvaluated(null, arr, i, i);
+    }
+    return arr;
+  }
+
+  @Benchmark
+  public SArray fillWithDoubles() {
+    SArray arr = new SArray(length);
+    for (long i = 1; i <= length; i += 1) {
+      atPut.executeEvaluated(null, arr, i, (double) i);
+    }
+    return arr;
+  }
+
+  @Benchmark
+  public SArray fillWithLongsThenObject() {
+    SArray arr = new SArray(length);
+    for (long i = 1; i < length; i += 1) {
+      atPut.executeEvaluated(null, arr, i, i);
+    }
+    atPut.executeEvaluated(null, arr, (long) length, Nil.nilObject);
+    atPut.executeEvaluated(null, arr, 1L, "str");
+    return arr;
+  }
+}
@@ -0,0 +1,92 @@
+package trufflesom.benchmarks;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Context.Builder;
+
+import trufflesom.Launcher;
+import trufflesom.bdt.basic.ProgramDefinitionError;
+import trufflesom.bdt.source.SourceCoordinate;
+import trufflesom.compiler.Parser;
+import trufflesom.compiler.ParserAst;
+import trufflesom.compiler.ParserBc;
+import trufflesom.compiler.SourcecodeCompiler;
+import trufflesom.compiler.SourcecodeCompiler.AstCompiler;
+import trufflesom.compiler.SourcecodeCompiler.BcCompiler;
+import trufflesom.interpreter.SomContext;
+import trufflesom.interpreter.SomLanguage;
+import trufflesom.interpreter.objectstorage.StorageAnalyzer;
+import trufflesom.vm.Universe;
+import trufflesom.vm.VmSettings;
+import trufflesom.vmobjects.SClass;
+
+
+/**
+ * Sets up a SOM context for benchmarks that use parts of the interpreter directly, similar
+ * to the setup of the unit tests. The class library is not loaded, and classes compiled for
+ * benchmarks use nil as superclass.
+ */
+public final class BenchmarkSetup {
+  private static Context context;
+  private static Universe universe;
+
+  private BenchmarkSetup() {}
+
+  public static synchronized void initialize() {
+    if (context != null) {
+      return;
+    }
+
+    StorageAnalyzer.initAccessors();
+
+    if (VmSettings.UseAstInterp) {
+      Universe.setSourceCompiler(new AstCompiler(), true);
+    } else {
+      Universe.setSourceCompiler(new BcCompiler(), true);
+    }
+
+    Builder builder = Launcher.createContextBuilder();
+    context = builder.build();
+    context.eval(SomLanguage.INIT);
+    context.enter();
+
+    universe = SomContext.get(null).useClassPath(Universe.classPathFor("Smalltalk"));
+    universe.setSelf(SomLanguage.getSyntheticSource("self", "self"),
+        SourceCoordinate.createEmpty());
+  }
+
+  /** Generate the source of a class with the given number of typical methods. */
+  public static String generateClass(final String name, final int numMethods) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(name).append(" = nil (\n");
+    sb.append("  | a b c |\n");
+    for (int i = 0; i < numMethods; i += 1) {
+      sb.append("  method").append(i).append(": x = (\n");
+      sb.append("    \"sum up some numbers\"\n");
+      sb.append("    | sum |\n");
+      sb.append("    sum := 0.\n");
+      sb.append("    1 to: x do: [:j | sum := sum + (j * ").append(i).append(") - a ].\n");
+      sb.append("    b := #(1 2 #three 'four') collect: [:e | e printString size ].\n");
+      sb.append("    ^ sum > 1000 ifTrue: [ c ] ifFalse: [ 3.14 ]\n");
+      sb.append("  )\n");
+    }
+    sb.append(")\n");
+    return sb.toString();
+  }
+
+  public static Parser<?> createParser(final String code, final boolean bytecodes) {
+    if (bytecodes) {
+      return new ParserBc(code, SomLanguage.getSyntheticSource(code, "benchmark"), null,
+          universe);
+    }
+    return new ParserAst(code, SomLanguage.getSyntheticSource(code, "benchmark"), null,
+        universe);
+  }
+
+  public static SClass compileClass(final String code) {
+    try {
+      return SourcecodeCompiler.compile(createParser(code, VmSettings.UseBcInterp), null);
+    } catch (ProgramDefinitionError e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package trufflesom.benchmarks;
+
+import static trufflesom.vm.SymbolTable.symbolFor;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
+
+import trufflesom.interpreter.SomLanguage;
+import trufflesom.interpreter.nodes.dispatch.AbstractDispatchNode;
+import trufflesom.interpreter.nodes.dispatch.UninitializedDispatchNode;
+import trufflesom.vmobjects.SObject;
+import trufflesom.vmobjects.SSymbol;
+
+
+/**
+ * Measures specializing a dispatch chain for a number of receiver classes, and dispatching
+ * through an already specialized chain. With more receiver classes than the inline cache
+ * size, the chain goes megamorphic.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DispatchBenchmark {
+  @Param({"1", "4", "8"}) int numClasses;
+
+  private static final class DispatchRoot extends RootNode {
+    @Child private AbstractDispatchNode dispatch;
+
+    DispatchRoot(final SSymbol selector) {
+      super(SomLanguage.getCurrent());
+      dispatch = new UninitializedDispatchNode(selector);
+    }
+
+    @Override
+    public Object execute(final VirtualFrame frame) {
+      return dispatch.executeDispatch(frame, frame.getArguments());
+    }
+  }
+
+  private SSymbol    selector;
+  private Object[]   receivers;
+  private CallTarget specialized;
+
+  @Setup
+  public void setup() {
+    BenchmarkSetup.initialize();
+    selector = symbolFor("compute:");
+
+    receivers = new Object[numClasses];
+    for (int i = 0; i < numClasses; i += 1) {
+      receivers[i] = SObject.create(BenchmarkSetup.compileClass(
+          "DispatchTarget" + i + " = nil ( | f | compute: x = ( f := x + " + i + ". ^ f ) )"));
+    }
+
+    specialized = new DispatchRoot(selector).getCallTarget();
+    dispatchAll(specialized);
+  }
+
+  /** Creating the call target adopts the dispatch node, so that it can replace itself. */
+  private Object dispatchAll(final CallTarget target) {
+    Object result = null;
+    for (Object rcvr : receivers) {
+      result = target.call(rcvr, 1L);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public Object specializeChain() {
+    return dispatchAll(new DispatchRoot(selector).getCallTarget());
+  }
+
+  @Benchmark
+  public Object dispatchThroughChain() {
+    return dispatchAll(specialized);
+  }
+}
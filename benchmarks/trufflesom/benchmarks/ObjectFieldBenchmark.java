@@ -0,0 +1,92 @@
+package trufflesom.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import trufflesom.interpreter.objectstorage.StorageLocation;
+import trufflesom.vmobjects.SClass;
+import trufflesom.vmobjects.SObject;
+
+
+/**
+ * Measures reading and writing fields of an {@link SObject} through its
+ * {@link StorageLocation}s. With 7 fields, the last two fields are stored in the extension
+ * arrays.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ObjectFieldBenchmark {
+  private static final int NUM_FIELDS = 7;
+
+  @Param({"long", "double", "object"}) String fieldType;
+
+  private SObject           obj;
+  private StorageLocation[] locations;
+  private Object[]          values;
+
+  @Setup
+  public void setup() {
+    BenchmarkSetup.initialize();
+    SClass clazz = BenchmarkSetup.compileClass(
+        "ObjectFieldBenchmark = nil ( | a b c d e f g | )");
+
+    values = new Object[NUM_FIELDS];
+    for (int i = 0; i < NUM_FIELDS; i += 1) {
+      switch (fieldType) {
+        case "long":
+          values[i] = (long) i;
+          break;
+        case "double":
+          values[i] = (double) i;
+          break;
+        default:
+          values[i] = "field" + i;
+          break;
+      }
+    }
+
+    obj = SObject.create(clazz);
+    for (int i = 0; i < NUM_FIELDS; i += 1) {
+      obj.setUninitializedField(i, values[i]);
+    }
+
+    locations = new StorageLocation[NUM_FIELDS];
+    for (int i = 0; i < NUM_FIELDS; i += 1) {
+      locations[i] = obj.getObjectLayout().getStorageLocation(i);
+    }
+  }
+
+  @Benchmark
+  public void readFields(final Blackhole bh) {
+    for (StorageLocation location : locations) {
+      bh.consume(location.read(obj));
+    }
+  }
+
+  @Benchmark
+  public SObject writeFields() {
+    for (int i = 0; i < NUM_FIELDS; i += 1) {
+      locations[i].write(obj, values[i]);
+    }
+    return obj;
+  }
+
+  @Benchmark
+  public SObject createAndInitialize() {
+    SObject o = SObject.create(obj.getSOMClass());
+    for (int i = 0; i < NUM_FIELDS; i += 1) {
+      o.setField(i, values[i]);
+    }
+    return o;
+  }
+}
@@ -0,0 +1,47 @@
+package trufflesom.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import trufflesom.bdt.basic.ProgramDefinitionError;
+import trufflesom.compiler.ClassGenerationContext;
+import trufflesom.compiler.SourcecodeCompiler;
+import trufflesom.vmobjects.SClass;
+
+
+/** Measures the time to parse and assemble a class with the AST and bytecode parsers. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParserBenchmark {
+  @Param({"AST", "BC"}) String parser;
+
+  @Param({"10", "100"}) int numMethods;
+
+  private String code;
+
+  @Setup
+  public void setup() {
+    BenchmarkSetup.initialize();
+    code = BenchmarkSetup.generateClass("ParserBenchmark", numMethods);
+  }
+
+  @Benchmark
+  public ClassGenerationContext parseClass() throws ProgramDefinitionError {
+    return SourcecodeCompiler.parse(BenchmarkSetup.createParser(code, "BC".equals(parser)));
+  }
+
+  @Benchmark
+  public SClass compileClass() throws ProgramDefinitionError {
+    return SourcecodeCompiler.compile(
+        BenchmarkSetup.createParser(code, "BC".equals(parser)), null);
+  }
+}
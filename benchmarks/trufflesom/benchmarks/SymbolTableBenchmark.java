@@ -0,0 +1,52 @@
+package trufflesom.benchmarks;
+
+import static trufflesom.vm.SymbolTable.symbolFor;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import trufflesom.vmobjects.SSymbol;
+
+
+/** Measures looking up symbols that already exist, and creating new ones. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SymbolTableBenchmark {
+  private static final int NUM_SYMBOLS = 1000;
+
+  private String[] existing;
+
+  private int next;
+
+  @Setup
+  public void setup() {
+    existing = new String[NUM_SYMBOLS];
+    for (int i = 0; i < NUM_SYMBOLS; i += 1) {
+      // new strings, so that the lookup cannot rely on the string being interned
+      existing[i] = new String("existing:symbol:" + i);
+      symbolFor(existing[i]);
+    }
+  }
+
+  @Benchmark
+  public void lookupExisting(final Blackhole bh) {
+    for (String s : existing) {
+      bh.consume(symbolFor(s));
+    }
+  }
+
+  @Benchmark
+  public SSymbol createNew() {
+    next += 1;
+    return symbolFor("new:symbol:" + next);
+  }
+}
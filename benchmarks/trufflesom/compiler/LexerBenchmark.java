@@ -0,0 +1,43 @@
+package trufflesom.compiler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import trufflesom.benchmarks.BenchmarkSetup;
+
+
+/**
+ * Measures the throughput of the {@link Lexer}. It is in the compiler package, because the
+ * lexer is only accessible to the parser.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LexerBenchmark {
+  @Param({"10", "100"}) int numMethods;
+
+  private String code;
+
+  @Setup
+  public void setup() {
+    code = BenchmarkSetup.generateClass("LexerBenchmark", numMethods);
+  }
+
+  @Benchmark
+  public int lexClass() {
+    Lexer lexer = new Lexer(code);
+    int numSymbols = 0;
+    while (lexer.getSym() != Symbol.NONE) {
+      numSymbols += 1;
+    }
+    return numSymbols;
+  }
+}
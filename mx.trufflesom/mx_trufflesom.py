@@ -5,7 +5,7 @@ from argparse import ArgumentParser
 
 import mx
 
-INTERP_TYPES = ["AST", "BC"]
+INTERP_TYPES = ["AST", "BC", "RBC"]
 
 suite = mx.suite("trufflesom")
 
@@ -72,6 +72,14 @@ bn_parser.add_argument(
     default=False,
     help="disables the JIT compiler, creating an interpreter-only binary.",
 )
+bn_parser.add_argument(
+    "-p",
+    "--preinit",
+    action="store_true",
+    dest="preinit",
+    default=False,
+    help="load the core library at build time, storing the initialized object system in the image heap.",
+)
 bn_parser.add_argument(
     "-g1",
     "--use-g1",
@@ -115,6 +123,9 @@ def get_output_name(opt):
 
     output_name += "-" + opt.type.lower()
 
+    if opt.preinit:
+        output_name += "-preinit"
+
     return output_name
 
 
@@ -193,6 +204,16 @@ def build_native(args, **kwargs):
     if opt.without_jit:
         cmd += ["-Dsom.jitCompiler=false"]
 
+    if opt.preinit:
+        # The SOM context is created and the system classes are loaded at build time.
+        # At run time, the classes on the -cp are loaded as usual. If the -cp resolves
+        # the system classes to other files, they are loaded anew.
+        ensure_core_lib_is_available()
+        cmd += [
+            "-Dpolyglot.image-build-time.PreinitializeContexts=som",
+            "-Dpolyglot.som.CLASS_PATH=" + suite.dir + "/Smalltalk",
+        ]
+
     # -H:+PrintAnalysisCallTree
     # -H:+PrintRuntimeCompileMethods
     # -H:+PrintMethodHistogram
@@ -302,6 +323,8 @@ def tests_native(args, **kwargs):
         "som-native-interp-ast",
         "som-native-bc",
         "som-native-interp-bc",
+        "som-native-ast-preinit",
+        "som-native-bc-preinit",
     ]
 
     did_run = False
@@ -336,6 +359,17 @@ def tests_coverage(args, **kwargs):
     mx.run(["tests/tools/coverage/test.sh"])
 
 
+@mx.command(suite.name, "jmh")
+def jmh(args, **kwargs):
+    """run the JMH microbenchmarks, arguments are passed to JMH, e.g., ParserBenchmark -f 1"""
+    cp = mx.classpath(["TRUFFLESOM_BENCHMARKS", "mx:JMH_1_21"])
+    vm_args = [a for a in args if a.startswith("-Dsom.")]
+    jmh_args = [a for a in args if not a.startswith("-Dsom.")]
+    if vm_args:
+        jmh_args = ["-jvmArgsAppend", " ".join(vm_args)] + jmh_args
+    mx.run_java(vm_args + ["-cp", cp, "org.openjdk.jmh.Main"] + jmh_args)
+
+
 @mx.command(suite.name, "tests-update-data")
 def tests_update_data(args, **kwargs):
     """update expected data for tests"""
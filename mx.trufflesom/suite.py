@@ -70,6 +70,19 @@ suite = {
             "annotationProcessors": ["truffle:TRUFFLE_DSL_PROCESSOR"],
             "testProject": True,
         },
+        "benchmarks": {
+            "dir": ".",
+            "sourceDirs": ["benchmarks"],
+            "requires": [
+                "java.logging",
+            ],
+            "dependencies": ["truffle:TRUFFLE_API", "TRUFFLESOM", "mx:JMH_1_21"],
+            "checkstyle": "trufflesom",
+            "javaCompliance": "17+",
+            "workingSets": "TruffleSOM",
+            "annotationProcessors": ["mx:JMH_1_21"],
+            "testProject": True,
+        },
     },
     "distributions": {
         "TRUFFLESOM": {
@@ -98,5 +111,13 @@ suite = {
             "distDependencies": ["TRUFFLESOM", "truffle:TRUFFLE_TEST"],
             "testDistribution": True,
         },
+        "TRUFFLESOM_BENCHMARKS": {
+            "description": "TruffleSOM JMH Microbenchmarks",
+            "javaCompliance": "17+",
+            "dependencies": ["benchmarks"],
+            "exclude": ["mx:JMH_1_21"],
+            "distDependencies": ["TRUFFLESOM"],
+            "testDistribution": True,
+        },
     },
 }
@@ -2,6 +2,7 @@ package trufflesom;
 
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Context.Builder;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.Value;
 
 import trufflesom.interpreter.SomLanguage;
@@ -33,6 +34,40 @@ public class Launcher {
     return returnCode;
   }
 
+  /**
+   * Create an engine to be shared by many contexts. The contexts of a shared engine reuse the
+   * classes loaded by earlier contexts with the same class path, including their compiled
+   * code.
+   */
+  public static Engine createSharedEngine() {
+    Engine.Builder builder = Engine.newBuilder(SomLanguage.LANG_ID);
+    builder.logHandler(System.err);
+
+    if (!VmSettings.UseJitCompiler) {
+      builder.option("engine.Compilation", "false");
+    }
+    return builder.build();
+  }
+
+  /**
+   * Run SOM with the given arguments in a new context of the shared engine.
+   *
+   * @return the exit code
+   */
+  public static int eval(final Engine engine, final String[] arguments) {
+    Builder builder = createContextBuilder();
+    builder.engine(engine);
+    builder.arguments(SomLanguage.LANG_ID, arguments);
+
+    try (Context context = builder.build()) {
+      Value returnCode = context.eval(SomLanguage.START);
+      if (returnCode.isNumber()) {
+        return returnCode.asInt();
+      }
+      return 0;
+    }
+  }
+
   public static Builder createContextBuilder() {
     Builder builder = Context.newBuilder(SomLanguage.LANG_ID)
                              .in(System.in)
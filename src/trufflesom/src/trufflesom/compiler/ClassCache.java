@@ -0,0 +1,643 @@
+package trufflesom.compiler;
+
+import static trufflesom.vm.SymbolTable.symbolFor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.source.Source;
+
+import trufflesom.compiler.Parser.ParseError;
+import trufflesom.compiler.Variable.Argument;
+import trufflesom.compiler.Variable.Internal;
+import trufflesom.compiler.Variable.Local;
+import trufflesom.compiler.bc.BytecodeMethodGenContext;
+import trufflesom.interpreter.LexicalScope;
+import trufflesom.interpreter.Method;
+import trufflesom.interpreter.bc.Bytecodes;
+import trufflesom.interpreter.nodes.ArgumentReadNode.LocalArgumentReadNode;
+import trufflesom.interpreter.nodes.ExpressionNode;
+import trufflesom.interpreter.nodes.FieldNode.FieldReadNode;
+import trufflesom.interpreter.nodes.FieldNode.FieldWriteNode;
+import trufflesom.interpreter.nodes.FieldNode.WriteAndReturnSelf;
+import trufflesom.interpreter.nodes.GlobalNode;
+import trufflesom.interpreter.nodes.ReturnNonLocalNode.CatchNonLocalReturnNode;
+import trufflesom.interpreter.nodes.bc.BytecodeLoopNode;
+import trufflesom.interpreter.nodes.bc.BytecodeLoopNode.BackJump;
+import trufflesom.interpreter.nodes.literals.BlockNode;
+import trufflesom.interpreter.nodes.literals.LiteralNode;
+import trufflesom.primitives.Primitives;
+import trufflesom.vm.Universe;
+import trufflesom.vm.constants.Nil;
+import trufflesom.vmobjects.SClass;
+import trufflesom.vmobjects.SInvokable;
+import trufflesom.vmobjects.SInvokable.SMethod;
+import trufflesom.vmobjects.SInvokable.SPrimitive;
+import trufflesom.vmobjects.SSymbol;
+
+
+/**
+ * On-disk cache for the classes compiled by the bytecode compiler, enabled with
+ * {@code -Dsom.classCache=<dir>}.
+ *
+ * <p>
+ * An entry holds the state of the {@link ClassGenerationContext} after parsing, i.e., the
+ * fields, and for each method and block the bytecodes, literals, and variables, or the
+ * trivial method body. Entries are keyed by the path of the source file, and are used only
+ * when the hash of the source, the format version, and the fields inherited from the
+ * superclass still match. Otherwise, the class is parsed as usual and the entry replaced.
+ *
+ * <p>
+ * Bytecodes are stored as emitted by the compiler. Superinstructions and register code are
+ * created again when restoring a method, so that the entries do not depend on these settings.
+ */
+public final class ClassCache {
+  private static final int MAGIC   = 0x534f4d43; // SOMC
+  private static final int VERSION = 1;
+
+  private static final byte PRIMITIVE = 0;
+  private static final byte METHOD    = 1;
+
+  private static final byte ARGUMENT = 0;
+  private static final byte LOCAL    = 1;
+  private static final byte INTERNAL = 2;
+
+  private static final byte BODY_BYTECODES   = 0;
+  private static final byte BODY_LITERAL     = 1;
+  private static final byte BODY_GLOBAL      = 2;
+  private static final byte BODY_FIELD_READ  = 3;
+  private static final byte BODY_FIELD_WRITE = 4;
+
+  private static final byte LIT_NIL    = 0;
+  private static final byte LIT_TRUE   = 1;
+  private static final byte LIT_FALSE  = 2;
+  private static final byte LIT_LONG   = 3;
+  private static final byte LIT_DOUBLE = 4;
+  private static final byte LIT_BIGINT = 5;
+  private static final byte LIT_STRING = 6;
+  private static final byte LIT_SYMBOL = 7;
+  private static final byte LIT_BLOCK  = 8;
+
+  private final File directory;
+
+  public ClassCache(final File directory) {
+    this.directory = directory;
+  }
+
+  private File getCacheFile(final Source source) {
+    String path = source.getPath();
+    return new File(directory,
+        source.getName() + "-" + Integer.toHexString(path.hashCode()) + ".somc");
+  }
+
+  private static byte[] hashContent(final Source source) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return digest.digest(
+          source.getCharacters().toString().getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @return the restored class generation context, or null if there is no valid entry
+   */
+  @TruffleBoundary
+  public ClassGenerationContext load(final Source source, final Universe universe) {
+    if (source.getPath() == null) {
+      return null;
+    }
+
+    File file = getCacheFile(source);
+    if (!file.isFile()) {
+      return null;
+    }
+
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      ByteBuffer in = channel.map(MapMode.READ_ONLY, 0, channel.size());
+      return new Reader(in, source, universe).readClass();
+    } catch (IOException | RuntimeException | ParseError e) {
+      // stale or damaged entries are ignored, the class is simply parsed
+      return null;
+    }
+  }
+
+  @TruffleBoundary
+  public void store(final ClassGenerationContext cgenc) {
+    Source source = cgenc.getSource();
+    if (source.getPath() == null) {
+      return;
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try {
+      new Writer(new DataOutputStream(bytes)).writeClass(cgenc);
+    } catch (NotCacheable e) {
+      return;
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+
+    try {
+      Files.createDirectories(directory.toPath());
+      File file = getCacheFile(source);
+      File tmp = File.createTempFile(file.getName(), ".tmp", directory);
+      Files.write(tmp.toPath(), bytes.toByteArray());
+      Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      // the cache is only an optimization, failing to write it is not an error
+    }
+  }
+
+  /** Thrown when a class contains something the cache format does not support. */
+  @SuppressWarnings("serial")
+  private static final class NotCacheable extends Exception {
+    NotCacheable(final String message) {
+      super(message, null, false, false);
+    }
+  }
+
+  private static final class Writer {
+    private final DataOutputStream out;
+
+    Writer(final DataOutputStream out) {
+      this.out = out;
+    }
+
+    void writeClass(final ClassGenerationContext cgenc) throws IOException, NotCacheable {
+      Source source = cgenc.getSource();
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(Bytecodes.NUM_BYTECODES);
+      writeString(source.getPath());
+      writeBytes(hashContent(source));
+
+      String name = cgenc.getName().getString();
+      writeString(name);
+      out.writeLong(cgenc.getSourceCoord());
+      if ("Object".equals(name)) {
+        out.writeLong(cgenc.getUniverse().getSelfCoord());
+      }
+
+      SClass superClass = cgenc.getInstanceSuperClass();
+      writeString(superClass == null ? "" : superClass.getName().getString());
+
+      writeFields(cgenc.getInstanceFields(),
+          superClass == null ? 0 : superClass.getInstanceFieldDefinitions().length);
+      writeInvokables(cgenc.getInstanceMethods());
+
+      writeFields(cgenc.getClassFields(), superClass == null ? 0
+          : superClass.getSOMClass().getInstanceFieldDefinitions().length);
+      writeInvokables(cgenc.getClassMethods());
+    }
+
+    private void writeString(final String str) throws IOException {
+      writeBytes(str.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeBytes(final byte[] bytes) throws IOException {
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+
+    private void writeFields(final List<Field> fields, final int numInherited)
+        throws IOException {
+      out.writeInt(numInherited);
+      for (int i = 0; i < numInherited; i += 1) {
+        writeString(fields.get(i).getName().getString());
+      }
+
+      out.writeInt(fields.size() - numInherited);
+      for (int i = numInherited; i < fields.size(); i += 1) {
+        Field f = fields.get(i);
+        writeString(f.getName().getString());
+        out.writeLong(f.getSourceCoordinate());
+      }
+    }
+
+    private void writeInvokables(final Iterable<SInvokable> invokables)
+        throws IOException, NotCacheable {
+      List<SInvokable> list = new ArrayList<>();
+      invokables.forEach(list::add);
+
+      out.writeInt(list.size());
+      for (SInvokable i : list) {
+        if (i instanceof SPrimitive) {
+          out.writeByte(PRIMITIVE);
+          writeString(i.getSignature().getString());
+          out.writeLong(i.getSourceCoordinate());
+        } else {
+          out.writeByte(METHOD);
+          writeMethod((SMethod) i);
+        }
+      }
+    }
+
+    private void writeMethod(final SMethod method) throws IOException, NotCacheable {
+      Method invokable = (Method) method.getInvokable();
+      LexicalScope scope = invokable.getScope();
+
+      writeString(method.getSignature().getString());
+      writeString(invokable.getName());
+      out.writeLong(invokable.getSourceCoordinate());
+
+      Variable[] variables = scope.getVariables();
+      out.writeInt(variables.length);
+      for (Variable v : variables) {
+        writeVariable(v);
+      }
+      out.writeInt(scope.getNumberOfLocals());
+
+      writeBody(getBody(invokable), variables);
+    }
+
+    private void writeVariable(final Variable variable) throws IOException {
+      if (variable instanceof Argument a) {
+        out.writeByte(ARGUMENT);
+        out.writeInt(a.index);
+      } else if (variable instanceof Internal i) {
+        out.writeByte(INTERNAL);
+        out.writeInt(i.getIndex());
+      } else {
+        out.writeByte(LOCAL);
+        out.writeInt(((Local) variable).getIndex());
+      }
+      writeString(variable.name);
+      out.writeLong(variable.coord);
+    }
+
+    private static ExpressionNode getBody(final Method method) {
+      for (Node n : method.getChildren()) {
+        return (ExpressionNode) n;
+      }
+      throw new IllegalStateException("Method without body: " + method);
+    }
+
+    private void writeBody(final ExpressionNode methodBody, final Variable[] variables)
+        throws IOException, NotCacheable {
+      ExpressionNode body = methodBody;
+      if (body instanceof CatchNonLocalReturnNode c) {
+        out.writeInt(c.getOnStackMarker().getIndex());
+        body = c.getFirstMethodBodyNode();
+      } else {
+        out.writeInt(-1);
+      }
+
+      if (body instanceof BytecodeLoopNode bc) {
+        out.writeByte(BODY_BYTECODES);
+        writeBytecodes(bc);
+      } else if (body instanceof LiteralNode && !(body instanceof BlockNode)) {
+        out.writeByte(BODY_LITERAL);
+        writeLiteral(body.executeGeneric(null));
+      } else if (body instanceof GlobalNode g) {
+        if (g.getGlobalName() == null) {
+          out.writeByte(BODY_LITERAL);
+          writeLiteral(g.executeGeneric(null));
+        } else {
+          out.writeByte(BODY_GLOBAL);
+          writeString(g.getGlobalName().getString());
+        }
+      } else if (body instanceof FieldReadNode f) {
+        out.writeByte(BODY_FIELD_READ);
+        out.writeInt(f.getFieldIndex());
+        Argument self = ((LocalArgumentReadNode) f.getSelf()).getArg();
+        out.writeBoolean(!Arrays.asList(variables).contains(self));
+      } else if (body instanceof WriteAndReturnSelf w) {
+        FieldWriteNode write = w.getWrite();
+        out.writeByte(BODY_FIELD_WRITE);
+        out.writeInt(write.getFieldIndex());
+        out.writeInt(((LocalArgumentReadNode) write.getValue()).getArg().index);
+      } else {
+        throw new NotCacheable("Unsupported method body: " + body);
+      }
+    }
+
+    private void writeBytecodes(final BytecodeLoopNode node)
+        throws IOException, NotCacheable {
+      byte[] bytecodes = node.getBytecodeArray().clone();
+      int i = 0;
+      while (i < bytecodes.length) {
+        bytecodes[i] = Bytecodes.getOriginalBytecode(bytecodes[i]);
+        i += Bytecodes.getBytecodeLength(bytecodes[i]);
+      }
+      writeBytes(bytecodes);
+
+      out.writeInt(node.getNumberOfLocals());
+      out.writeInt(node.getMaximumNumberOfStackElements());
+      out.writeInt(node.getFrameOnStackMarkerIndex());
+      out.writeInt(node.getContextLevel());
+
+      BackJump[] loops = node.getInlinedLoops();
+      out.writeInt(loops.length);
+      for (BackJump l : loops) {
+        out.writeInt(l.getLoopBeginIdx());
+        out.writeInt(l.getBackwardsJumpIdx());
+      }
+
+      Object[] literals = node.getLiterals();
+      out.writeInt(literals.length);
+      for (Object l : literals) {
+        writeLiteral(l);
+      }
+    }
+
+    private void writeLiteral(final Object literal) throws IOException, NotCacheable {
+      if (literal == Nil.nilObject) {
+        out.writeByte(LIT_NIL);
+      } else if (literal == Boolean.TRUE) {
+        out.writeByte(LIT_TRUE);
+      } else if (literal == Boolean.FALSE) {
+        out.writeByte(LIT_FALSE);
+      } else if (literal instanceof Long l) {
+        out.writeByte(LIT_LONG);
+        out.writeLong(l);
+      } else if (literal instanceof Double d) {
+        out.writeByte(LIT_DOUBLE);
+        out.writeDouble(d);
+      } else if (literal instanceof BigInteger b) {
+        out.writeByte(LIT_BIGINT);
+        writeBytes(b.toByteArray());
+      } else if (literal instanceof String s) {
+        out.writeByte(LIT_STRING);
+        writeString(s);
+      } else if (literal instanceof SSymbol s) {
+        out.writeByte(LIT_SYMBOL);
+        writeString(s.getString());
+      } else if (literal instanceof SMethod m) {
+        out.writeByte(LIT_BLOCK);
+        writeMethod(m);
+      } else {
+        throw new NotCacheable("Unsupported literal: " + literal);
+      }
+    }
+  }
+
+  private static final class Reader {
+    private final ByteBuffer in;
+    private final Source     source;
+    private final Universe   universe;
+
+    Reader(final ByteBuffer in, final Source source, final Universe universe) {
+      this.in = in;
+      this.source = source;
+      this.universe = universe;
+    }
+
+    ClassGenerationContext readClass() throws ParseError {
+      if (in.getInt() != MAGIC || in.getInt() != VERSION
+          || in.getInt() != Bytecodes.NUM_BYTECODES) {
+        return null;
+      }
+
+      if (!source.getPath().equals(readString())
+          || !Arrays.equals(hashContent(source), readBytes())) {
+        return null;
+      }
+
+      ClassGenerationContext cgenc = new ClassGenerationContext(source, null, universe);
+      String name = readString();
+      cgenc.setName(symbolFor(name));
+      cgenc.setSourceCoord(in.getLong());
+      if ("Object".equals(name)) {
+        universe.setSelf(source, in.getLong());
+      }
+
+      String superName = readString();
+      if (!superName.isEmpty()) {
+        SClass superClass = universe.loadClass(symbolFor(superName));
+        if (superClass == null) {
+          return null;
+        }
+        cgenc.setSuperClass(superClass);
+      }
+
+      if (!readFields(cgenc, cgenc.getInstanceFields())) {
+        return null;
+      }
+
+      int numMethods = in.getInt();
+      for (int i = 0; i < numMethods; i += 1) {
+        cgenc.addInstanceMethod(readInvokable(), null);
+      }
+
+      cgenc.switchToClassSide();
+      if (!readFields(cgenc, cgenc.getClassFields())) {
+        return null;
+      }
+
+      numMethods = in.getInt();
+      for (int i = 0; i < numMethods; i += 1) {
+        cgenc.addClassMethod(readInvokable(), null);
+      }
+
+      return cgenc;
+    }
+
+    private byte[] readBytes() {
+      byte[] bytes = new byte[in.getInt()];
+      in.get(bytes);
+      return bytes;
+    }
+
+    private String readString() {
+      return new String(readBytes(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Check that the inherited fields are unchanged, and add the fields of the class itself.
+     */
+    private boolean readFields(final ClassGenerationContext cgenc,
+        final List<Field> fields) {
+      int numInherited = in.getInt();
+      if (numInherited != fields.size()) {
+        return false;
+      }
+
+      for (int i = 0; i < numInherited; i += 1) {
+        if (!fields.get(i).getName().getString().equals(readString())) {
+          return false;
+        }
+      }
+
+      int numFields = in.getInt();
+      for (int i = 0; i < numFields; i += 1) {
+        SSymbol name = symbolFor(readString());
+        long coord = in.getLong();
+        if (cgenc.isClassSide()) {
+          cgenc.addClassField(name, coord);
+        } else {
+          cgenc.addInstanceField(name, coord);
+        }
+      }
+      return true;
+    }
+
+    private SInvokable readInvokable() {
+      byte kind = in.get();
+      if (kind == PRIMITIVE) {
+        SSymbol signature = symbolFor(readString());
+        return Primitives.constructEmptyPrimitive(
+            signature, source, in.getLong(), null, universe.getLanguage());
+      }
+
+      assert kind == METHOD;
+      return readMethod(null);
+    }
+
+    private SMethod readMethod(final LexicalScope outerScope) {
+      SSymbol signature = symbolFor(readString());
+      String identifier = readString();
+      long coord = in.getLong();
+
+      LexicalScope scope = new LexicalScope(outerScope);
+      Variable[] variables = new Variable[in.getInt()];
+      for (int i = 0; i < variables.length; i += 1) {
+        variables[i] = readVariable();
+      }
+      scope.setVariables(variables);
+      scope.finalizeVariables(in.getInt());
+
+      List<SMethod> embeddedBlocks = new ArrayList<>();
+      int onStackMarkerIndex = in.getInt();
+      ExpressionNode body = readBody(scope, embeddedBlocks);
+      body.initialize(coord);
+
+      if (onStackMarkerIndex != -1) {
+        body = new CatchNonLocalReturnNode(
+            body, (Internal) scope.getLocal(onStackMarkerIndex)).initialize(
+                body.getSourceCoordinate());
+      }
+
+      Method method = new Method(identifier, source, coord, body, scope,
+          (ExpressionNode) body.deepCopy(), universe.getLanguage());
+      return new SMethod(signature, method, embeddedBlocks.toArray(new SMethod[0]));
+    }
+
+    private Variable readVariable() {
+      byte kind = in.get();
+      int index = in.getInt();
+      // names are compared by identity, as done for the names produced by the parser
+      String name = readString().intern();
+      long coord = in.getLong();
+
+      switch (kind) {
+        case ARGUMENT:
+          return new Argument(name, index, coord);
+        case LOCAL:
+          return new Local(name, coord, index);
+        case INTERNAL:
+          return new Internal(name, coord, index);
+        default:
+          throw new IllegalStateException("Unknown kind of variable: " + kind);
+      }
+    }
+
+    private static Argument getArgument(final LexicalScope scope, final int index) {
+      for (Variable v : scope.getVariables()) {
+        if (v instanceof Argument a && a.index == index) {
+          return a;
+        }
+      }
+      throw new IllegalStateException("Argument " + index + " not found");
+    }
+
+    private ExpressionNode readBody(final LexicalScope scope,
+        final List<SMethod> embeddedBlocks) {
+      byte kind = in.get();
+      switch (kind) {
+        case BODY_BYTECODES:
+          return readBytecodes(scope, embeddedBlocks);
+        case BODY_LITERAL:
+          return LiteralNode.create(readLiteral(scope, embeddedBlocks));
+        case BODY_GLOBAL:
+          return GlobalNode.create(symbolFor(readString()), universe.getGlobals(), null);
+        case BODY_FIELD_READ: {
+          int fieldIdx = in.getInt();
+          boolean selfOfOuterScope = in.get() != 0;
+          Argument self = getArgument(
+              selfOfOuterScope ? scope.getOuterScope() : scope, 0);
+          return new FieldReadNode(new LocalArgumentReadNode(self), fieldIdx);
+        }
+        case BODY_FIELD_WRITE: {
+          int fieldIdx = in.getInt();
+          int argIdx = in.getInt();
+          return FieldWriteNode.createForMethod(
+              fieldIdx, getArgument(scope, 0), getArgument(scope, argIdx));
+        }
+        default:
+          throw new IllegalStateException("Unknown kind of method body: " + kind);
+      }
+    }
+
+    private BytecodeLoopNode readBytecodes(final LexicalScope scope,
+        final List<SMethod> embeddedBlocks) {
+      byte[] bytecodes = readBytes();
+      int numLocals = in.getInt();
+      int maxStackDepth = in.getInt();
+      int frameOnStackMarkerIndex = in.getInt();
+      int contextLevel = in.getInt();
+
+      BackJump[] loops = new BackJump[in.getInt()];
+      for (int i = 0; i < loops.length; i += 1) {
+        loops[i] = new BackJump(in.getInt(), in.getInt());
+      }
+
+      Object[] literals = new Object[in.getInt()];
+      for (int i = 0; i < literals.length; i += 1) {
+        literals[i] = readLiteral(scope, embeddedBlocks);
+      }
+
+      return BytecodeMethodGenContext.createBytecodeBody(bytecodes, numLocals, literals,
+          maxStackDepth, frameOnStackMarkerIndex, loops, contextLevel);
+    }
+
+    private Object readLiteral(final LexicalScope scope, final List<SMethod> embeddedBlocks) {
+      byte kind = in.get();
+      switch (kind) {
+        case LIT_NIL:
+          return Nil.nilObject;
+        case LIT_TRUE:
+          return true;
+        case LIT_FALSE:
+          return false;
+        case LIT_LONG:
+          return in.getLong();
+        case LIT_DOUBLE:
+          return in.getDouble();
+        case LIT_BIGINT:
+          return new BigInteger(readBytes());
+        case LIT_STRING:
+          return readString();
+        case LIT_SYMBOL:
+          return symbolFor(readString());
+        case LIT_BLOCK: {
+          SMethod block = readMethod(scope);
+          scope.addEmbeddedScope(((Method) block.getInvokable()).getScope());
+          embeddedBlocks.add(block);
+          return block;
+        }
+        default:
+          throw new IllegalStateException("Unknown kind of literal: " + kind);
+      }
+    }
+  }
+}
@@ -27,6 +27,7 @@ package trufflesom.compiler;
 import static trufflesom.vm.SymbolTable.symbolFor;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 
@@ -37,7 +38,7 @@ import com.oracle.truffle.api.source.SourceSection;
 import trufflesom.bdt.source.SourceCoordinate;
 import trufflesom.bdt.tools.structure.StructuralProbe;
 import trufflesom.compiler.Parser.ParseError;
-import trufflesom.vm.Classes;
+import trufflesom.vm.Universe;
 import trufflesom.vmobjects.SClass;
 import trufflesom.vmobjects.SInvokable;
 import trufflesom.vmobjects.SInvokable.SPrimitive;
@@ -48,12 +49,15 @@ public final class ClassGenerationContext {
   private final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> structuralProbe;
 
   public ClassGenerationContext(final Source source,
-      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> structuralProbe) {
+      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> structuralProbe,
+      final Universe universe) {
     this.source = source;
     this.structuralProbe = structuralProbe;
+    this.universe = universe;
   }
 
-  private final Source source;
+  private final Source   source;
+  private final Universe universe;
 
   private SSymbol name;
   private SClass  superClass;
@@ -81,6 +85,11 @@ public final class ClassGenerationContext {
     return source;
   }
 
+  /** The universe the class is loaded into. */
+  public Universe getUniverse() {
+    return universe;
+  }
+
   public long getSourceCoord() {
     return sourceCoord;
   }
@@ -197,6 +206,26 @@ public final class ClassGenerationContext {
     return classSide;
   }
 
+  SClass getInstanceSuperClass() {
+    return superClass;
+  }
+
+  List<Field> getInstanceFields() {
+    return instanceFields;
+  }
+
+  List<Field> getClassFields() {
+    return classFields;
+  }
+
+  Collection<SInvokable> getInstanceMethods() {
+    return instanceMethods.values();
+  }
+
+  Collection<SInvokable> getClassMethods() {
+    return classMethods.values();
+  }
+
   @TruffleBoundary
   public SClass assemble() {
     SourceSection sourceSection = SourceCoordinate.createSourceSection(source, sourceCoord);
@@ -205,7 +234,7 @@ public final class ClassGenerationContext {
     String ccname = name.getString() + " class";
 
     // Allocate the class of the resulting class
-    SClass resultClass = new SClass(Classes.metaclassClass);
+    SClass resultClass = new SClass(universe.getClasses().metaclassClass);
 
     // Initialize the class of the resulting class
     resultClass.setInstanceFields(classFields);
@@ -34,6 +34,7 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.source.Source;
 
 import trufflesom.bdt.basic.ProgramDefinitionError;
@@ -52,6 +53,7 @@ import trufflesom.interpreter.nodes.FieldNode;
 import trufflesom.interpreter.nodes.FieldNode.FieldReadNode;
 import trufflesom.interpreter.nodes.FieldNodeFactory.FieldWriteNodeGen;
 import trufflesom.interpreter.nodes.ReturnNonLocalNode;
+import trufflesom.interpreter.nodes.ReturnNonLocalNode.CatchLocalReturnNode;
 import trufflesom.interpreter.nodes.ReturnNonLocalNode.CatchNonLocalReturnNode;
 import trufflesom.interpreter.nodes.literals.BlockNode;
 import trufflesom.interpreter.supernodes.inc.IncExpWithValueNode;
@@ -220,8 +222,8 @@ public class MethodGenerationContext
     currentScope.finalizeVariables(locals.size());
 
     if (primitive) {
-      return Primitives.constructEmptyPrimitive(
-          signature, holderGenc.getSource(), coord, structuralProbe);
+      return Primitives.constructEmptyPrimitive(signature, holderGenc.getSource(), coord,
+          structuralProbe, holderGenc.getUniverse().getLanguage());
     }
 
     return assembleMethod(body, coord);
@@ -230,13 +232,13 @@ public class MethodGenerationContext
   protected SMethod assembleMethod(final ExpressionNode methodBody, final long coord) {
     ExpressionNode body = methodBody;
     if (needsToCatchNonLocalReturn()) {
-      body = new CatchNonLocalReturnNode(
-          body, getFrameOnStackMarker(coord)).initialize(body.getSourceCoordinate());
+      body = catchReturns(body, coord);
     }
 
     Method truffleMethod =
         new Method(getMethodIdentifier(), holderGenc.getSource(), coord,
-            body, currentScope, (ExpressionNode) body.deepCopy());
+            body, currentScope, (ExpressionNode) body.deepCopy(),
+            holderGenc.getUniverse().getLanguage());
 
     SMethod meth = new SMethod(signature, truffleMethod,
         embeddedBlockMethods.toArray(new SMethod[0]));
@@ -250,6 +252,41 @@ public class MethodGenerationContext
     return meth;
   }
 
+  /**
+   * Wraps the method body to catch the returns of its blocks. Only blocks that remain closures
+   * return non-locally, and need the method to allocate a
+   * {@link trufflesom.interpreter.FrameOnStackMarker}. Returns of inlined blocks are local,
+   * and are caught without one.
+   */
+  protected ExpressionNode catchReturns(final ExpressionNode body, final long coord) {
+    if (blocksReturnNonLocally(body)) {
+      return new CatchNonLocalReturnNode(
+          body, getFrameOnStackMarker(coord)).initialize(body.getSourceCoordinate());
+    }
+    return new CatchLocalReturnNode(body).initialize(body.getSourceCoordinate());
+  }
+
+  protected boolean blocksReturnNonLocally(final ExpressionNode body) {
+    return containsNonLocalReturn(body);
+  }
+
+  private static boolean containsNonLocalReturn(final Node node) {
+    if (node instanceof ReturnNonLocalNode) {
+      return true;
+    }
+
+    if (node instanceof BlockNode b && containsNonLocalReturn(b.getMethod().getInvokable())) {
+      return true;
+    }
+
+    for (Node child : node.getChildren()) {
+      if (containsNonLocalReturn(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   public Variable[] getVariables() {
     int numVars = arguments.size() + locals.size();
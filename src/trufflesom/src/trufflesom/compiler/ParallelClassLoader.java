@@ -0,0 +1,233 @@
+package trufflesom.compiler;
+
+import static trufflesom.compiler.Symbol.Equal;
+import static trufflesom.compiler.Symbol.Identifier;
+import static trufflesom.compiler.Symbol.NONE;
+import static trufflesom.compiler.Symbol.NewTerm;
+import static trufflesom.vm.SymbolTable.symbolFor;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import com.oracle.truffle.api.source.Source;
+
+import trufflesom.bdt.basic.ProgramDefinitionError;
+import trufflesom.interpreter.SomLanguage;
+import trufflesom.vm.Globals;
+import trufflesom.vm.Universe;
+
+
+/**
+ * Loads the classes reachable from the main class at startup. Enabled with
+ * {@code -Dsom.parallelClassLoading=true}.
+ *
+ * <p>
+ * Starting with the main class, the class files are read and lexed in parallel to find the
+ * classes they refer to, i.e., the capitalized identifiers that name a class on the class
+ * path. The reachable classes are then parsed in parallel on the common fork-join pool.
+ * Since the parser needs the fields of the superclass, a class is only parsed once its
+ * superclass is loaded. Assembling a class and installing it as global is serialized by
+ * {@link Universe#installClass(ClassGenerationContext)}.
+ *
+ * <p>
+ * Classes that fail to load are skipped. They are loaded on demand as before, which also
+ * reports the error, if the class is actually used.
+ */
+public final class ParallelClassLoader {
+
+  private static final class PendingClass {
+    private final String      name;
+    private final Source      source;
+    private final String      superName;
+    private final Set<String> references;
+
+    PendingClass(final String name, final Source source, final String superName,
+        final Set<String> references) {
+      this.name = name;
+      this.source = source;
+      this.superName = superName;
+      this.references = references;
+    }
+  }
+
+  private final Universe           universe;
+  private final SourcecodeCompiler compiler;
+
+  private final Map<String, PendingClass>               pending;
+  private final Map<String, CompletableFuture<Boolean>> loaded;
+  private final Set<String>                             scheduling;
+
+  private ParallelClassLoader(final Universe universe, final SourcecodeCompiler compiler,
+      final Map<String, PendingClass> pending) {
+    this.universe = universe;
+    this.compiler = compiler;
+    this.pending = pending;
+    this.loaded = new HashMap<>();
+    this.scheduling = new HashSet<>();
+  }
+
+  public static void loadReachable(final Universe universe, final String mainClass,
+      final SourcecodeCompiler compiler) {
+    Map<String, File> files = findClassFiles(universe);
+    Map<String, PendingClass> pending = new LinkedHashMap<>();
+
+    // read the classes in waves, each with the classes first referenced in the previous one
+    Set<String> seen = new HashSet<>();
+    List<File> wave = new ArrayList<>();
+    if (files.containsKey(mainClass)) {
+      seen.add(mainClass);
+      wave.add(files.get(mainClass));
+    }
+
+    while (!wave.isEmpty()) {
+      List<File> next = new ArrayList<>();
+      wave.parallelStream().map(ParallelClassLoader::readClass).forEachOrdered(c -> {
+        if (c == null) {
+          return;
+        }
+        pending.put(c.name, c);
+        for (String ref : c.references) {
+          if (files.containsKey(ref) && seen.add(ref)) {
+            next.add(files.get(ref));
+          }
+        }
+      });
+      wave = next;
+    }
+
+    ParallelClassLoader loader = new ParallelClassLoader(universe, compiler, pending);
+    List<CompletableFuture<Boolean>> all = new ArrayList<>();
+    for (PendingClass c : pending.values()) {
+      all.add(loader.schedule(c));
+    }
+
+    CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0])).join();
+  }
+
+  /**
+   * Find the class files that are not loaded yet. As for loading on demand, the first class
+   * path entry with a file for a class name wins.
+   */
+  private static Map<String, File> findClassFiles(final Universe universe) {
+    Globals globals = universe.getGlobals();
+    Map<String, File> files = new LinkedHashMap<>();
+    for (String cpEntry : universe.getClassPath()) {
+      File[] entries = new File(cpEntry).listFiles((dir, name) -> name.endsWith(".som"));
+      if (entries == null) {
+        continue;
+      }
+
+      for (File f : entries) {
+        String name = f.getName().substring(0, f.getName().length() - ".som".length());
+        if (!files.containsKey(name) && !globals.hasGlobal(symbolFor(name))) {
+          files.put(name, f);
+        }
+      }
+    }
+    return files;
+  }
+
+  private static PendingClass readClass(final File file) {
+    try {
+      Source source = SomLanguage.getSource(file);
+      String name = file.getName().substring(0, file.getName().length() - ".som".length());
+      return new PendingClass(name, source, readSuperclassName(source),
+          readReferences(source));
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /** @return the capitalized identifiers, which possibly name classes */
+  private static Set<String> readReferences(final Source source) {
+    Set<String> result = new HashSet<>();
+    Lexer lexer = new Lexer(source.getCharacters().toString());
+    Symbol sym = lexer.getSym();
+
+    // the lexer returns NONE with an empty text at the end, and with the char otherwise
+    while (sym != NONE || !lexer.getText().isEmpty()) {
+      if (sym == Identifier) {
+        String text = lexer.getText();
+        if (Character.isUpperCase(text.charAt(0))) {
+          result.add(text);
+        }
+      }
+      sym = lexer.getSym();
+    }
+    return result;
+  }
+
+  /** @return the name of the superclass, or null if the class definition is malformed */
+  private static String readSuperclassName(final Source source) {
+    Lexer lexer = new Lexer(source.getCharacters().toString());
+    if (lexer.getSym() != Identifier || lexer.getSym() != Equal) {
+      return null;
+    }
+
+    Symbol sym = lexer.getSym();
+    if (sym == Identifier) {
+      return lexer.getText();
+    } else if (sym == NewTerm) {
+      return "Object";
+    }
+    return null;
+  }
+
+  /** @return a future indicating whether the class was loaded */
+  private CompletableFuture<Boolean> schedule(final PendingClass c) {
+    CompletableFuture<Boolean> result = loaded.get(c.name);
+    if (result != null) {
+      return result;
+    }
+
+    if (c.superName == null || !scheduling.add(c.name)) {
+      // malformed, or inheritance cycle, leave it for loading on demand
+      result = CompletableFuture.completedFuture(false);
+      loaded.put(c.name, result);
+      return result;
+    }
+
+    PendingClass superClass = pending.get(c.superName);
+    CompletableFuture<Boolean> superLoaded;
+    if (superClass == null) {
+      superLoaded = CompletableFuture.completedFuture(true);
+    } else {
+      superLoaded = schedule(superClass);
+    }
+
+    result = superLoaded.thenApplyAsync(superOk -> superOk && load(c));
+    loaded.put(c.name, result);
+    return result;
+  }
+
+  private boolean load(final PendingClass c) {
+    // the superclass needs to be loaded already, because loading it on demand
+    // from a worker would report errors for classes that might never be used
+    if (!"nil".equals(c.superName)
+        && !universe.getGlobals().hasGlobal(symbolFor(c.superName))) {
+      return false;
+    }
+
+    ClassGenerationContext cgenc;
+    try {
+      cgenc = compiler.parseClass(c.source, null, universe);
+    } catch (ProgramDefinitionError | RuntimeException e) {
+      return false;
+    }
+
+    if (!c.name.equals(cgenc.getName().getString())) {
+      return false;
+    }
+
+    universe.installClass(cgenc);
+    return true;
+  }
+}
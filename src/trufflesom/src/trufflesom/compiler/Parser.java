@@ -92,6 +92,9 @@ public abstract class Parser<MGenC extends MethodGenerationContext> {
 
   protected final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> structuralProbe;
 
+  /** The universe to load the superclass from. */
+  protected final Universe universe;
+
   protected Symbol sym;
   protected String text;
   protected Symbol nextSym;
@@ -221,9 +224,11 @@ public abstract class Parser<MGenC extends MethodGenerationContext> {
   }
 
   protected Parser(final String content, final Source source,
-      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> structuralProbe) {
+      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> structuralProbe,
+      final Universe universe) {
     this.source = source;
     this.structuralProbe = structuralProbe;
+    this.universe = universe;
 
     sym = NONE;
     lexer = createLexer(content);
@@ -239,6 +244,10 @@ public abstract class Parser<MGenC extends MethodGenerationContext> {
     return source;
   }
 
+  public Universe getUniverse() {
+    return universe;
+  }
+
   protected int getStartIndex() {
     return lexer.getNumberOfCharactersRead();
   }
@@ -295,8 +304,7 @@ public abstract class Parser<MGenC extends MethodGenerationContext> {
     cgenc.setName(symbolFor(text));
 
     if ("Object".equals(text)) {
-      Universe.selfCoord = getCoordWithLength(coord);
-      Universe.selfSource = source;
+      universe.setSelf(source, getCoordWithLength(coord));
     }
 
     expect(Identifier);
@@ -313,7 +321,7 @@ public abstract class Parser<MGenC extends MethodGenerationContext> {
 
     // Load the super class, if it is not nil (break the dependency cycle)
     if (superName != symNil) {
-      SClass superClass = Universe.loadClass(superName);
+      SClass superClass = universe.loadClass(superName);
       if (superClass == null) {
         throw new ParseError("Super class " + superName.getString() +
             " could not be loaded", NONE, this);
@@ -457,8 +465,8 @@ public abstract class Parser<MGenC extends MethodGenerationContext> {
   }
 
   private void pattern(final MGenC mgenc) throws ProgramDefinitionError {
-    assert Universe.selfSource != null;
-    mgenc.addArgumentIfAbsent(strSelf, Universe.selfCoord);
+    assert universe.getSelfSource() != null;
+    mgenc.addArgumentIfAbsent(strSelf, universe.getSelfCoord());
     switch (sym) {
       case Identifier:
       case Primitive:
@@ -722,7 +730,7 @@ public abstract class Parser<MGenC extends MethodGenerationContext> {
     }
 
     // and finally assume it is a global
-    return GlobalNode.create(varSym, mgenc).initialize(coord);
+    return GlobalNode.create(varSym, universe.getGlobals(), mgenc).initialize(coord);
   }
 
   private void getSymbolFromLexer() {
@@ -54,9 +54,9 @@ import trufflesom.interpreter.supernodes.NonLocalVariableSquareNodeGen;
 import trufflesom.interpreter.supernodes.compare.StringEqualsNodeGen;
 import trufflesom.interpreter.supernodes.inc.IncExpWithValueNodeGen;
 import trufflesom.primitives.Primitives;
-import trufflesom.vm.Globals;
 import trufflesom.vm.NotYetImplementedException;
 import trufflesom.vm.SymbolTable;
+import trufflesom.vm.Universe;
 import trufflesom.vmobjects.SArray;
 import trufflesom.vmobjects.SClass;
 import trufflesom.vmobjects.SInvokable;
@@ -69,8 +69,9 @@ public class ParserAst extends Parser<MethodGenerationContext> {
   private final InlinableNodes<SSymbol> inlinableNodes;
 
   public ParserAst(final String content, final Source source,
-      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> structuralProbe) {
-    super(content, source, structuralProbe);
+      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> structuralProbe,
+      final Universe universe) {
+    super(content, source, structuralProbe, universe);
     this.inlinableNodes = Primitives.inlinableNodes;
   }
 
@@ -117,7 +118,8 @@ public class ParserAst extends Parser<MethodGenerationContext> {
   private ExpressionNode createSequenceNode(final int coord,
       final List<ExpressionNode> expressions) {
     if (expressions.size() == 0) {
-      return GlobalNode.create(symNil, null).initialize(getCoordWithLength(coord));
+      return GlobalNode.create(symNil, universe.getGlobals(), null)
+                       .initialize(getCoordWithLength(coord));
     } else if (expressions.size() == 1) {
       return expressions.get(0);
     }
@@ -477,7 +479,7 @@ public class ParserAst extends Parser<MethodGenerationContext> {
         return literalDouble(isNegativeNumber());
       case Identifier:
         expect(Identifier);
-        return Globals.getGlobal(symbolFor(text));
+        return universe.getGlobals().getGlobal(symbolFor(text));
       default:
         throw new ParseError("Could not parse literal array value", NONE, this);
     }
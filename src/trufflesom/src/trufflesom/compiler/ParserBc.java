@@ -45,6 +45,7 @@ import trufflesom.bdt.tools.structure.StructuralProbe;
 import trufflesom.compiler.bc.BytecodeMethodGenContext;
 import trufflesom.compiler.bc.BytecodeMethodGenContext.JumpCondition;
 import trufflesom.interpreter.nodes.ExpressionNode;
+import trufflesom.vm.Universe;
 import trufflesom.vm.constants.Nil;
 import trufflesom.vmobjects.SClass;
 import trufflesom.vmobjects.SInvokable;
@@ -55,8 +56,9 @@ import trufflesom.vmobjects.SSymbol;
 public class ParserBc extends Parser<BytecodeMethodGenContext> {
 
   public ParserBc(final String content, final Source source,
-      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> structuralProbe) {
-    super(content, source, structuralProbe);
+      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> structuralProbe,
+      final Universe universe) {
+    super(content, source, structuralProbe, universe);
   }
 
   @Override
@@ -33,6 +33,8 @@ import com.oracle.truffle.api.source.Source;
 import trufflesom.bdt.basic.ProgramDefinitionError;
 import trufflesom.bdt.tools.structure.StructuralProbe;
 import trufflesom.interpreter.SomLanguage;
+import trufflesom.vm.Universe;
+import trufflesom.vm.VmSettings;
 import trufflesom.vmobjects.SClass;
 import trufflesom.vmobjects.SInvokable;
 import trufflesom.vmobjects.SSymbol;
@@ -40,22 +42,30 @@ import trufflesom.vmobjects.SSymbol;
 
 public abstract class SourcecodeCompiler {
 
-  protected SourcecodeCompiler() {}
+  private final ClassCache classCache;
+
+  protected SourcecodeCompiler() {
+    this(null);
+  }
+
+  protected SourcecodeCompiler(final ClassCache classCache) {
+    this.classCache = classCache;
+  }
 
   public abstract Parser<?> createParser(String code, Source source,
-      StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe);
+      StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe, Universe universe);
 
   @TruffleBoundary
   public SClass compileClass(final String path, final String file,
       final SClass systemClass,
-      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe)
-      throws IOException, ProgramDefinitionError {
+      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe,
+      final Universe universe) throws IOException, ProgramDefinitionError {
     String fname = path + File.separator + file + ".som";
     File f = new File(fname);
     Source source = SomLanguage.getSource(f);
 
-    Parser<?> parser = createParser(source.getCharacters().toString(), source, probe);
-    SClass result = compile(parser, systemClass);
+    ClassGenerationContext cgc = parseClass(source, probe, universe);
+    SClass result = assemble(cgc, systemClass);
 
     SSymbol cname = result.getName();
     String cnameC = cname.getString();
@@ -68,22 +78,62 @@ public abstract class SourcecodeCompiler {
     return result;
   }
 
+  /**
+   * Parse the class in the given source, or restore it from the class cache. Parsing needs
+   * the superclass to be loaded already. Otherwise, it is loaded on demand.
+   */
+  public ClassGenerationContext parseClass(final Source source,
+      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe,
+      final Universe universe) throws ProgramDefinitionError {
+    // the structural probe needs to see the parsing, so it bypasses the cache
+    boolean useCache = classCache != null && probe == null;
+
+    ClassGenerationContext cgc = useCache ? classCache.load(source, universe) : null;
+    if (cgc == null) {
+      Parser<?> parser =
+          createParser(source.getCharacters().toString(), source, probe, universe);
+      cgc = parse(parser);
+
+      if (useCache) {
+        classCache.store(cgc);
+      }
+    }
+    return cgc;
+  }
+
+  /** Compile a class from a source without a file on the class path. */
+  @TruffleBoundary
+  public SClass compileClass(final Source source, final SClass systemClass,
+      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe,
+      final Universe universe) throws ProgramDefinitionError {
+    return assemble(parseClass(source, probe, universe), systemClass);
+  }
+
   @TruffleBoundary
   public SClass compileClass(final String stmt, final SClass systemClass,
-      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe)
-      throws ProgramDefinitionError {
-    Parser<?> parser = createParser(stmt, null, probe);
+      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe,
+      final Universe universe) throws ProgramDefinitionError {
+    Parser<?> parser = createParser(stmt, null, probe, universe);
     SClass result = compile(parser, systemClass);
     return result;
   }
 
   public static SClass compile(final Parser<?> parser, final SClass systemClass)
       throws ProgramDefinitionError {
-    ClassGenerationContext cgc =
-        new ClassGenerationContext(parser.getSource(), parser.structuralProbe);
+    return assemble(parse(parser), systemClass);
+  }
 
-    SClass result = systemClass;
+  public static ClassGenerationContext parse(final Parser<?> parser)
+      throws ProgramDefinitionError {
+    ClassGenerationContext cgc = new ClassGenerationContext(
+        parser.getSource(), parser.structuralProbe, parser.getUniverse());
     parser.classdef(cgc);
+    return cgc;
+  }
+
+  private static SClass assemble(final ClassGenerationContext cgc,
+      final SClass systemClass) {
+    SClass result = systemClass;
 
     if (systemClass == null) {
       result = cgc.assemble();
@@ -97,16 +147,23 @@ public abstract class SourcecodeCompiler {
   public static class AstCompiler extends SourcecodeCompiler {
     @Override
     public Parser<?> createParser(final String code, final Source source,
-        final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe) {
-      return new ParserAst(code, source, probe);
+        final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe,
+        final Universe universe) {
+      return new ParserAst(code, source, probe, universe);
     }
   }
 
   public static class BcCompiler extends SourcecodeCompiler {
+    public BcCompiler() {
+      super(VmSettings.ClassCacheDir == null ? null
+          : new ClassCache(new File(VmSettings.ClassCacheDir)));
+    }
+
     @Override
     public Parser<?> createParser(final String code, final Source source,
-        final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe) {
-      return new ParserBc(code, source, probe);
+        final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe,
+        final Universe universe) {
+      return new ParserBc(code, source, probe, universe);
     }
   }
 }
@@ -87,6 +87,7 @@ import trufflesom.compiler.Parser.ParseError;
 import trufflesom.compiler.ParserBc;
 import trufflesom.compiler.bc.BytecodeMethodGenContext.JumpCondition;
 import trufflesom.interpreter.nodes.GlobalNode;
+import trufflesom.vm.Globals;
 import trufflesom.vm.constants.Nil;
 import trufflesom.vmobjects.SInvokable.SMethod;
 import trufflesom.vmobjects.SSymbol;
@@ -237,7 +238,8 @@ public final class BytecodeGenerator {
       return;
     }
 
-    if (GlobalNode.isPotentiallyUnknown(global)) {
+    Globals globals = mgenc.getHolder().getUniverse().getGlobals();
+    if (GlobalNode.isPotentiallyUnknown(global, globals)) {
       mgenc.markAccessingOuterScopes();
     }
     byte idx = mgenc.addLiteralIfAbsent(global, parser);
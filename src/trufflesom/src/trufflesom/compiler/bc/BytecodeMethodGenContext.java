@@ -48,13 +48,17 @@ import static trufflesom.interpreter.bc.Bytecodes.RETURN_FIELD_1;
 import static trufflesom.interpreter.bc.Bytecodes.RETURN_FIELD_2;
 import static trufflesom.interpreter.bc.Bytecodes.RETURN_LOCAL;
 import static trufflesom.interpreter.bc.Bytecodes.RETURN_SELF;
+import static trufflesom.interpreter.bc.Bytecodes.SEND;
 import static trufflesom.interpreter.bc.Bytecodes.getBytecodeLength;
+import static trufflesom.interpreter.bc.Bytecodes.getSuperinstructionForPush;
 import static trufflesom.vm.SymbolTable.strSelf;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+import com.oracle.truffle.api.nodes.Node;
+
 import trufflesom.bdt.tools.structure.StructuralProbe;
 import trufflesom.compiler.ClassGenerationContext;
 import trufflesom.compiler.Field;
@@ -72,8 +76,10 @@ import trufflesom.interpreter.nodes.FieldNode.FieldWriteNode;
 import trufflesom.interpreter.nodes.GlobalNode;
 import trufflesom.interpreter.nodes.bc.BytecodeLoopNode;
 import trufflesom.interpreter.nodes.bc.BytecodeLoopNode.BackJump;
+import trufflesom.interpreter.nodes.bc.RegisterBytecodeLoopNode;
 import trufflesom.interpreter.nodes.literals.LiteralNode;
 import trufflesom.vm.NotYetImplementedException;
+import trufflesom.vm.VmSettings;
 import trufflesom.vm.constants.Nil;
 import trufflesom.vmobjects.SAbstractObject;
 import trufflesom.vmobjects.SClass;
@@ -341,17 +347,57 @@ public class BytecodeMethodGenContext extends MethodGenerationContext {
   }
 
   private BytecodeLoopNode constructBytecodeBody(final long coord) {
-    byte[] bytecodes = getBytecodeArray();
-
-    Object[] literalsArr = literals.toArray();
-
     int frameOnStackMarkerIndex =
         throwsNonLocalReturn ? getFrameOnStackMarker(coord).getIndex() : -1;
 
-    BackJump[] loops = inlinedLoops.toArray(new BackJump[0]);
+    return createBytecodeBody(getBytecodeArray(), locals.size(), literals.toArray(),
+        maxStackDepth, frameOnStackMarkerIndex, inlinedLoops.toArray(new BackJump[0]),
+        getMaxContextLevel());
+  }
+
+  /**
+   * Create the node executing the given bytecodes, which are expected to be as emitted by the
+   * compiler, i.e., neither quickened nor fused. This is used for freshly compiled methods as
+   * well as for methods restored from the {@link trufflesom.compiler.ClassCache}.
+   */
+  public static BytecodeLoopNode createBytecodeBody(final byte[] bytecodes,
+      final int numLocals, final Object[] literalsArr, final int maxStackDepth,
+      final int frameOnStackMarkerIndex, final BackJump[] loops, final int contextLevel) {
+    if (VmSettings.UseSuperinstructions) {
+      fuseSuperinstructions(bytecodes, literalsArr);
+    }
 
-    return new BytecodeLoopNode(bytecodes, locals.size(), literalsArr, maxStackDepth,
-        frameOnStackMarkerIndex, loops, getMaxContextLevel());
+    if (VmSettings.UseRegisterBcInterp) {
+      return RegisterBytecodeLoopNode.create(bytecodes, numLocals, literalsArr,
+          maxStackDepth, frameOnStackMarkerIndex, loops, contextLevel);
+    }
+
+    return new BytecodeLoopNode(bytecodes, numLocals, literalsArr, maxStackDepth,
+        frameOnStackMarkerIndex, loops, contextLevel);
+  }
+
+  /**
+   * Replace pushes that are directly followed by a binary send with a superinstruction.
+   * The send itself stays in place, which keeps jump offsets and the quickening of the send
+   * intact. The fused sequences are the most frequent ones reported by
+   * {@code -Dsom.bcProfile=true}.
+   */
+  private static void fuseSuperinstructions(final byte[] bytecodes,
+      final Object[] literalsArr) {
+    int i = 0;
+    while (i < bytecodes.length) {
+      byte bytecode = bytecodes[i];
+      int next = i + getBytecodeLength(bytecode);
+
+      if (next < bytecodes.length && bytecodes[next] == SEND) {
+        byte superinstruction = getSuperinstructionForPush(bytecode);
+        SSymbol signature = (SSymbol) literalsArr[bytecodes[next + 1]];
+        if (superinstruction != INVALID && signature.getNumberOfSignatureArguments() == 2) {
+          bytecodes[i] = superinstruction;
+        }
+      }
+      i = next;
+    }
   }
 
   public byte[] getBytecodeArray() {
@@ -406,6 +452,36 @@ public class BytecodeMethodGenContext extends MethodGenerationContext {
     return super.assembleMethod(body, coord);
   }
 
+  /**
+   * Returns of inlined blocks are RETURN_LOCAL bytecodes, which do not need to be caught.
+   * Only blocks that remain closures, and return non-locally, need a marker.
+   */
+  @Override
+  protected ExpressionNode catchReturns(final ExpressionNode body, final long coord) {
+    if (blocksReturnNonLocally(body)) {
+      return super.catchReturns(body, coord);
+    }
+    return body;
+  }
+
+  @Override
+  protected boolean blocksReturnNonLocally(final ExpressionNode body) {
+    int i = 0;
+    while (i < bytecode.size()) {
+      byte bc = bytecode.get(i);
+      if (bc == PUSH_BLOCK) {
+        SMethod block = (SMethod) literals.get(bytecode.get(i + 1));
+        for (Node n : block.getInvokable().getChildren()) {
+          if (n instanceof BytecodeLoopNode b && b.getFrameOnStackMarkerIndex() != -1) {
+            return true;
+          }
+        }
+      }
+      i += getBytecodeLength(bc);
+    }
+    return false;
+  }
+
   /**
    * Invalidate last4Bytecodes to avoid optimizations which mess with branches.
    */
@@ -541,7 +617,7 @@ public class BytecodeMethodGenContext extends MethodGenerationContext {
 
     byte constantIdx = getIndex(1);
     SSymbol literal = (SSymbol) literals.get(constantIdx);
-    return GlobalNode.create(literal, this);
+    return GlobalNode.create(literal, holderGenc.getUniverse().getGlobals(), this);
   }
 
   private FieldReadNode optimizeFieldGetter(final boolean onlyReturnBytecode,
@@ -72,6 +72,35 @@ import static trufflesom.interpreter.bc.Bytecodes.SEND;
 import static trufflesom.interpreter.bc.Bytecodes.SUPER_SEND;
 import static trufflesom.interpreter.bc.Bytecodes.getBytecodeLength;
 import static trufflesom.interpreter.bc.Bytecodes.getPaddedBytecodeName;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_DEC;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_HALT;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_INC;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_INC_FIELD;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_INC_FIELD_PUSH;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_BACKWARDS;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_FALSE;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_FALSE_TOP_NIL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_NIL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_NIL_TOP_TOP;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_NOT_NIL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_NOT_NIL_TOP_TOP;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_TRUE;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_TRUE_TOP_NIL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_ARG;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_BLOCK;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_BLOCK_NO_CTX;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_FIELD;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_GLOBAL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_LOCAL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_Q_MOV_GLOBAL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_RETURN;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_RETURN_FIELD;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_RETURN_NON_LOCAL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_STORE_ARG;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_STORE_FIELD;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_STORE_LOCAL;
 
 import java.util.List;
 
@@ -82,7 +111,9 @@ import trufflesom.interpreter.Invokable;
 import trufflesom.interpreter.Types;
 import trufflesom.interpreter.nodes.ExpressionNode;
 import trufflesom.interpreter.nodes.SOMNode;
+import trufflesom.interpreter.bc.RegisterBytecodes;
 import trufflesom.interpreter.nodes.bc.BytecodeLoopNode;
+import trufflesom.interpreter.nodes.bc.RegisterBytecodeLoopNode;
 import trufflesom.vm.Universe;
 import trufflesom.vmobjects.SClass;
 import trufflesom.vmobjects.SInvokable.SMethod;
@@ -147,6 +178,128 @@ public class Disassembler {
     SClass clazz = getClass(m);
     dumpMethod(m.getBytecodes(), indent, m.getNumberOfLocals(),
         m.getMaximumNumberOfStackElements(), clazz, m, m.getLiterals());
+
+    if (m instanceof RegisterBytecodeLoopNode) {
+      dumpRegisterCode((RegisterBytecodeLoopNode) m, indent);
+    }
+  }
+
+  public static void dumpRegisterCode(final RegisterBytecodeLoopNode m, final String indent) {
+    byte[] code = m.getRegisterCode();
+    Universe.errorPrintln(indent + "register code: (");
+    Universe.errorPrintln(indent + "<" + m.getNumberOfRegisters() + " registers, "
+        + code.length + " bc_count>");
+
+    for (int b = 0; b < code.length; b += RegisterBytecodes.getLength(code, b)) {
+      Universe.errorPrint(indent);
+
+      if (b < 10) {
+        Universe.errorPrint(" ");
+      }
+      if (b < 100) {
+        Universe.errorPrint(" ");
+      }
+      Universe.errorPrint(" " + b + ":");
+
+      byte bytecode = code[b];
+      Universe.errorPrint(RegisterBytecodes.getPaddedName(bytecode) + "  ");
+
+      switch (bytecode) {
+        case R_HALT:
+        case R_RETURN:
+        case R_RETURN_NON_LOCAL: {
+          Universe.errorPrintln(RegisterBytecodes.getOperandName(code[b + 1], code[b + 2]));
+          break;
+        }
+
+        case R_MOV:
+        case R_INC:
+        case R_DEC: {
+          Universe.errorPrintln("r" + code[b + 1] + " <- "
+              + RegisterBytecodes.getOperandName(code[b + 2], code[b + 3]));
+          break;
+        }
+
+        case R_MOV_LOCAL:
+        case R_MOV_ARG:
+        case R_MOV_FIELD:
+        case R_INC_FIELD_PUSH: {
+          Universe.errorPrintln("r" + code[b + 1] + " <- (index: " + code[b + 2]
+              + ", context: " + code[b + 3] + ")");
+          break;
+        }
+
+        case R_MOV_GLOBAL:
+        case R_Q_MOV_GLOBAL:
+        case R_MOV_BLOCK:
+        case R_MOV_BLOCK_NO_CTX: {
+          Universe.errorPrintln("r" + code[b + 1] + " <- (index: " + code[b + 2] + ")");
+          break;
+        }
+
+        case R_STORE_LOCAL:
+        case R_STORE_ARG:
+        case R_STORE_FIELD: {
+          Universe.errorPrintln("(index: " + code[b + 1] + ", context: " + code[b + 2]
+              + ") <- " + RegisterBytecodes.getOperandName(code[b + 3], code[b + 4]));
+          break;
+        }
+
+        case R_RETURN_FIELD: {
+          Universe.errorPrintln("(index: " + code[b + 1] + ")");
+          break;
+        }
+
+        case R_INC_FIELD: {
+          Universe.errorPrintln("(index: " + code[b + 1] + ", context: " + code[b + 2] + ")");
+          break;
+        }
+
+        case R_JUMP:
+        case R_JUMP_BACKWARDS: {
+          Universe.errorPrintln(
+              "(jump target: " + RegisterBytecodes.getJumpTarget(code[b + 1], code[b + 2])
+                  + ")");
+          break;
+        }
+
+        case R_JUMP_ON_TRUE:
+        case R_JUMP_ON_FALSE:
+        case R_JUMP_ON_NIL:
+        case R_JUMP_ON_NOT_NIL: {
+          Universe.errorPrintln(RegisterBytecodes.getOperandName(code[b + 1], code[b + 2])
+              + " (jump target: " + RegisterBytecodes.getJumpTarget(code[b + 3], code[b + 4])
+              + ")");
+          break;
+        }
+
+        case R_JUMP_ON_TRUE_TOP_NIL:
+        case R_JUMP_ON_FALSE_TOP_NIL:
+        case R_JUMP_ON_NIL_TOP_TOP:
+        case R_JUMP_ON_NOT_NIL_TOP_TOP: {
+          Universe.errorPrintln("r" + code[b + 1] + " (jump target: "
+              + RegisterBytecodes.getJumpTarget(code[b + 2], code[b + 3]) + ")");
+          break;
+        }
+
+        default: {
+          if (RegisterBytecodes.isSend(bytecode)) {
+            int idx = code[b + 2];
+            StringBuilder sb = new StringBuilder();
+            sb.append("r" + code[b + 1] + " <- (index: " + idx + ")");
+            sb.append(" signature: " + ((SSymbol) m.getConstant(idx)).toString());
+            for (int i = 0; i < code[b + 3]; i += 1) {
+              int opnd = b + RegisterBytecodes.LEN_SEND_WITHOUT_OPERANDS + 2 * i;
+              sb.append(" " + RegisterBytecodes.getOperandName(code[opnd], code[opnd + 1]));
+            }
+            Universe.errorPrintln(sb.toString());
+          } else {
+            Universe.errorPrintln();
+          }
+        }
+      }
+    }
+    Universe.errorPrintln(indent + ")");
   }
 
   public static void dumpMethod(final List<Byte> bytecodes) {
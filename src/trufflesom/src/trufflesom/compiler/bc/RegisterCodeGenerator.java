@@ -0,0 +1,704 @@
+package trufflesom.compiler.bc;
+
+import static trufflesom.compiler.bc.BytecodeMethodGenContext.getJumpOffset;
+import static trufflesom.interpreter.bc.Bytecodes.DEC;
+import static trufflesom.interpreter.bc.Bytecodes.DUP;
+import static trufflesom.interpreter.bc.Bytecodes.HALT;
+import static trufflesom.interpreter.bc.Bytecodes.INC;
+import static trufflesom.interpreter.bc.Bytecodes.INC_FIELD;
+import static trufflesom.interpreter.bc.Bytecodes.INC_FIELD_PUSH;
+import static trufflesom.interpreter.bc.Bytecodes.JUMP;
+import static trufflesom.interpreter.bc.Bytecodes.JUMP2;
+import static trufflesom.interpreter.bc.Bytecodes.JUMP2_BACKWARDS;
+import static trufflesom.interpreter.bc.Bytecodes.JUMP_BACKWARDS;
+import static trufflesom.interpreter.bc.Bytecodes.JUMP_ON_FALSE_POP;
+import static trufflesom.interpreter.bc.Bytecodes.JUMP_ON_FALSE_TOP_NIL;
+import static trufflesom.interpreter.bc.Bytecodes.JUMP_ON_NIL_POP;
+import static trufflesom.interpreter.bc.Bytecodes.JUMP_ON_NIL_TOP_TOP;
+import static trufflesom.interpreter.bc.Bytecodes.JUMP_ON_NOT_NIL_POP;
+import static trufflesom.interpreter.bc.Bytecodes.JUMP_ON_NOT_NIL_TOP_TOP;
+import static trufflesom.interpreter.bc.Bytecodes.JUMP_ON_TRUE_POP;
+import static trufflesom.interpreter.bc.Bytecodes.JUMP_ON_TRUE_TOP_NIL;
+import static trufflesom.interpreter.bc.Bytecodes.NUM_1_BYTE_JUMP_BYTECODES;
+import static trufflesom.interpreter.bc.Bytecodes.POP;
+import static trufflesom.interpreter.bc.Bytecodes.POP_ARGUMENT;
+import static trufflesom.interpreter.bc.Bytecodes.POP_FIELD;
+import static trufflesom.interpreter.bc.Bytecodes.POP_FIELD_0;
+import static trufflesom.interpreter.bc.Bytecodes.POP_FIELD_1;
+import static trufflesom.interpreter.bc.Bytecodes.POP_LOCAL;
+import static trufflesom.interpreter.bc.Bytecodes.POP_LOCAL_0;
+import static trufflesom.interpreter.bc.Bytecodes.POP_LOCAL_1;
+import static trufflesom.interpreter.bc.Bytecodes.POP_LOCAL_2;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_0;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_1;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_ARG1;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_ARG2;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_ARGUMENT;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_BLOCK;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_BLOCK_NO_CTX;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_CONSTANT;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_CONSTANT_0;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_CONSTANT_1;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_CONSTANT_2;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_FIELD;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_FIELD_0;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_FIELD_1;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_GLOBAL;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_LOCAL;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_LOCAL_0;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_LOCAL_1;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_LOCAL_2;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_NIL;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_SELF;
+import static trufflesom.interpreter.bc.Bytecodes.RETURN_FIELD_0;
+import static trufflesom.interpreter.bc.Bytecodes.RETURN_FIELD_1;
+import static trufflesom.interpreter.bc.Bytecodes.RETURN_FIELD_2;
+import static trufflesom.interpreter.bc.Bytecodes.RETURN_LOCAL;
+import static trufflesom.interpreter.bc.Bytecodes.RETURN_NON_LOCAL;
+import static trufflesom.interpreter.bc.Bytecodes.RETURN_SELF;
+import static trufflesom.interpreter.bc.Bytecodes.SEND;
+import static trufflesom.interpreter.bc.Bytecodes.SUPER_SEND;
+import static trufflesom.interpreter.bc.Bytecodes.getBytecodeLength;
+import static trufflesom.interpreter.bc.Bytecodes.getUnfusedBytecode;
+import static trufflesom.interpreter.bc.RegisterBytecodes.OPND_ARG;
+import static trufflesom.interpreter.bc.RegisterBytecodes.OPND_CONST;
+import static trufflesom.interpreter.bc.RegisterBytecodes.OPND_INT;
+import static trufflesom.interpreter.bc.RegisterBytecodes.OPND_LOCAL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.OPND_NIL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.OPND_REG;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_DEC;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_HALT;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_INC;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_INC_FIELD;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_INC_FIELD_PUSH;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_BACKWARDS;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_FALSE;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_FALSE_TOP_NIL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_NIL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_NIL_TOP_TOP;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_NOT_NIL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_NOT_NIL_TOP_TOP;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_TRUE;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_TRUE_TOP_NIL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_ARG;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_BLOCK;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_BLOCK_NO_CTX;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_FIELD;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_GLOBAL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_LOCAL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_RETURN;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_RETURN_FIELD;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_RETURN_NON_LOCAL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_RETURN_SELF;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_SEND;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_STORE_ARG;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_STORE_FIELD;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_STORE_LOCAL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_SUPER_SEND;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import trufflesom.interpreter.bc.RegisterBytecodes;
+import trufflesom.vmobjects.SSymbol;
+
+
+/**
+ * Translates the stack-based bytecode of a method into the {@link RegisterBytecodes}.
+ *
+ * <p>
+ * The translation runs over the already optimized and finalized stack bytecode. It keeps a
+ * virtual operand stack, which records for each stack slot where its value comes from. Reads
+ * of locals and arguments of the current frame, constants, small integers, and nil are not
+ * materialized, but are directly encoded as operands of the instruction that consumes them.
+ * All other values are written into the register that corresponds to their stack slot.
+ *
+ * <p>
+ * At control-flow merges, the virtual stack is flushed, i.e., all values are materialized in
+ * their registers, so that each jump target sees a uniform state.
+ */
+public final class RegisterCodeGenerator {
+
+  /** Registers are encoded as a single byte. */
+  private static final int MAX_REGISTERS = Byte.MAX_VALUE;
+
+  /** Jump targets are encoded as two unsigned bytes. */
+  private static final int MAX_CODE_LENGTH = 0xFFFF;
+
+  public static final class RegisterCode {
+    public final byte[] code;
+    public final int    numRegisters;
+
+    RegisterCode(final byte[] code, final int numRegisters) {
+      this.code = code;
+      this.numRegisters = numRegisters;
+    }
+  }
+
+  private static final class JumpPatch {
+    final int patchIdx;
+    final int originalTarget;
+
+    JumpPatch(final int patchIdx, final int originalTarget) {
+      this.patchIdx = patchIdx;
+      this.originalTarget = originalTarget;
+    }
+  }
+
+  private final byte[]   bytecodes;
+  private final Object[] literals;
+
+  private final ByteArrayOutputStream out;
+
+  private final byte[] kinds;
+  private final byte[] indexes;
+  private int          depth;
+  private int          numRegisters;
+  private boolean      reachable;
+
+  private final int[]           newIndex;
+  private final int[]           targetDepth;
+  private final List<JumpPatch> patches;
+
+  private RegisterCodeGenerator(final byte[] bytecodes, final Object[] literals) {
+    this.bytecodes = bytecodes;
+    this.literals = literals;
+    this.out = new ByteArrayOutputStream(bytecodes.length * 2);
+
+    this.kinds = new byte[bytecodes.length + 1];
+    this.indexes = new byte[bytecodes.length + 1];
+
+    this.newIndex = new int[bytecodes.length + 1];
+    this.targetDepth = new int[bytecodes.length + 1];
+    this.patches = new ArrayList<>();
+
+    Arrays.fill(newIndex, -1);
+    Arrays.fill(targetDepth, -1);
+  }
+
+  /**
+   * @return the register code, or {@code null} if the bytecode cannot be translated, for
+   *         instance because it was already quickened or it exceeds the limits of the
+   *         register encoding.
+   */
+  public static RegisterCode translate(final byte[] bytecodes, final Object[] literals) {
+    return new RegisterCodeGenerator(bytecodes, literals).translate();
+  }
+
+  private static boolean isJump(final byte bytecode) {
+    return JUMP <= bytecode && bytecode <= JUMP2_BACKWARDS;
+  }
+
+  private static boolean isBackwardsJump(final byte bytecode) {
+    return bytecode == JUMP_BACKWARDS || bytecode == JUMP2_BACKWARDS;
+  }
+
+  private static int getJumpTarget(final byte[] bytecodes, final int i) {
+    byte bytecode = bytecodes[i];
+    int offset;
+    if (bytecode < JUMP2) {
+      offset = Byte.toUnsignedInt(bytecodes[i + 1]);
+    } else {
+      offset = getJumpOffset(bytecodes[i + 1], bytecodes[i + 2]);
+    }
+
+    if (isBackwardsJump(bytecode)) {
+      return i - offset;
+    }
+    return i + offset;
+  }
+
+  private boolean[] determineJumpTargets() {
+    boolean[] isTarget = new boolean[bytecodes.length + 1];
+    int i = 0;
+    while (i < bytecodes.length) {
+      byte bytecode = bytecodes[i];
+      if (isJump(bytecode)) {
+        int target = getJumpTarget(bytecodes, i);
+        if (target < 0 || target > bytecodes.length) {
+          return null;
+        }
+        isTarget[target] = true;
+      }
+      i += getBytecodeLength(bytecode);
+    }
+    return isTarget;
+  }
+
+  private RegisterCode translate() {
+    boolean[] isTarget = determineJumpTargets();
+    if (isTarget == null) {
+      return null;
+    }
+
+    reachable = true;
+    int i = 0;
+
+    while (i < bytecodes.length) {
+      byte bytecode = bytecodes[i];
+
+      if (isTarget[i]) {
+        if (reachable) {
+          flushAll();
+          if (!recordTargetDepth(i)) {
+            return null;
+          }
+        } else if (targetDepth[i] != -1) {
+          depth = targetDepth[i];
+          for (int slot = 0; slot < depth; slot += 1) {
+            setRegister(slot);
+          }
+          reachable = true;
+        }
+      }
+
+      if (!reachable) {
+        i += getBytecodeLength(bytecode);
+        continue;
+      }
+
+      newIndex[i] = out.size();
+
+      boolean translated;
+      if (isJump(bytecode)) {
+        translated = translateJump(i);
+      } else {
+        // superinstructions only matter for the stack-based interpreter
+        translated = translateBytecode(getUnfusedBytecode(bytecode), i);
+      }
+
+      if (!translated) {
+        return null;
+      }
+
+      i += getBytecodeLength(bytecode);
+    }
+
+    if (out.size() > MAX_CODE_LENGTH || numRegisters > MAX_REGISTERS) {
+      return null;
+    }
+
+    byte[] code = out.toByteArray();
+    for (JumpPatch p : patches) {
+      int target = newIndex[p.originalTarget];
+      if (target == -1) {
+        return null;
+      }
+      code[p.patchIdx] = (byte) target;
+      code[p.patchIdx + 1] = (byte) (target >> 8);
+    }
+
+    return new RegisterCode(code, numRegisters);
+  }
+
+  /**
+   * @return false, if the bytecode could not be translated
+   */
+  private boolean translateBytecode(final byte bytecode, final int i) {
+    switch (bytecode) {
+      case HALT: {
+        int top = depth - 1;
+        emit3(R_HALT, kinds[top], indexes[top]);
+        reachable = false;
+        return true;
+      }
+
+      case DUP: {
+        int top = depth - 1;
+        push(kinds[top], indexes[top]);
+        return true;
+      }
+
+      case PUSH_LOCAL: {
+        byte localIdx = bytecodes[i + 1];
+        byte contextIdx = bytecodes[i + 2];
+        if (contextIdx == 0) {
+          push(OPND_LOCAL, localIdx);
+        } else {
+          emit4(R_MOV_LOCAL, (byte) depth, localIdx, contextIdx);
+          pushRegister();
+        }
+        return true;
+      }
+
+      case PUSH_LOCAL_0:
+      case PUSH_LOCAL_1:
+      case PUSH_LOCAL_2: {
+        push(OPND_LOCAL, (byte) (bytecode - PUSH_LOCAL_0));
+        return true;
+      }
+
+      case PUSH_ARGUMENT: {
+        byte argIdx = bytecodes[i + 1];
+        byte contextIdx = bytecodes[i + 2];
+        if (contextIdx == 0) {
+          push(OPND_ARG, argIdx);
+        } else {
+          emit4(R_MOV_ARG, (byte) depth, argIdx, contextIdx);
+          pushRegister();
+        }
+        return true;
+      }
+
+      case PUSH_SELF:
+      case PUSH_ARG1:
+      case PUSH_ARG2: {
+        push(OPND_ARG, (byte) (bytecode - PUSH_SELF));
+        return true;
+      }
+
+      case PUSH_FIELD: {
+        emit4(R_MOV_FIELD, (byte) depth, bytecodes[i + 1], bytecodes[i + 2]);
+        pushRegister();
+        return true;
+      }
+
+      case PUSH_FIELD_0:
+      case PUSH_FIELD_1: {
+        emit4(R_MOV_FIELD, (byte) depth, (byte) (bytecode - PUSH_FIELD_0), (byte) 0);
+        pushRegister();
+        return true;
+      }
+
+      case PUSH_BLOCK: {
+        emit3(R_MOV_BLOCK, (byte) depth, bytecodes[i + 1]);
+        pushRegister();
+        return true;
+      }
+
+      case PUSH_BLOCK_NO_CTX: {
+        emit3(R_MOV_BLOCK_NO_CTX, (byte) depth, bytecodes[i + 1]);
+        pushRegister();
+        return true;
+      }
+
+      case PUSH_CONSTANT: {
+        push(OPND_CONST, bytecodes[i + 1]);
+        return true;
+      }
+
+      case PUSH_CONSTANT_0:
+      case PUSH_CONSTANT_1:
+      case PUSH_CONSTANT_2: {
+        push(OPND_CONST, (byte) (bytecode - PUSH_CONSTANT_0));
+        return true;
+      }
+
+      case PUSH_0: {
+        push(OPND_INT, (byte) 0);
+        return true;
+      }
+
+      case PUSH_1: {
+        push(OPND_INT, (byte) 1);
+        return true;
+      }
+
+      case PUSH_NIL: {
+        push(OPND_NIL, (byte) 0);
+        return true;
+      }
+
+      case PUSH_GLOBAL: {
+        // looking up an unknown global may execute arbitrary code
+        flushFrameReads(depth);
+        emit3(R_MOV_GLOBAL, (byte) depth, bytecodes[i + 1]);
+        pushRegister();
+        return true;
+      }
+
+      case POP: {
+        depth -= 1;
+        return true;
+      }
+
+      case POP_LOCAL: {
+        storeInFrame(R_STORE_LOCAL, OPND_LOCAL, bytecodes[i + 1], bytecodes[i + 2]);
+        return true;
+      }
+
+      case POP_LOCAL_0:
+      case POP_LOCAL_1:
+      case POP_LOCAL_2: {
+        storeInFrame(R_STORE_LOCAL, OPND_LOCAL, (byte) (bytecode - POP_LOCAL_0), (byte) 0);
+        return true;
+      }
+
+      case POP_ARGUMENT: {
+        storeInFrame(R_STORE_ARG, OPND_ARG, bytecodes[i + 1], bytecodes[i + 2]);
+        return true;
+      }
+
+      case POP_FIELD: {
+        store(R_STORE_FIELD, bytecodes[i + 1], bytecodes[i + 2]);
+        return true;
+      }
+
+      case POP_FIELD_0:
+      case POP_FIELD_1: {
+        store(R_STORE_FIELD, (byte) (bytecode - POP_FIELD_0), (byte) 0);
+        return true;
+      }
+
+      case SEND: {
+        send(R_SEND, bytecodes[i + 1]);
+        return true;
+      }
+
+      case SUPER_SEND: {
+        send(R_SUPER_SEND, bytecodes[i + 1]);
+        return true;
+      }
+
+      case RETURN_LOCAL: {
+        int top = depth - 1;
+        emit3(R_RETURN, kinds[top], indexes[top]);
+        reachable = false;
+        return true;
+      }
+
+      case RETURN_NON_LOCAL: {
+        int top = depth - 1;
+        emit3(R_RETURN_NON_LOCAL, kinds[top], indexes[top]);
+        reachable = false;
+        return true;
+      }
+
+      case RETURN_SELF: {
+        out.write(R_RETURN_SELF);
+        reachable = false;
+        return true;
+      }
+
+      case RETURN_FIELD_0:
+      case RETURN_FIELD_1:
+      case RETURN_FIELD_2: {
+        out.write(R_RETURN_FIELD);
+        out.write(bytecode - RETURN_FIELD_0);
+        reachable = false;
+        return true;
+      }
+
+      case INC:
+      case DEC: {
+        int top = depth - 1;
+        emit4(bytecode == INC ? R_INC : R_DEC, (byte) top, kinds[top], indexes[top]);
+        setRegister(top);
+        return true;
+      }
+
+      case INC_FIELD: {
+        emit3(R_INC_FIELD, bytecodes[i + 1], bytecodes[i + 2]);
+        return true;
+      }
+
+      case INC_FIELD_PUSH: {
+        emit4(R_INC_FIELD_PUSH, (byte) depth, bytecodes[i + 1], bytecodes[i + 2]);
+        pushRegister();
+        return true;
+      }
+
+      default:
+        // quickened or unknown bytecodes are not supported
+        return false;
+    }
+  }
+
+  private boolean translateJump(final int i) {
+    byte bytecode = bytecodes[i];
+    int target = getJumpTarget(bytecodes, i);
+
+    if (isBackwardsJump(bytecode)) {
+      flushAll();
+      if (newIndex[target] == -1 || targetDepth[target] != depth) {
+        return false;
+      }
+      out.write(R_JUMP_BACKWARDS);
+      emitTarget(newIndex[target]);
+      reachable = false;
+      return true;
+    }
+
+    byte jump = bytecode;
+    if (jump >= JUMP2) {
+      jump -= NUM_1_BYTE_JUMP_BYTECODES;
+    }
+
+    switch (jump) {
+      case JUMP: {
+        flushAll();
+        out.write(R_JUMP);
+        reachable = false;
+        break;
+      }
+
+      case JUMP_ON_TRUE_POP:
+        return jumpAndPop(R_JUMP_ON_TRUE, target);
+      case JUMP_ON_FALSE_POP:
+        return jumpAndPop(R_JUMP_ON_FALSE, target);
+      case JUMP_ON_NIL_POP:
+        return jumpAndPop(R_JUMP_ON_NIL, target);
+      case JUMP_ON_NOT_NIL_POP:
+        return jumpAndPop(R_JUMP_ON_NOT_NIL, target);
+
+      case JUMP_ON_TRUE_TOP_NIL:
+        return jumpWithTop(R_JUMP_ON_TRUE_TOP_NIL, target);
+      case JUMP_ON_FALSE_TOP_NIL:
+        return jumpWithTop(R_JUMP_ON_FALSE_TOP_NIL, target);
+      case JUMP_ON_NIL_TOP_TOP:
+        return jumpWithTop(R_JUMP_ON_NIL_TOP_TOP, target);
+      case JUMP_ON_NOT_NIL_TOP_TOP:
+        return jumpWithTop(R_JUMP_ON_NOT_NIL_TOP_TOP, target);
+
+      default:
+        return false;
+    }
+
+    patches.add(new JumpPatch(out.size(), target));
+    emitTarget(0);
+    return recordTargetDepth(target);
+  }
+
+  private boolean jumpAndPop(final byte registerJump, final int target) {
+    depth -= 1;
+    byte kind = kinds[depth];
+    byte idx = indexes[depth];
+    flushAll();
+
+    emit3(registerJump, kind, idx);
+    patches.add(new JumpPatch(out.size(), target));
+    emitTarget(0);
+    return recordTargetDepth(target);
+  }
+
+  private boolean jumpWithTop(final byte registerJump, final int target) {
+    flushAll();
+
+    out.write(registerJump);
+    out.write(depth - 1);
+    patches.add(new JumpPatch(out.size(), target));
+    emitTarget(0);
+
+    boolean result = recordTargetDepth(target);
+    depth -= 1;
+    return result;
+  }
+
+  private boolean recordTargetDepth(final int target) {
+    if (targetDepth[target] == -1) {
+      targetDepth[target] = depth;
+      return true;
+    }
+    return targetDepth[target] == depth;
+  }
+
+  private void storeInFrame(final byte registerStore, final byte kind, final byte idx,
+      final byte contextIdx) {
+    if (contextIdx == 0) {
+      // pending reads of the old value need to be materialized before it is overwritten
+      flushReadsOf(kind, idx, depth - 1);
+    }
+    store(registerStore, idx, contextIdx);
+  }
+
+  private void store(final byte registerStore, final byte idx, final byte contextIdx) {
+    int top = depth - 1;
+
+    out.write(registerStore);
+    out.write(idx);
+    out.write(contextIdx);
+    out.write(kinds[top]);
+    out.write(indexes[top]);
+
+    depth -= 1;
+  }
+
+  private void send(final byte registerSend, final byte literalIdx) {
+    SSymbol signature = (SSymbol) literals[literalIdx];
+    int numArgs = signature.getNumberOfSignatureArguments();
+    int base = depth - numArgs;
+
+    // the send may execute blocks that write to the locals of this frame
+    flushFrameReads(base);
+
+    emit3(registerSend, (byte) base, literalIdx);
+    out.write(numArgs);
+    for (int slot = base; slot < depth; slot += 1) {
+      out.write(kinds[slot]);
+      out.write(indexes[slot]);
+    }
+
+    depth = base;
+    pushRegister();
+  }
+
+  private void push(final byte kind, final byte idx) {
+    kinds[depth] = kind;
+    indexes[depth] = idx;
+    depth += 1;
+    numRegisters = Math.max(numRegisters, depth);
+  }
+
+  private void pushRegister() {
+    push(OPND_REG, (byte) depth);
+  }
+
+  private void setRegister(final int slot) {
+    kinds[slot] = OPND_REG;
+    indexes[slot] = (byte) slot;
+  }
+
+  private void flush(final int slot) {
+    if (kinds[slot] == OPND_REG && indexes[slot] == slot) {
+      return;
+    }
+
+    emit4(R_MOV, (byte) slot, kinds[slot], indexes[slot]);
+    setRegister(slot);
+  }
+
+  private void flushAll() {
+    for (int slot = 0; slot < depth; slot += 1) {
+      flush(slot);
+    }
+  }
+
+  /** Materialize pending reads of locals and arguments below the given slot. */
+  private void flushFrameReads(final int limit) {
+    for (int slot = 0; slot < limit; slot += 1) {
+      if (kinds[slot] == OPND_LOCAL || kinds[slot] == OPND_ARG) {
+        flush(slot);
+      }
+    }
+  }
+
+  private void flushReadsOf(final byte kind, final byte idx, final int limit) {
+    for (int slot = 0; slot < limit; slot += 1) {
+      if (kinds[slot] == kind && indexes[slot] == idx) {
+        flush(slot);
+      }
+    }
+  }
+
+  private void emit3(final byte code, final byte arg1, final byte arg2) {
+    out.write(code);
+    out.write(arg1);
+    out.write(arg2);
+  }
+
+  private void emit4(final byte code, final byte arg1, final byte arg2, final byte arg3) {
+    out.write(code);
+    out.write(arg1);
+    out.write(arg2);
+    out.write(arg3);
+  }
+
+  private void emitTarget(final int target) {
+    out.write(target);
+    out.write(target >> 8);
+  }
+}
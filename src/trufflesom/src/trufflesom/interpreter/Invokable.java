@@ -24,8 +24,8 @@ public abstract class Invokable extends RootNode implements WithSource {
   protected SClass holder;
 
   protected Invokable(final String name, final Source source, final long sourceCoord,
-      final FrameDescriptor frameDescriptor) {
-    super(SomLanguage.getCurrent(), frameDescriptor);
+      final FrameDescriptor frameDescriptor, final SomLanguage language) {
+    super(language, frameDescriptor);
     this.name = name;
     this.source = source;
     this.sourceCoord = sourceCoord;
@@ -104,6 +104,10 @@ public final class LexicalScope implements Scope<LexicalScope, Method> {
     variables[length] = var;
   }
 
+  public int getNumberOfLocals() {
+    return numberOfLocals;
+  }
+
   public LexicalScope[] getEmbeddedScopes() {
     return embeddedScopes;
   }
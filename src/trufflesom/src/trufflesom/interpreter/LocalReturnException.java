@@ -0,0 +1,22 @@
+package trufflesom.interpreter;
+
+import com.oracle.truffle.api.nodes.ControlFlowException;
+
+
+/**
+ * Returns from a method out of an inlined block. It never crosses a call boundary, and thus,
+ * does not need a {@link FrameOnStackMarker} to find its target.
+ */
+public final class LocalReturnException extends ControlFlowException {
+  private static final long serialVersionUID = -3516248726373961042L;
+
+  private final transient Object result;
+
+  public LocalReturnException(final Object result) {
+    this.result = result;
+  }
+
+  public Object result() {
+    return result;
+  }
+}
@@ -49,8 +49,8 @@ public final class Method extends Invokable {
 
   public Method(final String name, final Source source, final long sourceCoord,
       final ExpressionNode expressions, final LexicalScope currentLexicalScope,
-      final ExpressionNode uninitialized) {
-    super(name, source, sourceCoord, currentLexicalScope.getFrameDescriptor());
+      final ExpressionNode uninitialized, final SomLanguage language) {
+    super(name, source, sourceCoord, currentLexicalScope.getFrameDescriptor(), language);
     this.currentLexicalScope = currentLexicalScope;
     currentLexicalScope.setMethod(this);
     body = expressions;
@@ -112,7 +112,8 @@ public final class Method extends Invokable {
       uninit = uninitializedBody;
     }
 
-    Method clone = new Method(name, source, sourceCoord, adaptedBody, adaptedScope, uninit);
+    Method clone = new Method(name, source, sourceCoord, adaptedBody, adaptedScope, uninit,
+        getLanguage(SomLanguage.class));
     adaptedScope.setMethod(clone);
     return clone;
   }
@@ -26,8 +26,9 @@ public final class Primitive extends Invokable {
   private final PreevaluatedExpression uninitialized;
 
   public Primitive(final String name, final Source source, final long sourceCoord,
-      final PreevaluatedExpression body, final PreevaluatedExpression uninitialized) {
-    super(name, source, sourceCoord, new FrameDescriptor());
+      final PreevaluatedExpression body, final PreevaluatedExpression uninitialized,
+      final SomLanguage language) {
+    super(name, source, sourceCoord, new FrameDescriptor(), language);
     this.primitive = body;
     this.uninitialized = uninitialized;
   }
@@ -39,7 +40,8 @@ public final class Primitive extends Invokable {
 
   @Override
   public Node deepCopy() {
-    return new Primitive(name, source, sourceCoord, copyTrivialNode(), uninitialized);
+    return new Primitive(name, source, sourceCoord, copyTrivialNode(), uninitialized,
+        getLanguage(SomLanguage.class));
   }
 
   @Override
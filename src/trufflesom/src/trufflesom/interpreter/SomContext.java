@@ -0,0 +1,111 @@
+package trufflesom.interpreter;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.graalvm.options.OptionValues;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage.ContextReference;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.api.nodes.Node;
+
+import trufflesom.vm.Universe;
+
+
+/**
+ * The per-context state of SOM, i.e., the arguments and options of one execution, and the
+ * {@link Universe} it runs in.
+ *
+ * <p>
+ * Classes and globals are part of the universe, which the context shares with the other
+ * contexts of its language instance that use the same class path. This allows contexts
+ * created from one engine to reuse the call targets, including their compiled code, of the
+ * classes loaded by earlier contexts. Contexts with another class path or language instance
+ * do not see each other's classes and globals. Only symbols are shared by all contexts of the
+ * process, since they are immutable.
+ */
+public final class SomContext {
+  private static final ContextReference<SomContext> REFERENCE =
+      ContextReference.create(SomLanguage.class);
+
+  private final SomLanguage language;
+
+  @CompilationFinal(dimensions = 1) private String[] args;
+
+  @CompilationFinal private Universe universe;
+
+  private String classPath;
+  private String testClass;
+  private String testSelector;
+
+  private boolean isPreInitialization;
+
+  SomContext(final SomLanguage language, final Env env) {
+    this.language = language;
+    readOptions(env);
+    isPreInitialization = env.isPreInitialization();
+  }
+
+  public static SomContext get(final Node node) {
+    return REFERENCE.get(node);
+  }
+
+  void readOptions(final Env env) {
+    OptionValues config = env.getOptions();
+    args = env.getApplicationArguments();
+    classPath = config.get(SomLanguage.CLASS_PATH);
+    testClass = config.get(SomLanguage.TEST_CLASS);
+    testSelector = config.get(SomLanguage.TEST_SELECTOR);
+  }
+
+  void patch(final Env newEnv) {
+    readOptions(newEnv);
+    isPreInitialization = false;
+  }
+
+  /** @return the universe of the context, or null if it did not load any classes yet */
+  public Universe getUniverse() {
+    return universe;
+  }
+
+  /**
+   * Use the universe of the language for the given class path. A context uses a single
+   * universe, and thus, its class path cannot change once it is set.
+   */
+  @TruffleBoundary
+  public Universe useClassPath(final String[] classPath) {
+    if (universe == null) {
+      CompilerDirectives.transferToInterpreterAndInvalidate();
+      universe = language.getUniverse(classPath);
+    } else if (!Arrays.equals(universe.getClassPath(), classPath)) {
+      throw new IllegalStateException("The class path of the context cannot be changed to "
+          + String.join(File.pathSeparator, classPath)
+          + ", because it already loaded classes from "
+          + String.join(File.pathSeparator, universe.getClassPath()) + ".");
+    }
+    return universe;
+  }
+
+  public String[] getArguments() {
+    return args;
+  }
+
+  public String getClassPath() {
+    return classPath;
+  }
+
+  public String getTestClass() {
+    return testClass;
+  }
+
+  public String getTestSelector() {
+    return testSelector;
+  }
+
+  public boolean isPreInitialization() {
+    return isPreInitialization;
+  }
+}
@@ -2,6 +2,9 @@ package trufflesom.interpreter;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.graalvm.options.OptionCategory;
 import org.graalvm.options.OptionDescriptors;
@@ -17,14 +20,17 @@ import com.oracle.truffle.api.instrumentation.ProvidedTags;
 import com.oracle.truffle.api.instrumentation.StandardTags.ExpressionTag;
 import com.oracle.truffle.api.instrumentation.StandardTags.RootTag;
 import com.oracle.truffle.api.instrumentation.StandardTags.StatementTag;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.api.source.Source;
 
 import trufflesom.compiler.SourcecodeCompiler.AstCompiler;
 import trufflesom.compiler.SourcecodeCompiler.BcCompiler;
+import trufflesom.interpreter.bc.BytecodeProfile;
 import trufflesom.interpreter.objectstorage.StorageAnalyzer;
 import trufflesom.tools.nodestats.Tags.AnyNode;
 import trufflesom.vm.NotYetImplementedException;
+import trufflesom.vm.PolymorphismPolicy;
 import trufflesom.vm.Universe;
 import trufflesom.vm.Universe.SomExit;
 import trufflesom.vm.VmSettings;
@@ -32,9 +38,10 @@ import trufflesom.vm.VmSettings;
 
 @TruffleLanguage.Registration(id = "som", name = "som", version = "0.1.0",
     defaultMimeType = SomLanguage.MIME_TYPE,
-    characterMimeTypes = SomLanguage.MIME_TYPE)
+    characterMimeTypes = SomLanguage.MIME_TYPE,
+    contextPolicy = TruffleLanguage.ContextPolicy.SHARED)
 @ProvidedTags({RootTag.class, AnyNode.class, ExpressionTag.class, StatementTag.class})
-public class SomLanguage extends TruffleLanguage<SomLanguage> {
+public class SomLanguage extends TruffleLanguage<SomContext> {
 
   public static final String MIME_TYPE = "application/x-som-smalltalk";
   public static final String LANG_ID   = "som";
@@ -48,46 +55,172 @@ public class SomLanguage extends TruffleLanguage<SomLanguage> {
   @Option(help = "Test Selector", category = OptionCategory.USER) //
   protected static final OptionKey<String> TEST_SELECTOR = new OptionKey<>("");
 
-  @CompilationFinal(dimensions = 1) private String[] args;
+  @Option(name = "InlineCacheSize",
+      help = "Maximum number of entries of an inline cache",
+      category = OptionCategory.EXPERT) //
+  protected static final OptionKey<Integer> INLINE_CACHE_SIZE =
+      new OptionKey<>(PolymorphismPolicy.DEFAULT_INLINE_CACHE_SIZE);
 
-  private String classPath;
-  private String testClass;
-  private String testSelector;
+  @Option(name = "AdaptiveInlineCaches",
+      help = "Widen the inline caches of send sites with a stable set of hot receivers",
+      category = OptionCategory.EXPERT) //
+  protected static final OptionKey<Boolean> ADAPTIVE_INLINE_CACHES = new OptionKey<>(false);
+
+  @Option(name = "MaxInlineCacheSize",
+      help = "Maximum number of entries of an inline cache widened in adaptive mode",
+      category = OptionCategory.EXPERT) //
+  protected static final OptionKey<Integer> MAX_INLINE_CACHE_SIZE = new OptionKey<>(16);
+
+  @Option(name = "AdaptiveMinHits",
+      help = "Hits each inline cache entry needs before the cache is widened",
+      category = OptionCategory.EXPERT) //
+  protected static final OptionKey<Integer> ADAPTIVE_MIN_HITS = new OptionKey<>(100);
+
+  @Option(name = "MegamorphicReport",
+      help = "Report megamorphic send sites and their receiver classes on exit",
+      category = OptionCategory.EXPERT) //
+  protected static final OptionKey<Boolean> MEGAMORPHIC_REPORT = new OptionKey<>(false);
+
+  private static final LanguageReference<SomLanguage> REFERENCE =
+      LanguageReference.create(SomLanguage.class);
+
+  /** The universes of the contexts using this language, by class path. */
+  private final Map<List<String>, Universe> universes = new HashMap<>();
+
+  /** The inline cache policy of the contexts, which all use the same options. */
+  @CompilationFinal private PolymorphismPolicy policy;
+
+  public static SomLanguage get(final Node node) {
+    return REFERENCE.get(node);
+  }
+
+  public PolymorphismPolicy getPolicy() {
+    return policy;
+  }
 
   @Override
-  protected SomLanguage createContext(final Env env) {
+  protected SomContext createContext(final Env env) {
     StorageAnalyzer.initAccessors();
+    initializePolicy(env.getOptions());
+    return new SomContext(this, env);
+  }
+
+  private synchronized void initializePolicy(final OptionValues config) {
+    if (policy == null) {
+      policy = createPolicy(config);
+    }
+  }
+
+  /**
+   * The universe for the given class path. The contexts using the same class path share the
+   * classes and globals, and with them the call targets and their compiled code.
+   */
+  synchronized Universe getUniverse(final String[] classPath) {
+    return universes.computeIfAbsent(List.of(classPath), p -> new Universe(this, classPath));
+  }
 
-    OptionValues config = env.getOptions();
-    args = env.getApplicationArguments();
-    classPath = config.get(CLASS_PATH);
-    testClass = config.get(TEST_CLASS);
-    testSelector = config.get(TEST_SELECTOR);
+  /**
+   * Take over a universe initialized ahead of time for the class path of the current
+   * execution, or discard it, if the class path is null.
+   */
+  private synchronized void replaceClassPath(final Universe universe,
+      final String[] classPath) {
+    universes.remove(List.of(universe.getClassPath()));
+    if (classPath != null) {
+      universe.setClassPath(classPath);
+      universes.put(List.of(classPath), universe);
+    }
+  }
 
-    return this;
+  private static PolymorphismPolicy createPolicy(final OptionValues config) {
+    return new PolymorphismPolicy(config.get(INLINE_CACHE_SIZE),
+        config.get(ADAPTIVE_INLINE_CACHES), config.get(MAX_INLINE_CACHE_SIZE),
+        config.get(ADAPTIVE_MIN_HITS), config.get(MEGAMORPHIC_REPORT));
   }
 
+  /**
+   * Contexts can share the language if they specialize code in the same way, i.e., use the
+   * same {@link PolymorphismPolicy}, and otherwise get their own language instance. The class
+   * path does not need to match, since the language keeps the classes of each class path in
+   * their own {@link Universe}, and contexts share loaded classes and their call targets only
+   * with the same class path.
+   */
   @Override
-  protected void initializeContext(final SomLanguage lang) throws Exception {
-    current = this;
+  protected boolean areOptionsCompatible(final OptionValues firstOptions,
+      final OptionValues newOptions) {
+    return firstOptions.get(INLINE_CACHE_SIZE).equals(newOptions.get(INLINE_CACHE_SIZE))
+        && firstOptions.get(ADAPTIVE_INLINE_CACHES).equals(
+            newOptions.get(ADAPTIVE_INLINE_CACHES))
+        && firstOptions.get(MAX_INLINE_CACHE_SIZE).equals(
+            newOptions.get(MAX_INLINE_CACHE_SIZE))
+        && firstOptions.get(ADAPTIVE_MIN_HITS).equals(newOptions.get(ADAPTIVE_MIN_HITS))
+        && firstOptions.get(MEGAMORPHIC_REPORT).equals(newOptions.get(MEGAMORPHIC_REPORT));
+  }
 
+  @Override
+  protected void initializeContext(final SomContext context) throws Exception {
     if (VmSettings.UseAstInterp) {
       Universe.setSourceCompiler(new AstCompiler(), false);
     } else {
       Universe.setSourceCompiler(new BcCompiler(), false);
     }
+
+    if (context.isPreInitialization() && !context.getClassPath().isEmpty()) {
+      // we are building a native image, and load the system classes from the
+      // class path given at build time, so that they end up in the image heap
+      context.useClassPath(Universe.classPathFor(context.getClassPath()))
+             .initializeObjectSystem();
+    }
   }
 
+  /**
+   * A context pre-initialized while building a native image is reused at run time.
+   * The object system is already initialized, and we only take over the class path, options,
+   * and arguments of the current execution. If the class path of the execution resolves the
+   * system classes to other files than at build time, the pre-initialized object system is
+   * discarded, and a new context loads the system classes as usual.
+   */
   @Override
-  protected void disposeContext(final SomLanguage lang) {
-    current = null;
+  protected boolean patchContext(final SomContext context, final Env newEnv) {
+    Universe universe = context.getUniverse();
+    if (universe != null) {
+      String[] classPath = classPathOf(newEnv);
+      if (!universe.resolvesToSameSystemClasses(classPath)) {
+        replaceClassPath(universe, null);
+        return false;
+      }
+      replaceClassPath(universe, classPath);
+    }
+
+    // no code ran yet, so the options of this execution can still replace the ones at build time
+    policy = createPolicy(newEnv.getOptions());
+    context.patch(newEnv);
+    return true;
+  }
+
+  /** The class path that {@link StartInterpretation} uses to execute in the given env. */
+  private static String[] classPathOf(final Env env) {
+    OptionValues options = env.getOptions();
+    if (!options.get(TEST_SELECTOR).isEmpty()) {
+      return Universe.classPathFor(options.get(CLASS_PATH));
+    }
+    return Universe.classPathForArguments(
+        env.getApplicationArguments(), options.get(CLASS_PATH));
   }
 
-  @CompilationFinal private static SomLanguage current;
+  @Override
+  protected void disposeContext(final SomContext context) {
+    if (VmSettings.ProfileBytecodes) {
+      BytecodeProfile.report();
+    }
+    if (policy.isReportingMegamorphicSites()) {
+      policy.report();
+    }
+  }
 
   /** This is used by the Language Server to get to an initialized instance easily. */
   public static SomLanguage getCurrent() {
-    return current;
+    return REFERENCE.get(null);
   }
 
   public static Source getSyntheticSource(final String text, final String name) {
@@ -123,14 +256,19 @@ public class SomLanguage extends TruffleLanguage<SomLanguage> {
 
     @Override
     public Object execute(final VirtualFrame frame) {
+      SomContext context = SomContext.get(this);
+      String testSelector = context.getTestSelector();
       if (testSelector != null && !testSelector.equals("")) {
-        assert classPath != null;
-        assert testClass != null;
-        Universe.setupClassPath(classPath);
-        return Universe.interpret(testClass, testSelector);
+        assert context.getClassPath() != null;
+        assert context.getTestClass() != null;
+        Universe universe = context.useClassPath(Universe.classPathFor(context.getClassPath()));
+        return universe.interpret(context.getTestClass(), testSelector);
       } else {
         try {
-          return Universe.interpret(args);
+          String[] args = context.getArguments();
+          Universe universe = context.useClassPath(
+              Universe.classPathForArguments(args, context.getClassPath()));
+          return universe.interpret(args);
         } catch (IllegalStateException e) {
           Universe.errorPrintln("Runtime Error: " + e.getMessage());
           return 1;
@@ -21,20 +21,17 @@
  */
 package trufflesom.interpreter;
 
-import static trufflesom.vm.Classes.doubleClass;
-import static trufflesom.vm.Classes.falseClass;
-import static trufflesom.vm.Classes.integerClass;
-import static trufflesom.vm.Classes.stringClass;
-import static trufflesom.vm.Classes.trueClass;
-
 import java.math.BigInteger;
 
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.ImplicitCast;
 import com.oracle.truffle.api.dsl.TypeSystem;
 
+import trufflesom.vm.Classes;
 import trufflesom.vmobjects.SAbstractObject;
 import trufflesom.vmobjects.SClass;
+import trufflesom.vmobjects.SRope;
 
 
 @TypeSystem({boolean.class,
@@ -44,24 +41,33 @@ import trufflesom.vmobjects.SClass;
     Object[].class}) // Object[] is only for argument passing
 public class Types {
 
+  /** Ropes are SOM Strings, and flattened when a primitive needs the characters. */
+  @ImplicitCast
+  public static String castRope(final SRope rope) {
+    return rope.flatten();
+  }
+
   public static SClass getClassOf(final Object obj) {
     CompilerAsserts.neverPartOfCompilation();
     assert obj != null;
 
     if (obj instanceof SAbstractObject) {
       return ((SAbstractObject) obj).getSOMClass();
-    } else if (obj instanceof Boolean) {
+    }
+
+    Classes classes = Classes.get(null);
+    if (obj instanceof Boolean) {
       if ((boolean) obj) {
-        return trueClass;
+        return classes.trueClass;
       } else {
-        return falseClass;
+        return classes.falseClass;
       }
     } else if (obj instanceof Long || obj instanceof BigInteger) {
-      return integerClass;
-    } else if (obj instanceof String) {
-      return stringClass;
+      return classes.integerClass;
+    } else if (obj instanceof String || obj instanceof SRope) {
+      return classes.stringClass;
     } else if (obj instanceof Double) {
-      return doubleClass;
+      return classes.doubleClass;
     }
 
     CompilerDirectives.transferToInterpreter();
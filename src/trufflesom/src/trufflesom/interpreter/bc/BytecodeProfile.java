@@ -0,0 +1,107 @@
+package trufflesom.interpreter.bc;
+
+import static trufflesom.interpreter.bc.Bytecodes.NUM_BYTECODES;
+import static trufflesom.interpreter.bc.Bytecodes.getBytecodeLength;
+import static trufflesom.interpreter.bc.Bytecodes.getBytecodeName;
+import static trufflesom.interpreter.bc.Bytecodes.getOriginalBytecode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import trufflesom.vm.Universe;
+
+
+/**
+ * Records how often sequences of two and three bytecodes are executed, to select candidates
+ * for superinstructions. Enabled with {@code -Dsom.bcProfile=true}.
+ *
+ * <p>
+ * A sequence is counted when its first bytecode is executed. The sequence is determined
+ * statically, i.e., it consists of the bytecodes following each other in the method, which
+ * corresponds to what could be fused into a superinstruction. Quickened bytecodes and
+ * superinstructions are counted as the bytecodes they originate from.
+ */
+public final class BytecodeProfile {
+  private static final int NUM_REPORTED = 30;
+
+  private static final long[] twoGrams   = new long[NUM_BYTECODES * NUM_BYTECODES];
+  private static final long[] threeGrams =
+      new long[NUM_BYTECODES * NUM_BYTECODES * NUM_BYTECODES];
+
+  private BytecodeProfile() {}
+
+  @TruffleBoundary
+  public static void record(final byte[] bytecodes, final int bytecodeIndex) {
+    int secondIdx = bytecodeIndex + getBytecodeLength(bytecodes[bytecodeIndex]);
+    if (secondIdx >= bytecodes.length) {
+      return;
+    }
+
+    int first = getOriginalBytecode(bytecodes[bytecodeIndex]);
+    int second = getOriginalBytecode(bytecodes[secondIdx]);
+    twoGrams[first * NUM_BYTECODES + second] += 1;
+
+    int thirdIdx = secondIdx + getBytecodeLength(bytecodes[secondIdx]);
+    if (thirdIdx >= bytecodes.length) {
+      return;
+    }
+
+    int third = getOriginalBytecode(bytecodes[thirdIdx]);
+    threeGrams[(first * NUM_BYTECODES + second) * NUM_BYTECODES + third] += 1;
+  }
+
+  private static final class Sequence implements Comparable<Sequence> {
+    private final long   count;
+    private final String bytecodes;
+
+    Sequence(final long count, final String bytecodes) {
+      this.count = count;
+      this.bytecodes = bytecodes;
+    }
+
+    @Override
+    public int compareTo(final Sequence o) {
+      return Long.compare(o.count, count);
+    }
+  }
+
+  private static List<Sequence> topSequences(final long[] counts, final int length) {
+    List<Sequence> result = new ArrayList<>();
+    for (int i = 0; i < counts.length; i += 1) {
+      if (counts[i] == 0) {
+        continue;
+      }
+
+      StringBuilder sb = new StringBuilder();
+      int rest = i;
+      for (int j = 0; j < length; j += 1) {
+        String name = getBytecodeName((byte) (rest % NUM_BYTECODES));
+        sb.insert(0, j == 0 ? name : name + " ");
+        rest /= NUM_BYTECODES;
+      }
+      result.add(new Sequence(counts[i], sb.toString()));
+    }
+
+    result.sort(null);
+    if (result.size() > NUM_REPORTED) {
+      return result.subList(0, NUM_REPORTED);
+    }
+    return result;
+  }
+
+  private static void report(final String title, final long[] counts, final int length) {
+    Universe.errorPrintln(title);
+    for (Sequence s : topSequences(counts, length)) {
+      Universe.errorPrintln(String.format("%14d  %s", s.count, s.bytecodes));
+    }
+    Universe.errorPrintln();
+  }
+
+  @TruffleBoundary
+  public static void report() {
+    report("Most frequently executed bytecode pairs:", twoGrams, 2);
+    report("Most frequently executed bytecode triples:", threeGrams, 3);
+  }
+}
@@ -115,11 +115,21 @@ public class Bytecodes {
   public static final byte JUMP2_ON_NIL_POP         = 62;
   public static final byte JUMP2_BACKWARDS          = 63;
 
-  public static final byte Q_PUSH_GLOBAL = 64;
-  public static final byte Q_SEND        = 65;
-  public static final byte Q_SEND_1      = 66;
-  public static final byte Q_SEND_2      = 67;
-  public static final byte Q_SEND_3      = 68;
+  // Superinstructions, a push followed by a binary SEND.
+  // The SEND remains a separate bytecode and is executed directly by the superinstruction.
+  public static final byte PUSH_LOCAL_0_SEND = 64;
+  public static final byte PUSH_LOCAL_1_SEND = 65;
+  public static final byte PUSH_LOCAL_2_SEND = 66;
+  public static final byte PUSH_ARG1_SEND    = 67;
+  public static final byte PUSH_ARG2_SEND    = 68;
+  public static final byte PUSH_FIELD_0_SEND = 69;
+  public static final byte PUSH_FIELD_1_SEND = 70;
+
+  public static final byte Q_PUSH_GLOBAL = 71;
+  public static final byte Q_SEND        = 72;
+  public static final byte Q_SEND_1      = 73;
+  public static final byte Q_SEND_2      = 74;
+  public static final byte Q_SEND_3      = 75;
 
   public static final byte INVALID = -1;
 
@@ -180,6 +190,76 @@ public class Bytecodes {
       JUMP_BACKWARDS
   };
 
+  public static boolean isSuperinstruction(final byte bytecode) {
+    return bytecode >= PUSH_LOCAL_0_SEND && bytecode <= PUSH_FIELD_1_SEND;
+  }
+
+  /**
+   * @return the push bytecode a superinstruction was created from, or the given bytecode
+   */
+  public static byte getUnfusedBytecode(final byte bytecode) {
+    switch (bytecode) {
+      case PUSH_LOCAL_0_SEND:
+        return PUSH_LOCAL_0;
+      case PUSH_LOCAL_1_SEND:
+        return PUSH_LOCAL_1;
+      case PUSH_LOCAL_2_SEND:
+        return PUSH_LOCAL_2;
+      case PUSH_ARG1_SEND:
+        return PUSH_ARG1;
+      case PUSH_ARG2_SEND:
+        return PUSH_ARG2;
+      case PUSH_FIELD_0_SEND:
+        return PUSH_FIELD_0;
+      case PUSH_FIELD_1_SEND:
+        return PUSH_FIELD_1;
+      default:
+        return bytecode;
+    }
+  }
+
+  /**
+   * @return the bytecode as emitted by the compiler, i.e., without quickening and fusion
+   */
+  public static byte getOriginalBytecode(final byte bytecode) {
+    switch (bytecode) {
+      case Q_PUSH_GLOBAL:
+        return PUSH_GLOBAL;
+      case Q_SEND:
+      case Q_SEND_1:
+      case Q_SEND_2:
+      case Q_SEND_3:
+        return SEND;
+      default:
+        return getUnfusedBytecode(bytecode);
+    }
+  }
+
+  /**
+   * @return the superinstruction fusing the given push with a following binary send, or
+   *         {@link #INVALID}
+   */
+  public static byte getSuperinstructionForPush(final byte bytecode) {
+    switch (bytecode) {
+      case PUSH_LOCAL_0:
+        return PUSH_LOCAL_0_SEND;
+      case PUSH_LOCAL_1:
+        return PUSH_LOCAL_1_SEND;
+      case PUSH_LOCAL_2:
+        return PUSH_LOCAL_2_SEND;
+      case PUSH_ARG1:
+        return PUSH_ARG1_SEND;
+      case PUSH_ARG2:
+        return PUSH_ARG2_SEND;
+      case PUSH_FIELD_0:
+        return PUSH_FIELD_0_SEND;
+      case PUSH_FIELD_1:
+        return PUSH_FIELD_1_SEND;
+      default:
+        return INVALID;
+    }
+  }
+
   public static final boolean isOneOf(final byte bytecode, final byte[] arr) {
     for (byte b : arr) {
       if (b == bytecode) {
@@ -274,6 +354,14 @@ public class Bytecodes {
         "JUMP2_ON_NIL_POP",
         "JUMP2_BACKWARDS ",
 
+        "PUSH_LOCAL_0_SEND",
+        "PUSH_LOCAL_1_SEND",
+        "PUSH_LOCAL_2_SEND",
+        "PUSH_ARG1_SEND  ",
+        "PUSH_ARG2_SEND  ",
+        "PUSH_FIELD_0_SEND",
+        "PUSH_FIELD_1_SEND",
+
         "Q_PUSH_GLOBAL   ",
         "Q_SEND          ",
         "Q_SEND_1        ",
@@ -364,6 +452,14 @@ public class Bytecodes {
         3, // JUMP2_ON_NIL_POP,
         3, // JUMP2_BACKWARDS
 
+        1, // PUSH_LOCAL_0_SEND
+        1, // PUSH_LOCAL_1_SEND
+        1, // PUSH_LOCAL_2_SEND
+        1, // PUSH_ARG1_SEND
+        1, // PUSH_ARG2_SEND
+        1, // PUSH_FIELD_0_SEND
+        1, // PUSH_FIELD_1_SEND
+
         2, // Q_PUSH_GLOBAL
         2, // Q_SEND
         2, // Q_SEND_1
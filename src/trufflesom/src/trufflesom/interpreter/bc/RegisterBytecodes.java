@@ -0,0 +1,247 @@
+package trufflesom.interpreter.bc;
+
+import java.util.stream.Stream;
+
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+
+
+/**
+ * Register-based encoding of SOM methods, derived from the stack-based {@link Bytecodes} by
+ * the {@link trufflesom.compiler.bc.RegisterCodeGenerator}.
+ *
+ * <p>
+ * Registers correspond to the slots of the operand stack of the original bytecode. Each
+ * instruction names its inputs explicitly as operands, which consist of a kind and an index.
+ * This allows reads of locals, arguments, and constants to be used directly by the consuming
+ * instruction instead of being pushed and popped.
+ *
+ * <p>
+ * Jump targets are absolute, encoded as two unsigned bytes.
+ */
+public final class RegisterBytecodes {
+  private RegisterBytecodes() {}
+
+  // Operand kinds
+  public static final byte OPND_REG   = 0;
+  public static final byte OPND_LOCAL = 1;
+  public static final byte OPND_ARG   = 2;
+  public static final byte OPND_CONST = 3;
+  public static final byte OPND_INT   = 4;
+  public static final byte OPND_NIL   = 5;
+
+  // Instructions
+
+  /** R_HALT kind, idx. */
+  public static final byte R_HALT = 0;
+
+  /** R_MOV dst, kind, idx. */
+  public static final byte R_MOV = 1;
+
+  /** R_MOV_LOCAL dst, localIdx, ctx. */
+  public static final byte R_MOV_LOCAL = 2;
+
+  /** R_MOV_ARG dst, argIdx, ctx. */
+  public static final byte R_MOV_ARG = 3;
+
+  /** R_MOV_FIELD dst, fieldIdx, ctx. */
+  public static final byte R_MOV_FIELD = 4;
+
+  /** R_MOV_GLOBAL dst, literalIdx. */
+  public static final byte R_MOV_GLOBAL = 5;
+
+  /** R_MOV_BLOCK dst, literalIdx. */
+  public static final byte R_MOV_BLOCK        = 6;
+  public static final byte R_MOV_BLOCK_NO_CTX = 7;
+
+  /** R_STORE_LOCAL localIdx, ctx, kind, idx. */
+  public static final byte R_STORE_LOCAL = 8;
+
+  /** R_STORE_ARG argIdx, ctx, kind, idx. */
+  public static final byte R_STORE_ARG = 9;
+
+  /** R_STORE_FIELD fieldIdx, ctx, kind, idx. */
+  public static final byte R_STORE_FIELD = 10;
+
+  /** R_SEND dst, literalIdx, numArgs, (kind, idx)*numArgs. */
+  public static final byte R_SEND       = 11;
+  public static final byte R_SUPER_SEND = 12;
+
+  /** R_RETURN kind, idx. */
+  public static final byte R_RETURN            = 13;
+  public static final byte R_RETURN_NON_LOCAL  = 14;
+  public static final byte R_RETURN_SELF       = 15;
+  /** R_RETURN_FIELD fieldIdx. */
+  public static final byte R_RETURN_FIELD      = 16;
+
+  /** R_INC dst, kind, idx. */
+  public static final byte R_INC = 17;
+  public static final byte R_DEC = 18;
+
+  /** R_INC_FIELD fieldIdx, ctx. */
+  public static final byte R_INC_FIELD      = 19;
+  /** R_INC_FIELD_PUSH dst, fieldIdx, ctx. */
+  public static final byte R_INC_FIELD_PUSH = 20;
+
+  /** R_JUMP target1, target2. */
+  public static final byte R_JUMP           = 21;
+  public static final byte R_JUMP_BACKWARDS = 22;
+
+  /** R_JUMP_ON_TRUE kind, idx, target1, target2. The operand is consumed. */
+  public static final byte R_JUMP_ON_TRUE    = 23;
+  public static final byte R_JUMP_ON_FALSE   = 24;
+  public static final byte R_JUMP_ON_NIL     = 25;
+  public static final byte R_JUMP_ON_NOT_NIL = 26;
+
+  /**
+   * R_JUMP_ON_TRUE_TOP_NIL reg, target1, target2. When jumping, the register is set to nil.
+   */
+  public static final byte R_JUMP_ON_TRUE_TOP_NIL  = 27;
+  public static final byte R_JUMP_ON_FALSE_TOP_NIL = 28;
+
+  /**
+   * R_JUMP_ON_NIL_TOP_TOP reg, target1, target2. When jumping, the register keeps its value.
+   */
+  public static final byte R_JUMP_ON_NIL_TOP_TOP     = 29;
+  public static final byte R_JUMP_ON_NOT_NIL_TOP_TOP = 30;
+
+  public static final byte R_Q_MOV_GLOBAL = 31;
+  public static final byte R_Q_SEND       = 32;
+  public static final byte R_Q_SEND_1     = 33;
+  public static final byte R_Q_SEND_2     = 34;
+  public static final byte R_Q_SEND_3     = 35;
+
+  public static final byte NUM_REGISTER_BYTECODES = R_Q_SEND_3 + 1;
+
+  public static final int LEN_SEND_WITHOUT_OPERANDS = 4;
+
+  private static final String[] PADDED_NAMES = new String[] {
+      "R_HALT          ",
+      "R_MOV           ",
+      "R_MOV_LOCAL     ",
+      "R_MOV_ARG       ",
+      "R_MOV_FIELD     ",
+      "R_MOV_GLOBAL    ",
+      "R_MOV_BLOCK     ",
+      "R_MOV_BLOCK_NO_CTX",
+      "R_STORE_LOCAL   ",
+      "R_STORE_ARG     ",
+      "R_STORE_FIELD   ",
+      "R_SEND          ",
+      "R_SUPER_SEND    ",
+      "R_RETURN        ",
+      "R_RETURN_NON_LOCAL",
+      "R_RETURN_SELF   ",
+      "R_RETURN_FIELD  ",
+      "R_INC           ",
+      "R_DEC           ",
+      "R_INC_FIELD     ",
+      "R_INC_FIELD_PUSH",
+      "R_JUMP          ",
+      "R_JUMP_BACKWARDS",
+      "R_JUMP_ON_TRUE  ",
+      "R_JUMP_ON_FALSE ",
+      "R_JUMP_ON_NIL   ",
+      "R_JUMP_ON_NOT_NIL",
+      "R_JUMP_ON_TRUE_TOP_NIL",
+      "R_JUMP_ON_FALSE_TOP_NIL",
+      "R_JUMP_ON_NIL_TOP_TOP",
+      "R_JUMP_ON_NOT_NIL_TOP_TOP",
+      "R_Q_MOV_GLOBAL  ",
+      "R_Q_SEND        ",
+      "R_Q_SEND_1      ",
+      "R_Q_SEND_2      ",
+      "R_Q_SEND_3      ",
+  };
+
+  private static final String[] NAMES =
+      Stream.of(PADDED_NAMES).map(String::trim).toArray(String[]::new);
+
+  /** Length of instructions, sends have a variable length and are marked with -1. */
+  @CompilationFinal(dimensions = 1) private static final int[] LENGTH = new int[] {
+      3, // R_HALT
+      4, // R_MOV
+      4, // R_MOV_LOCAL
+      4, // R_MOV_ARG
+      4, // R_MOV_FIELD
+      3, // R_MOV_GLOBAL
+      3, // R_MOV_BLOCK
+      3, // R_MOV_BLOCK_NO_CTX
+      5, // R_STORE_LOCAL
+      5, // R_STORE_ARG
+      5, // R_STORE_FIELD
+      -1, // R_SEND
+      -1, // R_SUPER_SEND
+      3, // R_RETURN
+      3, // R_RETURN_NON_LOCAL
+      1, // R_RETURN_SELF
+      2, // R_RETURN_FIELD
+      4, // R_INC
+      4, // R_DEC
+      3, // R_INC_FIELD
+      4, // R_INC_FIELD_PUSH
+      3, // R_JUMP
+      3, // R_JUMP_BACKWARDS
+      5, // R_JUMP_ON_TRUE
+      5, // R_JUMP_ON_FALSE
+      5, // R_JUMP_ON_NIL
+      5, // R_JUMP_ON_NOT_NIL
+      4, // R_JUMP_ON_TRUE_TOP_NIL
+      4, // R_JUMP_ON_FALSE_TOP_NIL
+      4, // R_JUMP_ON_NIL_TOP_TOP
+      4, // R_JUMP_ON_NOT_NIL_TOP_TOP
+      3, // R_Q_MOV_GLOBAL
+      -1, // R_Q_SEND
+      -1, // R_Q_SEND_1
+      -1, // R_Q_SEND_2
+      -1, // R_Q_SEND_3
+  };
+
+  static {
+    assert PADDED_NAMES.length == NUM_REGISTER_BYTECODES : "Inconsistency between number of register bytecodes and defined names";
+    assert LENGTH.length == NUM_REGISTER_BYTECODES : "Inconsistency between number of register bytecodes and defined lengths";
+  }
+
+  public static String getName(final byte bytecode) {
+    return NAMES[bytecode];
+  }
+
+  public static String getPaddedName(final byte bytecode) {
+    return PADDED_NAMES[bytecode];
+  }
+
+  public static boolean isSend(final byte bytecode) {
+    return LENGTH[bytecode] == -1;
+  }
+
+  public static int getLength(final byte[] code, final int idx) {
+    byte bytecode = code[idx];
+    int len = LENGTH[bytecode];
+    if (len == -1) {
+      return LEN_SEND_WITHOUT_OPERANDS + 2 * code[idx + 3];
+    }
+    return len;
+  }
+
+  public static int getJumpTarget(final byte byte1, final byte byte2) {
+    return Byte.toUnsignedInt(byte1) + (Byte.toUnsignedInt(byte2) << 8);
+  }
+
+  public static String getOperandName(final byte kind, final byte idx) {
+    switch (kind) {
+      case OPND_REG:
+        return "r" + idx;
+      case OPND_LOCAL:
+        return "local" + idx;
+      case OPND_ARG:
+        return "arg" + idx;
+      case OPND_CONST:
+        return "const" + idx;
+      case OPND_INT:
+        return "#" + idx;
+      case OPND_NIL:
+        return "nil";
+      default:
+        return "<invalid operand kind " + kind + ">";
+    }
+  }
+}
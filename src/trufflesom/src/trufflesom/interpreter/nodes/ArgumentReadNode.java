@@ -114,7 +114,12 @@ public abstract class ArgumentReadNode {
 
     @Override
     public final Object executeGeneric(final VirtualFrame frame) {
-      return determineContext(frame).getArguments()[argumentIndex];
+      return determineOuterArguments(frame)[argumentIndex];
+    }
+
+    @Override
+    public boolean accessesFrameOf(final int level) {
+      return false;
     }
 
     @Override
@@ -162,10 +167,15 @@ public abstract class ArgumentReadNode {
     @Override
     public final Object executeGeneric(final VirtualFrame frame) {
       Object value = valueNode.executeGeneric(frame);
-      determineContext(frame).getArguments()[argumentIndex] = value;
+      determineOuterArguments(frame)[argumentIndex] = value;
       return value;
     }
 
+    @Override
+    public boolean accessesFrameOf(final int level) {
+      return false;
+    }
+
     @Override
     public void replaceAfterScopeChange(final ScopeAdaptationVisitor inliner) {
       inliner.updateWrite(arg, this, valueNode, contextLevel);
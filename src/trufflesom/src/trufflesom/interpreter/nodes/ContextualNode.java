@@ -50,6 +50,14 @@ public abstract class ContextualNode extends NoPreEvalExprNode {
     return contextLevel > 0;
   }
 
+  /**
+   * @return true, if the node needs the frame of the context at the given level, and not
+   *         only its arguments
+   */
+  public boolean accessesFrameOf(final int level) {
+    return contextLevel == level;
+  }
+
   protected final MaterializedFrame determineContext(final VirtualFrame frame) {
     return determineContext(frame, contextLevel);
   }
@@ -72,4 +80,29 @@ public abstract class ContextualNode extends NoPreEvalExprNode {
     // so, we record explicitly a class profile
     return frameType.profile(self.getContext());
   }
+
+  protected final Object[] determineOuterArguments(final VirtualFrame frame) {
+    return determineOuterArguments(frame, contextLevel);
+  }
+
+  /**
+   * Like {@link #determineContext(VirtualFrame, int)}, but returns only the arguments of the
+   * outer method, which are also available for blocks without a materialized context.
+   */
+  @ExplodeLoop
+  @InliningCutoff
+  public static final Object[] determineOuterArguments(final VirtualFrame frame,
+      final int contextLevel) {
+    CompilerAsserts.partialEvaluationConstant(contextLevel);
+
+    SBlock self = (SBlock) frame.getArguments()[0];
+    int i = contextLevel - 1;
+
+    while (i > 0) {
+      self = (SBlock) self.getOuterSelf();
+      i--;
+    }
+
+    return self.getOuterArguments();
+  }
 }
@@ -35,6 +35,7 @@ import com.oracle.truffle.api.nodes.UnexpectedResultException;
 import com.oracle.truffle.api.source.Source;
 
 import trufflesom.bdt.primitives.nodes.PreevaluatedExpression;
+import trufflesom.interpreter.nodes.ReturnNonLocalNode.CatchLocalReturnNode;
 import trufflesom.interpreter.nodes.ReturnNonLocalNode.CatchNonLocalReturnNode;
 import trufflesom.interpreter.nodes.dispatch.AbstractDispatchNode;
 import trufflesom.tools.nodestats.Tags.AnyNode;
@@ -146,7 +147,8 @@ public abstract class ExpressionNode extends SOMNode
         parent = parent.getParent();
       }
 
-      if (parent.getClass() == CatchNonLocalReturnNode.class) {
+      if (parent.getClass() == CatchNonLocalReturnNode.class
+          || parent.getClass() == CatchLocalReturnNode.class) {
         return true;
       }
       if (parent != null) {
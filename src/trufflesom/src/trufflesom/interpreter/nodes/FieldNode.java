@@ -94,6 +94,12 @@ public abstract class FieldNode extends ExpressionNode {
       return read.readDouble(obj);
     }
 
+    @Override
+    public boolean executeBoolean(final VirtualFrame frame) throws UnexpectedResultException {
+      SObject obj = (SObject) self.executeGeneric(frame);
+      return read.readBoolean(obj);
+    }
+
     @Override
     public Object executeGeneric(final VirtualFrame frame) {
       SObject obj = (SObject) self.executeGeneric(frame);
@@ -230,6 +236,11 @@ public abstract class FieldNode extends ExpressionNode {
       return write.write(self, value);
     }
 
+    @Specialization
+    public boolean doBoolean(final SObject self, final boolean value) {
+      return write.write(self, value);
+    }
+
     @Specialization
     public Object doObject(final VirtualFrame frame, final SObject self,
         final Object value) {
@@ -254,6 +265,10 @@ public abstract class FieldNode extends ExpressionNode {
       this.write = write;
     }
 
+    public FieldWriteNode getWrite() {
+      return (FieldWriteNode) write;
+    }
+
     @Override
     public Object doPreEvaluated(final VirtualFrame frame, final Object[] args) {
       write.doPreEvaluated(frame, args);
@@ -21,8 +21,6 @@
  */
 package trufflesom.interpreter.nodes;
 
-import static trufflesom.vm.Globals.getGlobalsAssociation;
-import static trufflesom.vm.Globals.hasGlobal;
 import static trufflesom.vm.SymbolTable.symFalse;
 import static trufflesom.vm.SymbolTable.symNil;
 import static trufflesom.vm.SymbolTable.symTrue;
@@ -46,7 +44,9 @@ import trufflesom.compiler.bc.BytecodeMethodGenContext;
 import trufflesom.interpreter.nodes.dispatch.AbstractDispatchNode;
 import trufflesom.interpreter.nodes.dispatch.CachedLiteralNode;
 import trufflesom.interpreter.nodes.dispatch.DispatchGuard;
+import trufflesom.vm.Globals;
 import trufflesom.vm.Globals.Association;
+import trufflesom.vm.Universe;
 import trufflesom.vm.constants.Nil;
 import trufflesom.vmobjects.SAbstractObject;
 import trufflesom.vmobjects.SBlock;
@@ -57,12 +57,12 @@ import trufflesom.vmobjects.SSymbol;
 public abstract class GlobalNode extends ExpressionNode
     implements Invocation<String>, PreevaluatedExpression {
 
-  public static boolean isPotentiallyUnknown(final SSymbol global) {
+  public static boolean isPotentiallyUnknown(final SSymbol global, final Globals globals) {
     return global != symNil && global != symTrue
-        && global != symFalse && !hasGlobal(global);
+        && global != symFalse && !globals.hasGlobal(global);
   }
 
-  public static GlobalNode create(final SSymbol globalName,
+  public static GlobalNode create(final SSymbol globalName, final Globals globals,
       final MethodGenerationContext mgenc) {
     if (globalName == symNil) {
       return new NilGlobalNode(globalName);
@@ -73,7 +73,7 @@ public abstract class GlobalNode extends ExpressionNode
     }
 
     // Get the global from the universe
-    Association assoc = getGlobalsAssociation(globalName);
+    Association assoc = globals.getGlobalsAssociation(globalName);
     if (assoc != null) {
       return new CachedGlobalReadNode(globalName, assoc);
     }
@@ -99,6 +99,10 @@ public abstract class GlobalNode extends ExpressionNode
     return new GlobalNodeWrapper(this, probe);
   }
 
+  public final SSymbol getGlobalName() {
+    return globalName;
+  }
+
   @Override
   public final String getInvocationIdentifier() {
     return globalName.getString();
@@ -137,7 +141,7 @@ public abstract class GlobalNode extends ExpressionNode
       CompilerDirectives.transferToInterpreterAndInvalidate();
 
       // Get the global from the universe
-      Association assoc = getGlobalsAssociation(globalName);
+      Association assoc = Universe.get(this).getGlobals().getGlobalsAssociation(globalName);
       if (assoc != null) {
         return replace(
             (GlobalNode) new CachedGlobalReadNode(globalName, assoc)).executeGeneric(frame);
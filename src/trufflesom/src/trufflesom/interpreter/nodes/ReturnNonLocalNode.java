@@ -29,6 +29,7 @@ import trufflesom.bdt.inlining.ScopeAdaptationVisitor;
 import trufflesom.bdt.inlining.ScopeAdaptationVisitor.ScopeElement;
 import trufflesom.compiler.Variable.Internal;
 import trufflesom.interpreter.FrameOnStackMarker;
+import trufflesom.interpreter.LocalReturnException;
 import trufflesom.interpreter.ReturnException;
 import trufflesom.vmobjects.SAbstractObject;
 import trufflesom.vmobjects.SBlock;
@@ -80,7 +81,7 @@ public final class ReturnNonLocalNode extends ContextualNode {
     if (se.var != onStackMarkerVar || se.contextLevel < contextLevel) {
       ExpressionNode node;
       if (se.contextLevel == 0) {
-        node = new ReturnLocalNode(expression, (Internal) se.var);
+        node = new ReturnLocalNode(expression);
       } else {
         node = new ReturnNonLocalNode(expression, (Internal) se.var, se.contextLevel);
       }
@@ -99,37 +100,49 @@ public final class ReturnNonLocalNode extends ContextualNode {
   public static final class ReturnLocalNode extends NoPreEvalExprNode {
     @Child private ExpressionNode expression;
 
-    private final Internal onStackMarkerVar;
-
-    private final int onStackMarkerIndex;
-
-    private ReturnLocalNode(final ExpressionNode exp, final Internal onStackMarker) {
+    private ReturnLocalNode(final ExpressionNode exp) {
       this.expression = exp;
-
-      this.onStackMarkerVar = onStackMarker;
-      this.onStackMarkerIndex = onStackMarker.getIndex();
     }
 
     @Override
     public Object executeGeneric(final VirtualFrame frame) {
       Object result = expression.executeGeneric(frame);
-      FrameOnStackMarker marker = (FrameOnStackMarker) frame.getObject(onStackMarkerIndex);
 
       // this ReturnLocalNode should only become part of an AST because of
       // inlining a literal block, and that block, should never be
       // captured as a value and passed around. Because, we should only ever
       // do the inlining for blocks where we know this doesn't happen.
-      assert marker.isOnStack();
-      throw new ReturnException(result, marker);
+      // Thus, the exception is always caught by the method itself.
+      throw new LocalReturnException(result);
+    }
+  }
+
+  /**
+   * Catches the returns of inlined blocks, for methods without blocks that return
+   * non-locally. Such methods do not need a {@link FrameOnStackMarker}.
+   */
+  public static final class CatchLocalReturnNode extends NoPreEvalExprNode {
+    @Child protected ExpressionNode methodBody;
+
+    private final BranchProfile doCatch;
+
+    public CatchLocalReturnNode(final ExpressionNode methodBody) {
+      this.methodBody = methodBody;
+      this.doCatch = BranchProfile.create();
     }
 
     @Override
-    public void replaceAfterScopeChange(final ScopeAdaptationVisitor inliner) {
-      ScopeElement se = inliner.getAdaptedVar(onStackMarkerVar);
-      if (se.var != onStackMarkerVar) {
-        ReturnLocalNode node = new ReturnLocalNode(expression, (Internal) se.var);
-        node.initialize(sourceCoord);
-        replace(node);
+    public ExpressionNode getFirstMethodBodyNode() {
+      return methodBody;
+    }
+
+    @Override
+    public Object executeGeneric(final VirtualFrame frame) {
+      try {
+        return methodBody.executeGeneric(frame);
+      } catch (LocalReturnException e) {
+        doCatch.enter();
+        return e.result();
       }
     }
   }
@@ -160,6 +173,10 @@ public final class ReturnNonLocalNode extends ContextualNode {
       return methodBody;
     }
 
+    public Internal getOnStackMarker() {
+      return onStackMarkerVar;
+    }
+
     @Override
     public Object executeGeneric(final VirtualFrame frame) {
       FrameOnStackMarker marker = new FrameOnStackMarker();
@@ -167,6 +184,9 @@ public final class ReturnNonLocalNode extends ContextualNode {
 
       try {
         return methodBody.executeGeneric(frame);
+      } catch (LocalReturnException e) {
+        doCatch.enter();
+        return e.result();
       } catch (ReturnException e) {
         nonLocalReturnHandler.enter();
         if (!e.reachedTarget(marker)) {
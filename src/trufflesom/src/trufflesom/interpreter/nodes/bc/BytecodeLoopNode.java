@@ -54,7 +54,9 @@ import static trufflesom.interpreter.bc.Bytecodes.POP_LOCAL_2;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_0;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_1;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_ARG1;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_ARG1_SEND;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_ARG2;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_ARG2_SEND;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_ARGUMENT;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_BLOCK;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_BLOCK_NO_CTX;
@@ -64,12 +66,17 @@ import static trufflesom.interpreter.bc.Bytecodes.PUSH_CONSTANT_1;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_CONSTANT_2;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_FIELD;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_FIELD_0;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_FIELD_0_SEND;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_FIELD_1;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_FIELD_1_SEND;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_GLOBAL;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_LOCAL;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_LOCAL_0;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_LOCAL_0_SEND;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_LOCAL_1;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_LOCAL_1_SEND;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_LOCAL_2;
+import static trufflesom.interpreter.bc.Bytecodes.PUSH_LOCAL_2_SEND;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_NIL;
 import static trufflesom.interpreter.bc.Bytecodes.PUSH_SELF;
 import static trufflesom.interpreter.bc.Bytecodes.Q_PUSH_GLOBAL;
@@ -87,6 +94,7 @@ import static trufflesom.interpreter.bc.Bytecodes.SEND;
 import static trufflesom.interpreter.bc.Bytecodes.SUPER_SEND;
 import static trufflesom.interpreter.bc.Bytecodes.getBytecodeLength;
 import static trufflesom.interpreter.bc.Bytecodes.getBytecodeName;
+import static trufflesom.interpreter.bc.Bytecodes.getUnfusedBytecode;
 import static trufflesom.interpreter.nodes.ContextualNode.determineContext;
 
 import java.util.ArrayList;
@@ -102,6 +110,7 @@ import com.oracle.truffle.api.HostCompilerDirectives.BytecodeInterpreterSwitch;
 import com.oracle.truffle.api.HostCompilerDirectives.InliningCutoff;
 import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.BytecodeOSRNode;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.ExplodeLoop.LoopExplosionKind;
 import com.oracle.truffle.api.nodes.LoopNode;
@@ -122,6 +131,7 @@ import trufflesom.interpreter.Invokable;
 import trufflesom.interpreter.Method;
 import trufflesom.interpreter.ReturnException;
 import trufflesom.interpreter.Types;
+import trufflesom.interpreter.bc.BytecodeProfile;
 import trufflesom.interpreter.bc.Bytecodes;
 import trufflesom.interpreter.bc.RespecializeException;
 import trufflesom.interpreter.bc.RestartLoopException;
@@ -144,6 +154,7 @@ import trufflesom.primitives.Primitives;
 import trufflesom.vm.Classes;
 import trufflesom.vm.NotYetImplementedException;
 import trufflesom.vm.Universe;
+import trufflesom.vm.VmSettings;
 import trufflesom.vm.constants.Nil;
 import trufflesom.vmobjects.SAbstractObject;
 import trufflesom.vmobjects.SBlock;
@@ -154,22 +165,32 @@ import trufflesom.vmobjects.SObject;
 import trufflesom.vmobjects.SSymbol;
 
 
-public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReference {
-  private static final LiteralNode dummyNode = new IntegerLiteralNode(0);
+public class BytecodeLoopNode extends NoPreEvalExprNode
+    implements ScopeReference, BytecodeOSRNode {
+  protected static final LiteralNode dummyNode = new IntegerLiteralNode(0);
 
-  @CompilationFinal(dimensions = 1) private final byte[]   bytecodesField;
-  @CompilationFinal(dimensions = 1) private final Object[] literalsAndConstantsField;
+  @CompilationFinal(dimensions = 1) protected final byte[]   bytecodesField;
+  @CompilationFinal(dimensions = 1) protected final Object[] literalsAndConstantsField;
 
-  @CompilationFinal(dimensions = 1) private final BackJump[] inlinedLoopsField;
+  @CompilationFinal(dimensions = 1) protected final BackJump[] inlinedLoopsField;
 
   @Children private final Node[] quickenedField;
 
-  @CompilationFinal private int contextLevel;
+  @CompilationFinal protected int contextLevel;
 
-  private final int numLocals;
-  private final int maxStackDepth;
+  protected final int numLocals;
+  protected final int maxStackDepth;
 
-  private final int frameOnStackMarkerIndex;
+  protected final int frameOnStackMarkerIndex;
+
+  /**
+   * On-stack replacement usually continues in a copy of the frame. Blocks created before the
+   * switch refer to the original frame, so methods that create blocks with a context continue
+   * in the original frame instead, which is materialized for the blocks anyway.
+   */
+  protected final boolean osrInParentFrame;
+
+  @CompilationFinal private Object osrMetadata;
 
   public BytecodeLoopNode(final byte[] bytecodes, final int numLocals,
       final Object[] literals, final int maxStackDepth,
@@ -184,6 +205,47 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
 
     this.quickenedField = new Node[bytecodes.length];
     this.contextLevel = contextLevel;
+    this.osrInParentFrame = createsBlocksWithContext(bytecodes);
+  }
+
+  private static boolean createsBlocksWithContext(final byte[] bytecodes) {
+    int i = 0;
+    while (i < bytecodes.length) {
+      if (bytecodes[i] == PUSH_BLOCK) {
+        return true;
+      }
+      i += getBytecodeLength(bytecodes[i]);
+    }
+    return false;
+  }
+
+  @Override
+  public Object getOSRMetadata() {
+    return osrMetadata;
+  }
+
+  @Override
+  public void setOSRMetadata(final Object osrMetadata) {
+    this.osrMetadata = osrMetadata;
+  }
+
+  /** Code running in the original frame did not change the copy, which is thus outdated. */
+  @Override
+  public void restoreParentFrame(final VirtualFrame osrFrame, final VirtualFrame parentFrame) {
+    if (!osrInParentFrame) {
+      BytecodeOSRNode.super.restoreParentFrame(osrFrame, parentFrame);
+    }
+  }
+
+  /**
+   * @return the frame in which the code replaced on the stack continues
+   */
+  protected final VirtualFrame osrFrame(final VirtualFrame osrFrame,
+      final MaterializedFrame parentFrame) {
+    if (osrInParentFrame) {
+      return parentFrame;
+    }
+    return osrFrame;
   }
 
   public void dump() {
@@ -219,7 +281,7 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
   }
 
   @ExplodeLoop
-  private static VirtualFrame determineOuterContext(final VirtualFrame frame) {
+  protected static VirtualFrame determineOuterContext(final VirtualFrame frame) {
     // TODO: change bytecode format to include the context level
     Object object = frame.getArguments()[0];
 
@@ -260,14 +322,14 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
   }
 
   @InliningCutoff
-  private void quickenBytecode(final int bytecodeIndex, final byte quickenedBytecode,
+  protected void quickenBytecode(final int bytecodeIndex, final byte quickenedBytecode,
       final Node quickenedNode) {
     quickenedField[bytecodeIndex] = insert(quickenedNode);
     bytecodesField[bytecodeIndex] = quickenedBytecode;
   }
 
   @InliningCutoff
-  private static Object throwIllegaleState() {
+  protected static Object throwIllegaleState() {
     throw new IllegalStateException("Not all required fields initialized in bytecode loop.");
   }
 
@@ -278,8 +340,8 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
     byte literalIdx = bytecodesField[bytecodeIndex + 1];
     SSymbol globalName = (SSymbol) literalsAndConstantsField[literalIdx];
 
-    GlobalNode quick =
-        GlobalNode.create(globalName, null).initialize(sourceCoord);
+    GlobalNode quick = GlobalNode.create(globalName, Universe.get(this).getGlobals(), null)
+                                 .initialize(sourceCoord);
     quickenBytecode(bytecodeIndex, Q_PUSH_GLOBAL, quick);
 
     return quick.executeGeneric(frame);
@@ -309,7 +371,7 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
   }
 
   @InliningCutoff
-  private static Object handleEscapedBlock(final VirtualFrame frame,
+  protected static Object handleEscapedBlock(final VirtualFrame frame,
       final EscapedBlockException e) {
     CompilerDirectives.transferToInterpreter();
     VirtualFrame outer = determineOuterContext(frame);
@@ -318,7 +380,7 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
   }
 
   @InliningCutoff
-  private Object quickenAndEvaluate(final VirtualFrame frame, final int bytecodeIndex,
+  protected Object quickenAndEvaluate(final VirtualFrame frame, final int bytecodeIndex,
       final RespecializeException r, final Object rcvr) {
     CompilerDirectives.transferToInterpreterAndInvalidate();
     quickenBytecode(bytecodeIndex, Q_SEND, r.send);
@@ -326,7 +388,7 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
   }
 
   @InliningCutoff
-  private Object quickenAndEvaluate(final VirtualFrame frame, final int bytecodeIndex,
+  protected Object quickenAndEvaluate(final VirtualFrame frame, final int bytecodeIndex,
       final RespecializeException r, final Object rcvr, final Object arg) {
     CompilerDirectives.transferToInterpreterAndInvalidate();
     quickenBytecode(bytecodeIndex, Q_SEND, r.send);
@@ -334,7 +396,7 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
   }
 
   @InliningCutoff
-  private Object quickenAndEvaluate(final VirtualFrame frame, final int bytecodeIndex,
+  protected Object quickenAndEvaluate(final VirtualFrame frame, final int bytecodeIndex,
       final RespecializeException r, final Object rcvr, final Object arg1, final Object arg2) {
     CompilerDirectives.transferToInterpreterAndInvalidate();
     quickenBytecode(bytecodeIndex, Q_SEND, r.send);
@@ -355,9 +417,38 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
   }
 
   @Override
+  public Object executeGeneric(final VirtualFrame frame) {
+    return executeFrom(frame, 0);
+  }
+
+  /**
+   * Continues execution at a loop header, which is reached with an empty stack. The
+   * interpreter state is the original frame, if the code needs to continue in it.
+   */
+  @Override
+  public Object executeOSR(final VirtualFrame osrFrame, final int target,
+      final Object interpreterState) {
+    return executeFrom(osrFrame(osrFrame, (MaterializedFrame) interpreterState), target);
+  }
+
+  /**
+   * Polls for on-stack replacement on a back jump. The stack needs to be empty, because it
+   * is not part of the frame, and thus, is not transferred.
+   *
+   * @return the result of the method, or null if the loop was not replaced
+   */
+  protected final Object tryOSR(final VirtualFrame frame, final int target,
+      final int stackPointer) {
+    if (stackPointer == -1 && BytecodeOSRNode.pollOSRBackEdge(this)) {
+      MaterializedFrame parentFrame = osrInParentFrame ? frame.materialize() : null;
+      return BytecodeOSRNode.tryOSR(this, target, parentFrame, null, frame);
+    }
+    return null;
+  }
+
   @ExplodeLoop(kind = LoopExplosionKind.MERGE_EXPLODE)
   @BytecodeInterpreterSwitch
-  public Object executeGeneric(final VirtualFrame frame) {
+  private Object executeFrom(final VirtualFrame frame, final int startIndex) {
     Object[] stack = new Object[maxStackDepth];
 
     final byte[] bytecodes = bytecodesField;
@@ -371,7 +462,7 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
     }
 
     int stackPointer = -1;
-    int bytecodeIndex = 0;
+    int bytecodeIndex = startIndex;
 
     int backBranchesTaken = 0;
 
@@ -382,6 +473,10 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
       CompilerAsserts.partialEvaluationConstant(bytecode);
       CompilerDirectives.ensureVirtualized(stack);
 
+      if (VmSettings.ProfileBytecodes) {
+        BytecodeProfile.record(bytecodes, bytecodeIndex);
+      }
+
       switch (bytecode) {
         case HALT: {
           return stack[stackPointer];
@@ -518,7 +613,8 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
 
           stackPointer += 1;
           stack[stackPointer] = new SBlock(blockMethod,
-              Classes.getBlockClass(blockMethod.getNumberOfArguments()), frame.materialize());
+              Classes.get(this).getBlockClass(blockMethod.getNumberOfArguments()),
+              frame.materialize());
           bytecodeIndex += Bytecodes.LEN_ONE_ARG;
           break;
         }
@@ -528,7 +624,7 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
 
           stackPointer += 1;
           stack[stackPointer] = new SBlock(blockMethod,
-              Classes.getBlockClass(blockMethod.getNumberOfArguments()), null);
+              Classes.get(this).getBlockClass(blockMethod.getNumberOfArguments()), null);
           bytecodeIndex += Bytecodes.LEN_ONE_ARG;
           break;
         }
@@ -996,6 +1092,15 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
         case JUMP_BACKWARDS: {
           int offset = Byte.toUnsignedInt(bytecodes[bytecodeIndex + 1]);
           bytecodeIndex -= offset;
+
+          if (CompilerDirectives.inInterpreter()) {
+            backBranchesTaken += 1;
+            Object result = tryOSR(frame, bytecodeIndex, stackPointer);
+            if (result != null) {
+              LoopNode.reportLoopCount(this, backBranchesTaken);
+              return result;
+            }
+          }
           break;
         }
 
@@ -1125,6 +1230,67 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
 
           if (CompilerDirectives.inInterpreter()) {
             backBranchesTaken += 1;
+            Object result = tryOSR(frame, bytecodeIndex, stackPointer);
+            if (result != null) {
+              LoopNode.reportLoopCount(this, backBranchesTaken);
+              return result;
+            }
+          }
+          break;
+        }
+
+        case PUSH_LOCAL_0_SEND:
+        case PUSH_LOCAL_1_SEND:
+        case PUSH_LOCAL_2_SEND:
+        case PUSH_ARG1_SEND:
+        case PUSH_ARG2_SEND:
+        case PUSH_FIELD_0_SEND:
+        case PUSH_FIELD_1_SEND: {
+          Object arg;
+          if (bytecode == PUSH_LOCAL_0_SEND) {
+            arg = frame.getObject(0);
+          } else if (bytecode == PUSH_LOCAL_1_SEND) {
+            arg = frame.getObject(1);
+          } else if (bytecode == PUSH_LOCAL_2_SEND) {
+            arg = frame.getObject(2);
+          } else if (bytecode == PUSH_ARG1_SEND) {
+            arg = arguments[1];
+          } else if (bytecode == PUSH_ARG2_SEND) {
+            arg = arguments[2];
+          } else {
+            int fieldIdx = bytecode == PUSH_FIELD_0_SEND ? 0 : 1;
+            Node node = quickened[bytecodeIndex];
+            if (node == null) {
+              node = createRead(bytecodeIndex, fieldIdx);
+            }
+            arg = ((AbstractReadFieldNode) node).read((SObject) arguments[0]);
+          }
+
+          int sendIndex = bytecodeIndex + Bytecodes.LEN_NO_ARG;
+          if (bytecodes[sendIndex] != Q_SEND_2) {
+            // the send is not yet specialized, or not a primitive, so we push as usual
+            stackPointer += 1;
+            stack[stackPointer] = arg;
+            bytecodeIndex = sendIndex;
+            break;
+          }
+
+          Object rcvr = stack[stackPointer];
+          try {
+            BinaryExpressionNode node = (BinaryExpressionNode) quickened[sendIndex];
+            stack[stackPointer] = node.executeEvaluated(frame, rcvr, arg);
+            bytecodeIndex = sendIndex + Bytecodes.LEN_ONE_ARG;
+          } catch (RestartLoopException e) {
+            bytecodeIndex = 0;
+            stackPointer = -1;
+          } catch (EscapedBlockException e) {
+            CompilerDirectives.transferToInterpreter();
+            stack[stackPointer] = handleEscapedBlock(frame, e);
+            bytecodeIndex = sendIndex + Bytecodes.LEN_ONE_ARG;
+          } catch (RespecializeException r) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            stack[stackPointer] = quickenAndEvaluate(frame, sendIndex, r, rcvr, arg);
+            bytecodeIndex = sendIndex + Bytecodes.LEN_ONE_ARG;
           }
           break;
         }
@@ -1298,12 +1464,12 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
     return result;
   }
 
-  private SClass getHolder() {
+  protected SClass getHolder() {
     return ((Invokable) getRootNode()).getHolder();
   }
 
   @InliningCutoff
-  private void doReturnNonLocal(final VirtualFrame frame, final Object result) {
+  protected void doReturnNonLocal(final VirtualFrame frame, final Object result) {
     MaterializedFrame ctx = determineContext(frame, contextLevel);
     FrameOnStackMarker marker =
         (FrameOnStackMarker) ctx.getObject(frameOnStackMarkerIndex);
@@ -1347,6 +1513,14 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
     return literalsAndConstantsField;
   }
 
+  public int getFrameOnStackMarkerIndex() {
+    return frameOnStackMarkerIndex;
+  }
+
+  public BackJump[] getInlinedLoops() {
+    return inlinedLoopsField;
+  }
+
   public byte[] getBytecodeArray() {
     return bytecodesField;
   }
@@ -1410,6 +1584,14 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
       this.backwardsJumpIdx = backwardsJumpIdx;
     }
 
+    public int getLoopBeginIdx() {
+      return loopBeginIdx;
+    }
+
+    public int getBackwardsJumpIdx() {
+      return backwardsJumpIdx;
+    }
+
     @Override
     public int compareTo(final BackJump o) {
       return this.loopBeginIdx - o.loopBeginIdx;
@@ -1481,7 +1663,9 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
       prepareBackJumpToCurrentAddress(loops, backJumps, i, mgenc);
       patchJumpToCurrentAddress(i, jumps, mgenc);
 
-      byte bytecode = bytecodes[i];
+      // superinstructions are handled like the push they start with,
+      // the fused send follows as a separate bytecode
+      byte bytecode = getUnfusedBytecode(bytecodes[i]);
       final int bytecodeLength = getBytecodeLength(bytecode);
 
       switch (bytecode) {
@@ -1731,7 +1915,9 @@ public class BytecodeLoopNode extends NoPreEvalExprNode implements ScopeReferenc
 
     int i = 0;
     while (i < bytecodes.length) {
-      byte bytecode = bytecodes[i];
+      // superinstructions are handled like the push they start with,
+      // the fused send follows as a separate bytecode
+      byte bytecode = getUnfusedBytecode(bytecodes[i]);
       final int bytecodeLength = getBytecodeLength(bytecode);
 
       switch (bytecode) {
@@ -0,0 +1,804 @@
+package trufflesom.interpreter.nodes.bc;
+
+import static trufflesom.interpreter.bc.Bytecodes.Q_PUSH_GLOBAL;
+import static trufflesom.interpreter.bc.Bytecodes.Q_SEND;
+import static trufflesom.interpreter.bc.Bytecodes.Q_SEND_1;
+import static trufflesom.interpreter.bc.Bytecodes.Q_SEND_2;
+import static trufflesom.interpreter.bc.Bytecodes.Q_SEND_3;
+import static trufflesom.interpreter.bc.RegisterBytecodes.OPND_ARG;
+import static trufflesom.interpreter.bc.RegisterBytecodes.OPND_CONST;
+import static trufflesom.interpreter.bc.RegisterBytecodes.OPND_INT;
+import static trufflesom.interpreter.bc.RegisterBytecodes.OPND_LOCAL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.OPND_REG;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_DEC;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_HALT;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_INC;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_INC_FIELD;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_INC_FIELD_PUSH;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_BACKWARDS;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_FALSE;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_FALSE_TOP_NIL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_NIL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_NIL_TOP_TOP;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_NOT_NIL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_NOT_NIL_TOP_TOP;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_TRUE;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_JUMP_ON_TRUE_TOP_NIL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_ARG;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_BLOCK;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_BLOCK_NO_CTX;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_FIELD;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_GLOBAL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_MOV_LOCAL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_Q_MOV_GLOBAL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_Q_SEND;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_Q_SEND_1;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_Q_SEND_2;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_Q_SEND_3;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_RETURN;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_RETURN_FIELD;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_RETURN_NON_LOCAL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_RETURN_SELF;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_SEND;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_STORE_ARG;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_STORE_FIELD;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_STORE_LOCAL;
+import static trufflesom.interpreter.bc.RegisterBytecodes.R_SUPER_SEND;
+import static trufflesom.interpreter.bc.RegisterBytecodes.getJumpTarget;
+import static trufflesom.interpreter.bc.RegisterBytecodes.getLength;
+import static trufflesom.interpreter.nodes.ContextualNode.determineContext;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.HostCompilerDirectives.BytecodeInterpreterSwitch;
+import com.oracle.truffle.api.HostCompilerDirectives.InliningCutoff;
+import com.oracle.truffle.api.frame.MaterializedFrame;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.BytecodeOSRNode;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.ExplodeLoop.LoopExplosionKind;
+import com.oracle.truffle.api.nodes.LoopNode;
+import com.oracle.truffle.api.nodes.Node;
+
+import trufflesom.bdt.inlining.ScopeAdaptationVisitor;
+import trufflesom.bdt.primitives.nodes.PreevaluatedExpression;
+import trufflesom.compiler.bc.BytecodeMethodGenContext;
+import trufflesom.compiler.bc.RegisterCodeGenerator;
+import trufflesom.compiler.bc.RegisterCodeGenerator.RegisterCode;
+import trufflesom.interpreter.EscapedBlockException;
+import trufflesom.interpreter.bc.RegisterBytecodes;
+import trufflesom.interpreter.bc.RespecializeException;
+import trufflesom.interpreter.bc.RestartLoopException;
+import trufflesom.interpreter.nodes.AbstractMessageSendNode;
+import trufflesom.interpreter.nodes.GlobalNode;
+import trufflesom.interpreter.nodes.MessageSendNode;
+import trufflesom.interpreter.nodes.nary.BinaryExpressionNode;
+import trufflesom.interpreter.nodes.nary.TernaryExpressionNode;
+import trufflesom.interpreter.nodes.nary.UnaryExpressionNode;
+import trufflesom.interpreter.objectstorage.FieldAccessorNode;
+import trufflesom.interpreter.objectstorage.FieldAccessorNode.AbstractReadFieldNode;
+import trufflesom.interpreter.objectstorage.FieldAccessorNode.AbstractWriteFieldNode;
+import trufflesom.interpreter.objectstorage.FieldAccessorNode.IncrementLongFieldNode;
+import trufflesom.vm.Classes;
+import trufflesom.vm.NotYetImplementedException;
+import trufflesom.vm.Universe;
+import trufflesom.vm.constants.Nil;
+import trufflesom.vmobjects.SBlock;
+import trufflesom.vmobjects.SClass;
+import trufflesom.vmobjects.SInvokable.SMethod;
+import trufflesom.vmobjects.SObject;
+import trufflesom.vmobjects.SSymbol;
+
+
+/**
+ * Executes the {@link RegisterBytecodes} derived from the stack-based bytecode of a method.
+ *
+ * <p>
+ * The stack-based bytecode remains the canonical representation. It is used for inlining
+ * and scope adaptation, after which the register code is derived again.
+ */
+public final class RegisterBytecodeLoopNode extends BytecodeLoopNode {
+
+  @CompilationFinal(dimensions = 1) private final byte[] registerCodeField;
+
+  @Children private final Node[] registerQuickenedField;
+
+  private final int numRegisters;
+
+  private RegisterBytecodeLoopNode(final byte[] bytecodes, final int numLocals,
+      final Object[] literals, final int maxStackDepth, final int frameOnStackMarkerIndex,
+      final BackJump[] inlinedLoops, final int contextLevel, final RegisterCode registerCode) {
+    super(bytecodes, numLocals, literals, maxStackDepth, frameOnStackMarkerIndex,
+        inlinedLoops, contextLevel);
+    this.registerCodeField = registerCode.code;
+    this.numRegisters = registerCode.numRegisters;
+    this.registerQuickenedField = new Node[registerCode.code.length];
+  }
+
+  /**
+   * Create a loop node executing register code, or a plain {@link BytecodeLoopNode} if the
+   * bytecode cannot be translated.
+   */
+  public static BytecodeLoopNode create(final byte[] bytecodes, final int numLocals,
+      final Object[] literals, final int maxStackDepth, final int frameOnStackMarkerIndex,
+      final BackJump[] inlinedLoops, final int contextLevel) {
+    RegisterCode registerCode = RegisterCodeGenerator.translate(bytecodes, literals);
+    if (registerCode == null) {
+      return new BytecodeLoopNode(bytecodes, numLocals, literals, maxStackDepth,
+          frameOnStackMarkerIndex, inlinedLoops, contextLevel);
+    }
+    return new RegisterBytecodeLoopNode(bytecodes, numLocals, literals, maxStackDepth,
+        frameOnStackMarkerIndex, inlinedLoops, contextLevel, registerCode);
+  }
+
+  @Override
+  public Node deepCopy() {
+    return create(bytecodesField.clone(), numLocals, literalsAndConstantsField,
+        maxStackDepth, frameOnStackMarkerIndex, inlinedLoopsField, contextLevel).initialize(
+            sourceCoord);
+  }
+
+  public byte[] getRegisterCode() {
+    return registerCodeField;
+  }
+
+  public int getNumberOfRegisters() {
+    return numRegisters;
+  }
+
+  @Override
+  public void replaceAfterScopeChange(final ScopeAdaptationVisitor inliner) {
+    super.replaceAfterScopeChange(inliner);
+
+    if (!(inliner.getCurrentScope() instanceof BytecodeMethodGenContext)) {
+      // the stack bytecode was adapted in place, so the register code needs to be derived
+      // from it again
+      replace(create(bytecodesField, numLocals, literalsAndConstantsField, maxStackDepth,
+          frameOnStackMarkerIndex, inlinedLoopsField, contextLevel).initialize(sourceCoord));
+    }
+  }
+
+  @Override
+  protected void quickenBytecode(final int bytecodeIndex, final byte quickenedBytecode,
+      final Node quickenedNode) {
+    byte registerBytecode;
+    switch (quickenedBytecode) {
+      case Q_PUSH_GLOBAL:
+        registerBytecode = R_Q_MOV_GLOBAL;
+        break;
+      case Q_SEND:
+        registerBytecode = R_Q_SEND;
+        break;
+      case Q_SEND_1:
+        registerBytecode = R_Q_SEND_1;
+        break;
+      case Q_SEND_2:
+        registerBytecode = R_Q_SEND_2;
+        break;
+      case Q_SEND_3:
+        registerBytecode = R_Q_SEND_3;
+        break;
+      default:
+        throw new IllegalArgumentException(
+            "Quickening to " + quickenedBytecode + " not supported for register code.");
+    }
+
+    registerQuickenedField[bytecodeIndex] = insert(quickenedNode);
+    registerCodeField[bytecodeIndex] = registerBytecode;
+  }
+
+  @InliningCutoff
+  private AbstractReadFieldNode createRead(final int pc, final int fieldIndex) {
+    CompilerDirectives.transferToInterpreterAndInvalidate();
+
+    AbstractReadFieldNode result = FieldAccessorNode.createRead(fieldIndex);
+    registerQuickenedField[pc] = insert(result);
+    return result;
+  }
+
+  @InliningCutoff
+  private AbstractWriteFieldNode createWrite(final int pc, final int fieldIndex) {
+    CompilerDirectives.transferToInterpreterAndInvalidate();
+
+    AbstractWriteFieldNode result = FieldAccessorNode.createWrite(fieldIndex);
+    registerQuickenedField[pc] = insert(result);
+    return result;
+  }
+
+  @InliningCutoff
+  private Object quickenAndExecuteGlobal(final VirtualFrame frame, final int pc) {
+    CompilerDirectives.transferToInterpreterAndInvalidate();
+
+    byte literalIdx = registerCodeField[pc + 2];
+    SSymbol globalName = (SSymbol) literalsAndConstantsField[literalIdx];
+
+    GlobalNode quick = GlobalNode.create(globalName, Universe.get(this).getGlobals(), null)
+                                 .initialize(sourceCoord);
+    quickenBytecode(pc, Q_PUSH_GLOBAL, quick);
+
+    return quick.executeGeneric(frame);
+  }
+
+  @InliningCutoff
+  private long createAndDoIncrement(final int pc, final int fieldIdx, final SObject obj) {
+    CompilerDirectives.transferToInterpreterAndInvalidate();
+    Object val = obj.getField(fieldIdx);
+    if (!(val instanceof Long)) {
+      throw new NotYetImplementedException();
+    }
+
+    long longVal;
+    try {
+      longVal = Math.addExact((Long) val, 1);
+      obj.setField(fieldIdx, longVal);
+    } catch (ArithmeticException e) {
+      throw new NotYetImplementedException();
+    }
+
+    registerQuickenedField[pc] = insert(FieldAccessorNode.createIncrement(fieldIdx, obj));
+
+    return longVal;
+  }
+
+  @InliningCutoff
+  private Object doSend(final VirtualFrame frame, final int pc, final Object[] callArgs) {
+    CompilerDirectives.transferToInterpreterAndInvalidate();
+    byte literalIdx = registerCodeField[pc + 2];
+    SSymbol signature = (SSymbol) literalsAndConstantsField[literalIdx];
+    return specializeSendBytecode(frame, pc, signature, callArgs.length, callArgs);
+  }
+
+  @InliningCutoff
+  private Object doSuperSend(final VirtualFrame frame, final int pc, final Object[] callArgs) {
+    CompilerDirectives.transferToInterpreterAndInvalidate();
+    byte literalIdx = registerCodeField[pc + 2];
+    SSymbol signature = (SSymbol) literalsAndConstantsField[literalIdx];
+
+    PreevaluatedExpression quick = MessageSendNode.createSuperSend(
+        (SClass) getHolder().getSuperClass(), signature, null, sourceCoord);
+    quickenBytecode(pc, Q_SEND, (Node) quick);
+
+    return quick.doPreEvaluated(frame, callArgs);
+  }
+
+  private static Object readOperand(final VirtualFrame frame, final Object[] registers,
+      final Object[] literalsAndConstants, final byte kind, final byte idx) {
+    switch (kind) {
+      case OPND_REG:
+        return registers[idx];
+      case OPND_LOCAL:
+        return frame.getObject(idx);
+      case OPND_ARG:
+        return frame.getArguments()[idx];
+      case OPND_CONST:
+        return literalsAndConstants[idx];
+      case OPND_INT:
+        return (long) idx;
+      default:
+        return Nil.nilObject;
+    }
+  }
+
+  private static Object readOperand(final VirtualFrame frame, final Object[] registers,
+      final Object[] literalsAndConstants, final byte[] code, final int operandIdx) {
+    return readOperand(
+        frame, registers, literalsAndConstants, code[operandIdx], code[operandIdx + 1]);
+  }
+
+  @ExplodeLoop
+  private static Object[] readSendOperands(final VirtualFrame frame, final Object[] registers,
+      final Object[] literalsAndConstants, final byte[] code, final int pc) {
+    int numArgs = code[pc + 3];
+    Object[] callArgs = new Object[numArgs];
+    for (int i = 0; i < numArgs; i += 1) {
+      callArgs[i] = readOperand(frame, registers, literalsAndConstants, code,
+          pc + RegisterBytecodes.LEN_SEND_WITHOUT_OPERANDS + 2 * i);
+    }
+    return callArgs;
+  }
+
+  private static VirtualFrame getContext(final VirtualFrame frame, final byte contextIdx) {
+    if (contextIdx > 0) {
+      return determineContext(frame, contextIdx);
+    }
+    return frame;
+  }
+
+  @Override
+  public Object executeGeneric(final VirtualFrame frame) {
+    return executeFrom(frame, 0, null);
+  }
+
+  /** The state passed to the code that continues at a loop header. */
+  private static final class OSRState {
+    /** The registers, which are not part of the frame. */
+    private final Object[] registers;
+
+    /** The original frame, if the code needs to continue in it. */
+    private final MaterializedFrame parentFrame;
+
+    OSRState(final Object[] registers, final MaterializedFrame parentFrame) {
+      this.registers = registers;
+      this.parentFrame = parentFrame;
+    }
+  }
+
+  @Override
+  public Object executeOSR(final VirtualFrame osrFrame, final int target,
+      final Object interpreterState) {
+    OSRState state = (OSRState) interpreterState;
+    return executeFrom(osrFrame(osrFrame, state.parentFrame), target, state.registers);
+  }
+
+  @ExplodeLoop
+  private void restoreRegisters(final Object[] registers, final Object[] liveRegisters) {
+    for (int i = 0; i < numRegisters; i += 1) {
+      registers[i] = liveRegisters[i];
+    }
+  }
+
+  @ExplodeLoop(kind = LoopExplosionKind.MERGE_EXPLODE)
+  @BytecodeInterpreterSwitch
+  private Object executeFrom(final VirtualFrame frame, final int startPc,
+      final Object[] liveRegisters) {
+    Object[] registers = new Object[numRegisters];
+    if (liveRegisters != null) {
+      // copy, so that the registers of the compiled code can still be virtualized
+      restoreRegisters(registers, liveRegisters);
+    }
+
+    final byte[] code = registerCodeField;
+    final Node[] quickened = registerQuickenedField;
+    final Object[] literalsAndConstants = literalsAndConstantsField;
+    final Object[] arguments = frame.getArguments();
+
+    if (code == null || quickened == null || literalsAndConstants == null
+        || arguments == null) {
+      return throwIllegaleState();
+    }
+
+    int pc = startPc;
+    int backBranchesTaken = 0;
+
+    while (true) {
+      byte bytecode = code[pc];
+
+      CompilerAsserts.partialEvaluationConstant(pc);
+      CompilerAsserts.partialEvaluationConstant(bytecode);
+      CompilerDirectives.ensureVirtualized(registers);
+
+      switch (bytecode) {
+        case R_HALT: {
+          return readOperand(frame, registers, literalsAndConstants, code, pc + 1);
+        }
+
+        case R_MOV: {
+          registers[code[pc + 1]] =
+              readOperand(frame, registers, literalsAndConstants, code, pc + 2);
+          pc += 4;
+          break;
+        }
+
+        case R_MOV_LOCAL: {
+          VirtualFrame ctx = getContext(frame, code[pc + 3]);
+          registers[code[pc + 1]] = ctx.getObject(code[pc + 2]);
+          pc += 4;
+          break;
+        }
+
+        case R_MOV_ARG: {
+          VirtualFrame ctx = getContext(frame, code[pc + 3]);
+          registers[code[pc + 1]] = ctx.getArguments()[code[pc + 2]];
+          pc += 4;
+          break;
+        }
+
+        case R_MOV_FIELD: {
+          VirtualFrame ctx = getContext(frame, code[pc + 3]);
+
+          Node node = quickened[pc];
+          if (node == null) {
+            node = createRead(pc, code[pc + 2]);
+          }
+
+          registers[code[pc + 1]] =
+              ((AbstractReadFieldNode) node).read((SObject) ctx.getArguments()[0]);
+          pc += 4;
+          break;
+        }
+
+        case R_MOV_GLOBAL: {
+          registers[code[pc + 1]] = quickenAndExecuteGlobal(frame, pc);
+          pc += 3;
+          break;
+        }
+
+        case R_Q_MOV_GLOBAL: {
+          registers[code[pc + 1]] = ((GlobalNode) quickened[pc]).executeGeneric(frame);
+          pc += 3;
+          break;
+        }
+
+        case R_MOV_BLOCK: {
+          SMethod blockMethod = (SMethod) literalsAndConstants[code[pc + 2]];
+          registers[code[pc + 1]] = new SBlock(blockMethod,
+              Classes.get(this).getBlockClass(blockMethod.getNumberOfArguments()),
+              frame.materialize());
+          pc += 3;
+          break;
+        }
+
+        case R_MOV_BLOCK_NO_CTX: {
+          SMethod blockMethod = (SMethod) literalsAndConstants[code[pc + 2]];
+          registers[code[pc + 1]] = new SBlock(blockMethod,
+              Classes.get(this).getBlockClass(blockMethod.getNumberOfArguments()), null);
+          pc += 3;
+          break;
+        }
+
+        case R_STORE_LOCAL: {
+          Object value = readOperand(frame, registers, literalsAndConstants, code, pc + 3);
+          VirtualFrame ctx = getContext(frame, code[pc + 2]);
+          ctx.setObject(code[pc + 1], value);
+          pc += 5;
+          break;
+        }
+
+        case R_STORE_ARG: {
+          Object value = readOperand(frame, registers, literalsAndConstants, code, pc + 3);
+          VirtualFrame ctx = getContext(frame, code[pc + 2]);
+          ctx.getArguments()[code[pc + 1]] = value;
+          pc += 5;
+          break;
+        }
+
+        case R_STORE_FIELD: {
+          Object value = readOperand(frame, registers, literalsAndConstants, code, pc + 3);
+          VirtualFrame ctx = getContext(frame, code[pc + 2]);
+
+          Node node = quickened[pc];
+          if (node == null) {
+            node = createWrite(pc, code[pc + 1]);
+          }
+
+          ((AbstractWriteFieldNode) node).write((SObject) ctx.getArguments()[0], value);
+          pc += 5;
+          break;
+        }
+
+        case R_SEND: {
+          Object[] callArgs =
+              readSendOperands(frame, registers, literalsAndConstants, code, pc);
+          byte dst = code[pc + 1];
+          int len = getLength(code, pc);
+          try {
+            registers[dst] = doSend(frame, pc, callArgs);
+            pc += len;
+          } catch (RestartLoopException e) {
+            pc = 0;
+          } catch (EscapedBlockException e) {
+            CompilerDirectives.transferToInterpreter();
+            registers[dst] = handleEscapedBlock(frame, e);
+            pc += len;
+          }
+          break;
+        }
+
+        case R_SUPER_SEND: {
+          Object[] callArgs =
+              readSendOperands(frame, registers, literalsAndConstants, code, pc);
+          byte dst = code[pc + 1];
+          int len = getLength(code, pc);
+          try {
+            registers[dst] = doSuperSend(frame, pc, callArgs);
+            pc += len;
+          } catch (RestartLoopException e) {
+            pc = 0;
+          } catch (EscapedBlockException e) {
+            CompilerDirectives.transferToInterpreter();
+            registers[dst] = handleEscapedBlock(frame, e);
+            pc += len;
+          }
+          break;
+        }
+
+        case R_Q_SEND: {
+          AbstractMessageSendNode node = (AbstractMessageSendNode) quickened[pc];
+          Object[] callArgs =
+              readSendOperands(frame, registers, literalsAndConstants, code, pc);
+          byte dst = code[pc + 1];
+          int len = getLength(code, pc);
+
+          try {
+            registers[dst] = node.doPreEvaluated(frame, callArgs);
+            pc += len;
+          } catch (RestartLoopException e) {
+            pc = 0;
+          } catch (EscapedBlockException e) {
+            CompilerDirectives.transferToInterpreter();
+            registers[dst] = handleEscapedBlock(frame, e);
+            pc += len;
+          }
+          break;
+        }
+
+        case R_Q_SEND_1: {
+          Object rcvr = readOperand(frame, registers, literalsAndConstants, code, pc + 4);
+          byte dst = code[pc + 1];
+
+          try {
+            UnaryExpressionNode node = (UnaryExpressionNode) quickened[pc];
+            registers[dst] = node.executeEvaluated(frame, rcvr);
+            pc += 6;
+          } catch (RestartLoopException e) {
+            pc = 0;
+          } catch (EscapedBlockException e) {
+            CompilerDirectives.transferToInterpreter();
+            registers[dst] = handleEscapedBlock(frame, e);
+            pc += 6;
+          } catch (RespecializeException r) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            registers[dst] = quickenAndEvaluate(frame, pc, r, rcvr);
+            pc += 6;
+          }
+          break;
+        }
+
+        case R_Q_SEND_2: {
+          Object rcvr = readOperand(frame, registers, literalsAndConstants, code, pc + 4);
+          Object arg = readOperand(frame, registers, literalsAndConstants, code, pc + 6);
+          byte dst = code[pc + 1];
+
+          try {
+            BinaryExpressionNode node = (BinaryExpressionNode) quickened[pc];
+            registers[dst] = node.executeEvaluated(frame, rcvr, arg);
+            pc += 8;
+          } catch (RestartLoopException e) {
+            pc = 0;
+          } catch (EscapedBlockException e) {
+            CompilerDirectives.transferToInterpreter();
+            registers[dst] = handleEscapedBlock(frame, e);
+            pc += 8;
+          } catch (RespecializeException r) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            registers[dst] = quickenAndEvaluate(frame, pc, r, rcvr, arg);
+            pc += 8;
+          }
+          break;
+        }
+
+        case R_Q_SEND_3: {
+          Object rcvr = readOperand(frame, registers, literalsAndConstants, code, pc + 4);
+          Object arg1 = readOperand(frame, registers, literalsAndConstants, code, pc + 6);
+          Object arg2 = readOperand(frame, registers, literalsAndConstants, code, pc + 8);
+          byte dst = code[pc + 1];
+
+          try {
+            TernaryExpressionNode node = (TernaryExpressionNode) quickened[pc];
+            registers[dst] = node.executeEvaluated(frame, rcvr, arg1, arg2);
+            pc += 10;
+          } catch (RestartLoopException e) {
+            pc = 0;
+          } catch (EscapedBlockException e) {
+            CompilerDirectives.transferToInterpreter();
+            registers[dst] = handleEscapedBlock(frame, e);
+            pc += 10;
+          } catch (RespecializeException r) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            registers[dst] = quickenAndEvaluate(frame, pc, r, rcvr, arg1, arg2);
+            pc += 10;
+          }
+          break;
+        }
+
+        case R_RETURN: {
+          LoopNode.reportLoopCount(this, backBranchesTaken);
+          return readOperand(frame, registers, literalsAndConstants, code, pc + 1);
+        }
+
+        case R_RETURN_NON_LOCAL: {
+          LoopNode.reportLoopCount(this, backBranchesTaken);
+          Object result = readOperand(frame, registers, literalsAndConstants, code, pc + 1);
+          doReturnNonLocal(frame, result);
+          return Nil.nilObject;
+        }
+
+        case R_RETURN_SELF: {
+          LoopNode.reportLoopCount(this, backBranchesTaken);
+          return arguments[0];
+        }
+
+        case R_RETURN_FIELD: {
+          Node node = quickened[pc];
+          if (node == null) {
+            node = createRead(pc, code[pc + 1]);
+          }
+
+          LoopNode.reportLoopCount(this, backBranchesTaken);
+          return ((AbstractReadFieldNode) node).read((SObject) arguments[0]);
+        }
+
+        case R_INC: {
+          Object value = readOperand(frame, registers, literalsAndConstants, code, pc + 2);
+          if (value instanceof Long) {
+            try {
+              registers[code[pc + 1]] = Math.addExact((Long) value, 1L);
+            } catch (ArithmeticException e) {
+              CompilerDirectives.transferToInterpreterAndInvalidate();
+              throw new NotYetImplementedException();
+            }
+          } else {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            if (value instanceof Double) {
+              registers[code[pc + 1]] = ((Double) value) + 1.0d;
+            } else {
+              throw new NotYetImplementedException();
+            }
+          }
+          pc += 4;
+          break;
+        }
+
+        case R_DEC: {
+          Object value = readOperand(frame, registers, literalsAndConstants, code, pc + 2);
+          if (value instanceof Long) {
+            registers[code[pc + 1]] = ((Long) value) - 1;
+          } else {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            if (value instanceof Double) {
+              registers[code[pc + 1]] = ((Double) value) - 1.0d;
+            } else {
+              throw new NotYetImplementedException();
+            }
+          }
+          pc += 4;
+          break;
+        }
+
+        case R_INC_FIELD: {
+          VirtualFrame ctx = getContext(frame, code[pc + 2]);
+          SObject obj = (SObject) ctx.getArguments()[0];
+
+          Node node = quickened[pc];
+          if (node == null) {
+            createAndDoIncrement(pc, code[pc + 1], obj);
+          } else {
+            ((IncrementLongFieldNode) node).increment(obj, 1);
+          }
+          pc += 3;
+          break;
+        }
+
+        case R_INC_FIELD_PUSH: {
+          VirtualFrame ctx = getContext(frame, code[pc + 3]);
+          SObject obj = (SObject) ctx.getArguments()[0];
+
+          Node node = quickened[pc];
+          if (node == null) {
+            registers[code[pc + 1]] = createAndDoIncrement(pc, code[pc + 2], obj);
+          } else {
+            registers[code[pc + 1]] = ((IncrementLongFieldNode) node).increment(obj, 1);
+          }
+          pc += 4;
+          break;
+        }
+
+        case R_JUMP: {
+          pc = getJumpTarget(code[pc + 1], code[pc + 2]);
+          break;
+        }
+
+        case R_JUMP_BACKWARDS: {
+          pc = getJumpTarget(code[pc + 1], code[pc + 2]);
+
+          if (CompilerDirectives.inInterpreter()) {
+            backBranchesTaken += 1;
+            if (BytecodeOSRNode.pollOSRBackEdge(this)) {
+              OSRState state = new OSRState(registers,
+                  osrInParentFrame ? frame.materialize() : null);
+              Object result = BytecodeOSRNode.tryOSR(this, pc, state, null, frame);
+              if (result != null) {
+                LoopNode.reportLoopCount(this, backBranchesTaken);
+                return result;
+              }
+            }
+          }
+          break;
+        }
+
+        case R_JUMP_ON_TRUE: {
+          Object val = readOperand(frame, registers, literalsAndConstants, code, pc + 1);
+          if (val == Boolean.TRUE) {
+            pc = getJumpTarget(code[pc + 3], code[pc + 4]);
+          } else {
+            pc += 5;
+          }
+          break;
+        }
+
+        case R_JUMP_ON_FALSE: {
+          Object val = readOperand(frame, registers, literalsAndConstants, code, pc + 1);
+          if (val == Boolean.FALSE) {
+            pc = getJumpTarget(code[pc + 3], code[pc + 4]);
+          } else {
+            pc += 5;
+          }
+          break;
+        }
+
+        case R_JUMP_ON_NIL: {
+          Object val = readOperand(frame, registers, literalsAndConstants, code, pc + 1);
+          if (val == Nil.nilObject) {
+            pc = getJumpTarget(code[pc + 3], code[pc + 4]);
+          } else {
+            pc += 5;
+          }
+          break;
+        }
+
+        case R_JUMP_ON_NOT_NIL: {
+          Object val = readOperand(frame, registers, literalsAndConstants, code, pc + 1);
+          if (val != Nil.nilObject) {
+            pc = getJumpTarget(code[pc + 3], code[pc + 4]);
+          } else {
+            pc += 5;
+          }
+          break;
+        }
+
+        case R_JUMP_ON_TRUE_TOP_NIL: {
+          byte reg = code[pc + 1];
+          if (registers[reg] == Boolean.TRUE) {
+            registers[reg] = Nil.nilObject;
+            pc = getJumpTarget(code[pc + 2], code[pc + 3]);
+          } else {
+            pc += 4;
+          }
+          break;
+        }
+
+        case R_JUMP_ON_FALSE_TOP_NIL: {
+          byte reg = code[pc + 1];
+          if (registers[reg] == Boolean.FALSE) {
+            registers[reg] = Nil.nilObject;
+            pc = getJumpTarget(code[pc + 2], code[pc + 3]);
+          } else {
+            pc += 4;
+          }
+          break;
+        }
+
+        case R_JUMP_ON_NIL_TOP_TOP: {
+          if (registers[code[pc + 1]] == Nil.nilObject) {
+            pc = getJumpTarget(code[pc + 2], code[pc + 3]);
+          } else {
+            pc += 4;
+          }
+          break;
+        }
+
+        case R_JUMP_ON_NOT_NIL_TOP_TOP: {
+          if (registers[code[pc + 1]] != Nil.nilObject) {
+            pc = getJumpTarget(code[pc + 2], code[pc + 3]);
+          } else {
+            pc += 4;
+          }
+          break;
+        }
+
+        default:
+          missingRegisterBytecode(bytecode);
+      }
+    }
+  }
+
+  @InliningCutoff
+  private static void missingRegisterBytecode(final byte bytecode) {
+    CompilerDirectives.transferToInterpreterAndInvalidate();
+    throw new NotYetImplementedException("The register bytecode " + bytecode + " ("
+        + RegisterBytecodes.getName(bytecode) + ") is not yet implemented.");
+  }
+}
@@ -1,5 +1,6 @@
 package trufflesom.interpreter.nodes.dispatch;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.NeverDefault;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.GenerateWrapper;
@@ -21,7 +22,8 @@ import trufflesom.vmobjects.SSymbol;
 @GenerateWrapper
 public abstract class AbstractDispatchNode extends Node
     implements DispatchChain, InstrumentableNode, WithSource {
-  public static final int INLINE_CACHE_SIZE = 6;
+  /** Number of times this cache entry matched, counted in the interpreter. */
+  private int hits;
 
   @NeverDefault
   public static AbstractDispatchNode create(final SSymbol selector) {
@@ -30,6 +32,16 @@ public abstract class AbstractDispatchNode extends Node
 
   public abstract Object executeDispatch(VirtualFrame frame, Object[] arguments);
 
+  protected final void recordHit() {
+    if (CompilerDirectives.inInterpreter()) {
+      hits += 1;
+    }
+  }
+
+  public final int getHits() {
+    return hits;
+  }
+
   @Override
   public boolean isInstrumentable() {
     return true;
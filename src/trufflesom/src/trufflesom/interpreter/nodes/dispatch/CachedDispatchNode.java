@@ -24,6 +24,7 @@ public final class CachedDispatchNode extends AbstractCachedDispatchNode {
     Object rcvr = arguments[0];
     try {
       if (guard.entryMatches(rcvr)) {
+        recordHit();
         return cachedMethod.call(arguments);
       } else {
         return nextInCache.executeDispatch(frame, arguments);
@@ -32,6 +32,7 @@ public final class CachedDnuNode extends AbstractCachedDispatchNode {
     Object rcvr = arguments[0];
     try {
       if (guard.entryMatches(rcvr)) {
+        recordHit();
         return performDnu(arguments, rcvr);
       } else {
         return nextInCache.executeDispatch(frame, arguments);
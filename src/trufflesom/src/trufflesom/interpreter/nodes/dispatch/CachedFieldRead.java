@@ -34,6 +34,7 @@ public final class CachedFieldRead extends AbstractDispatchWithSource {
       if (rcvr.getClass() == expectedClass) {
         SObject receiver = (SObject) rcvr;
         if (receiver.getObjectLayout() == expectedLayout) {
+          recordHit();
           return storage.read(receiver);
         }
       }
@@ -13,6 +13,13 @@ import trufflesom.vmobjects.SClass;
 import trufflesom.vmobjects.SObject;
 
 
+/**
+ * Allocation site for {@code new} sends to a class. The site allocates directly in the layout
+ * that the instances of the class reached so far. Since layouts are kept per class and only
+ * become more general, this is also the layout earlier instances migrate to, so that new
+ * instances do not need to be migrated themselves. When a field of the class is initialized or
+ * generalized, the assumption of the layout is invalidated and the site picks up the new one.
+ */
 public class CachedNewObject extends AbstractDispatchWithSource {
   private final ObjectLayout             rcvrLayout;
   @CompilationFinal private Assumption   isLatest;
@@ -41,13 +48,14 @@ public class CachedNewObject extends AbstractDispatchWithSource {
 
       SClass clazz = ((SClass) rcvr);
       if (clazz.getObjectLayout() == rcvrLayout) {
+        recordHit();
         if (!isLatest.isValid()) {
           CompilerDirectives.transferToInterpreterAndInvalidate();
           ObjectLayout l = newInstanceLayout = clazz.getLayoutForInstances();
           isLatest = l.getAssumption();
         }
 
-        return new SObject(clazz, newInstanceLayout);
+        return SObject.create(clazz, newInstanceLayout);
       }
     }
     return nextInCache.executeDispatch(frame, arguments);
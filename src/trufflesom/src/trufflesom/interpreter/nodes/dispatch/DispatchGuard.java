@@ -25,8 +25,8 @@ public abstract class DispatchGuard {
       return new CheckSClass(((SClass) obj).getObjectLayout());
     }
 
-    if (clazz == SObject.class) {
-      return new CheckSObject(((SObject) obj).getObjectLayout());
+    if (obj instanceof SObject) {
+      return new CheckSObject(clazz, ((SObject) obj).getObjectLayout());
     }
 
     return new CheckClass(clazz);
@@ -78,16 +78,18 @@ public abstract class DispatchGuard {
 
   private static final class CheckSObject extends DispatchGuard {
 
+    private final Class<?>     expectedShape;
     private final ObjectLayout expected;
 
-    CheckSObject(final ObjectLayout expected) {
+    CheckSObject(final Class<?> expectedShape, final ObjectLayout expected) {
+      this.expectedShape = expectedShape;
       this.expected = expected;
     }
 
     @Override
     public boolean entryMatches(final Object obj) throws InvalidAssumptionException {
       expected.checkIsLatest();
-      return obj.getClass() == SObject.class &&
+      return obj.getClass() == expectedShape &&
           ((SObject) obj).getObjectLayout() == expected;
     }
   }
@@ -1,7 +1,6 @@
 package trufflesom.interpreter.nodes.dispatch;
 
 import com.oracle.truffle.api.CallTarget;
-import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.frame.VirtualFrame;
@@ -10,6 +9,9 @@ import com.oracle.truffle.api.nodes.IndirectCallNode;
 import trufflesom.interpreter.SArguments;
 import trufflesom.primitives.reflection.ObjectPrims.ClassPrim;
 import trufflesom.primitives.reflection.ObjectPrimsFactory.ClassPrimFactory;
+import trufflesom.vm.LookupCache;
+import trufflesom.vm.LookupCache.Entry;
+import trufflesom.vm.PolymorphismPolicy.MegamorphicSite;
 import trufflesom.vmobjects.SArray;
 import trufflesom.vmobjects.SClass;
 import trufflesom.vmobjects.SInvokable;
@@ -22,39 +24,46 @@ public final class GenericDispatchNode extends AbstractDispatchNode {
 
   protected final SSymbol selector;
 
-  public GenericDispatchNode(final SSymbol selector) {
+  private final MegamorphicSite site;
+
+  public GenericDispatchNode(final SSymbol selector, final MegamorphicSite site) {
     this.selector = selector;
+    this.site = site;
     call = Truffle.getRuntime().createIndirectCallNode();
     classNode = ClassPrimFactory.create(null);
   }
 
-  @TruffleBoundary
-  private Object dispatch(final Object[] arguments) {
+  @Override
+  public Object executeDispatch(
+      final VirtualFrame frame, final Object[] arguments) {
     Object rcvr = arguments[0];
     SClass rcvrClass = classNode.executeEvaluated(rcvr);
-    SInvokable method = rcvrClass.lookupInvokable(selector);
+    if (site != null) {
+      site.recordReceiver(rcvrClass);
+    }
 
-    CallTarget target;
-    Object[] args;
+    // probe the lookup cache in compiled code, and look up the method only on a miss
+    SInvokable method;
+    Entry entry = LookupCache.get(rcvrClass, selector);
+    if (entry != null) {
+      method = entry.method;
+    } else {
+      method = rcvrClass.lookupInvokable(selector);
+    }
 
     if (method != null) {
-      target = method.getCallTarget();
-      args = arguments;
-    } else {
-      // TODO: actually do use node
-      CompilerDirectives.transferToInterpreter();
-      // Won't use DNU caching here, because it is already a megamorphic node
-      SArray argumentsArray = SArguments.getArgumentsWithoutReceiver(arguments);
-      args = new Object[] {arguments[0], selector, argumentsArray};
-      target = CachedDnuNode.getDnuCallTarget(rcvrClass);
+      return call.call(method.getCallTarget(), arguments);
     }
-    return call.call(target, args);
+
+    // Won't use DNU caching here, because it is already a megamorphic node
+    SArray argumentsArray = SArguments.getArgumentsWithoutReceiver(arguments);
+    return call.call(getDnuCallTarget(rcvrClass),
+        new Object[] {arguments[0], selector, argumentsArray});
   }
 
-  @Override
-  public Object executeDispatch(
-      final VirtualFrame frame, final Object[] arguments) {
-    return dispatch(arguments);
+  @TruffleBoundary
+  private static CallTarget getDnuCallTarget(final SClass rcvrClass) {
+    return CachedDnuNode.getDnuCallTarget(rcvrClass);
   }
 
   @Override
@@ -8,6 +8,8 @@ import com.oracle.truffle.api.nodes.Node;
 
 import trufflesom.bdt.primitives.nodes.PreevaluatedExpression;
 import trufflesom.interpreter.Types;
+import trufflesom.vm.PolymorphismPolicy;
+import trufflesom.vm.PolymorphismPolicy.MegamorphicSite;
 import trufflesom.vmobjects.SClass;
 import trufflesom.vmobjects.SInvokable;
 import trufflesom.vmobjects.SObject;
@@ -17,17 +19,27 @@ import trufflesom.vmobjects.SSymbol;
 public final class UninitializedDispatchNode extends AbstractDispatchNode {
   private final SSymbol selector;
 
+  private MegamorphicSite site;
+
   public UninitializedDispatchNode(final SSymbol selector) {
+    this(selector, null);
+  }
+
+  private UninitializedDispatchNode(final SSymbol selector, final MegamorphicSite site) {
     this.selector = selector;
+    this.site = site;
   }
 
   private AbstractDispatchNode specialize(final Object[] arguments) {
-    // Determine position in dispatch node chain, i.e., size of inline cache
+    // Determine position in dispatch node chain, i.e., size of inline cache,
+    // and how often the least used entry was hit
     Node i = this;
     int chainDepth = 0;
+    long minHits = Long.MAX_VALUE;
     while (i.getParent() instanceof AbstractDispatchNode) {
       i = i.getParent();
       chainDepth++;
+      minHits = Math.min(minHits, ((AbstractDispatchNode) i).getHits());
     }
     AbstractDispatchNode first = (AbstractDispatchNode) i;
 
@@ -42,8 +54,17 @@ public final class UninitializedDispatchNode extends AbstractDispatchNode {
       }
     }
 
-    if (chainDepth < INLINE_CACHE_SIZE) {
-      UninitializedDispatchNode newChainEnd = new UninitializedDispatchNode(selector);
+    PolymorphismPolicy policy = PolymorphismPolicy.get(this);
+    if (site == null) {
+      // the first node of a chain creates the site, which its successors then share
+      site = policy.createSite(selector);
+    }
+    if (site != null) {
+      site.recordReceiver(Types.getClassOf(rcvr));
+    }
+
+    if (policy.mayExtendDispatchChain(chainDepth, minHits)) {
+      UninitializedDispatchNode newChainEnd = new UninitializedDispatchNode(selector, site);
       AbstractDispatchNode node = createDispatch(rcvr, selector, newChainEnd);
 
       replace(node);
@@ -51,9 +72,12 @@ public final class UninitializedDispatchNode extends AbstractDispatchNode {
       return node;
     }
 
-    // the chain is longer than the maximum defined by INLINE_CACHE_SIZE and
+    // the chain is longer than the maximum permitted by the PolymorphismPolicy and
     // thus, this callsite is considered to be megaprophic, and we generalize it.
-    GenericDispatchNode genericReplacement = new GenericDispatchNode(selector);
+    if (site != null) {
+      site.becameMegamorphic(first.getSourceSection());
+    }
+    GenericDispatchNode genericReplacement = new GenericDispatchNode(selector, site);
     first.replace(genericReplacement);
     return genericReplacement;
   }
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.source.Source;
 
 import trufflesom.bdt.inlining.ScopeAdaptationVisitor;
@@ -13,6 +14,7 @@ import trufflesom.compiler.MethodGenerationContext;
 import trufflesom.compiler.Variable;
 import trufflesom.compiler.Variable.Argument;
 import trufflesom.interpreter.Method;
+import trufflesom.interpreter.nodes.ContextualNode;
 import trufflesom.interpreter.nodes.ExpressionNode;
 import trufflesom.interpreter.nodes.dispatch.AbstractDispatchNode;
 import trufflesom.vm.Classes;
@@ -66,7 +68,7 @@ public class BlockNode extends LiteralNode {
   }
 
   protected void setBlockClass() {
-    blockClass = Classes.getBlockClass(blockMethod.getNumberOfArguments());
+    blockClass = Classes.get(this).getBlockClass(blockMethod.getNumberOfArguments());
   }
 
   @Override
@@ -121,27 +123,49 @@ public class BlockNode extends LiteralNode {
 
   public static final class BlockNodeWithContext extends BlockNode {
 
+    /**
+     * Most blocks only access self and the arguments of their outer method. They do not need
+     * the outer frame, and get only its arguments array, so that the frame does not need to
+     * be materialized. This is determined on first execution, after all inlining is done.
+     */
+    @CompilationFinal private boolean needsOuterFrame;
+
     public BlockNodeWithContext(final SMethod blockMethod,
         final boolean reliesOnOuterFrameDescriptors) {
       super(blockMethod, reliesOnOuterFrameDescriptors);
     }
 
     @Override
-    public SBlock executeGeneric(final VirtualFrame frame) {
+    protected void setBlockClass() {
+      needsOuterFrame = accessesOuterFrame();
+      super.setBlockClass();
+    }
+
+    /** @return true, if the blocks need the outer frame, and not only its arguments */
+    public boolean accessesOuterFrame() {
+      return accessesOuterFrame(blockMethod.getInvokable(), 0);
+    }
+
+    private SBlock createBlock(final VirtualFrame frame) {
       if (blockClass == null) {
         CompilerDirectives.transferToInterpreter();
         setBlockClass();
       }
-      return new SBlock(blockMethod, blockClass, frame.materialize());
+
+      if (needsOuterFrame) {
+        return new SBlock(blockMethod, blockClass, frame.materialize());
+      }
+      return SBlock.withOuterArguments(blockMethod, blockClass, frame.getArguments());
+    }
+
+    @Override
+    public SBlock executeGeneric(final VirtualFrame frame) {
+      return createBlock(frame);
     }
 
     @Override
     public Object doPreEvaluated(final VirtualFrame frame, final Object[] arguments) {
-      if (blockClass == null) {
-        CompilerDirectives.transferToInterpreter();
-        setBlockClass();
-      }
-      return new SBlock(blockMethod, blockClass, frame.materialize());
+      return createBlock(frame);
     }
 
     @Override
@@ -149,5 +173,28 @@ public class BlockNode extends LiteralNode {
       return new BlockNodeWithContext(
           adapted, reliesOnOuterFrameDescriptors).initialize(sourceCoord);
     }
+
+    /**
+     * Checks whether a node of the block, or of its nested blocks, accesses the frame of the
+     * block's outer method with something else than its arguments. The depth is the nesting
+     * depth of the node relative to the block.
+     */
+    private static boolean accessesOuterFrame(final Node node, final int depth) {
+      if (node instanceof ContextualNode c && c.accessesFrameOf(depth + 1)) {
+        return true;
+      }
+
+      if (node instanceof BlockNode b
+          && accessesOuterFrame(b.getMethod().getInvokable(), depth + 1)) {
+        return true;
+      }
+
+      for (Node child : node.getChildren()) {
+        if (accessesOuterFrame(child, depth)) {
+          return true;
+        }
+      }
+      return false;
+    }
   }
 }
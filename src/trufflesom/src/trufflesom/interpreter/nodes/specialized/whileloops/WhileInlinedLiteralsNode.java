@@ -2,29 +2,34 @@ package trufflesom.interpreter.nodes.specialized.whileloops;
 
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.dsl.UnsupportedSpecializationException;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.LoopNode;
 import com.oracle.truffle.api.nodes.Node;
-import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.nodes.RepeatingNode;
 import com.oracle.truffle.api.nodes.UnexpectedResultException;
 
 import trufflesom.bdt.inlining.Inline;
 import trufflesom.bdt.inlining.Inline.False;
 import trufflesom.bdt.inlining.Inline.True;
-import trufflesom.interpreter.Invokable;
+import trufflesom.interpreter.Method;
 import trufflesom.interpreter.nodes.ExpressionNode;
 import trufflesom.interpreter.nodes.NoPreEvalExprNode;
 import trufflesom.vm.constants.Nil;
 
 
+/**
+ * The loop is executed by a Truffle {@link LoopNode}, which reports the iterations to the
+ * enclosing method, and enables on-stack replacement, so that a long-running loop is
+ * compiled before its method returns. Like the other loops, the iterations are also reported
+ * to the methods lexically enclosing a block.
+ */
 @Inline(selector = "whileTrue:", inlineableArgIdx = {0, 1}, additionalArgs = True.class)
 @Inline(selector = "whileFalse:", inlineableArgIdx = {0, 1}, additionalArgs = False.class)
 public final class WhileInlinedLiteralsNode extends NoPreEvalExprNode {
 
-  @Child private ExpressionNode conditionNode;
-  @Child private ExpressionNode bodyNode;
-
-  private final boolean expectedBool;
+  @Child private LoopNode loop;
 
   @SuppressWarnings("unused") private final ExpressionNode conditionActualNode;
   @SuppressWarnings("unused") private final ExpressionNode bodyActualNode;
@@ -32,56 +37,84 @@ public final class WhileInlinedLiteralsNode extends NoPreEvalExprNode {
   public WhileInlinedLiteralsNode(final ExpressionNode originalConditionNode,
       final ExpressionNode originalBodyNode, final ExpressionNode inlinedConditionNode,
       final ExpressionNode inlinedBodyNode, final boolean expectedBool) {
-    this.conditionNode = inlinedConditionNode;
-    this.bodyNode = inlinedBodyNode;
-    this.expectedBool = expectedBool;
+    this.loop = Truffle.getRuntime().createLoopNode(
+        new WhileRepeatingNode(inlinedConditionNode, inlinedBodyNode, expectedBool));
     this.conditionActualNode = originalConditionNode;
     this.bodyActualNode = originalBodyNode;
   }
 
-  private boolean evaluateCondition(final VirtualFrame frame) {
-    try {
-      return conditionNode.executeBoolean(frame);
-    } catch (UnexpectedResultException e) {
-      CompilerDirectives.transferToInterpreterAndInvalidate();
-      // TODO: should rewrite to a node that does a proper message send...
-      throw new UnsupportedSpecializationException(this,
-          new Node[] {conditionNode}, e.getResult());
+  @Override
+  public Object executeGeneric(final VirtualFrame frame) {
+    if (CompilerDirectives.inInterpreter()) {
+      try {
+        loop.execute(frame);
+      } finally {
+        reportLoopCountToOuterScopes(
+            ((WhileRepeatingNode) loop.getRepeatingNode()).takeIterations());
+      }
+    } else {
+      loop.execute(frame);
     }
+    return Nil.nilObject;
   }
 
-  @Override
-  public Object executeGeneric(final VirtualFrame frame) {
-    long iterationCount = 0;
+  /** The {@link LoopNode} reports to the own method, and we report to the outer ones. */
+  private void reportLoopCountToOuterScopes(final long count) {
+    if (count < 1) {
+      return;
+    }
+
+    CompilerAsserts.neverPartOfCompilation("reportLoopCount");
+    Node current = getRootNode();
+    if (current instanceof Method m) {
+      m.getScope().propagateLoopCountThroughoutLexicalScope(count);
+    }
+  }
+
+  private static final class WhileRepeatingNode extends Node implements RepeatingNode {
+    @Child private ExpressionNode conditionNode;
+    @Child private ExpressionNode bodyNode;
+
+    private final boolean expectedBool;
 
-    // TODO: this is a simplification, we don't cover the case receiver isn't a boolean
-    boolean loopConditionResult = evaluateCondition(frame);
+    /** Iterations in the interpreter, not yet reported to the outer methods. */
+    private long iterations;
 
-    try {
-      while (loopConditionResult == expectedBool) {
-        bodyNode.executeGeneric(frame);
-        loopConditionResult = evaluateCondition(frame);
+    WhileRepeatingNode(final ExpressionNode conditionNode, final ExpressionNode bodyNode,
+        final boolean expectedBool) {
+      this.conditionNode = conditionNode;
+      this.bodyNode = bodyNode;
+      this.expectedBool = expectedBool;
+    }
 
-        if (CompilerDirectives.inInterpreter()) {
-          iterationCount++;
-        }
+    private boolean evaluateCondition(final VirtualFrame frame) {
+      try {
+        return conditionNode.executeBoolean(frame);
+      } catch (UnexpectedResultException e) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        // TODO: should rewrite to a node that does a proper message send...
+        throw new UnsupportedSpecializationException(this,
+            new Node[] {conditionNode}, e.getResult());
       }
-    } finally {
+    }
+
+    @Override
+    public boolean executeRepeating(final VirtualFrame frame) {
+      // TODO: this is a simplification, we don't cover the case receiver isn't a boolean
+      if (evaluateCondition(frame) != expectedBool) {
+        return false;
+      }
+      bodyNode.executeGeneric(frame);
       if (CompilerDirectives.inInterpreter()) {
-        reportLoopCount(iterationCount);
+        iterations += 1;
       }
+      return true;
     }
-    return Nil.nilObject;
-  }
 
-  protected void reportLoopCount(final long count) {
-    CompilerAsserts.neverPartOfCompilation("reportLoopCount");
-    Node current = getParent();
-    while (current != null && !(current instanceof RootNode)) {
-      current = current.getParent();
-    }
-    if (current != null) {
-      ((Invokable) current).propagateLoopCountThroughoutLexicalScope(count);
+    long takeIterations() {
+      long count = iterations;
+      iterations = 0;
+      return count;
     }
   }
 }
@@ -7,20 +7,23 @@ import com.oracle.truffle.api.nodes.Node;
 
 import trufflesom.interpreter.Invokable;
 import trufflesom.interpreter.nodes.nary.BinaryExpressionNode;
+import trufflesom.vm.PolymorphismPolicy;
 import trufflesom.vm.constants.Nil;
 import trufflesom.vmobjects.SBlock;
 import trufflesom.vmobjects.SObject;
 
 
 public abstract class WhilePrimitiveNode extends BinaryExpressionNode {
-  public static final int INLINE_CACHE_SIZE = 6;
-
   private final boolean predicateBool;
 
   protected WhilePrimitiveNode(final boolean predicateBool) {
     this.predicateBool = predicateBool;
   }
 
+  protected final int getInlineCacheSize() {
+    return PolymorphismPolicy.get(this).getInlineCacheSize();
+  }
+
   private static boolean obj2bool(final Object o) {
     if (o instanceof Boolean) {
       return (boolean) o;
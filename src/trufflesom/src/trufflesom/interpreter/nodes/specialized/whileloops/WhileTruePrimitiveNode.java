@@ -20,7 +20,7 @@ public abstract class WhileTruePrimitiveNode extends WhilePrimitiveNode {
     super(true);
   }
 
-  @Specialization(limit = "INLINE_CACHE_SIZE",
+  @Specialization(limit = "getInlineCacheSize()",
       guards = {"loopCondition.getMethod() == cachedLoopCondition",
           "loopBody.getMethod() == cachedLoopBody"})
   @SuppressWarnings("unused")
@@ -11,16 +11,16 @@ import com.oracle.truffle.api.nodes.UnexpectedResultException;
 import trufflesom.interpreter.TypesGen;
 import trufflesom.interpreter.nodes.SOMNode;
 import trufflesom.interpreter.objectstorage.StorageLocation.AbstractObjectStorageLocation;
+import trufflesom.interpreter.objectstorage.StorageLocation.BooleanStorageLocation;
 import trufflesom.interpreter.objectstorage.StorageLocation.DoubleStorageLocation;
 import trufflesom.interpreter.objectstorage.StorageLocation.LongStorageLocation;
+import trufflesom.vm.PolymorphismPolicy;
 import trufflesom.vm.VmSettings;
 import trufflesom.vm.constants.Nil;
 import trufflesom.vmobjects.SObject;
 
 
 public abstract class FieldAccessorNode extends Node {
-  public static final int INLINE_CACHE_SIZE = 6;
-
   protected final int fieldIndex;
 
   @InliningCutoff
@@ -72,12 +72,16 @@ public abstract class FieldAccessorNode extends Node {
       return TypesGen.expectDouble(read(obj));
     }
 
+    public boolean readBoolean(final SObject obj) throws UnexpectedResultException {
+      return TypesGen.expectBoolean(read(obj));
+    }
+
     @InliningCutoff
     protected final AbstractReadFieldNode specialize(final SObject obj, int chainLength,
         final String reason, final AbstractReadFieldNode next) {
       CompilerDirectives.transferToInterpreterAndInvalidate();
 
-      if (chainLength >= INLINE_CACHE_SIZE) {
+      if (chainLength >= PolymorphismPolicy.get(this).getInlineCacheSize()) {
         GenericReadFieldNode genericReplacement = new GenericReadFieldNode(fieldIndex);
         replace(genericReplacement, "megamorphic read node");
         return genericReplacement;
@@ -289,6 +293,65 @@ public abstract class FieldAccessorNode extends Node {
     }
   }
 
+  public static final class ReadBooleanFieldNode extends ReadSpecializedFieldNode {
+    private final BooleanStorageLocation                 storage;
+    private @CompilerDirectives.CompilationFinal boolean wasSeenUnset;
+
+    public ReadBooleanFieldNode(final int fieldIndex, final ObjectLayout layout,
+        final AbstractReadFieldNode next) {
+      super(fieldIndex, layout, next);
+      this.storage = (BooleanStorageLocation) layout.getStorageLocation(fieldIndex);
+      wasSeenUnset = false;
+    }
+
+    @Override
+    public boolean readBoolean(final SObject obj) throws UnexpectedResultException {
+      try {
+        if (hasExpectedLayout(obj)) {
+          return storage.readBoolean(obj);
+        } else {
+          return nextInCache.readBoolean(obj);
+        }
+      } catch (InvalidAssumptionException e) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        return dropAndReadBooleanNext(obj);
+      }
+    }
+
+    @InliningCutoff
+    private boolean dropAndReadBooleanNext(final SObject obj)
+        throws UnexpectedResultException {
+      return replace(SOMNode.unwrapIfNeeded(nextInCache)).readBoolean(obj);
+    }
+
+    @InliningCutoff
+    private Object dropAndReadNext(final SObject obj) {
+      return replace(SOMNode.unwrapIfNeeded(nextInCache)).read(obj);
+    }
+
+    @Override
+    public Object read(final SObject obj) {
+      try {
+        if (hasExpectedLayout(obj)) {
+          if (!storage.isSet(obj)) {
+            if (!wasSeenUnset) {
+              CompilerDirectives.transferToInterpreterAndInvalidate();
+              wasSeenUnset = true;
+            }
+            return Nil.nilObject;
+          }
+
+          return storage.readBooleanSet(obj);
+        } else {
+          return nextInCache.read(obj);
+        }
+      } catch (InvalidAssumptionException e) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        return dropAndReadNext(obj);
+      }
+    }
+  }
+
   public static final class ReadObjectFieldNode extends ReadSpecializedFieldNode {
     private final AbstractObjectStorageLocation storage;
 
@@ -336,6 +399,11 @@ public abstract class FieldAccessorNode extends Node {
       return value;
     }
 
+    public boolean write(final SObject obj, final boolean value) {
+      write(obj, (Object) value);
+      return value;
+    }
+
     @InliningCutoff
     protected final void writeToOutdated(final SObject obj, final Object value) {
       CompilerDirectives.transferToInterpreter();
@@ -370,7 +438,7 @@ public abstract class FieldAccessorNode extends Node {
       CompilerDirectives.transferToInterpreterAndInvalidate();
       obj.setField(fieldIndex, value);
 
-      if (chainLength >= INLINE_CACHE_SIZE) {
+      if (chainLength >= PolymorphismPolicy.get(this).getInlineCacheSize()) {
         GenericWriteFieldNode generic = new GenericWriteFieldNode(fieldIndex);
         replace(generic, "megamorphic write node");
         return value;
@@ -557,6 +625,52 @@ public abstract class FieldAccessorNode extends Node {
     }
   }
 
+  public static final class WriteBooleanFieldNode extends WriteSpecializedFieldNode {
+    private final BooleanStorageLocation storage;
+
+    public WriteBooleanFieldNode(final int fieldIndex, final ObjectLayout layout,
+        final AbstractWriteFieldNode next) {
+      super(fieldIndex, layout, next);
+      this.storage = (BooleanStorageLocation) layout.getStorageLocation(fieldIndex);
+    }
+
+    @Override
+    public boolean write(final SObject obj, final boolean value) {
+      try {
+        if (hasExpectedLayout(obj)) {
+          storage.writeBoolean(obj, value);
+        } else {
+          if (layout.layoutForSameClass(obj.getObjectLayout())) {
+            writeToOutdated(obj, value);
+          } else {
+            nextInCache.write(obj, value);
+          }
+        }
+      } catch (InvalidAssumptionException e) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        dropAndWriteNext(obj, value);
+      }
+      return value;
+    }
+
+    @InliningCutoff
+    private void dropAndWriteNext(final SObject obj, final boolean value) {
+      replace(SOMNode.unwrapIfNeeded(nextInCache)).write(obj, value);
+    }
+
+    @Override
+    public Object write(final SObject obj, final Object value) {
+      if (value instanceof Boolean) {
+        write(obj, (boolean) value);
+      } else if (layout.layoutForSameClass(obj.getObjectLayout())) {
+        writeUnexpectedTypeAndRespecialize(obj, value, nextInCache);
+      } else {
+        nextInCache.write(obj, value);
+      }
+      return value;
+    }
+  }
+
   public static final class WriteObjectFieldNode extends WriteSpecializedFieldNode {
     private final AbstractObjectStorageLocation storage;
 
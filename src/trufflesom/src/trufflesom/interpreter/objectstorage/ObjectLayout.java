@@ -6,6 +6,7 @@ import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.nodes.InvalidAssumptionException;
 
 import trufflesom.interpreter.objectstorage.StorageLocation.UnwrittenStorageLocation;
+import trufflesom.tools.layoutstats.LayoutStatistics;
 import trufflesom.vmobjects.SClass;
 import trufflesom.vmobjects.SObject;
 
@@ -17,6 +18,7 @@ public final class ObjectLayout {
   private final int primitiveStorageLocationsUsed;
   private final int objectStorageLocationsUsed;
   private final int totalNumberOfStorageLocations;
+  private final int numberOfInlineFields;
 
   private final StorageLocation[] storageLocations;
   private final Class<?>[]        storageTypes;
@@ -34,22 +36,36 @@ public final class ObjectLayout {
     storageTypes = knownFieldTypes;
     totalNumberOfStorageLocations = knownFieldTypes.length;
     storageLocations = new StorageLocation[knownFieldTypes.length];
+    numberOfInlineFields = SObject.getNumberOfInlineFields(totalNumberOfStorageLocations);
 
     int nextFreePrimIdx = 0;
     int nextFreeObjIdx = 0;
 
+    // all boolean fields share one primitive field, allocated with the first one
+    int booleanWordIdx = -1;
+    int nextFreeBooleanBit = 0;
+
     for (int i = 0; i < totalNumberOfStorageLocations; i++) {
       Class<?> type = knownFieldTypes[i];
 
       StorageLocation storage;
       if (type == Long.class) {
-        storage = StorageLocation.createForLong(i, nextFreePrimIdx);
+        storage = StorageLocation.createForLong(i, nextFreePrimIdx, numberOfInlineFields);
         nextFreePrimIdx++;
       } else if (type == Double.class) {
-        storage = StorageLocation.createForDouble(i, nextFreePrimIdx);
+        storage = StorageLocation.createForDouble(i, nextFreePrimIdx, numberOfInlineFields);
         nextFreePrimIdx++;
-      } else if (type == Object.class) {
-        storage = StorageLocation.createForObject(nextFreeObjIdx);
+      } else if (type == Boolean.class
+          && nextFreeBooleanBit < StorageLocation.BOOLEANS_PER_WORD) {
+        if (booleanWordIdx == -1) {
+          booleanWordIdx = nextFreePrimIdx;
+          nextFreePrimIdx++;
+        }
+        storage = StorageLocation.createForBoolean(i, booleanWordIdx, nextFreeBooleanBit,
+            numberOfInlineFields);
+        nextFreeBooleanBit++;
+      } else if (type == Object.class || type == Boolean.class) {
+        storage = StorageLocation.createForObject(nextFreeObjIdx, numberOfInlineFields);
         nextFreeObjIdx++;
       } else {
         assert type == null;
@@ -61,6 +77,8 @@ public final class ObjectLayout {
 
     primitiveStorageLocationsUsed = nextFreePrimIdx;
     objectStorageLocationsUsed = nextFreeObjIdx;
+
+    LayoutStatistics.layoutCreated(forClass);
   }
 
   public boolean isValid() {
@@ -88,11 +106,19 @@ public final class ObjectLayout {
     return storageTypes.length;
   }
 
+  /** @return the number of primitive and object fields of the instance's object shape */
+  public int getNumberOfInlineFields() {
+    return numberOfInlineFields;
+  }
+
   public ObjectLayout withGeneralizedField(final long fieldIndex) {
     return withGeneralizedField((int) fieldIndex);
   }
 
   public void invalidate() {
+    if (latestLayoutForClass.isValid()) {
+      LayoutStatistics.layoutInvalidated(forClass);
+    }
     latestLayoutForClass.invalidate();
   }
 
@@ -104,14 +130,15 @@ public final class ObjectLayout {
       Class<?>[] withGeneralizedField = storageTypes.clone();
       withGeneralizedField[fieldIndex] = Object.class;
 
-      latestLayoutForClass.invalidate();
+      LayoutStatistics.fieldGeneralized(forClass, fieldIndex);
+      invalidate();
       return new ObjectLayout(withGeneralizedField, forClass);
     }
   }
 
   public ObjectLayout withInitializedField(final long fieldIndex, final Class<?> type) {
     Class<?> specType;
-    if (type == Long.class || type == Double.class) {
+    if (type == Long.class || type == Double.class || type == Boolean.class) {
       specType = type;
     } else {
       specType = Object.class;
@@ -127,7 +154,8 @@ public final class ObjectLayout {
       Class<?>[] withInitializedField = storageTypes.clone();
       withInitializedField[fieldIndex] = type;
 
-      latestLayoutForClass.invalidate();
+      LayoutStatistics.fieldInitialized(forClass, fieldIndex, type);
+      invalidate();
       return new ObjectLayout(withInitializedField, forClass);
     }
   }
@@ -141,7 +169,7 @@ public final class ObjectLayout {
   }
 
   public int getNumberOfUsedExtendedObjectStorageLocations() {
-    int requiredExtensionFields = objectStorageLocationsUsed - SObject.NUM_OBJECT_FIELDS;
+    int requiredExtensionFields = objectStorageLocationsUsed - numberOfInlineFields;
     if (requiredExtensionFields < 0) {
       return 0;
     }
@@ -149,7 +177,7 @@ public final class ObjectLayout {
   }
 
   public int getNumberOfUsedExtendedPrimStorageLocations() {
-    int requiredExtensionFields = primitiveStorageLocationsUsed - SObject.NUM_PRIMITIVE_FIELDS;
+    int requiredExtensionFields = primitiveStorageLocationsUsed - numberOfInlineFields;
     if (requiredExtensionFields < 0) {
       return 0;
     }
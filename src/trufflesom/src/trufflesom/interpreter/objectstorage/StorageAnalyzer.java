@@ -7,21 +7,31 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
 import sun.misc.Unsafe;
 import trufflesom.vmobjects.SObject;
+import trufflesom.vmobjects.SObject.SObject1;
+import trufflesom.vmobjects.SObject.SObject2;
+import trufflesom.vmobjects.SObject.SObject3;
+import trufflesom.vmobjects.SObject.SObject4;
+import trufflesom.vmobjects.SObject.SObject5;
 
 
 public class StorageAnalyzer {
   private static final Unsafe unsafe = UnsafeUtil.load();
 
-  private static final long SMO_PRIM_FIELD_1_OFFSET = getFieldOffset("primField1");
-  private static final long SMO_PRIM_FIELD_2_OFFSET = getFieldOffset("primField2");
-  private static final long SMO_PRIM_FIELD_3_OFFSET = getFieldOffset("primField3");
-  private static final long SMO_PRIM_FIELD_4_OFFSET = getFieldOffset("primField4");
-  private static final long SMO_PRIM_FIELD_5_OFFSET = getFieldOffset("primField5");
-  private static final long SMO_FIELD_1_OFFSET      = getFieldOffset("field1");
-  private static final long SMO_FIELD_2_OFFSET      = getFieldOffset("field2");
-  private static final long SMO_FIELD_3_OFFSET      = getFieldOffset("field3");
-  private static final long SMO_FIELD_4_OFFSET      = getFieldOffset("field4");
-  private static final long SMO_FIELD_5_OFFSET      = getFieldOffset("field5");
+  private static final long SMO_PRIM_FIELD_1_OFFSET =
+      getFieldOffset(SObject1.class, "primField1");
+  private static final long SMO_PRIM_FIELD_2_OFFSET =
+      getFieldOffset(SObject2.class, "primField2");
+  private static final long SMO_PRIM_FIELD_3_OFFSET =
+      getFieldOffset(SObject3.class, "primField3");
+  private static final long SMO_PRIM_FIELD_4_OFFSET =
+      getFieldOffset(SObject4.class, "primField4");
+  private static final long SMO_PRIM_FIELD_5_OFFSET =
+      getFieldOffset(SObject5.class, "primField5");
+  private static final long SMO_FIELD_1_OFFSET = getFieldOffset(SObject1.class, "field1");
+  private static final long SMO_FIELD_2_OFFSET = getFieldOffset(SObject2.class, "field2");
+  private static final long SMO_FIELD_3_OFFSET = getFieldOffset(SObject3.class, "field3");
+  private static final long SMO_FIELD_4_OFFSET = getFieldOffset(SObject4.class, "field4");
+  private static final long SMO_FIELD_5_OFFSET = getFieldOffset(SObject5.class, "field5");
 
   @CompilationFinal(
       dimensions = 1) private static final DirectObjectAccessor[]                  objAccessors  =
@@ -31,9 +41,10 @@ public class StorageAnalyzer {
           new DirectPrimitiveAccessor[SObject.NUM_PRIMITIVE_FIELDS];
 
   @SuppressWarnings("deprecation")
-  private static long getFieldOffset(final String fieldName) {
+  private static long getFieldOffset(final Class<? extends SObject> shape,
+      final String fieldName) {
     try {
-      Field field = SObject.class.getDeclaredField(fieldName);
+      Field field = shape.getDeclaredField(fieldName);
       return unsafe.objectFieldOffset(field);
     } catch (NoSuchFieldException | SecurityException e) {
       throw new RuntimeException(e);
@@ -41,7 +52,8 @@ public class StorageAnalyzer {
   }
 
   /**
-   * Initialize field accessors with the offsets in the S*Object classes.
+   * Initialize field accessors with the offsets in the S*Object classes. Since each shape
+   * extends the next smaller one, a field has the same offset in all shapes declaring it.
    */
   @TruffleBoundary
   public static void initAccessors() {
@@ -9,10 +9,12 @@ import com.oracle.truffle.api.nodes.UnexpectedResultException;
 import sun.misc.Unsafe;
 import trufflesom.interpreter.objectstorage.FieldAccessorNode.AbstractReadFieldNode;
 import trufflesom.interpreter.objectstorage.FieldAccessorNode.AbstractWriteFieldNode;
+import trufflesom.interpreter.objectstorage.FieldAccessorNode.ReadBooleanFieldNode;
 import trufflesom.interpreter.objectstorage.FieldAccessorNode.ReadDoubleFieldNode;
 import trufflesom.interpreter.objectstorage.FieldAccessorNode.ReadLongFieldNode;
 import trufflesom.interpreter.objectstorage.FieldAccessorNode.ReadObjectFieldNode;
 import trufflesom.interpreter.objectstorage.FieldAccessorNode.ReadUnwrittenFieldNode;
+import trufflesom.interpreter.objectstorage.FieldAccessorNode.WriteBooleanFieldNode;
 import trufflesom.interpreter.objectstorage.FieldAccessorNode.WriteDoubleFieldNode;
 import trufflesom.interpreter.objectstorage.FieldAccessorNode.WriteLongFieldNode;
 import trufflesom.interpreter.objectstorage.FieldAccessorNode.WriteObjectFieldNode;
@@ -51,32 +53,59 @@ public abstract class StorageLocation {
     void writeDouble(SObject obj, double value);
   }
 
+  public interface BooleanStorageLocation {
+    boolean isSet(SObject obj);
+
+    boolean readBooleanSet(SObject obj);
+
+    boolean readBoolean(SObject obj) throws UnexpectedResultException;
+
+    void writeBoolean(SObject obj, boolean value);
+  }
+
+  /**
+   * The number of boolean fields that share one primitive field. The lower half of the word
+   * holds the values, the upper half whether a field was set.
+   */
+  public static final int BOOLEANS_PER_WORD = 32;
+
   public static StorageLocation createForLong(final long fieldIndex,
-      final int primFieldIndex) {
+      final int primFieldIndex, final int numInlineFields) {
     CompilerAsserts.neverPartOfCompilation("StorageLocation");
-    if (primFieldIndex < SObject.NUM_PRIMITIVE_FIELDS) {
+    if (primFieldIndex < numInlineFields) {
       return new LongDirectStoreLocation(fieldIndex, primFieldIndex);
     } else {
-      return new LongArrayStoreLocation(fieldIndex, primFieldIndex);
+      return new LongArrayStoreLocation(fieldIndex, primFieldIndex, numInlineFields);
     }
   }
 
   public static StorageLocation createForDouble(final long fieldIndex,
-      final int primFieldIndex) {
+      final int primFieldIndex, final int numInlineFields) {
     CompilerAsserts.neverPartOfCompilation("StorageLocation");
-    if (primFieldIndex < SObject.NUM_PRIMITIVE_FIELDS) {
+    if (primFieldIndex < numInlineFields) {
       return new DoubleDirectStoreLocation(fieldIndex, primFieldIndex);
     } else {
-      return new DoubleArrayStoreLocation(fieldIndex, primFieldIndex);
+      return new DoubleArrayStoreLocation(fieldIndex, primFieldIndex, numInlineFields);
     }
   }
 
-  public static StorageLocation createForObject(final int objFieldIndex) {
+  public static StorageLocation createForBoolean(final long fieldIndex,
+      final int primFieldIndex, final int bit, final int numInlineFields) {
     CompilerAsserts.neverPartOfCompilation("StorageLocation");
-    if (objFieldIndex < SObject.NUM_PRIMITIVE_FIELDS) {
+    if (primFieldIndex < numInlineFields) {
+      return new BooleanDirectStoreLocation(fieldIndex, primFieldIndex, bit);
+    } else {
+      return new BooleanArrayStoreLocation(fieldIndex, primFieldIndex, bit, numInlineFields);
+    }
+  }
+
+  public static StorageLocation createForObject(final int objFieldIndex,
+      final int numInlineFields) {
+    CompilerAsserts.neverPartOfCompilation("StorageLocation");
+    if (objFieldIndex < numInlineFields) {
       return new ObjectDirectStorageLocation(objFieldIndex);
     } else {
-      return new ObjectArrayStorageLocation(objFieldIndex);
+      return new ObjectArrayStorageLocation(objFieldIndex, numInlineFields);
     }
   }
 
@@ -202,9 +231,9 @@ public abstract class StorageLocation {
       extends AbstractObjectStorageLocation {
     private final int extensionIndex;
 
-    public ObjectArrayStorageLocation(final int fieldIndex) {
+    public ObjectArrayStorageLocation(final int fieldIndex, final int numInlineFields) {
       super(fieldIndex);
-      extensionIndex = fieldIndex - SObject.NUM_OBJECT_FIELDS;
+      extensionIndex = fieldIndex - numInlineFields;
     }
 
     @Override
@@ -412,17 +441,19 @@ public abstract class StorageLocation {
   public abstract static class PrimitiveArrayStoreLocation extends PrimitiveStorageLocation {
     protected final int extensionIndex;
 
-    public PrimitiveArrayStoreLocation(final long fieldIndex, final int primField) {
+    public PrimitiveArrayStoreLocation(final long fieldIndex, final int primField,
+        final int numInlineFields) {
       super(fieldIndex, primField);
-      extensionIndex = primField - SObject.NUM_PRIMITIVE_FIELDS;
+      extensionIndex = primField - numInlineFields;
       assert extensionIndex >= 0;
     }
   }
 
   public static final class LongArrayStoreLocation extends PrimitiveArrayStoreLocation
       implements LongStorageLocation {
-    public LongArrayStoreLocation(final long fieldIndex, final int primField) {
-      super(fieldIndex, primField);
+    public LongArrayStoreLocation(final long fieldIndex, final int primField,
+        final int numInlineFields) {
+      super(fieldIndex, primField, numInlineFields);
     }
 
     @Override
@@ -501,8 +532,9 @@ public abstract class StorageLocation {
 
   public static final class DoubleArrayStoreLocation extends PrimitiveArrayStoreLocation
       implements DoubleStorageLocation {
-    public DoubleArrayStoreLocation(final long fieldIndex, final int primField) {
-      super(fieldIndex, primField);
+    public DoubleArrayStoreLocation(final long fieldIndex, final int primField,
+        final int numInlineFields) {
+      super(fieldIndex, primField, numInlineFields);
     }
 
     @Override
@@ -580,5 +612,149 @@ public abstract class StorageLocation {
     }
   }
 
+  /**
+   * Boolean fields are packed into a primitive field. Each boolean uses one bit for its value
+   * and one bit to indicate that it was set, which means the word needs to be zero initially.
+   */
+  public abstract static class AbstractBooleanStorageLocation extends StorageLocation
+      implements BooleanStorageLocation {
+    protected final long valueMask;
+    protected final long setMask;
+
+    protected AbstractBooleanStorageLocation(final long fieldIndex, final int bit) {
+      super(fieldIndex);
+      assert 0 <= bit && bit < BOOLEANS_PER_WORD;
+      valueMask = 1L << bit;
+      setMask = 1L << (bit + BOOLEANS_PER_WORD);
+    }
+
+    protected abstract long readWord(SObject obj);
+
+    protected abstract void writeWord(SObject obj, long word);
+
+    @Override
+    public final boolean isSet(final SObject obj) {
+      return (readWord(obj) & setMask) != 0;
+    }
+
+    @Override
+    public final Object read(final SObject obj) {
+      try {
+        return readBoolean(obj);
+      } catch (UnexpectedResultException e) {
+        return e.getResult();
+      }
+    }
+
+    @Override
+    public final boolean readBoolean(final SObject obj) throws UnexpectedResultException {
+      long word = readWord(obj);
+      if ((word & setMask) != 0) {
+        return (word & valueMask) != 0;
+      } else {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        throw new UnexpectedResultException(Nil.nilObject);
+      }
+    }
+
+    @Override
+    public final boolean readBooleanSet(final SObject obj) {
+      assert isSet(obj);
+      return (readWord(obj) & valueMask) != 0;
+    }
+
+    @Override
+    public final void write(final SObject obj, final Object value) {
+      assert value != null;
+      if (value instanceof Boolean) {
+        writeBoolean(obj, (boolean) value);
+      } else {
+        assert value != Nil.nilObject;
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        obj.setFieldAndGeneralize(fieldIndex, value);
+      }
+    }
+
+    @Override
+    public final void writeBoolean(final SObject obj, final boolean value) {
+      long word = readWord(obj) | setMask;
+      if (value) {
+        word |= valueMask;
+      } else {
+        word &= ~valueMask;
+      }
+      writeWord(obj, word);
+    }
+
+    @Override
+    public final AbstractReadFieldNode getReadNode(final int idx,
+        final ObjectLayout layout, final AbstractReadFieldNode next) {
+      CompilerAsserts.neverPartOfCompilation("StorageLocation");
+      return new ReadBooleanFieldNode(idx, layout, next);
+    }
+
+    @Override
+    public final AbstractWriteFieldNode getWriteNode(final int idx,
+        final ObjectLayout layout, final AbstractWriteFieldNode next) {
+      CompilerAsserts.neverPartOfCompilation("StorageLocation");
+      return new WriteBooleanFieldNode(idx, layout, next);
+    }
+  }
+
+  protected static final class BooleanDirectStoreLocation
+      extends AbstractBooleanStorageLocation {
+    private final long fieldMemoryOffset;
+
+    protected BooleanDirectStoreLocation(final long fieldIndex, final int primField,
+        final int bit) {
+      super(fieldIndex, bit);
+      fieldMemoryOffset = StorageAnalyzer.getPrimitiveFieldOffset(primField);
+    }
+
+    @Override
+    protected long readWord(final SObject obj) {
+      return unsafe.getLong(obj, fieldMemoryOffset);
+    }
+
+    @Override
+    protected void writeWord(final SObject obj, final long word) {
+      unsafe.putLong(obj, fieldMemoryOffset, word);
+    }
+
+    @Override
+    public void debugPrint(final SObject obj) {
+      Universe.println("BooleanDirectStorageLocation: fieldIdx=" + this.fieldIndex
+          + " valueMask=" + valueMask + " fieldOffset=" + fieldMemoryOffset);
+    }
+  }
+
+  protected static final class BooleanArrayStoreLocation
+      extends AbstractBooleanStorageLocation {
+    private final int extensionIndex;
+
+    protected BooleanArrayStoreLocation(final long fieldIndex, final int primField,
+        final int bit, final int numInlineFields) {
+      super(fieldIndex, bit);
+      extensionIndex = primField - numInlineFields;
+      assert extensionIndex >= 0;
+    }
+
+    @Override
+    protected long readWord(final SObject obj) {
+      return obj.getExtendedPrimFields()[extensionIndex];
+    }
+
+    @Override
+    protected void writeWord(final SObject obj, final long word) {
+      obj.getExtendedPrimFields()[extensionIndex] = word;
+    }
+
+    @Override
+    public void debugPrint(final SObject obj) {
+      Universe.println("BooleanArrayStorageLocation: fieldIdx=" + this.fieldIndex
+          + " valueMask=" + valueMask + " extensionIndex=" + extensionIndex);
+    }
+  }
+
   public abstract void debugPrint(SObject obj);
 }
@@ -31,6 +31,11 @@ public abstract class NonLocalVariableReadSquareWriteNode extends NonLocalVariab
     this.readContextLevel = readContextLevel;
   }
 
+  @Override
+  public boolean accessesFrameOf(final int level) {
+    return contextLevel == level || readContextLevel == level;
+  }
+
   @ExplodeLoop
   protected final Frame determineReadContext(final VirtualFrame frame) {
     if (readContextLevel == 0) {
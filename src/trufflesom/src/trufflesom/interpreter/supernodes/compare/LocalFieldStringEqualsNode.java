@@ -25,6 +25,7 @@ import trufflesom.vm.SymbolTable;
 import trufflesom.vm.VmSettings;
 import trufflesom.vm.constants.Nil;
 import trufflesom.vmobjects.SObject;
+import trufflesom.vmobjects.SRope;
 
 
 public final class LocalFieldStringEqualsNode extends ExpressionNode {
@@ -90,6 +91,13 @@ public final class LocalFieldStringEqualsNode extends ExpressionNode {
       }
     }
 
+    if ((state & 0b100) != 0) {
+      // we saw a rope before
+      if (result instanceof SRope) {
+        return ((SRope) result).contentEquals(value);
+      }
+    }
+
     if ((state & 0b10) != 0) {
       // we saw a nil before
       if (result == Nil.nilObject) {
@@ -115,6 +123,11 @@ public final class LocalFieldStringEqualsNode extends ExpressionNode {
       return value.equals(result);
     }
 
+    if (result instanceof SRope) {
+      state = currentState | 0b100;
+      return ((SRope) result).contentEquals(value);
+    }
+
     if (result == Nil.nilObject) {
       state = currentState | 0b10;
       return false;
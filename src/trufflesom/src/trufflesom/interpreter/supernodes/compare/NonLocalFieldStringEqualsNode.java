@@ -26,6 +26,7 @@ import trufflesom.vm.SymbolTable;
 import trufflesom.vm.VmSettings;
 import trufflesom.vm.constants.Nil;
 import trufflesom.vmobjects.SObject;
+import trufflesom.vmobjects.SRope;
 
 
 public class NonLocalFieldStringEqualsNode extends ContextualNode {
@@ -48,10 +49,15 @@ public class NonLocalFieldStringEqualsNode extends ContextualNode {
     this.state = 0;
   }
 
+  @Override
+  public boolean accessesFrameOf(final int level) {
+    return false;
+  }
+
   @Override
   public Object executeGeneric(final VirtualFrame frame) {
     try {
-      SObject rcvr = (SObject) determineContext(frame).getArguments()[0];
+      SObject rcvr = (SObject) determineOuterArguments(frame)[0];
       return executeEvaluated(frame, rcvr);
     } catch (UnexpectedResultException e) {
       return e.getResult();
@@ -82,6 +88,13 @@ public class NonLocalFieldStringEqualsNode extends ContextualNode {
       }
     }
 
+    if ((state & 0b100) != 0) {
+      // we saw a rope before
+      if (result instanceof SRope) {
+        return ((SRope) result).contentEquals(value);
+      }
+    }
+
     if ((state & 0b10) != 0) {
       // we saw a nil before
       if (result == Nil.nilObject) {
@@ -95,7 +108,7 @@ public class NonLocalFieldStringEqualsNode extends ContextualNode {
 
   @Override
   public boolean executeBoolean(final VirtualFrame frame) throws UnexpectedResultException {
-    SObject rcvr = (SObject) determineContext(frame).getArguments()[0];
+    SObject rcvr = (SObject) determineOuterArguments(frame)[0];
 
     return executeEvaluated(frame, rcvr);
   }
@@ -107,6 +120,11 @@ public class NonLocalFieldStringEqualsNode extends ContextualNode {
       return value.equals(result);
     }
 
+    if (result instanceof SRope) {
+      state = currentState | 0b100;
+      return ((SRope) result).contentEquals(value);
+    }
+
     if (result == Nil.nilObject) {
       state = currentState | 0b10;
     }
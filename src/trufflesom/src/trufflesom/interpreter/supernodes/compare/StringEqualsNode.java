@@ -15,6 +15,7 @@ import trufflesom.interpreter.nodes.nary.UnaryExpressionNode;
 import trufflesom.vm.SymbolTable;
 import trufflesom.vm.VmSettings;
 import trufflesom.vm.constants.Nil;
+import trufflesom.vmobjects.SRope;
 import trufflesom.vmobjects.SSymbol;
 
 
@@ -30,6 +31,11 @@ public abstract class StringEqualsNode extends UnaryExpressionNode {
   @Override
   public abstract ExpressionNode getReceiver();
 
+  @Specialization
+  public final boolean doRope(final SRope rcvr) {
+    return rcvr.contentEquals(value);
+  }
+
   @Specialization
   public final boolean doString(final String rcvr) {
     return value.equals(rcvr);
@@ -1,6 +1,5 @@
 package trufflesom.interpreter.supernodes.inc;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.FrameSlotTypeException;
@@ -10,6 +9,7 @@ import trufflesom.bdt.inlining.ScopeAdaptationVisitor.ScopeElement;
 import trufflesom.compiler.Variable.Local;
 import trufflesom.interpreter.nodes.ExpressionNode;
 import trufflesom.interpreter.nodes.LocalVariableNode;
+import trufflesom.vmobjects.SRope;
 
 
 @NodeChild(value = "value", type = ExpressionNode.class)
@@ -44,17 +44,12 @@ public abstract class IncLocalVarWithExpNode extends LocalVariableNode {
       rewriteOn = {FrameSlotTypeException.class})
   public final Object doString(final VirtualFrame frame, final String value)
       throws FrameSlotTypeException {
-    String current = (String) frame.getObject(slotIndex);
-    String result = concat(current, value);
+    Object current = frame.getObject(slotIndex);
+    Object result = SRope.concat(current, value);
     frame.setObject(slotIndex, result);
     return result;
   }
 
-  @TruffleBoundary
-  private static String concat(final String a, final String b) {
-    return a.concat(b);
-  }
-
   @Override
   public void replaceAfterScopeChange(final ScopeAdaptationVisitor inliner) {
     ScopeElement se = inliner.getAdaptedVar(local);
@@ -1,7 +1,6 @@
 package trufflesom.interpreter.supernodes.inc;
 
 import com.oracle.truffle.api.CompilerDirectives;
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.NodeChild;
@@ -16,6 +15,7 @@ import trufflesom.interpreter.nodes.ExpressionNode;
 import trufflesom.interpreter.nodes.NonLocalVariableNode;
 import trufflesom.primitives.arithmetic.AdditionPrim;
 import trufflesom.primitives.arithmetic.AdditionPrimFactory;
+import trufflesom.vmobjects.SRope;
 
 
 @NodeChild(value = "value", type = ExpressionNode.class)
@@ -53,17 +53,12 @@ public abstract class IncNonLocalVarWithExpNode extends NonLocalVariableNode {
   public final Object doString(final VirtualFrame frame, final String value,
       @Bind("determineContext(frame)") final MaterializedFrame ctx)
       throws FrameSlotTypeException {
-    String current = (String) ctx.getObject(slotIndex);
-    String result = concat(current, value);
+    Object current = ctx.getObject(slotIndex);
+    Object result = SRope.concat(current, value);
     ctx.setObject(slotIndex, result);
     return result;
   }
 
-  @TruffleBoundary
-  private static String concat(final String a, final String b) {
-    return a.concat(b);
-  }
-
   @Fallback
   public final Object fallback(final VirtualFrame frame, final Object value) {
     MaterializedFrame ctx = determineContext(frame);
@@ -44,6 +44,7 @@ import trufflesom.bdt.tools.structure.StructuralProbe;
 import trufflesom.compiler.Field;
 import trufflesom.compiler.Variable;
 import trufflesom.interpreter.Primitive;
+import trufflesom.interpreter.SomLanguage;
 import trufflesom.interpreter.nodes.ArgumentReadNode.LocalArgumentReadNode;
 import trufflesom.interpreter.nodes.ExpressionNode;
 import trufflesom.interpreter.nodes.specialized.AndBoolMessageNodeFactory;
@@ -90,10 +91,12 @@ import trufflesom.primitives.arithmetic.SubtractionPrimFactory;
 import trufflesom.primitives.arrays.AtPrimFactory;
 import trufflesom.primitives.arrays.AtPutPrimFactory;
 import trufflesom.primitives.arrays.CopyPrimFactory;
+import trufflesom.primitives.arrays.DictionaryPrimsFactory;
 import trufflesom.primitives.arrays.DoIndexesPrimFactory;
 import trufflesom.primitives.arrays.DoPrimFactory;
 import trufflesom.primitives.arrays.NewPrimFactory;
 import trufflesom.primitives.arrays.PutAllNodeFactory;
+import trufflesom.primitives.arrays.VectorPrimsFactory;
 import trufflesom.primitives.basics.AsStringPrimFactory;
 import trufflesom.primitives.basics.BlockPrimsFactory;
 import trufflesom.primitives.basics.DoublePrimsFactory;
@@ -145,14 +148,15 @@ public final class Primitives extends PrimitiveLoader<ExpressionNode, SSymbol> {
 
   public static SPrimitive constructEmptyPrimitive(final SSymbol signature,
       final Source source, final long coord,
-      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe) {
+      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe,
+      final SomLanguage language) {
     CompilerAsserts.neverPartOfCompilation();
 
     ExpressionNode primNode = EmptyPrim.create(new LocalArgumentReadNode(true, 0), signature)
                                        .initialize(coord);
     Primitive primMethodNode =
         new Primitive(signature.getString(), source, coord, primNode,
-            (ExpressionNode) primNode.deepCopy());
+            (ExpressionNode) primNode.deepCopy(), language);
     SPrimitive prim = new SPrimitive(signature, primMethodNode);
 
     if (probe != null) {
@@ -169,7 +173,8 @@ public final class Primitives extends PrimitiveLoader<ExpressionNode, SSymbol> {
   }
 
   public void loadPrimitives(final SClass clazz, final boolean displayWarning,
-      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe) {
+      final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe,
+      final SomLanguage language) {
     HashMap<SSymbol, Specializer<ExpressionNode, SSymbol>> prims =
         primitives.get(clazz.getName());
     if (prims == null) {
@@ -191,7 +196,8 @@ public final class Primitives extends PrimitiveLoader<ExpressionNode, SSymbol> {
       assert ivk != null : "Lookup of " + e.getKey().toString() + " failed in "
           + target.getName().getString() + ". Can't install a primitive for it.";
       SInvokable prim = constructPrimitive(
-          e.getKey(), ivk.getSource(), ivk.getSourceCoordinate(), e.getValue(), probe);
+          e.getKey(), ivk.getSource(), ivk.getSourceCoordinate(), e.getValue(), probe,
+          language);
       target.addPrimitive(prim);
     }
   }
@@ -219,7 +225,8 @@ public final class Primitives extends PrimitiveLoader<ExpressionNode, SSymbol> {
   private static SInvokable constructPrimitive(final SSymbol signature,
       final Source source, final long coord,
       final Specializer<ExpressionNode, SSymbol> splzr,
-      @SuppressWarnings("unused") final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe) {
+      @SuppressWarnings("unused") final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe,
+      final SomLanguage language) {
     CompilerAsserts.neverPartOfCompilation("This is only executed during bootstrapping.");
 
     final int numArgs = signature.getNumberOfSignatureArguments();
@@ -230,7 +237,7 @@ public final class Primitives extends PrimitiveLoader<ExpressionNode, SSymbol> {
     ExpressionNode primNode = splzr.create(null, args, coord);
 
     Primitive primMethodNode = new Primitive(signature.getString(), source, coord, primNode,
-        (ExpressionNode) primNode.deepCopy());
+        (ExpressionNode) primNode.deepCopy(), language);
     return new SPrimitive(signature, primMethodNode);
   }
 
@@ -250,6 +257,8 @@ public final class Primitives extends PrimitiveLoader<ExpressionNode, SSymbol> {
     addAll(allFactories, ClassPrimsFactory.getFactories());
     addAll(allFactories, MethodPrimsFactory.getFactories());
     addAll(allFactories, ObjectPrimsFactory.getFactories());
+    addAll(allFactories, VectorPrimsFactory.getFactories());
+    addAll(allFactories, DictionaryPrimsFactory.getFactories());
 
     add(allFactories, AdditionPrimFactory.getInstance());
     add(allFactories, BitXorPrimFactory.getInstance());
@@ -9,6 +9,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 import trufflesom.bdt.primitives.Primitive;
 import trufflesom.vm.SymbolTable;
 import trufflesom.vmobjects.SClass;
+import trufflesom.vmobjects.SRope;
 import trufflesom.vmobjects.SSymbol;
 
 
@@ -81,9 +82,23 @@ public abstract class AdditionPrim extends ArithmeticPrim {
   }
 
   @Specialization
-  @TruffleBoundary
-  public static final String doString(final String left, final String right) {
-    return left + right;
+  public static final Object doRope(final SRope left, final SRope right) {
+    return SRope.concat(left, right);
+  }
+
+  @Specialization
+  public static final Object doRope(final SRope left, final String right) {
+    return SRope.concat(left, right);
+  }
+
+  @Specialization
+  public static final Object doRope(final String left, final SRope right) {
+    return SRope.concat(left, right);
+  }
+
+  @Specialization
+  public static final Object doString(final String left, final String right) {
+    return SRope.concat(left, right);
   }
 
   @Specialization
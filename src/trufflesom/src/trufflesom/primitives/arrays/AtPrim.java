@@ -7,13 +7,18 @@ import trufflesom.bdt.primitives.Primitive;
 import trufflesom.interpreter.nodes.nary.BinaryMsgExprNode;
 import trufflesom.vm.SymbolTable;
 import trufflesom.vm.constants.Nil;
+import trufflesom.vmobjects.SAbstractObject;
 import trufflesom.vmobjects.SArray;
+import trufflesom.vmobjects.SHashMap;
 import trufflesom.vmobjects.SSymbol;
+import trufflesom.vmobjects.SVector;
 
 
 @GenerateNodeFactory
 @Primitive(className = "Array", primitive = "at:", selector = "at:",
-    receiverType = SArray.class, inParser = false)
+    receiverType = {SArray.class, SVector.class, SHashMap.class}, inParser = false)
+@Primitive(className = "VmVector", primitive = "at:")
+@Primitive(className = "VmDictionary", primitive = "at:")
 public abstract class AtPrim extends BinaryMsgExprNode {
   @Override
   public final SSymbol getSelector() {
@@ -42,13 +47,80 @@ public abstract class AtPrim extends BinaryMsgExprNode {
     return receiver.getLongStorage()[(int) idx - 1];
   }
 
+  @Specialization(guards = "receiver.isIntType()")
+  public static final long doIntSArray(final SArray receiver, final long idx) {
+    return receiver.getIntStorage()[(int) idx - 1];
+  }
+
+  @Specialization(guards = "receiver.isByteType()")
+  public static final long doByteSArray(final SArray receiver, final long idx) {
+    return SArray.toLong(receiver.getByteStorage()[(int) idx - 1]);
+  }
+
   @Specialization(guards = "receiver.isDoubleType()")
   public static final double doDoubleSArray(final SArray receiver, final long idx) {
     return receiver.getDoubleStorage()[(int) idx - 1];
   }
 
+  @Specialization(guards = "receiver.isOffHeapLongType()")
+  public static final long doOffHeapLongSArray(final SArray receiver, final long idx) {
+    return receiver.getOffHeapLongStorage().get(idx - 1);
+  }
+
+  @Specialization(guards = "receiver.isOffHeapDoubleType()")
+  public static final double doOffHeapDoubleSArray(final SArray receiver, final long idx) {
+    return receiver.getOffHeapDoubleStorage().get(idx - 1);
+  }
+
   @Specialization(guards = "receiver.isBooleanType()")
   public static final boolean doBooleanSArray(final SArray receiver, final long idx) {
     return receiver.getBooleanStorage()[(int) idx - 1];
   }
+
+  protected static final boolean isInBounds(final SVector receiver, final long idx) {
+    return 0 < idx && idx <= receiver.getSize();
+  }
+
+  @Specialization(guards = "!isInBounds(receiver, idx)")
+  public static final Object doSVectorOutOfBounds(
+      @SuppressWarnings("unused") final SVector receiver,
+      @SuppressWarnings("unused") final long idx) {
+    return Nil.nilObject;
+  }
+
+  @Specialization(guards = {"receiver.isObjectType()", "isInBounds(receiver, idx)"})
+  public static final Object doObjectSVector(final SVector receiver, final long idx) {
+    return receiver.getObjectStorage()[(int) idx - 1];
+  }
+
+  @Specialization(guards = {"receiver.isLongType()", "isInBounds(receiver, idx)"})
+  public static final long doLongSVector(final SVector receiver, final long idx) {
+    return receiver.getLongStorage()[(int) idx - 1];
+  }
+
+  @Specialization(guards = {"receiver.isDoubleType()", "isInBounds(receiver, idx)"})
+  public static final double doDoubleSVector(final SVector receiver, final long idx) {
+    return receiver.getDoubleStorage()[(int) idx - 1];
+  }
+
+  @Specialization(guards = "receiver.isLongType()")
+  public static final Object doLongSHashMap(final SHashMap receiver, final long key) {
+    return DictionaryPrims.nilIfAbsent(receiver.getLongStorage().get(key));
+  }
+
+  @Specialization(guards = "receiver.isStringType()")
+  public static final Object doStringSHashMap(final SHashMap receiver, final String key) {
+    return DictionaryPrims.nilIfAbsent(receiver.getStringStorage().lookup(key));
+  }
+
+  @Specialization(guards = "receiver.isIdentityType()")
+  public static final Object doIdentitySHashMap(final SHashMap receiver,
+      final SAbstractObject key) {
+    return DictionaryPrims.nilIfAbsent(receiver.getIdentityStorage().lookup(key));
+  }
+
+  @Specialization
+  public static final Object doSHashMap(final SHashMap receiver, final Object key) {
+    return DictionaryPrims.nilIfAbsent(receiver.get(key));
+  }
 }
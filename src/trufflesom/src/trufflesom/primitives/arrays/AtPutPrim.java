@@ -8,13 +8,16 @@ import com.oracle.truffle.api.dsl.Specialization;
 import trufflesom.bdt.primitives.Primitive;
 import trufflesom.interpreter.nodes.nary.TernaryExpressionNode;
 import trufflesom.vm.constants.Nil;
+import trufflesom.vmobjects.SAbstractObject;
 import trufflesom.vmobjects.SArray;
+import trufflesom.vmobjects.SHashMap;
 import trufflesom.vmobjects.SArray.PartiallyEmptyArray;
 
 
 @GenerateNodeFactory
 @Primitive(className = "Array", primitive = "at:put:", selector = "at:put:",
-    receiverType = SArray.class, inParser = false)
+    receiverType = {SArray.class, SHashMap.class}, inParser = false)
+@Primitive(className = "VmDictionary", primitive = "at:put:")
 public abstract class AtPutPrim extends TernaryExpressionNode {
 
   protected static final boolean valueIsNil(final Object value) {
@@ -29,6 +32,14 @@ public abstract class AtPutPrim extends TernaryExpressionNode {
     return !(value instanceof Long);
   }
 
+  protected static final boolean fitsInt(final long value) {
+    return SArray.fitsInt(value);
+  }
+
+  protected static final boolean fitsByte(final long value) {
+    return SArray.fitsByte(value);
+  }
+
   protected static final boolean valueIsNotDouble(final Object value) {
     return !(value instanceof Double);
   }
@@ -117,7 +128,10 @@ public abstract class AtPutPrim extends TernaryExpressionNode {
   @Specialization(guards = "receiver.isPartiallyEmptyType()")
   public static final long doPartiallyEmptySArray(final SArray receiver,
       final long index, final long value) {
-    setAndPossiblyTransition(receiver, index, value, PartiallyEmptyArray.Type.LONG);
+    PartiallyEmptyArray storage = receiver.getPartiallyEmptyStorage();
+    setValue(index - 1, value, storage);
+    storage.widenIntegerType(value);
+    receiver.ifFullOrObjectTransitionPartiallyEmpty();
     return value;
   }
 
@@ -185,6 +199,60 @@ public abstract class AtPutPrim extends TernaryExpressionNode {
     return transitionAndSet(receiver, index, value, newStorage);
   }
 
+  @Specialization(guards = {"receiver.isIntType()", "fitsInt(value)"})
+  public static final Object doIntSArray(final SArray receiver, final long index,
+      final long value) {
+    long idx = index - 1;
+    receiver.getIntStorage()[(int) idx] = (int) value;
+    return value;
+  }
+
+  @Specialization(guards = {"receiver.isIntType()", "!fitsInt(value)"})
+  public static final Object doIntSArrayWithLong(final SArray receiver, final long index,
+      final long value) {
+    receiver.widenIntegerStorageAndSet(index - 1, value);
+    return value;
+  }
+
+  @Specialization(guards = {"receiver.isIntType()", "valueIsNotLong(value)"})
+  public static final Object doIntSArray(final SArray receiver, final long index,
+      final Object value) {
+    int[] storage = receiver.getIntStorage();
+    Object[] newStorage = new Object[storage.length];
+    for (int i = 0; i < storage.length; i++) {
+      newStorage[i] = (long) storage[i];
+    }
+
+    return transitionAndSet(receiver, index, value, newStorage);
+  }
+
+  @Specialization(guards = {"receiver.isByteType()", "fitsByte(value)"})
+  public static final Object doByteSArray(final SArray receiver, final long index,
+      final long value) {
+    long idx = index - 1;
+    receiver.getByteStorage()[(int) idx] = (byte) value;
+    return value;
+  }
+
+  @Specialization(guards = {"receiver.isByteType()", "!fitsByte(value)"})
+  public static final Object doByteSArrayWithLong(final SArray receiver, final long index,
+      final long value) {
+    receiver.widenIntegerStorageAndSet(index - 1, value);
+    return value;
+  }
+
+  @Specialization(guards = {"receiver.isByteType()", "valueIsNotLong(value)"})
+  public static final Object doByteSArray(final SArray receiver, final long index,
+      final Object value) {
+    byte[] storage = receiver.getByteStorage();
+    Object[] newStorage = new Object[storage.length];
+    for (int i = 0; i < storage.length; i++) {
+      newStorage[i] = SArray.toLong(storage[i]);
+    }
+
+    return transitionAndSet(receiver, index, value, newStorage);
+  }
+
   @Specialization(guards = "receiver.isDoubleType()")
   public static final Object doDoubleSArray(final SArray receiver, final long index,
       final double value) {
@@ -205,6 +273,34 @@ public abstract class AtPutPrim extends TernaryExpressionNode {
     return transitionAndSet(receiver, index, value, newStorage);
   }
 
+  @Specialization(guards = "receiver.isOffHeapLongType()")
+  public static final Object doOffHeapLongSArray(final SArray receiver, final long index,
+      final long value) {
+    receiver.getOffHeapLongStorage().set(index - 1, value);
+    return value;
+  }
+
+  @Specialization(guards = {"receiver.isOffHeapLongType()", "valueIsNotLong(value)"})
+  public static final Object doOffHeapLongSArray(final SArray receiver, final long index,
+      final Object value) {
+    Object[] newStorage = receiver.getOffHeapLongStorage().toObjectArray();
+    return transitionAndSet(receiver, index, value, newStorage);
+  }
+
+  @Specialization(guards = "receiver.isOffHeapDoubleType()")
+  public static final Object doOffHeapDoubleSArray(final SArray receiver, final long index,
+      final double value) {
+    receiver.getOffHeapDoubleStorage().set(index - 1, value);
+    return value;
+  }
+
+  @Specialization(guards = {"receiver.isOffHeapDoubleType()", "valueIsNotDouble(value)"})
+  public static final Object doOffHeapDoubleSArray(final SArray receiver, final long index,
+      final Object value) {
+    Object[] newStorage = receiver.getOffHeapDoubleStorage().toObjectArray();
+    return transitionAndSet(receiver, index, value, newStorage);
+  }
+
   @Specialization(guards = "receiver.isBooleanType()")
   public static final Object doBooleanSArray(final SArray receiver, final long index,
       final boolean value) {
@@ -225,6 +321,34 @@ public abstract class AtPutPrim extends TernaryExpressionNode {
     return transitionAndSet(receiver, index, value, newStorage);
   }
 
+  @Specialization(guards = "receiver.isLongType()")
+  public static final Object doLongSHashMap(final SHashMap receiver, final long key,
+      final Object value) {
+    receiver.getLongStorage().put(key, value);
+    return value;
+  }
+
+  @Specialization(guards = "receiver.isStringType()")
+  public static final Object doStringSHashMap(final SHashMap receiver, final String key,
+      final Object value) {
+    receiver.getStringStorage().store(key, value);
+    return value;
+  }
+
+  @Specialization(guards = "receiver.isIdentityType()")
+  public static final Object doIdentitySHashMap(final SHashMap receiver,
+      final SAbstractObject key, final Object value) {
+    receiver.getIdentityStorage().store(key, value);
+    return value;
+  }
+
+  @Specialization
+  public static final Object doSHashMap(final SHashMap receiver, final Object key,
+      final Object value) {
+    receiver.put(key, value);
+    return value;
+  }
+
   private static Object transitionAndSet(final SArray receiver, final long index,
       final Object value,
       final Object[] newStorage) {
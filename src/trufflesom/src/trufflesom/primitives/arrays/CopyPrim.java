@@ -32,11 +32,31 @@ public abstract class CopyPrim extends UnaryExpressionNode {
     return SArray.create(receiver.getLongStorage().clone());
   }
 
+  @Specialization(guards = "receiver.isIntType()")
+  public static final SArray doIntArray(final SArray receiver) {
+    return SArray.create(receiver.getIntStorage().clone());
+  }
+
+  @Specialization(guards = "receiver.isByteType()")
+  public static final SArray doByteArray(final SArray receiver) {
+    return SArray.create(receiver.getByteStorage().clone());
+  }
+
   @Specialization(guards = "receiver.isDoubleType()")
   public static final SArray doDoubleArray(final SArray receiver) {
     return SArray.create(receiver.getDoubleStorage().clone());
   }
 
+  @Specialization(guards = "receiver.isOffHeapLongType()")
+  public static final SArray doOffHeapLongArray(final SArray receiver) {
+    return new SArray(receiver.getOffHeapLongStorage().copy());
+  }
+
+  @Specialization(guards = "receiver.isOffHeapDoubleType()")
+  public static final SArray doOffHeapDoubleArray(final SArray receiver) {
+    return new SArray(receiver.getOffHeapDoubleStorage().copy());
+  }
+
   @Specialization(guards = "receiver.isBooleanType()")
   public static final SArray doBooleanArray(final SArray receiver) {
     return SArray.create(receiver.getBooleanStorage().clone());
@@ -0,0 +1,169 @@
+package trufflesom.primitives.arrays;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
+
+import trufflesom.bdt.primitives.Primitive;
+import trufflesom.interpreter.Invokable;
+import trufflesom.interpreter.nodes.nary.BinaryMsgExprNode;
+import trufflesom.interpreter.nodes.nary.TernaryExpressionNode;
+import trufflesom.interpreter.nodes.nary.UnaryExpressionNode;
+import trufflesom.primitives.basics.BlockPrims.ValueNonePrim;
+import trufflesom.primitives.basics.BlockPrims.ValueOnePrim;
+import trufflesom.primitives.basics.BlockPrimsFactory.ValueOnePrimFactory;
+import trufflesom.vm.SymbolTable;
+import trufflesom.vm.constants.Nil;
+import trufflesom.vmobjects.SBlock;
+import trufflesom.vmobjects.SClass;
+import trufflesom.vmobjects.SHashMap;
+import trufflesom.vmobjects.SSymbol;
+
+
+/**
+ * Primitives of the VM-level {@link SHashMap}. Lookup and update are handled by
+ * {@link AtPrim} and {@link AtPutPrim}, which are shared with arrays.
+ *
+ * <p>
+ * As for {@link VectorPrims}, the primitives are also the methods of the VmDictionary class.
+ */
+public final class DictionaryPrims {
+
+  static Object nilIfAbsent(final Object value) {
+    if (value == null) {
+      return Nil.nilObject;
+    }
+    return value;
+  }
+
+  @GenerateNodeFactory
+  @Primitive(className = "VmDictionary", primitive = "new", classSide = true)
+  public abstract static class NewDictionaryPrim extends UnaryExpressionNode {
+    @Specialization
+    public static final SHashMap doSClass(
+        @SuppressWarnings("unused") final SClass receiver) {
+      return new SHashMap(0);
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive(className = "VmDictionary", primitive = "at:ifAbsent:",
+      selector = "at:ifAbsent:", receiverType = SHashMap.class)
+  public abstract static class AtIfAbsentPrim extends TernaryExpressionNode {
+
+    @Specialization(guards = "receiver.isLongType()")
+    public static final Object doLong(final VirtualFrame frame, final SHashMap receiver,
+        final long key, final SBlock block, @Cached final ValueNonePrim value) {
+      Object result = receiver.getLongStorage().get(key);
+      if (result == null) {
+        return value.executeEvaluated(frame, block);
+      }
+      return result;
+    }
+
+    @Specialization(guards = "receiver.isStringType()")
+    public static final Object doString(final VirtualFrame frame, final SHashMap receiver,
+        final String key, final SBlock block, @Cached final ValueNonePrim value) {
+      Object result = receiver.getStringStorage().lookup(key);
+      if (result == null) {
+        return value.executeEvaluated(frame, block);
+      }
+      return result;
+    }
+
+    @Specialization
+    public static final Object doGeneric(final VirtualFrame frame, final SHashMap receiver,
+        final Object key, final SBlock block, @Cached final ValueNonePrim value) {
+      Object result = receiver.get(key);
+      if (result == null) {
+        return value.executeEvaluated(frame, block);
+      }
+      return result;
+    }
+  }
+
+  /** Removes the key, and returns its value or nil, if the key was absent. */
+  @GenerateNodeFactory
+  @Primitive(className = "VmDictionary", primitive = "removeKey:", selector = "removeKey:",
+      receiverType = SHashMap.class)
+  public abstract static class RemoveKeyPrim extends BinaryMsgExprNode {
+    @Override
+    public final SSymbol getSelector() {
+      return SymbolTable.symbolFor("removeKey:");
+    }
+
+    @Specialization(guards = "receiver.isLongType()")
+    public static final Object doLong(final SHashMap receiver, final long key) {
+      return nilIfAbsent(receiver.getLongStorage().remove(key));
+    }
+
+    @Specialization
+    public static final Object doGeneric(final SHashMap receiver, final Object key) {
+      return nilIfAbsent(receiver.removeKey(key));
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive(className = "VmDictionary", primitive = "keysDo:", selector = "keysDo:",
+      receiverType = SHashMap.class)
+  public abstract static class KeysDoPrim extends BinaryMsgExprNode {
+    @Child private ValueOnePrim block = ValueOnePrimFactory.create(null, null);
+
+    @Override
+    public final SSymbol getSelector() {
+      return SymbolTable.symbolFor("keysDo:");
+    }
+
+    @Specialization(guards = "receiver.isLongType()")
+    public final SHashMap doLong(final VirtualFrame frame, final SHashMap receiver,
+        final SBlock b) {
+      long[] keys = receiver.getLongStorage().getKeys();
+      try {
+        for (int i = 0; i < keys.length; i++) {
+          this.block.executeEvaluated(frame, b, keys[i]);
+        }
+      } finally {
+        if (CompilerDirectives.inInterpreter()) {
+          reportLoopCount(keys.length);
+        }
+      }
+      return receiver;
+    }
+
+    @Specialization
+    public final SHashMap doGeneric(final VirtualFrame frame, final SHashMap receiver,
+        final SBlock b) {
+      Object[] keys = receiver.getKeys();
+      try {
+        for (int i = 0; i < keys.length; i++) {
+          this.block.executeEvaluated(frame, b, keys[i]);
+        }
+      } finally {
+        if (CompilerDirectives.inInterpreter()) {
+          reportLoopCount(keys.length);
+        }
+      }
+      return receiver;
+    }
+
+    protected final void reportLoopCount(final long count) {
+      if (count == 0) {
+        return;
+      }
+
+      CompilerAsserts.neverPartOfCompilation("reportLoopCount");
+      Node current = getParent();
+      while (current != null && !(current instanceof RootNode)) {
+        current = current.getParent();
+      }
+      if (current != null) {
+        ((Invokable) current).propagateLoopCountThroughoutLexicalScope(count);
+      }
+    }
+  }
+}
@@ -16,14 +16,18 @@ import trufflesom.primitives.basics.BlockPrimsFactory.ValueOnePrimFactory;
 import trufflesom.vm.SymbolTable;
 import trufflesom.vm.constants.Nil;
 import trufflesom.vmobjects.SArray;
+import trufflesom.vmobjects.SArray.OffHeapDoubleArray;
+import trufflesom.vmobjects.SArray.OffHeapLongArray;
 import trufflesom.vmobjects.SArray.PartiallyEmptyArray;
 import trufflesom.vmobjects.SBlock;
 import trufflesom.vmobjects.SSymbol;
+import trufflesom.vmobjects.SVector;
 
 
 @GenerateNodeFactory
 @Primitive(className = "Array", primitive = "do:", selector = "do:",
-    receiverType = SArray.class, disabled = true)
+    receiverType = {SArray.class, SVector.class}, disabled = true)
+@Primitive(className = "VmVector", primitive = "do:")
 public abstract class DoPrim extends BinaryMsgExprNode {
   @Child private ValueOnePrim block = ValueOnePrimFactory.create(null, null);
 
@@ -111,6 +115,46 @@ public abstract class DoPrim extends BinaryMsgExprNode {
     return arr;
   }
 
+  @Specialization(guards = "arr.isIntType()")
+  public final SArray doIntArray(final VirtualFrame frame,
+      final SArray arr, final SBlock b) {
+    int[] storage = arr.getIntStorage();
+    int length = storage.length;
+    try {
+      if (SArray.FIRST_IDX < length) {
+        this.block.executeEvaluated(frame, b, (long) storage[SArray.FIRST_IDX]);
+      }
+      for (long i = SArray.FIRST_IDX + 1; i < length; i++) {
+        this.block.executeEvaluated(frame, b, (long) storage[(int) i]);
+      }
+    } finally {
+      if (CompilerDirectives.inInterpreter()) {
+        reportLoopCount(length);
+      }
+    }
+    return arr;
+  }
+
+  @Specialization(guards = "arr.isByteType()")
+  public final SArray doByteArray(final VirtualFrame frame,
+      final SArray arr, final SBlock b) {
+    byte[] storage = arr.getByteStorage();
+    int length = storage.length;
+    try {
+      if (SArray.FIRST_IDX < length) {
+        this.block.executeEvaluated(frame, b, SArray.toLong(storage[SArray.FIRST_IDX]));
+      }
+      for (long i = SArray.FIRST_IDX + 1; i < length; i++) {
+        this.block.executeEvaluated(frame, b, SArray.toLong(storage[(int) i]));
+      }
+    } finally {
+      if (CompilerDirectives.inInterpreter()) {
+        reportLoopCount(length);
+      }
+    }
+    return arr;
+  }
+
   @Specialization(guards = "arr.isDoubleType()")
   public final SArray doDoubleArray(final VirtualFrame frame,
       final SArray arr, final SBlock b) {
@@ -131,6 +175,46 @@ public abstract class DoPrim extends BinaryMsgExprNode {
     return arr;
   }
 
+  @Specialization(guards = "arr.isOffHeapLongType()")
+  public final SArray doOffHeapLongArray(final VirtualFrame frame,
+      final SArray arr, final SBlock b) {
+    OffHeapLongArray storage = arr.getOffHeapLongStorage();
+    int length = storage.getLength();
+    try {
+      if (SArray.FIRST_IDX < length) {
+        this.block.executeEvaluated(frame, b, storage.get(SArray.FIRST_IDX));
+      }
+      for (long i = SArray.FIRST_IDX + 1; i < length; i++) {
+        this.block.executeEvaluated(frame, b, storage.get(i));
+      }
+    } finally {
+      if (CompilerDirectives.inInterpreter()) {
+        reportLoopCount(length);
+      }
+    }
+    return arr;
+  }
+
+  @Specialization(guards = "arr.isOffHeapDoubleType()")
+  public final SArray doOffHeapDoubleArray(final VirtualFrame frame,
+      final SArray arr, final SBlock b) {
+    OffHeapDoubleArray storage = arr.getOffHeapDoubleStorage();
+    int length = storage.getLength();
+    try {
+      if (SArray.FIRST_IDX < length) {
+        this.block.executeEvaluated(frame, b, storage.get(SArray.FIRST_IDX));
+      }
+      for (long i = SArray.FIRST_IDX + 1; i < length; i++) {
+        this.block.executeEvaluated(frame, b, storage.get(i));
+      }
+    } finally {
+      if (CompilerDirectives.inInterpreter()) {
+        reportLoopCount(length);
+      }
+    }
+    return arr;
+  }
+
   @Specialization(guards = "arr.isBooleanType()")
   public final SArray doBooleanArray(final VirtualFrame frame,
       final SArray arr, final SBlock b) {
@@ -151,6 +235,63 @@ public abstract class DoPrim extends BinaryMsgExprNode {
     return arr;
   }
 
+  @Specialization(guards = "vec.isEmptyType()")
+  public static final SVector doEmptyVector(final SVector vec,
+      @SuppressWarnings("unused") final SBlock b) {
+    return vec;
+  }
+
+  @Specialization(guards = "vec.isObjectType()")
+  public final SVector doObjectVector(final VirtualFrame frame,
+      final SVector vec, final SBlock b) {
+    Object[] storage = vec.getObjectStorage();
+    int size = vec.getSize();
+    try {
+      for (int i = 0; i < size; i++) {
+        this.block.executeEvaluated(frame, b, storage[i]);
+      }
+    } finally {
+      if (CompilerDirectives.inInterpreter()) {
+        reportLoopCount(size);
+      }
+    }
+    return vec;
+  }
+
+  @Specialization(guards = "vec.isLongType()")
+  public final SVector doLongVector(final VirtualFrame frame,
+      final SVector vec, final SBlock b) {
+    long[] storage = vec.getLongStorage();
+    int size = vec.getSize();
+    try {
+      for (int i = 0; i < size; i++) {
+        this.block.executeEvaluated(frame, b, storage[i]);
+      }
+    } finally {
+      if (CompilerDirectives.inInterpreter()) {
+        reportLoopCount(size);
+      }
+    }
+    return vec;
+  }
+
+  @Specialization(guards = "vec.isDoubleType()")
+  public final SVector doDoubleVector(final VirtualFrame frame,
+      final SVector vec, final SBlock b) {
+    double[] storage = vec.getDoubleStorage();
+    int size = vec.getSize();
+    try {
+      for (int i = 0; i < size; i++) {
+        this.block.executeEvaluated(frame, b, storage[i]);
+      }
+    } finally {
+      if (CompilerDirectives.inInterpreter()) {
+        reportLoopCount(size);
+      }
+    }
+    return vec;
+  }
+
   protected final void reportLoopCount(final long count) {
     if (count == 0) {
       return;
@@ -1,7 +1,6 @@
 package trufflesom.primitives.arrays;
 
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
-import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 
@@ -13,13 +12,16 @@ import trufflesom.vm.Classes;
 import trufflesom.vm.SymbolTable;
 import trufflesom.vmobjects.SArray;
 import trufflesom.vmobjects.SClass;
+import trufflesom.vmobjects.SHashMap;
 import trufflesom.vmobjects.SSymbol;
+import trufflesom.vmobjects.SVector;
 
 
-@ImportStatic(Classes.class)
 @GenerateNodeFactory
 @Primitive(className = "Array", primitive = "new:", selector = "new:", classSide = true,
     inParser = false, specializer = NewPrim.IsArrayClass.class)
+@Primitive(className = "VmVector", primitive = "new:", classSide = true)
+@Primitive(className = "VmDictionary", primitive = "new:", classSide = true)
 public abstract class NewPrim extends BinaryMsgExprNode {
 
   public static class IsArrayClass extends Specializer<ExpressionNode, SSymbol> {
@@ -30,16 +32,42 @@ public abstract class NewPrim extends BinaryMsgExprNode {
 
     @Override
     public boolean matches(final Object[] args, final ExpressionNode[] argNodes) {
-      return args[0] == Classes.arrayClass;
+      Classes classes = Classes.get(null);
+      return args[0] == classes.arrayClass || args[0] == classes.vectorClass
+          || args[0] == classes.dictionaryClass;
     }
   }
 
-  @Specialization(guards = "receiver == arrayClass")
+  protected final boolean isArrayClass(final SClass receiver) {
+    return receiver == Classes.get(this).arrayClass;
+  }
+
+  protected final boolean isVectorClass(final SClass receiver) {
+    return receiver == Classes.get(this).vectorClass;
+  }
+
+  protected final boolean isDictionaryClass(final SClass receiver) {
+    return receiver == Classes.get(this).dictionaryClass;
+  }
+
+  @Specialization(guards = "isArrayClass(receiver)")
   public static final SArray doSClass(@SuppressWarnings("unused") final SClass receiver,
       final long length) {
     return new SArray(length);
   }
 
+  @Specialization(guards = "isVectorClass(receiver)")
+  public static final SVector doVectorClass(@SuppressWarnings("unused") final SClass receiver,
+      final long capacity) {
+    return new SVector(capacity);
+  }
+
+  @Specialization(guards = "isDictionaryClass(receiver)")
+  public static final SHashMap doDictionaryClass(
+      @SuppressWarnings("unused") final SClass receiver, final long capacity) {
+    return new SHashMap(capacity);
+  }
+
   @Override
   public final SSymbol getSelector() {
     return SymbolTable.symNewMsg;
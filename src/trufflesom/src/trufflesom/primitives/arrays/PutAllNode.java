@@ -101,7 +101,7 @@ public abstract class PutAllNode extends BinaryExpressionNode {
         long[] newStorage = new long[(int) length];
         newStorage[0] = (long) result;
         evalBlockForRemaining(frame, b, length, newStorage, blockNode);
-        rcvr.transitionTo(newStorage);
+        rcvr.transitionTo(SArray.createIntegerStorage(newStorage));
       } else if (result instanceof Double) {
         double[] newStorage = new double[(int) length];
         newStorage[0] = (double) result;
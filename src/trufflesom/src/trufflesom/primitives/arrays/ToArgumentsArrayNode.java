@@ -13,6 +13,8 @@ import com.oracle.truffle.api.instrumentation.ProbeNode;
 import trufflesom.interpreter.nodes.NoPreEvalExprNode;
 import trufflesom.vm.constants.Nil;
 import trufflesom.vmobjects.SArray;
+import trufflesom.vmobjects.SArray.OffHeapDoubleArray;
+import trufflesom.vmobjects.SArray.OffHeapLongArray;
 
 
 @GenerateNodeFactory
@@ -75,6 +77,30 @@ public abstract class ToArgumentsArrayNode extends NoPreEvalExprNode {
     return args;
   }
 
+  @Specialization(guards = "somArray.isIntType()")
+  public static final Object[] doIntArray(final SArray somArray,
+      final Object rcvr) {
+    int[] arr = somArray.getIntStorage();
+    Object[] args = new Object[arr.length + 1];
+    args[0] = rcvr;
+    for (int i = 0; i < arr.length; i++) {
+      args[i + 1] = (long) arr[i];
+    }
+    return args;
+  }
+
+  @Specialization(guards = "somArray.isByteType()")
+  public static final Object[] doByteArray(final SArray somArray,
+      final Object rcvr) {
+    byte[] arr = somArray.getByteStorage();
+    Object[] args = new Object[arr.length + 1];
+    args[0] = rcvr;
+    for (int i = 0; i < arr.length; i++) {
+      args[i + 1] = SArray.toLong(arr[i]);
+    }
+    return args;
+  }
+
   @Specialization(guards = "somArray.isDoubleType()")
   public static final Object[] doDoubleArray(final SArray somArray,
       final Object rcvr) {
@@ -87,6 +113,30 @@ public abstract class ToArgumentsArrayNode extends NoPreEvalExprNode {
     return args;
   }
 
+  @Specialization(guards = "somArray.isOffHeapLongType()")
+  public static final Object[] doOffHeapLongArray(final SArray somArray,
+      final Object rcvr) {
+    OffHeapLongArray arr = somArray.getOffHeapLongStorage();
+    Object[] args = new Object[arr.getLength() + 1];
+    args[0] = rcvr;
+    for (int i = 0; i < arr.getLength(); i++) {
+      args[i + 1] = arr.get(i);
+    }
+    return args;
+  }
+
+  @Specialization(guards = "somArray.isOffHeapDoubleType()")
+  public static final Object[] doOffHeapDoubleArray(final SArray somArray,
+      final Object rcvr) {
+    OffHeapDoubleArray arr = somArray.getOffHeapDoubleStorage();
+    Object[] args = new Object[arr.getLength() + 1];
+    args[0] = rcvr;
+    for (int i = 0; i < arr.getLength(); i++) {
+      args[i + 1] = arr.get(i);
+    }
+    return args;
+  }
+
   @Specialization(guards = "somArray.isBooleanType()")
   public static final Object[] doBooleanArray(final SArray somArray,
       final Object rcvr) {
@@ -0,0 +1,152 @@
+package trufflesom.primitives.arrays;
+
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+
+import trufflesom.bdt.primitives.Primitive;
+import trufflesom.interpreter.nodes.nary.BinaryMsgExprNode;
+import trufflesom.interpreter.nodes.nary.UnaryExpressionNode;
+import trufflesom.vm.SymbolTable;
+import trufflesom.vm.constants.Nil;
+import trufflesom.vmobjects.SClass;
+import trufflesom.vmobjects.SHashMap;
+import trufflesom.vmobjects.SSymbol;
+import trufflesom.vmobjects.SVector;
+
+
+/**
+ * Primitives of the growable {@link SVector}. Indexing and iteration are handled by
+ * {@link AtPrim} and {@link DoPrim}, which are shared with arrays.
+ *
+ * <p>
+ * The primitives are specialized eagerly by their selector, and also installed as the
+ * methods of the VmVector class, for sends that are not specialized eagerly.
+ */
+public final class VectorPrims {
+
+  @GenerateNodeFactory
+  @Primitive(className = "VmVector", primitive = "new", classSide = true)
+  public abstract static class NewVectorPrim extends UnaryExpressionNode {
+    @Specialization
+    public static final SVector doSClass(@SuppressWarnings("unused") final SClass receiver) {
+      return new SVector(0);
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive(className = "VmVector", primitive = "append:", selector = "append:",
+      receiverType = SVector.class)
+  public abstract static class AppendPrim extends BinaryMsgExprNode {
+    @Override
+    public final SSymbol getSelector() {
+      return SymbolTable.symbolFor("append:");
+    }
+
+    protected static final boolean valueIsNotLong(final Object value) {
+      return !(value instanceof Long);
+    }
+
+    protected static final boolean valueIsNotDouble(final Object value) {
+      return !(value instanceof Double);
+    }
+
+    protected static final boolean valueNotLongDouble(final Object value) {
+      return !(value instanceof Long) && !(value instanceof Double);
+    }
+
+    @Specialization(guards = "receiver.isEmptyType()")
+    public static final SVector doEmpty(final SVector receiver, final long value) {
+      receiver.transitionFromEmptyToLong();
+      receiver.appendLong(value);
+      return receiver;
+    }
+
+    @Specialization(guards = "receiver.isEmptyType()")
+    public static final SVector doEmpty(final SVector receiver, final double value) {
+      receiver.transitionFromEmptyToDouble();
+      receiver.appendDouble(value);
+      return receiver;
+    }
+
+    @Specialization(guards = {"receiver.isEmptyType()", "valueNotLongDouble(value)"})
+    public static final SVector doEmpty(final SVector receiver, final Object value) {
+      receiver.transitionToObject();
+      receiver.appendObject(value);
+      return receiver;
+    }
+
+    @Specialization(guards = "receiver.isLongType()")
+    public static final SVector doLong(final SVector receiver, final long value) {
+      receiver.appendLong(value);
+      return receiver;
+    }
+
+    @Specialization(guards = {"receiver.isLongType()", "valueIsNotLong(value)"})
+    public static final SVector doLong(final SVector receiver, final Object value) {
+      receiver.transitionToObject();
+      receiver.appendObject(value);
+      return receiver;
+    }
+
+    @Specialization(guards = "receiver.isDoubleType()")
+    public static final SVector doDouble(final SVector receiver, final double value) {
+      receiver.appendDouble(value);
+      return receiver;
+    }
+
+    @Specialization(guards = {"receiver.isDoubleType()", "valueIsNotDouble(value)"})
+    public static final SVector doDouble(final SVector receiver, final Object value) {
+      receiver.transitionToObject();
+      receiver.appendObject(value);
+      return receiver;
+    }
+
+    @Specialization(guards = "receiver.isObjectType()")
+    public static final SVector doObject(final SVector receiver, final Object value) {
+      receiver.appendObject(value);
+      return receiver;
+    }
+  }
+
+  /** Removes and returns the last element, or nil if the vector is empty. */
+  @GenerateNodeFactory
+  @Primitive(className = "VmVector", primitive = "removeLast", selector = "removeLast",
+      receiverType = SVector.class)
+  public abstract static class RemoveLastPrim extends UnaryExpressionNode {
+    @Specialization(guards = "receiver.getSize() == 0")
+    public static final Object doEmpty(@SuppressWarnings("unused") final SVector receiver) {
+      return Nil.nilObject;
+    }
+
+    @Specialization(guards = {"receiver.isLongType()", "receiver.getSize() > 0"})
+    public static final long doLong(final SVector receiver) {
+      return receiver.removeLastLong();
+    }
+
+    @Specialization(guards = {"receiver.isDoubleType()", "receiver.getSize() > 0"})
+    public static final double doDouble(final SVector receiver) {
+      return receiver.removeLastDouble();
+    }
+
+    @Specialization(guards = {"receiver.isObjectType()", "receiver.getSize() > 0"})
+    public static final Object doObject(final SVector receiver) {
+      return receiver.removeLastObject();
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive(className = "VmVector", primitive = "size")
+  @Primitive(className = "VmDictionary", primitive = "size")
+  @Primitive(selector = "size", receiverType = {SVector.class, SHashMap.class})
+  public abstract static class SizePrim extends UnaryExpressionNode {
+    @Specialization
+    public static final long doSVector(final SVector receiver) {
+      return receiver.getSize();
+    }
+
+    @Specialization
+    public static final long doSHashMap(final SHashMap receiver) {
+      return receiver.size();
+    }
+  }
+}
@@ -14,6 +14,7 @@ import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.GenerateWrapper;
 import com.oracle.truffle.api.instrumentation.ProbeNode;
 import com.oracle.truffle.api.nodes.DirectCallNode;
+import com.oracle.truffle.api.nodes.IndirectCallNode;
 
 import trufflesom.bdt.primitives.Primitive;
 import trufflesom.bdt.primitives.nodes.PreevaluatedExpression;
@@ -84,8 +85,9 @@ public abstract class BlockPrims {
 
     @Specialization
     @Megamorphic
-    public static final Object generic(final SBlock receiver) {
-      return receiver.getMethod().invoke(new Object[] {receiver});
+    public static final Object generic(final SBlock receiver,
+        @Cached final IndirectCallNode call) {
+      return receiver.getMethod().invoke(call, new Object[] {receiver});
     }
 
     @Specialization
@@ -128,8 +130,9 @@ public abstract class BlockPrims {
 
     @Specialization
     @Megamorphic
-    public static final Object generic(final SBlock receiver, final Object arg) {
-      return receiver.getMethod().invoke(new Object[] {receiver, arg});
+    public static final Object generic(final SBlock receiver, final Object arg,
+        @Cached final IndirectCallNode call) {
+      return receiver.getMethod().invoke(call, new Object[] {receiver, arg});
     }
 
     @Fallback
@@ -175,8 +178,8 @@ public abstract class BlockPrims {
     @Specialization
     @Megamorphic
     public static final Object generic(final SBlock receiver, final Object arg1,
-        final Object arg2) {
-      return receiver.getMethod().invoke(new Object[] {receiver, arg1, arg2});
+        final Object arg2, @Cached final IndirectCallNode call) {
+      return receiver.getMethod().invoke(call, new Object[] {receiver, arg1, arg2});
     }
   }
 
@@ -2,7 +2,6 @@ package trufflesom.primitives.basics;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
-import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
 
 import trufflesom.bdt.primitives.Primitive;
@@ -32,23 +31,29 @@ public abstract class DoublePrims {
     }
   }
 
-  @ImportStatic(Classes.class)
   @GenerateNodeFactory
   @Primitive(className = "Double", primitive = "PositiveInfinity", classSide = true)
   public abstract static class PositiveInfinityPrim extends UnaryExpressionNode {
-    @Specialization(guards = "receiver == doubleClass")
+    protected final boolean isDoubleClass(final SClass receiver) {
+      return receiver == Classes.get(this).doubleClass;
+    }
+
+    @Specialization(guards = "isDoubleClass(receiver)")
     public static final double doSClass(@SuppressWarnings("unused") final SClass receiver) {
       return Double.POSITIVE_INFINITY;
     }
   }
 
-  @ImportStatic(Classes.class)
   @GenerateNodeFactory
   @Primitive(className = "Double", primitive = "fromString:", classSide = true)
   public abstract static class FromStringPrim extends BinaryExpressionNode {
 
+    protected final boolean isDoubleClass(final SClass receiver) {
+      return receiver == Classes.get(this).doubleClass;
+    }
+
     @TruffleBoundary
-    @Specialization(guards = "receiver == doubleClass")
+    @Specialization(guards = "isDoubleClass(receiver)")
     public static final double doSClass(@SuppressWarnings("unused") final SClass receiver,
         final String str) {
       try {
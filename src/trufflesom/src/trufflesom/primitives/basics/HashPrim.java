@@ -1,6 +1,5 @@
 package trufflesom.primitives.basics;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 
@@ -20,14 +19,12 @@ public abstract class HashPrim extends UnaryExpressionNode {
   }
 
   @Specialization
-  @TruffleBoundary
   public static final long doSSymbol(final SSymbol receiver) {
-    return receiver.getString().hashCode();
+    return receiver.getHash();
   }
 
   @Specialization
-  @TruffleBoundary
   public static final long doSAbstractObject(final SAbstractObject receiver) {
-    return receiver.hashCode();
+    return receiver.getIdentityHash();
   }
 }
@@ -6,7 +6,6 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
-import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.profiles.InlinedBranchProfile;
@@ -105,13 +104,16 @@ public abstract class IntegerPrims {
     }
   }
 
-  @ImportStatic(Classes.class)
   @GenerateNodeFactory
   @Primitive(className = "Integer", primitive = "fromString:", classSide = true)
   public abstract static class FromStringPrim extends BinaryExpressionNode {
 
+    protected final boolean isIntegerClass(final SClass receiver) {
+      return receiver == Classes.get(this).integerClass;
+    }
+
     @TruffleBoundary
-    @Specialization(guards = "receiver == integerClass")
+    @Specialization(guards = "isIntegerClass(receiver)")
     public static final Object doString(@SuppressWarnings("unused") final SClass receiver,
         final String argument) {
       try {
@@ -121,7 +123,7 @@ public abstract class IntegerPrims {
       }
     }
 
-    @Specialization(guards = "receiver == integerClass")
+    @Specialization(guards = "isIntegerClass(receiver)")
     public static final Object doSymbol(final SClass receiver, final SSymbol argument) {
       return doString(receiver, argument.getString());
     }
@@ -9,6 +9,7 @@ import com.oracle.truffle.api.instrumentation.ProbeNode;
 import trufflesom.bdt.primitives.Primitive;
 import trufflesom.interpreter.nodes.nary.UnaryExpressionNode;
 import trufflesom.vmobjects.SArray;
+import trufflesom.vmobjects.SRope;
 import trufflesom.vmobjects.SSymbol;
 
 
@@ -16,7 +17,8 @@ import trufflesom.vmobjects.SSymbol;
 @GenerateWrapper
 @Primitive(className = "Array", primitive = "length")
 @Primitive(className = "String", primitive = "length")
-@Primitive(selector = "length", receiverType = {String.class, SArray.class, SSymbol.class},
+@Primitive(selector = "length",
+    receiverType = {String.class, SRope.class, SArray.class, SSymbol.class},
     inParser = false)
 public abstract class LengthPrim extends UnaryExpressionNode {
 
@@ -40,11 +42,31 @@ public abstract class LengthPrim extends UnaryExpressionNode {
     return receiver.getLongStorage().length;
   }
 
+  @Specialization(guards = "receiver.isIntType()")
+  public static final long doIntSArray(final SArray receiver) {
+    return receiver.getIntStorage().length;
+  }
+
+  @Specialization(guards = "receiver.isByteType()")
+  public static final long doByteSArray(final SArray receiver) {
+    return receiver.getByteStorage().length;
+  }
+
   @Specialization(guards = "receiver.isDoubleType()")
   public static final long doDoubleSArray(final SArray receiver) {
     return receiver.getDoubleStorage().length;
   }
 
+  @Specialization(guards = "receiver.isOffHeapLongType()")
+  public static final long doOffHeapLongSArray(final SArray receiver) {
+    return receiver.getOffHeapLongStorage().getLength();
+  }
+
+  @Specialization(guards = "receiver.isOffHeapDoubleType()")
+  public static final long doOffHeapDoubleSArray(final SArray receiver) {
+    return receiver.getOffHeapDoubleStorage().getLength();
+  }
+
   @Specialization(guards = "receiver.isBooleanType()")
   public static final long doBooleanSArray(final SArray receiver) {
     return receiver.getBooleanStorage().length;
@@ -52,6 +74,12 @@ public abstract class LengthPrim extends UnaryExpressionNode {
 
   public abstract long executeEvaluated(VirtualFrame frame, SArray receiver);
 
+  /** Ropes know their length, and are not flattened for it. */
+  @Specialization
+  public static final long doRope(final SRope receiver) {
+    return receiver.length();
+  }
+
   @Specialization
   public static final long doString(final String receiver) {
     return receiver.length();
@@ -16,6 +16,10 @@ import trufflesom.vmobjects.SClass;
 import trufflesom.vmobjects.SObject;
 
 
+/**
+ * Allocates instances in the current layout of the receiver class. See
+ * {@link CachedNewObject} for how allocation sites follow layout changes.
+ */
 @GenerateNodeFactory
 @Primitive(className = "Class", primitive = "new")
 public abstract class NewObjectPrim extends UnaryExpressionNode {
@@ -25,12 +29,12 @@ public abstract class NewObjectPrim extends UnaryExpressionNode {
       guards = "layout.layoutForSameClass(receiver)", limit = "LIMIT")
   public static final SAbstractObject doCached(final SClass receiver,
       @Cached("receiver.getLayoutForInstances()") final ObjectLayout layout) {
-    return new SObject(receiver, layout);
+    return SObject.create(receiver, layout);
   }
 
   @Specialization(replaces = "doCached")
   public static final SAbstractObject doUncached(final SClass receiver) {
-    return new SObject(receiver);
+    return SObject.create(receiver);
   }
 
   @Override
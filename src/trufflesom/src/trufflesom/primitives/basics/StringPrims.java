@@ -14,6 +14,7 @@ import trufflesom.interpreter.nodes.nary.TernaryExpressionNode;
 import trufflesom.interpreter.nodes.nary.UnaryExpressionNode;
 import trufflesom.vm.SymbolTable;
 import trufflesom.vmobjects.SAbstractObject;
+import trufflesom.vmobjects.SRope;
 import trufflesom.vmobjects.SSymbol;
 
 
@@ -28,9 +29,23 @@ public class StringPrims {
     }
 
     @Specialization
-    @TruffleBoundary
-    public static final String doString(final String receiver, final String argument) {
-      return receiver + argument;
+    public static final Object doRope(final SRope receiver, final SRope argument) {
+      return SRope.concat(receiver, argument);
+    }
+
+    @Specialization
+    public static final Object doRope(final SRope receiver, final String argument) {
+      return SRope.concat(receiver, argument);
+    }
+
+    @Specialization
+    public static final Object doRope(final String receiver, final SRope argument) {
+      return SRope.concat(receiver, argument);
+    }
+
+    @Specialization
+    public static final Object doString(final String receiver, final String argument) {
+      return SRope.concat(receiver, argument);
     }
 
     @Specialization
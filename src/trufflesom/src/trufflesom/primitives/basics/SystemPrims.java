@@ -29,7 +29,6 @@ import trufflesom.interpreter.Invokable;
 import trufflesom.interpreter.nodes.nary.BinaryExpressionNode;
 import trufflesom.interpreter.nodes.nary.TernaryExpressionNode;
 import trufflesom.interpreter.nodes.nary.UnaryExpressionNode;
-import trufflesom.vm.Globals;
 import trufflesom.vm.NotYetImplementedException;
 import trufflesom.vm.Universe;
 import trufflesom.vm.constants.Nil;
@@ -45,9 +44,9 @@ public final class SystemPrims {
   @GenerateNodeFactory
   public abstract static class LoadPrim extends BinaryExpressionNode {
     @Specialization
-    public static final Object doSObject(@SuppressWarnings("unused") final SObject receiver,
+    public final Object doSObject(@SuppressWarnings("unused") final SObject receiver,
         final SSymbol argument) {
-      SClass result = Universe.loadClass(argument);
+      SClass result = Universe.get(this).loadClass(argument);
       return result != null ? result : Nil.nilObject;
     }
   }
@@ -66,10 +65,10 @@ public final class SystemPrims {
   @Primitive(className = "System", primitive = "global:put:")
   public abstract static class GlobalPutPrim extends TernaryExpressionNode {
     @Specialization
-    public static final Object doSObject(@SuppressWarnings("unused") final SObject receiver,
+    public final Object doSObject(@SuppressWarnings("unused") final SObject receiver,
         final SSymbol global,
         final Object value) {
-      Globals.setGlobal(global, value);
+      Universe.get(this).getGlobals().setGlobal(global, value);
       return value;
     }
   }
@@ -24,6 +24,7 @@ import trufflesom.interpreter.nodes.MessageSendNode;
 import trufflesom.primitives.arrays.ToArgumentsArrayNode;
 import trufflesom.primitives.arrays.ToArgumentsArrayNodeFactory;
 import trufflesom.tools.nodestats.Tags.AnyNode;
+import trufflesom.vm.PolymorphismPolicy;
 import trufflesom.vmobjects.SArray;
 import trufflesom.vmobjects.SInvokable;
 import trufflesom.vmobjects.SSymbol;
@@ -32,8 +33,6 @@ import trufflesom.vmobjects.SSymbol;
 @GenerateWrapper
 public abstract class AbstractSymbolDispatch extends Node
     implements WithSource, InstrumentableNode {
-  public static final int INLINE_CACHE_SIZE = 6;
-
   private final long sourceCoord;
 
   public AbstractSymbolDispatch(final long coord) {
@@ -79,6 +78,10 @@ public abstract class AbstractSymbolDispatch extends Node
     return MessageSendNode.createForPerformNodes(selector, sourceCoord);
   }
 
+  protected final int getInlineCacheSize() {
+    return PolymorphismPolicy.get(this).getInlineCacheSize();
+  }
+
   @NeverDefault
   public static final ToArgumentsArrayNode createArgArrayNode() {
     return ToArgumentsArrayNodeFactory.create(null, null);
@@ -102,7 +105,7 @@ public abstract class AbstractSymbolDispatch extends Node
     return false;
   }
 
-  @Specialization(limit = "INLINE_CACHE_SIZE",
+  @Specialization(limit = "getInlineCacheSize()",
       guards = {"selector == cachedSelector", "argsArr == null"})
   @SuppressWarnings("unused")
   public Object doCachedWithoutArgArr(final VirtualFrame frame,
@@ -115,7 +118,7 @@ public abstract class AbstractSymbolDispatch extends Node
     return realCachedSend.doPreEvaluated(frame, arguments);
   }
 
-  @Specialization(limit = "INLINE_CACHE_SIZE", guards = "selector == cachedSelector")
+  @Specialization(limit = "getInlineCacheSize()", guards = "selector == cachedSelector")
   @SuppressWarnings("unused")
   public Object doCached(final VirtualFrame frame,
       final Object receiver, final SSymbol selector, final SArray argsArr,
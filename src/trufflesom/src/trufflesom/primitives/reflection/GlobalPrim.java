@@ -10,7 +10,8 @@ import trufflesom.bdt.primitives.Primitive;
 import trufflesom.interpreter.nodes.GlobalNode;
 import trufflesom.interpreter.nodes.GlobalNode.UninitializedGlobalReadWithoutErrorNode;
 import trufflesom.interpreter.nodes.nary.BinaryExpressionNode;
-import trufflesom.vm.Globals;
+import trufflesom.vm.PolymorphismPolicy;
+import trufflesom.vm.Universe;
 import trufflesom.vm.constants.Nil;
 import trufflesom.vmobjects.SObject;
 import trufflesom.vmobjects.SSymbol;
@@ -29,8 +30,6 @@ public abstract class GlobalPrim extends BinaryExpressionNode {
   }
 
   private abstract static class GetGlobalNode extends Node {
-    protected static final int INLINE_CACHE_SIZE = 6;
-
     public abstract Object getGlobal(VirtualFrame frame, SSymbol argument);
   }
 
@@ -48,7 +47,7 @@ public abstract class GlobalPrim extends BinaryExpressionNode {
 
     @TruffleBoundary
     private GetGlobalNode specialize(final SSymbol argument) {
-      if (depth < INLINE_CACHE_SIZE) {
+      if (depth < PolymorphismPolicy.get(this).getInlineCacheSize()) {
         return replace(new CachedGetGlobal(argument, depth));
       } else {
         GetGlobalNode head = this;
@@ -87,7 +86,7 @@ public abstract class GlobalPrim extends BinaryExpressionNode {
 
     @Override
     public Object getGlobal(final VirtualFrame frame, final SSymbol argument) {
-      Object result = Globals.getGlobal(argument);
+      Object result = Universe.get(this).getGlobals().getGlobal(argument);
       return result != null ? result : Nil.nilObject;
     }
   }
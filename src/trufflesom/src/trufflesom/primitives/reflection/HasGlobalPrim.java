@@ -7,7 +7,8 @@ import com.oracle.truffle.api.nodes.Node;
 
 import trufflesom.bdt.primitives.Primitive;
 import trufflesom.interpreter.nodes.nary.BinaryExpressionNode;
-import trufflesom.vm.Globals;
+import trufflesom.vm.PolymorphismPolicy;
+import trufflesom.vm.Universe;
 import trufflesom.vmobjects.SObject;
 import trufflesom.vmobjects.SSymbol;
 
@@ -25,8 +26,6 @@ public abstract class HasGlobalPrim extends BinaryExpressionNode {
   }
 
   private abstract static class HasGlobalNode extends Node {
-    protected static final int INLINE_CACHE_SIZE = 6;
-
     public abstract boolean hasGlobal(SSymbol argument);
   }
 
@@ -40,7 +39,7 @@ public abstract class HasGlobalPrim extends BinaryExpressionNode {
     @Override
     @TruffleBoundary
     public boolean hasGlobal(final SSymbol argument) {
-      boolean hasGlobal = Globals.hasGlobal(argument);
+      boolean hasGlobal = Universe.get(this).getGlobals().hasGlobal(argument);
 
       if (hasGlobal) {
         return specialize(argument).hasGlobal(argument);
@@ -49,7 +48,7 @@ public abstract class HasGlobalPrim extends BinaryExpressionNode {
     }
 
     private HasGlobalNode specialize(final SSymbol argument) {
-      if (depth < INLINE_CACHE_SIZE) {
+      if (depth < PolymorphismPolicy.get(this).getInlineCacheSize()) {
         return replace(new CachedHasGlobal(argument, depth));
       } else {
         HasGlobalNode head = this;
@@ -85,7 +84,7 @@ public abstract class HasGlobalPrim extends BinaryExpressionNode {
   private static final class HasGlobalFallback extends HasGlobalNode {
     @Override
     public boolean hasGlobal(final SSymbol argument) {
-      return Globals.hasGlobal(argument);
+      return Universe.get(this).getGlobals().hasGlobal(argument);
     }
   }
 }
@@ -11,14 +11,13 @@ import trufflesom.interpreter.nodes.dispatch.DispatchChain;
 import trufflesom.interpreter.objectstorage.FieldAccessorNode;
 import trufflesom.interpreter.objectstorage.FieldAccessorNode.AbstractReadFieldNode;
 import trufflesom.interpreter.objectstorage.FieldAccessorNode.AbstractWriteFieldNode;
+import trufflesom.vm.PolymorphismPolicy;
 import trufflesom.vm.VmSettings;
 import trufflesom.vmobjects.SClass;
 import trufflesom.vmobjects.SObject;
 
 
 public abstract class IndexDispatch extends Node implements DispatchChain {
-  public static final int INLINE_CACHE_SIZE = 6;
-
   @NeverDefault
   public static IndexDispatch create() {
     return new UninitializedDispatchNode(0);
@@ -50,7 +49,7 @@ public abstract class IndexDispatch extends Node implements DispatchChain {
     private IndexDispatch specialize(final SClass clazz, final int index, final boolean read) {
       transferToInterpreterAndInvalidate();
 
-      if (depth < INLINE_CACHE_SIZE) {
+      if (depth < PolymorphismPolicy.get(this).getInlineCacheSize()) {
         IndexDispatch uninit = new UninitializedDispatchNode(depth + 1);
         IndexDispatch specialized;
         if (read) {
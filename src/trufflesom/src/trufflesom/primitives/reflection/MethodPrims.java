@@ -10,11 +10,11 @@ import com.oracle.truffle.api.nodes.IndirectCallNode;
 
 import trufflesom.bdt.primitives.Primitive;
 import trufflesom.interpreter.nodes.ExpressionNode;
-import trufflesom.interpreter.nodes.dispatch.AbstractDispatchNode;
 import trufflesom.interpreter.nodes.nary.EagerlySpecializableNode;
 import trufflesom.interpreter.nodes.nary.UnaryExpressionNode;
 import trufflesom.primitives.arrays.ToArgumentsArrayNode;
 import trufflesom.primitives.arrays.ToArgumentsArrayNodeFactory;
+import trufflesom.vm.PolymorphismPolicy;
 import trufflesom.vmobjects.SAbstractObject;
 import trufflesom.vmobjects.SArray;
 import trufflesom.vmobjects.SInvokable;
@@ -64,10 +64,14 @@ public final class MethodPrims {
       return executeEvaluated(frame, (SInvokable) args[0], args[1], (SArray) args[2]);
     }
 
+    protected final int getInlineCacheSize() {
+      return PolymorphismPolicy.get(this).getInlineCacheSize();
+    }
+
     @Specialization(guards = "receiver == cachedReceiver",
-        limit = "" + AbstractDispatchNode.INLINE_CACHE_SIZE)
+        limit = "getInlineCacheSize()")
     @SuppressWarnings("unused")
-    public static final Object doCached(
+    public final Object doCached(
         final SInvokable receiver, final Object target, final SArray somArr,
         final Object[] argArr,
         @Cached("receiver") final SInvokable cachedReceiver,
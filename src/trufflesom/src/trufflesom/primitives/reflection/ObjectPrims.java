@@ -1,15 +1,5 @@
 package trufflesom.primitives.reflection;
 
-import static trufflesom.vm.Classes.arrayClass;
-import static trufflesom.vm.Classes.doubleClass;
-import static trufflesom.vm.Classes.falseClass;
-import static trufflesom.vm.Classes.integerClass;
-import static trufflesom.vm.Classes.methodClass;
-import static trufflesom.vm.Classes.primitiveClass;
-import static trufflesom.vm.Classes.stringClass;
-import static trufflesom.vm.Classes.symbolClass;
-import static trufflesom.vm.Classes.trueClass;
-
 import java.math.BigInteger;
 
 import com.oracle.truffle.api.CompilerAsserts;
@@ -22,16 +12,19 @@ import trufflesom.bdt.primitives.Primitive;
 import trufflesom.interpreter.nodes.nary.BinaryMsgExprNode;
 import trufflesom.interpreter.nodes.nary.TernaryExpressionNode;
 import trufflesom.interpreter.nodes.nary.UnaryExpressionNode;
+import trufflesom.vm.Classes;
 import trufflesom.vm.SymbolTable;
 import trufflesom.vm.Universe;
 import trufflesom.vm.constants.Nil;
 import trufflesom.vmobjects.SArray;
 import trufflesom.vmobjects.SBlock;
 import trufflesom.vmobjects.SClass;
+import trufflesom.vmobjects.SHashMap;
 import trufflesom.vmobjects.SInvokable.SMethod;
 import trufflesom.vmobjects.SInvokable.SPrimitive;
 import trufflesom.vmobjects.SObject;
 import trufflesom.vmobjects.SSymbol;
+import trufflesom.vmobjects.SVector;
 
 
 public final class ObjectPrims {
@@ -121,8 +114,18 @@ public final class ObjectPrims {
     public abstract SClass executeEvaluated(Object rcvr);
 
     @Specialization
-    public static final SClass getSomClass(final SArray receiver) {
-      return arrayClass;
+    public final SClass getSomClass(final SArray receiver) {
+      return Classes.get(this).arrayClass;
+    }
+
+    @Specialization
+    public final SClass getSomClass(final SVector receiver) {
+      return Classes.get(this).vectorClass;
+    }
+
+    @Specialization
+    public final SClass getSomClass(final SHashMap receiver) {
+      return Classes.get(this).dictionaryClass;
     }
 
     @Specialization
@@ -136,49 +139,49 @@ public final class ObjectPrims {
     }
 
     @Specialization
-    public static final SClass getSomClass(final SMethod receiver) {
-      return methodClass;
+    public final SClass getSomClass(final SMethod receiver) {
+      return Classes.get(this).methodClass;
     }
 
     @Specialization
-    public static final SClass getSomClass(final SPrimitive receiver) {
-      return primitiveClass;
+    public final SClass getSomClass(final SPrimitive receiver) {
+      return Classes.get(this).primitiveClass;
     }
 
     @Specialization
-    public static final SClass getSomClass(final SSymbol receiver) {
-      return symbolClass;
+    public final SClass getSomClass(final SSymbol receiver) {
+      return Classes.get(this).symbolClass;
     }
 
     @Specialization(guards = "receiver")
-    public static final SClass getTrueClass(final boolean receiver) {
-      return trueClass;
+    public final SClass getTrueClass(final boolean receiver) {
+      return Classes.get(this).trueClass;
     }
 
     @Specialization(guards = "!receiver")
-    public static final SClass getFalseClass(final boolean receiver) {
-      return falseClass;
+    public final SClass getFalseClass(final boolean receiver) {
+      return Classes.get(this).falseClass;
     }
 
     @Specialization
-    public static final SClass getSomClass(final long receiver) {
-      return integerClass;
+    public final SClass getSomClass(final long receiver) {
+      return Classes.get(this).integerClass;
     }
 
     @Specialization
-    public static final SClass getSomClass(final BigInteger receiver) {
-      return integerClass;
+    public final SClass getSomClass(final BigInteger receiver) {
+      return Classes.get(this).integerClass;
     }
 
     @Specialization
-    public static final SClass getSomClass(final String receiver) {
-      return stringClass;
+    public final SClass getSomClass(final String receiver) {
+      return Classes.get(this).stringClass;
     }
 
     @TruffleBoundary
     @Specialization
-    public static final SClass getSomClass(final double receiver) {
-      return doubleClass;
+    public final SClass getSomClass(final double receiver) {
+      return Classes.get(this).doubleClass;
     }
   }
 
@@ -0,0 +1,224 @@
+package trufflesom.tools.layoutstats;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import trufflesom.compiler.Field;
+import trufflesom.vmobjects.SClass;
+
+
+/**
+ * Counts the changes to the object layouts of classes. The events are recorded by
+ * {@code ObjectLayout} and {@code SObject} only when the {@link LayoutStatsTool} is enabled.
+ * Layout changes happen in the interpreter, so recording them does not affect compiled code.
+ *
+ * <p>
+ * The statistics are global, and reset each time the tool is created or disposed, so that
+ * each engine reports only its own layout changes.
+ */
+public final class LayoutStatistics {
+  private static volatile boolean enabled = false;
+
+  private static final Map<SClass, ClassStats> classes = new LinkedHashMap<>();
+
+  private LayoutStatistics() {}
+
+  static void reset(final boolean enable) {
+    synchronized (classes) {
+      classes.clear();
+      enabled = enable;
+    }
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static final class FieldStats {
+    private final int index;
+
+    private final Set<String> types;
+
+    private long initializations;
+    private long generalizations;
+
+    private FieldStats(final int index) {
+      this.index = index;
+      this.types = new LinkedHashSet<>();
+    }
+
+    public int getIndex() {
+      return index;
+    }
+
+    public long getInitializations() {
+      return initializations;
+    }
+
+    public long getGeneralizations() {
+      return generalizations;
+    }
+
+    public Set<String> getTypes() {
+      return types;
+    }
+  }
+
+  public static final class ClassStats {
+    private final SClass clazz;
+
+    private long layouts;
+    private long invalidations;
+    private long migrations;
+
+    private final Map<Integer, FieldStats> fields;
+
+    private ClassStats(final SClass clazz) {
+      this.clazz = clazz;
+      this.fields = new TreeMap<>();
+    }
+
+    private FieldStats getField(final int index) {
+      return fields.computeIfAbsent(index, FieldStats::new);
+    }
+
+    public String getName() {
+      if (clazz.getName() == null) {
+        return "<unnamed>";
+      }
+      return clazz.getName().getString();
+    }
+
+    public String getFieldName(final int index) {
+      Field[] definitions = clazz.getInstanceFieldDefinitions();
+      if (definitions == null || index >= definitions.length) {
+        return "field" + index;
+      }
+      return definitions[index].getName().getString();
+    }
+
+    public long getLayouts() {
+      return layouts;
+    }
+
+    public long getInvalidations() {
+      return invalidations;
+    }
+
+    public long getMigrations() {
+      return migrations;
+    }
+
+    public long getGeneralizations() {
+      long result = 0;
+      for (FieldStats f : fields.values()) {
+        result += f.generalizations;
+      }
+      return result;
+    }
+
+    public List<FieldStats> getFields() {
+      return new ArrayList<>(fields.values());
+    }
+
+    /** Classes that cause more deoptimizations get a higher score. */
+    public long getChurnScore() {
+      return invalidations + migrations;
+    }
+  }
+
+  private static ClassStats get(final SClass clazz) {
+    return classes.computeIfAbsent(clazz, ClassStats::new);
+  }
+
+  @TruffleBoundary
+  public static void layoutCreated(final SClass clazz) {
+    if (!enabled || clazz == null) {
+      return;
+    }
+    synchronized (classes) {
+      get(clazz).layouts += 1;
+    }
+  }
+
+  @TruffleBoundary
+  public static void layoutInvalidated(final SClass clazz) {
+    if (!enabled || clazz == null) {
+      return;
+    }
+    synchronized (classes) {
+      get(clazz).invalidations += 1;
+    }
+  }
+
+  @TruffleBoundary
+  public static void fieldInitialized(final SClass clazz, final int fieldIndex,
+      final Class<?> type) {
+    if (!enabled || clazz == null) {
+      return;
+    }
+    synchronized (classes) {
+      FieldStats field = get(clazz).getField(fieldIndex);
+      field.initializations += 1;
+      field.types.add(type.getSimpleName());
+    }
+  }
+
+  @TruffleBoundary
+  public static void fieldGeneralized(final SClass clazz, final int fieldIndex) {
+    if (!enabled || clazz == null) {
+      return;
+    }
+    synchronized (classes) {
+      FieldStats field = get(clazz).getField(fieldIndex);
+      field.generalizations += 1;
+      field.types.add(Object.class.getSimpleName());
+    }
+  }
+
+  /** An instance was migrated lazily to the latest layout of its class. */
+  @TruffleBoundary
+  public static void instanceMigrated(final SClass clazz) {
+    if (!enabled || clazz == null) {
+      return;
+    }
+    synchronized (classes) {
+      get(clazz).migrations += 1;
+    }
+  }
+
+  public static List<ClassStats> getClassStats() {
+    synchronized (classes) {
+      return new ArrayList<>(classes.values());
+    }
+  }
+
+  public static int getNumberOfClasses() {
+    synchronized (classes) {
+      return classes.size();
+    }
+  }
+
+  public static long getTotalLayouts() {
+    return getClassStats().stream().mapToLong(ClassStats::getLayouts).sum();
+  }
+
+  public static long getTotalInvalidations() {
+    return getClassStats().stream().mapToLong(ClassStats::getInvalidations).sum();
+  }
+
+  public static long getTotalGeneralizations() {
+    return getClassStats().stream().mapToLong(ClassStats::getGeneralizations).sum();
+  }
+
+  public static long getTotalMigrations() {
+    return getClassStats().stream().mapToLong(ClassStats::getMigrations).sum();
+  }
+}
@@ -0,0 +1,23 @@
+package trufflesom.tools.layoutstats;
+
+import org.graalvm.options.OptionCategory;
+import org.graalvm.options.OptionKey;
+import org.graalvm.options.OptionStability;
+
+import com.oracle.truffle.api.Option;
+
+
+@Option.Group(LayoutStatsTool.ID)
+class LayoutStatsCLI {
+  @Option(name = "",
+      help = "Enable LayoutStatsTool.",
+      category = OptionCategory.USER,
+      stability = OptionStability.EXPERIMENTAL) //
+  static final OptionKey<Boolean> ENABLED = new OptionKey<>(false);
+
+  @Option(name = "OutputFile",
+      help = "Save output to the given file.",
+      category = OptionCategory.USER,
+      stability = OptionStability.EXPERIMENTAL) //
+  static final OptionKey<String> OUTPUT_FILE = new OptionKey<>("layout-stats.yml");
+}
@@ -0,0 +1,73 @@
+package trufflesom.tools.layoutstats;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.graalvm.options.OptionDescriptors;
+
+import com.oracle.truffle.api.instrumentation.TruffleInstrument;
+import com.oracle.truffle.api.instrumentation.TruffleInstrument.Registration;
+
+import trufflesom.interpreter.objectstorage.ObjectLayout;
+
+
+/**
+ * The {@link LayoutStatsTool} is a Truffle instrumentation tool that reports how often the
+ * {@link ObjectLayout}s of classes change during an execution. Each change invalidates the
+ * compiled code that depends on the old layout, so classes with many layouts, field
+ * generalizations, or instance migrations point to polymorphic fields.
+ */
+@Registration(name = "Object Layout Statistics", id = LayoutStatsTool.ID, version = "0.1",
+    services = {LayoutStatsTool.class})
+public class LayoutStatsTool extends TruffleInstrument {
+
+  public static final String ID = "layoutstats";
+
+  @Override
+  protected void onCreate(final Env env) {
+    LayoutStatistics.reset(env.getOptions().get(LayoutStatsCLI.ENABLED));
+    env.registerService(this);
+  }
+
+  @Override
+  protected void onDispose(final Env env) {
+    if (env.getOptions().get(LayoutStatsCLI.ENABLED)) {
+      writeReport(env.getOptions().get(LayoutStatsCLI.OUTPUT_FILE));
+    }
+    LayoutStatistics.reset(false);
+  }
+
+  @Override
+  protected OptionDescriptors getOptionDescriptors() {
+    return new LayoutStatsCLIOptionDescriptors();
+  }
+
+  private static void writeReport(final String outputFile) {
+    println("[ls] Object Layout Statistics");
+    println("[ls] ------------------------\n");
+
+    println("[ls] Output File:      " + outputFile);
+    println("[ls] Classes:          " + LayoutStatistics.getNumberOfClasses());
+    println("[ls] Layouts:          " + LayoutStatistics.getTotalLayouts());
+    println("[ls] Invalidations:    " + LayoutStatistics.getTotalInvalidations());
+    println("[ls] Generalizations:  " + LayoutStatistics.getTotalGeneralizations());
+    println("[ls] Migrations:       " + LayoutStatistics.getTotalMigrations());
+
+    String report = YamlReport.createReport();
+    Path reportPath = Paths.get(outputFile);
+
+    try {
+      Files.write(reportPath, report.getBytes());
+    } catch (IOException e) {
+      throw new RuntimeException("Could not write Object Layout Statistics: " + e);
+    }
+  }
+
+  public static void println(final String msg) {
+    // Checkstyle: stop
+    System.out.println(msg);
+    // Checkstyle: resume
+  }
+}
@@ -0,0 +1,103 @@
+package trufflesom.tools.layoutstats;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import trufflesom.tools.layoutstats.LayoutStatistics.ClassStats;
+import trufflesom.tools.layoutstats.LayoutStatistics.FieldStats;
+
+
+public class YamlReport {
+  private static final class ScoredAlphaOrder implements Comparator<ClassStats> {
+    @Override
+    public int compare(final ClassStats c1, final ClassStats c2) {
+      int score = Long.compare(c2.getChurnScore(), c1.getChurnScore());
+      if (score != 0) {
+        return score;
+      }
+
+      return c1.getName().compareTo(c2.getName());
+    }
+  }
+
+  private static void reportTotals(final StringBuilder builder, final String indent) {
+    builder.append(indent);
+    builder.append("totals:\n");
+
+    builder.append(indent).append(indent);
+    builder.append("layouts: ").append(LayoutStatistics.getTotalLayouts()).append('\n');
+    builder.append(indent).append(indent);
+    builder.append("invalidations: ").append(LayoutStatistics.getTotalInvalidations())
+           .append('\n');
+    builder.append(indent).append(indent);
+    builder.append("generalizations: ").append(LayoutStatistics.getTotalGeneralizations())
+           .append('\n');
+    builder.append(indent).append(indent);
+    builder.append("migrations: ").append(LayoutStatistics.getTotalMigrations())
+           .append('\n');
+  }
+
+  private static void reportField(final ClassStats c, final FieldStats f,
+      final StringBuilder builder, final String indent) {
+    builder.append(indent);
+    builder.append("- name: ").append(c.getFieldName(f.getIndex())).append('\n');
+
+    builder.append(indent).append("  ");
+    builder.append("initializations: ").append(f.getInitializations()).append('\n');
+    builder.append(indent).append("  ");
+    builder.append("generalizations: ").append(f.getGeneralizations()).append('\n');
+    builder.append(indent).append("  ");
+    builder.append("types: [").append(String.join(", ", f.getTypes())).append("]\n");
+  }
+
+  private static void reportClasses(final StringBuilder builder, final String indent) {
+    builder.append(indent);
+    builder.append("classes:\n");
+
+    List<ClassStats> sorted = LayoutStatistics.getClassStats().stream()
+                                              .sorted(new ScoredAlphaOrder())
+                                              .collect(Collectors.toList());
+
+    String entryIndent = indent + indent;
+    String propIndent = entryIndent + "  ";
+
+    for (ClassStats c : sorted) {
+      builder.append(entryIndent);
+      builder.append("- name: ").append(c.getName()).append('\n');
+
+      builder.append(propIndent);
+      builder.append("layouts: ").append(c.getLayouts()).append('\n');
+      builder.append(propIndent);
+      builder.append("invalidations: ").append(c.getInvalidations()).append('\n');
+      builder.append(propIndent);
+      builder.append("migrations: ").append(c.getMigrations()).append('\n');
+
+      List<FieldStats> fields = c.getFields();
+      if (fields.isEmpty()) {
+        continue;
+      }
+
+      builder.append(propIndent);
+      builder.append("fields:\n");
+      for (FieldStats f : fields) {
+        reportField(c, f, builder, propIndent + indent);
+      }
+    }
+  }
+
+  public static String createReport() {
+    StringBuilder builder = new StringBuilder();
+
+    builder.append("# Object Layout Statistics Report\n");
+    builder.append("report:\n");
+
+    reportTotals(builder, "  ");
+
+    builder.append('\n');
+
+    reportClasses(builder, "  ");
+
+    return builder.toString();
+  }
+}
@@ -1,36 +1,41 @@
 package trufflesom.vm;
 
-import java.util.Arrays;
-
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
 
 import trufflesom.vmobjects.SClass;
 
 
-public class Classes {
-  public static final SClass objectClass;
-  public static final SClass classClass;
-  public static final SClass metaclassClass;
+/**
+ * The system classes of a {@link Universe}. They are allocated with the universe, and their
+ * methods and fields are loaded when it initializes the object system.
+ */
+public final class Classes {
+  public final SClass objectClass;
+  public final SClass classClass;
+  public final SClass metaclassClass;
 
-  public static final SClass nilClass;
-  public static final SClass integerClass;
-  public static final SClass arrayClass;
-  public static final SClass methodClass;
-  public static final SClass symbolClass;
-  public static final SClass primitiveClass;
-  public static final SClass stringClass;
-  public static final SClass doubleClass;
+  public final SClass nilClass;
+  public final SClass integerClass;
+  public final SClass arrayClass;
+  public final SClass vectorClass;
+  public final SClass dictionaryClass;
+  public final SClass methodClass;
+  public final SClass symbolClass;
+  public final SClass primitiveClass;
+  public final SClass stringClass;
+  public final SClass doubleClass;
 
-  public static final SClass booleanClass;
+  public final SClass booleanClass;
 
-  public static final SClass trueClass;
-  public static final SClass falseClass;
+  public final SClass trueClass;
+  public final SClass falseClass;
 
   @CompilationFinal(dimensions = 1) // ~
-  public static final SClass[] blockClasses;
+  final SClass[] blockClasses;
 
-  static {
+  Classes() {
     // Allocate the Metaclass classes
     metaclassClass = newMetaclassClass();
 
@@ -40,6 +45,8 @@ public class Classes {
     nilClass = newSystemClass();
     classClass = newSystemClass();
     arrayClass = newSystemClass();
+    vectorClass = newSystemClass();
+    dictionaryClass = newSystemClass();
     symbolClass = newSystemClass();
     methodClass = newSystemClass();
     integerClass = newSystemClass();
@@ -54,8 +61,13 @@ public class Classes {
     blockClasses = new SClass[4];
   }
 
+  /** The classes of the universe the context of the given node uses. */
+  public static Classes get(final Node node) {
+    return Universe.get(node).getClasses();
+  }
+
   @TruffleBoundary
-  public static SClass newMetaclassClass() {
+  private static SClass newMetaclassClass() {
     // Allocate the metaclass classes
     SClass result = new SClass(0);
     result.setClass(new SClass(0));
@@ -66,7 +78,7 @@ public class Classes {
   }
 
   @TruffleBoundary
-  public static SClass newSystemClass() {
+  private SClass newSystemClass() {
     // Allocate the new system class
     SClass systemClass = new SClass(0);
 
@@ -78,34 +90,11 @@ public class Classes {
     return systemClass;
   }
 
-  public static SClass getBlockClass(final int numberOfArguments) {
+  public SClass getBlockClass(final int numberOfArguments) {
     SClass result = blockClasses[numberOfArguments];
     assert result != null || numberOfArguments == 0 : "Failed to getBlockClass. result: "
         + result
         + " numberOfArguments: " + numberOfArguments;
     return result;
   }
-
-  public static void reset() {
-    metaclassClass.resetMetaclassClass();
-    objectClass.resetSystemClass();
-    nilClass.resetSystemClass();
-    classClass.resetSystemClass();
-    arrayClass.resetSystemClass();
-    symbolClass.resetSystemClass();
-    methodClass.resetSystemClass();
-    integerClass.resetSystemClass();
-    primitiveClass.resetSystemClass();
-    stringClass.resetSystemClass();
-    doubleClass.resetSystemClass();
-    booleanClass.resetSystemClass();
-
-    trueClass.resetSystemClass();
-    falseClass.resetSystemClass();
-
-    Arrays.fill(blockClasses, null);
-
-    Globals.reset();
-    Universe.reset();
-  }
 }
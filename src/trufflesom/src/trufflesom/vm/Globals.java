@@ -2,7 +2,7 @@ package trufflesom.vm;
 
 import static trufflesom.vm.SymbolTable.symbolFor;
 
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
@@ -12,16 +12,26 @@ import com.oracle.truffle.api.utilities.CyclicAssumption;
 import trufflesom.vmobjects.SSymbol;
 
 
-public class Globals {
-  private static final HashMap<SSymbol, Association> globals = new HashMap<>();
+/**
+ * The globals of a {@link Universe}. A universe is shared only by the contexts that use the
+ * same language instance and class path, which also share its classes and the code compiled
+ * for them. Thus, a node only ever sees the globals of one universe, and the association it
+ * caches for a global stays the one of its universe. Since contexts may run on different
+ * threads concurrently, the table is concurrent, and there is only ever a single association
+ * per global and universe, which compiled code relies on.
+ */
+public final class Globals {
+  private final ConcurrentHashMap<SSymbol, Association> globals = new ConcurrentHashMap<>();
+
+  Globals() {}
 
   @TruffleBoundary
-  public static boolean hasGlobal(final SSymbol name) {
+  public boolean hasGlobal(final SSymbol name) {
     return globals.containsKey(name);
   }
 
   @TruffleBoundary
-  public static Object getGlobal(final SSymbol name) {
+  public Object getGlobal(final SSymbol name) {
     Association assoc = globals.get(name);
     if (assoc == null) {
       return null;
@@ -30,27 +40,24 @@ public class Globals {
   }
 
   @TruffleBoundary
-  public static Association getGlobalsAssociation(final SSymbol name) {
+  public Association getGlobalsAssociation(final SSymbol name) {
     return globals.get(name);
   }
 
-  public static void setGlobal(final String name, final Object value) {
+  public void setGlobal(final String name, final Object value) {
     setGlobal(symbolFor(name), value);
   }
 
   @TruffleBoundary
-  public static void setGlobal(final SSymbol name, final Object value) {
+  public void setGlobal(final SSymbol name, final Object value) {
     Association assoc = globals.get(name);
     if (assoc == null) {
-      assoc = new Association(name, value);
-      globals.put(name, assoc);
-    } else {
-      assoc.setValue(value);
+      assoc = globals.putIfAbsent(name, new Association(name, value));
+      if (assoc == null) {
+        return;
+      }
     }
-  }
-
-  public static void reset() {
-    globals.clear();
+    assoc.setValue(value);
   }
 
   /**
@@ -77,9 +84,11 @@ public class Globals {
       return value;
     }
 
-    public void setValue(final Object value) {
-      this.assumption.invalidate("updated global");
+    public synchronized void setValue(final Object value) {
+      // set the value before invalidating the assumption, so that a reader,
+      // which sees the new assumption, also sees the new value
       this.value = value;
+      this.assumption.invalidate("updated global");
     }
 
     public Assumption getAssumption() {
@@ -0,0 +1,84 @@
+package trufflesom.vm;
+
+import java.util.Arrays;
+
+import trufflesom.vmobjects.SClass;
+import trufflesom.vmobjects.SInvokable;
+import trufflesom.vmobjects.SSymbol;
+
+
+/**
+ * VM-wide cache of method lookups, mapping pairs of receiver class and selector to the
+ * method found, or null if the class does not understand the selector.
+ *
+ * <p>
+ * The cache is a fixed-size, direct-mapped hash table, i.e., an entry simply replaces any
+ * previous entry with the same hash. Since classes inherit methods from their superclasses,
+ * any change to the methods or the superclass of a class invalidates the whole cache.
+ *
+ * <p>
+ * Entries are stamped with the version of the cache at the start of the lookup. An
+ * invalidation increments the version, which makes all entries stale, including those of
+ * lookups that were still in progress and are put into the cache only afterwards.
+ */
+public final class LookupCache {
+  private static final int SIZE = 4096;
+  private static final int MASK = SIZE - 1;
+
+  private static final Entry[] entries = new Entry[SIZE];
+
+  private static volatile int version;
+
+  private LookupCache() {}
+
+  public static final class Entry {
+    private final SClass  rcvrClass;
+    private final SSymbol selector;
+    private final int     version;
+
+    /** The method found, or null if the lookup failed. */
+    public final SInvokable method;
+
+    private Entry(final SClass rcvrClass, final SSymbol selector, final SInvokable method,
+        final int version) {
+      this.rcvrClass = rcvrClass;
+      this.selector = selector;
+      this.method = method;
+      this.version = version;
+    }
+  }
+
+  private static int index(final SClass rcvrClass, final SSymbol selector) {
+    int hash = System.identityHashCode(rcvrClass) * 31 + System.identityHashCode(selector);
+    return (hash ^ (hash >>> 16)) & MASK;
+  }
+
+  /** @return the version to pass to {@link #put}, read before starting a lookup */
+  public static int getVersion() {
+    return version;
+  }
+
+  /** @return the cached entry, or null if the lookup is not cached or stale */
+  public static Entry get(final SClass rcvrClass, final SSymbol selector) {
+    Entry e = entries[index(rcvrClass, selector)];
+    if (e != null && e.rcvrClass == rcvrClass && e.selector == selector
+        && e.version == version) {
+      return e;
+    }
+    return null;
+  }
+
+  /** Caches the result of a lookup that started when the cache had the given version. */
+  public static void put(final SClass rcvrClass, final SSymbol selector,
+      final SInvokable method, final int lookupVersion) {
+    if (lookupVersion == version) {
+      entries[index(rcvrClass, selector)] =
+          new Entry(rcvrClass, selector, method, lookupVersion);
+    }
+  }
+
+  public static synchronized void invalidate() {
+    version += 1;
+    Arrays.fill(entries, null);
+  }
+}
@@ -0,0 +1,180 @@
+package trufflesom.vm;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.source.SourceSection;
+
+import trufflesom.bdt.source.SourceCoordinate;
+import trufflesom.interpreter.SomLanguage;
+import trufflesom.vmobjects.SClass;
+import trufflesom.vmobjects.SSymbol;
+
+
+/**
+ * Determines how polymorphic the inline caches of the interpreter may become before they are
+ * replaced by a generic, megamorphic version. All dispatch chains and DSL specializations
+ * with a cache limit consult this policy.
+ *
+ * <p>
+ * The limits are configured with the engine options {@code som.InlineCacheSize},
+ * {@code som.AdaptiveInlineCaches}, {@code som.MaxInlineCacheSize}, and
+ * {@code som.AdaptiveMinHits}. In adaptive mode, a message send whose dispatch chain is full
+ * gets an additional entry instead of going megamorphic, as long as each of its existing
+ * entries was hit at least {@code som.AdaptiveMinHits} times in the interpreter, and the
+ * chain is shorter than {@code som.MaxInlineCacheSize}. Thus, sites with a stable set of hot
+ * receiver classes keep their direct calls, while sites that see a stream of new classes
+ * still go megamorphic.
+ *
+ * <p>
+ * Each language instance has its own policy, because its contexts share the dispatch chains
+ * specialized under the policy, as well as the compiled code that embeds its limits. Contexts
+ * share a language instance only if they use the same options, and contexts with other
+ * options get their own language instance and policy.
+ *
+ * <p>
+ * With {@code som.MegamorphicReport=true}, the send sites that went megamorphic are reported
+ * together with the receiver classes they saw when the context is disposed.
+ */
+public final class PolymorphismPolicy {
+  public static final int DEFAULT_INLINE_CACHE_SIZE = 6;
+
+  private final int     inlineCacheSize;
+  private final boolean adaptive;
+  private final int     maxInlineCacheSize;
+  private final int     adaptiveMinHits;
+  private final boolean reportMegamorphic;
+
+  private final List<MegamorphicSite> megamorphicSites = new ArrayList<>();
+
+  public PolymorphismPolicy(final int cacheSize, final boolean adaptiveCaches,
+      final int maxCacheSize, final int minHits, final boolean report) {
+    if (cacheSize < 0) {
+      throw new IllegalArgumentException(
+          "som.InlineCacheSize needs to be non-negative, but was " + cacheSize);
+    }
+
+    inlineCacheSize = cacheSize;
+    adaptive = adaptiveCaches;
+    maxInlineCacheSize = Math.max(cacheSize, maxCacheSize);
+    adaptiveMinHits = minHits;
+    reportMegamorphic = report;
+  }
+
+  /** The policy of the language the given node belongs to. */
+  public static PolymorphismPolicy get(final Node node) {
+    return SomLanguage.get(node).getPolicy();
+  }
+
+  /** @return the maximum number of entries of an inline cache */
+  public int getInlineCacheSize() {
+    return inlineCacheSize;
+  }
+
+  /** @return true, if dispatch chains need to count how often their entries are hit */
+  public boolean isAdaptive() {
+    return adaptive;
+  }
+
+  public boolean isReportingMegamorphicSites() {
+    return reportMegamorphic;
+  }
+
+  /**
+   * Decide whether a dispatch chain of the given length may grow by another entry.
+   *
+   * @param chainLength the number of entries currently in the chain
+   * @param minHits the number of hits of the least used entry in the chain
+   */
+  public boolean mayExtendDispatchChain(final int chainLength, final long minHits) {
+    if (chainLength < inlineCacheSize) {
+      return true;
+    }
+    return adaptive && chainLength < maxInlineCacheSize && minHits >= adaptiveMinHits;
+  }
+
+  /** @return a record for a send site, or null if megamorphic sites are not reported */
+  public MegamorphicSite createSite(final SSymbol selector) {
+    if (reportMegamorphic) {
+      return new MegamorphicSite(selector, megamorphicSites);
+    }
+    return null;
+  }
+
+  /** The receiver classes seen by a send site, used for the megamorphic report. */
+  public static final class MegamorphicSite {
+    private final SSymbol               selector;
+    private final Set<SClass>           receiverClasses;
+    private final List<MegamorphicSite> reported;
+
+    private String location;
+
+    private MegamorphicSite(final SSymbol selector, final List<MegamorphicSite> reported) {
+      this.selector = selector;
+      this.receiverClasses = new LinkedHashSet<>();
+      this.reported = reported;
+    }
+
+    @TruffleBoundary
+    public void recordReceiver(final SClass rcvrClass) {
+      synchronized (this) {
+        receiverClasses.add(rcvrClass);
+      }
+    }
+
+    public void becameMegamorphic(final SourceSection section) {
+      CompilerAsserts.neverPartOfCompilation();
+      if (location != null) {
+        return;
+      }
+
+      if (section != null) {
+        location = section.getSource().getName()
+            + SourceCoordinate.getLocationQualifier(section);
+      } else {
+        location = "<unknown>";
+      }
+
+      synchronized (reported) {
+        reported.add(this);
+      }
+    }
+  }
+
+  /** @return a description of each megamorphic send site and its receiver classes */
+  @TruffleBoundary
+  public List<String> getMegamorphicSites() {
+    List<String> result = new ArrayList<>();
+    synchronized (megamorphicSites) {
+      for (MegamorphicSite site : megamorphicSites) {
+        StringBuilder sb = new StringBuilder();
+        synchronized (site) {
+          for (SClass c : site.receiverClasses) {
+            if (sb.length() > 0) {
+              sb.append(", ");
+            }
+            sb.append(c.getName().getString());
+          }
+          result.add(String.format("%s #%s (%d classes): %s", site.location,
+              site.selector.getString(), site.receiverClasses.size(), sb));
+        }
+      }
+    }
+    return result;
+  }
+
+  @TruffleBoundary
+  public void report() {
+    List<String> sites = getMegamorphicSites();
+    Universe.errorPrintln("Megamorphic send sites: " + sites.size());
+    for (String site : sites) {
+      Universe.errorPrintln(site);
+    }
+    Universe.errorPrintln();
+  }
+}
@@ -43,7 +43,7 @@ public final class Shell {
   private Shell() {}
 
   @TruffleBoundary
-  public static Object start() {
+  public static Object start(final Universe universe) {
     BufferedReader in;
     String stmt;
     int counter;
@@ -72,12 +72,12 @@ public final class Shell {
             + stmt + " ). 'it = ' print. ^tmp println ) )";
 
         // Compile and load the newly generated class
-        myClass = Universe.loadShellClass(stmt);
+        myClass = universe.loadShellClass(stmt);
 
         // If success
         if (myClass != null) {
           // Create and push a new instance of our class on the stack
-          myObject = new SObject(myClass);
+          myObject = SObject.create(myClass);
 
           // Lookup the run: method
           SInvokable shellMethod = myClass.lookupInvokable(symbolFor("run:"));
@@ -1,6 +1,6 @@
 package trufflesom.vm;
 
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
@@ -8,8 +8,13 @@ import trufflesom.bdt.basic.IdProvider;
 import trufflesom.vmobjects.SSymbol;
 
 
+/**
+ * The symbol table is shared by all SOM contexts in the process, which may run on different
+ * threads concurrently. Symbols are immutable, and compiled code compares them by identity,
+ * so that the table needs to guarantee a single symbol per string.
+ */
 public class SymbolTable {
-  private static final HashMap<String, SSymbol> symbolTable;
+  private static final ConcurrentHashMap<String, SSymbol> symbolTable;
 
   public static final String strSelf         = "self";
   public static final String strSuper        = "super";
@@ -44,20 +49,17 @@ public class SymbolTable {
 
   @TruffleBoundary
   public static SSymbol symbolFor(final String string) {
-    String interned = string.intern();
     // Lookup the symbol in the symbol table
-    SSymbol result = symbolTable.get(interned);
+    SSymbol result = symbolTable.get(string);
     if (result != null) {
       return result;
     }
 
-    result = new SSymbol(interned);
-    symbolTable.put(interned, result);
-    return result;
+    return symbolTable.computeIfAbsent(string.intern(), SSymbol::new);
   }
 
   static {
-    symbolTable = new HashMap<>();
+    symbolTable = new ConcurrentHashMap<>();
 
     symNil = symbolFor("nil");
     symTrue = symbolFor("true");
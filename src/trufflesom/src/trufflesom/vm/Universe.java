@@ -25,23 +25,6 @@
 
 package trufflesom.vm;
 
-import static trufflesom.vm.Classes.arrayClass;
-import static trufflesom.vm.Classes.blockClasses;
-import static trufflesom.vm.Classes.booleanClass;
-import static trufflesom.vm.Classes.classClass;
-import static trufflesom.vm.Classes.doubleClass;
-import static trufflesom.vm.Classes.falseClass;
-import static trufflesom.vm.Classes.integerClass;
-import static trufflesom.vm.Classes.metaclassClass;
-import static trufflesom.vm.Classes.methodClass;
-import static trufflesom.vm.Classes.nilClass;
-import static trufflesom.vm.Classes.objectClass;
-import static trufflesom.vm.Classes.primitiveClass;
-import static trufflesom.vm.Classes.stringClass;
-import static trufflesom.vm.Classes.symbolClass;
-import static trufflesom.vm.Classes.trueClass;
-import static trufflesom.vm.Globals.getGlobal;
-import static trufflesom.vm.Globals.setGlobal;
 import static trufflesom.vm.SymbolTable.symNil;
 import static trufflesom.vm.SymbolTable.symbolFor;
 
@@ -49,20 +32,28 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
 
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.source.Source;
 
 import trufflesom.bdt.basic.ProgramDefinitionError;
 import trufflesom.bdt.tools.structure.StructuralProbe;
+import trufflesom.compiler.ClassGenerationContext;
 import trufflesom.compiler.Disassembler;
 import trufflesom.compiler.Field;
+import trufflesom.compiler.ParallelClassLoader;
 import trufflesom.compiler.SourcecodeCompiler;
 import trufflesom.compiler.Variable;
+import trufflesom.interpreter.SomContext;
+import trufflesom.interpreter.SomLanguage;
 import trufflesom.primitives.Primitives;
 import trufflesom.vm.constants.Nil;
 import trufflesom.vmobjects.SArray;
@@ -72,33 +63,89 @@ import trufflesom.vmobjects.SObject;
 import trufflesom.vmobjects.SSymbol;
 
 
+/**
+ * The object system loaded from a class path, i.e., the classes, the globals, and the system
+ * object. A {@link SomLanguage} instance has one universe per class path, which the contexts
+ * using the language with this class path share, so that they reuse the call targets,
+ * including their compiled code, of the classes loaded by earlier contexts. Contexts with
+ * another class path, or with options that need another language instance, have their own
+ * classes and globals. Since the contexts of a universe may run on different threads
+ * concurrently, initialization and class loading are serialized.
+ */
 public final class Universe {
 
   public static final boolean FailOnMissingOptimizations = false;
 
-  /**
-   * "self" considered to be defined by the Object class
-   * we capture the source section here when parsing Object.
-   */
-  public static long   selfCoord;
-  public static Source selfSource;
-
-  private static String[] classPath;
-
-  @CompilationFinal private static int printIR;
-
   private static SourcecodeCompiler sourceCompiler;
 
   private static StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> structuralProbe;
 
-  @CompilationFinal private static boolean alreadyInitialized;
+  private final SomLanguage language;
+  private final Classes     classes;
+  private final Globals     globals;
+
+  private String[] classPath;
 
-  @CompilationFinal private static boolean objectSystemInitialized = false;
+  /**
+   * "self" considered to be defined by the Object class
+   * we capture the source section here when parsing Object.
+   */
+  private long   selfCoord;
+  private Source selfSource;
+
+  @CompilationFinal private int printIR;
+
+  @CompilationFinal private boolean alreadyInitialized;
+
+  @CompilationFinal private boolean objectSystemInitialized = false;
+
+  @CompilationFinal private SObject systemObject;
+  @CompilationFinal private SClass  systemClass;
+
+  /** VmVector and VmDictionary are part of the VM, and thus defined here. */
+  private static final String VECTOR_CLASS = """
+      VmVector = Object (
+        at: index = primitive
+        append: value = primitive
+        removeLast = primitive
+        size = primitive
+        do: block = primitive
+        ----
+        new = primitive
+        new: capacity = primitive
+      )
+      """;
+
+  private static final String DICTIONARY_CLASS = """
+      VmDictionary = Object (
+        at: key = primitive
+        at: key put: value = primitive
+        at: key ifAbsent: block = primitive
+        removeKey: key = primitive
+        keysDo: block = primitive
+        size = primitive
+        ----
+        new = primitive
+        new: capacity = primitive
+      )
+      """;
+
+  /** The files of the classes loaded while initializing the object system. */
+  private final Map<String, File> systemClassFiles = new HashMap<>();
+
+  public Universe(final SomLanguage language, final String[] classPath) {
+    this.language = language;
+    this.classPath = classPath;
+    this.classes = new Classes();
+    this.globals = new Globals();
+  }
 
-  @CompilationFinal private static SObject systemObject;
-  @CompilationFinal private static SClass  systemClass;
+  /** The universe the context of the given node uses. */
+  public static Universe get(final Node node) {
+    return SomContext.get(node).getUniverse();
+  }
 
-  public static void setSourceCompiler(final SourcecodeCompiler compiler,
+  public static synchronized void setSourceCompiler(final SourcecodeCompiler compiler,
       final boolean needsToSucceed) {
     // this will cause headaches when we need to debug this
     // I do this because I don't want SomLanguage.initializeContext to override things
@@ -109,11 +156,8 @@ public final class Universe {
     }
   }
 
-  public static void reset() {
-    alreadyInitialized = false;
-    objectSystemInitialized = false;
-    systemClass = null;
-    systemObject = null;
+  private static synchronized SourcecodeCompiler getSourceCompiler() {
+    return sourceCompiler;
   }
 
   public static void callerNeedsToBeOptimized(final String msg) {
@@ -122,7 +166,49 @@ public final class Universe {
     }
   }
 
-  public static Object interpret(final String[] arguments) {
+  public SomLanguage getLanguage() {
+    return language;
+  }
+
+  public Classes getClasses() {
+    return classes;
+  }
+
+  public Globals getGlobals() {
+    return globals;
+  }
+
+  public synchronized String[] getClassPath() {
+    return classPath;
+  }
+
+  /**
+   * Change the class path of an object system initialized ahead of time. This is only safe
+   * if the class path {@link #resolvesToSameSystemClasses(String[]) resolves to the same
+   * system classes}, and no other class was loaded yet.
+   */
+  public synchronized void setClassPath(final String[] classPath) {
+    this.classPath = classPath;
+  }
+
+  public long getSelfCoord() {
+    return selfCoord;
+  }
+
+  public Source getSelfSource() {
+    return selfSource;
+  }
+
+  public void setSelf(final Source source, final long coord) {
+    selfSource = source;
+    selfCoord = coord;
+  }
+
+  /**
+   * Interpret the program given by the arguments. The class path of this universe is the one
+   * {@link #classPathForArguments(String[], String)} determines for them.
+   */
+  public Object interpret(final String[] arguments) {
     // Check for command line switches
     String[] remainingArguments = handleArguments(arguments);
 
@@ -130,8 +216,6 @@ public final class Universe {
     return execute(remainingArguments);
   }
 
-  private Universe() {}
-
   public static final class SomExit extends ThreadDeath {
     private static final long serialVersionUID = 485621638205177405L;
 
@@ -154,9 +238,33 @@ public final class Universe {
   }
 
   @TruffleBoundary
-  public static String[] handleArguments(final String[] arguments) {
-    boolean gotClasspath = false;
+  private String[] handleArguments(final String[] arguments) {
     ArrayList<String> remainingArgs = new ArrayList<>();
+    parseArguments(arguments, "", remainingArgs, this);
+
+    // strip path and file extension from the first of the remaining args
+    if (!remainingArgs.isEmpty()) {
+      String[] split = getPathClassExt(remainingArgs.get(0));
+      remainingArgs.set(0, split[1]);
+    }
+
+    return remainingArgs.toArray(new String[remainingArgs.size()]);
+  }
+
+  /** The class path that {@link #interpret(String[])} uses for the arguments. */
+  @TruffleBoundary
+  public static String[] classPathForArguments(final String[] arguments,
+      final String classPath) {
+    return parseArguments(arguments, classPath, new ArrayList<>(), null);
+  }
+
+  /**
+   * @param universe the universe to apply the switches to, or null to only determine the
+   *          class path
+   */
+  private static String[] parseArguments(final String[] arguments, final String classPath,
+      final List<String> remainingArgs, final Universe universe) {
+    String[] path = null;
 
     // read dash arguments only while we haven't seen other kind of arguments
     boolean sawOthers = false;
@@ -166,38 +274,38 @@ public final class Universe {
         if (i + 1 >= arguments.length) {
           printUsageAndExit();
         }
-        setupClassPath(arguments[i + 1]);
+        path = classPathFor(arguments[i + 1]);
         // Checkstyle: stop
         ++i; // skip class path
         // Checkstyle: resume
-        gotClasspath = true;
       } else if (arguments[i].equals("-di") && !sawOthers) {
-        printIR += 1;
+        if (universe != null) {
+          universe.printIR += 1;
+        }
       } else {
         sawOthers = true;
         remainingArgs.add(arguments[i]);
       }
     }
 
-    if (!gotClasspath) {
+    if (path == null && !classPath.isEmpty()) {
+      path = classPathFor(classPath);
+    } else if (path == null) {
       // Get the default class path of the appropriate size
-      classPath = setupDefaultClassPath(0);
+      path = setupDefaultClassPath(0);
     }
 
-    // check first of remaining args for class paths, and strip file extension
+    // check first of remaining args for a path, which is searched first
     if (!remainingArgs.isEmpty()) {
-      String[] split = getPathClassExt(remainingArgs.get(0));
-
-      if (!("".equals(split[0]))) { // there was a path
-        String[] tmp = new String[classPath.length + 1];
-        System.arraycopy(classPath, 0, tmp, 1, classPath.length);
-        tmp[0] = split[0];
-        classPath = tmp;
+      String dir = new File(remainingArgs.get(0)).getParent();
+      if (dir != null && !dir.equals(path[0])) {
+        String[] tmp = new String[path.length + 1];
+        System.arraycopy(path, 0, tmp, 1, path.length);
+        tmp[0] = dir;
+        path = tmp;
       }
-      remainingArgs.set(0, split[1]);
     }
-
-    return remainingArgs.toArray(new String[remainingArgs.size()]);
+    return path;
   }
 
   @TruffleBoundary
@@ -222,18 +330,20 @@ public final class Universe {
     return result;
   }
 
+  /** The class path for the given directories, followed by the defaults. */
   @TruffleBoundary
-  public static void setupClassPath(final String cp) {
+  public static String[] classPathFor(final String cp) {
     // Create a new tokenizer to split up the string of directories
     StringTokenizer tokenizer = new StringTokenizer(cp, File.pathSeparator);
 
     // Get the default class path of the appropriate size
-    classPath = setupDefaultClassPath(tokenizer.countTokens());
+    String[] result = setupDefaultClassPath(tokenizer.countTokens());
 
     // Get the directories and put them into the class path array
     for (int i = 0; tokenizer.hasMoreTokens(); i++) {
-      classPath[i] = tokenizer.nextToken();
+      result[i] = tokenizer.nextToken();
     }
+    return result;
   }
 
   @TruffleBoundary
@@ -279,7 +389,7 @@ public final class Universe {
    * @param className
    * @param selector
    */
-  public static Object interpret(final String className, final String selector) {
+  public Object interpret(final String className, final String selector) {
     initializeObjectSystem();
 
     SClass clazz = loadClass(symbolFor(className));
@@ -289,12 +399,16 @@ public final class Universe {
     return initialize.invoke(new Object[] {clazz});
   }
 
-  private static Object execute(final String[] arguments) {
+  private Object execute(final String[] arguments) {
     initializeObjectSystem();
 
     // Start the shell if no filename is given
     if (arguments.length == 0) {
-      return Shell.start();
+      return Shell.start(this);
+    }
+
+    if (VmSettings.ParallelClassLoading && structuralProbe == null) {
+      ParallelClassLoader.loadReachable(this, arguments[0], getSourceCompiler());
     }
 
     Object[] arrStorage = Arrays.copyOfRange(arguments, 0, arguments.length, Object[].class);
@@ -307,9 +421,8 @@ public final class Universe {
   }
 
   @TruffleBoundary
-  public static void initializeObjectSystem() {
+  public synchronized void initializeObjectSystem() {
     CompilerAsserts.neverPartOfCompilation();
-    assert classPath != null : "The classpath hasn't been initialized. Was setupClassPath() called?";
 
     if (alreadyInitialized) {
       return;
@@ -317,77 +430,78 @@ public final class Universe {
       alreadyInitialized = true;
     }
 
-    // Allocate the nil object
+    // The nil object is shared by all universes, and is an instance of their nil classes
     SObject nilObject = Nil.nilObject;
 
-    // Setup the class reference for the nil object
-    nilObject.setClass(nilClass);
-
     // Initialize the system classes.
-    initializeSystemClass(objectClass, null, "Object");
-    initializeSystemClass(classClass, objectClass, "Class");
-    initializeSystemClass(metaclassClass, classClass, "Metaclass");
-    initializeSystemClass(nilClass, objectClass, "Nil");
-    initializeSystemClass(arrayClass, objectClass, "Array");
-    initializeSystemClass(methodClass, objectClass, "Method");
-    initializeSystemClass(stringClass, objectClass, "String");
-    initializeSystemClass(symbolClass, stringClass, "Symbol");
-    initializeSystemClass(integerClass, objectClass, "Integer");
-    initializeSystemClass(primitiveClass, objectClass, "Primitive");
-    initializeSystemClass(doubleClass, objectClass, "Double");
-    initializeSystemClass(booleanClass, objectClass, "Boolean");
-
-    initializeSystemClass(trueClass, booleanClass, "True");
-    initializeSystemClass(falseClass, booleanClass, "False");
+    initializeSystemClass(classes.objectClass, null, "Object");
+    initializeSystemClass(classes.classClass, classes.objectClass, "Class");
+    initializeSystemClass(classes.metaclassClass, classes.classClass, "Metaclass");
+    initializeSystemClass(classes.nilClass, classes.objectClass, "Nil");
+    initializeSystemClass(classes.arrayClass, classes.objectClass, "Array");
+    initializeSystemClass(classes.vectorClass, classes.objectClass, "VmVector");
+    initializeSystemClass(classes.dictionaryClass, classes.objectClass, "VmDictionary");
+    initializeSystemClass(classes.methodClass, classes.objectClass, "Method");
+    initializeSystemClass(classes.stringClass, classes.objectClass, "String");
+    initializeSystemClass(classes.symbolClass, classes.stringClass, "Symbol");
+    initializeSystemClass(classes.integerClass, classes.objectClass, "Integer");
+    initializeSystemClass(classes.primitiveClass, classes.objectClass, "Primitive");
+    initializeSystemClass(classes.doubleClass, classes.objectClass, "Double");
+    initializeSystemClass(classes.booleanClass, classes.objectClass, "Boolean");
+
+    initializeSystemClass(classes.trueClass, classes.booleanClass, "True");
+    initializeSystemClass(classes.falseClass, classes.booleanClass, "False");
 
     // Load methods and fields into the system classes
-    loadSystemClass(objectClass);
-    loadSystemClass(classClass);
-    loadSystemClass(metaclassClass);
-    loadSystemClass(nilClass);
-    loadSystemClass(arrayClass);
-    loadSystemClass(methodClass);
-    loadSystemClass(stringClass);
-    loadSystemClass(symbolClass);
-    loadSystemClass(integerClass);
-    loadSystemClass(primitiveClass);
-    loadSystemClass(doubleClass);
-    loadSystemClass(booleanClass);
-    loadSystemClass(trueClass);
-    loadSystemClass(falseClass);
+    loadSystemClass(classes.objectClass);
+    loadSystemClass(classes.classClass);
+    loadSystemClass(classes.metaclassClass);
+    loadSystemClass(classes.nilClass);
+    loadSystemClass(classes.arrayClass);
+    loadSystemClass(classes.vectorClass, VECTOR_CLASS);
+    loadSystemClass(classes.dictionaryClass, DICTIONARY_CLASS);
+    loadSystemClass(classes.methodClass);
+    loadSystemClass(classes.stringClass);
+    loadSystemClass(classes.symbolClass);
+    loadSystemClass(classes.integerClass);
+    loadSystemClass(classes.primitiveClass);
+    loadSystemClass(classes.doubleClass);
+    loadSystemClass(classes.booleanClass);
+    loadSystemClass(classes.trueClass);
+    loadSystemClass(classes.falseClass);
 
     // Load the generic block class
-    blockClasses[0] = loadClass(symbolFor("Block"));
+    classes.blockClasses[0] = loadClass(symbolFor("Block"));
 
     // Load the system class and create an instance of it
     systemClass = loadClass(symbolFor("System"));
-    systemObject = new SObject(systemClass);
+    systemObject = SObject.create(systemClass);
 
     // Put special objects into the dictionary of globals
-    setGlobal("nil", nilObject);
-    setGlobal("true", true);
-    setGlobal("false", false);
-    setGlobal("system", systemObject);
+    globals.setGlobal("nil", nilObject);
+    globals.setGlobal("true", true);
+    globals.setGlobal("false", false);
+    globals.setGlobal("system", systemObject);
 
     // Load the remaining block classes
     loadBlockClass(1);
     loadBlockClass(2);
     loadBlockClass(3);
 
-    if (null == blockClasses[1]) {
+    if (null == classes.blockClasses[1]) {
       errorExit("Initialization went wrong for class Blocks");
     }
     objectSystemInitialized = true;
   }
 
-  private static void initializeSystemClass(final SClass sysClass, final SClass superClass,
+  private void initializeSystemClass(final SClass sysClass, final SClass superClass,
       final String name) {
     // Initialize the superclass hierarchy
     if (superClass != null) {
       sysClass.setSuperClass(superClass);
       sysClass.getSOMClass().setSuperClass(superClass.getSOMClass());
     } else {
-      sysClass.getSOMClass().setSuperClass(classClass);
+      sysClass.getSOMClass().setSuperClass(classes.classClass);
     }
 
     // Initialize the array of instance fields
@@ -399,27 +513,27 @@ public final class Universe {
     sysClass.getSOMClass().setName(symbolFor(name + " class"));
 
     // Insert the system class into the dictionary of globals
-    setGlobal(sysClass.getName(), sysClass);
+    globals.setGlobal(sysClass.getName(), sysClass);
   }
 
-  private static void loadBlockClass(final int numberOfArguments) {
+  private void loadBlockClass(final int numberOfArguments) {
     // Compute the name of the block class with the given number of
     // arguments
     SSymbol name = symbolFor("Block" + numberOfArguments);
 
-    assert getGlobal(name) == null;
+    assert globals.getGlobal(name) == null;
 
     // Get the block class for blocks with the given number of arguments
     SClass result = loadClass(name);
 
-    blockClasses[numberOfArguments] = result;
+    classes.blockClasses[numberOfArguments] = result;
   }
 
   @TruffleBoundary
-  public static SClass loadShellClass(final String stmt) {
+  public synchronized SClass loadShellClass(final String stmt) {
     try {
       // Load the class from a stream and return the loaded class
-      SClass result = sourceCompiler.compileClass(stmt, null, null);
+      SClass result = getSourceCompiler().compileClass(stmt, null, null, this);
       if (printIR > 0) {
         Disassembler.dump(result);
       }
@@ -430,26 +544,47 @@ public final class Universe {
   }
 
   @TruffleBoundary
-  public static SClass loadClass(final SSymbol name) {
+  public synchronized SClass loadClass(final SSymbol name) {
     // Check if the requested class is already in the dictionary of globals
     if (name == symNil) {
       return null;
     }
 
-    SClass result = (SClass) getGlobal(name);
+    SClass result = (SClass) globals.getGlobal(name);
     if (result != null) {
       return result;
     }
 
-    result = Universe.loadClass(name, null);
+    result = loadClass(name, null);
     loadPrimitives(result, false);
 
-    setGlobal(name, result);
+    globals.setGlobal(name, result);
 
     return result;
   }
 
-  public static void loadPrimitives(final SClass result, final boolean isSystemClass) {
+  /**
+   * Assemble a class that was parsed ahead of time, and install it as global, unless it was
+   * loaded on demand in the meantime.
+   */
+  @TruffleBoundary
+  public synchronized void installClass(final ClassGenerationContext cgenc) {
+    SSymbol name = cgenc.getName();
+    if (globals.getGlobal(name) != null) {
+      return;
+    }
+
+    SClass result = cgenc.assemble();
+    if (printIR > 0) {
+      Disassembler.dump(result.getSOMClass());
+      Disassembler.dump(result);
+    }
+    loadPrimitives(result, false);
+
+    globals.setGlobal(name, result);
+  }
+
+  public void loadPrimitives(final SClass result, final boolean isSystemClass) {
     if (result == null) {
       return;
     }
@@ -457,12 +592,12 @@ public final class Universe {
     // Load primitives if class defines them, or try to load optional
     // primitives defined for system classes.
     if (result.hasPrimitives() || isSystemClass) {
-      Primitives.Current.loadPrimitives(result, !isSystemClass, null);
+      Primitives.Current.loadPrimitives(result, !isSystemClass, null, language);
     }
   }
 
   @TruffleBoundary
-  public static void loadSystemClass(final SClass sysClass) {
+  private void loadSystemClass(final SClass sysClass) {
     // Load the system class
     SClass result = loadClass(sysClass.getName(), sysClass);
 
@@ -477,19 +612,36 @@ public final class Universe {
     loadPrimitives(result, true);
   }
 
-  @TruffleBoundary
-  private static SClass loadClass(final SSymbol name, final SClass sysClass) {
-    // Skip if classPath is not set
-    if (classPath == null) {
-      return null;
+  /**
+   * Load a system class that has no file in the core library. Its methods are primitives
+   * installed by {@link #loadPrimitives(SClass, boolean)}.
+   */
+  private void loadSystemClass(final SClass sysClass, final String definition) {
+    Source source =
+        SomLanguage.getSyntheticSource(definition, sysClass.getName().getString() + ".som");
+    try {
+      getSourceCompiler().compileClass(source, sysClass, structuralProbe, this);
+    } catch (ProgramDefinitionError e) {
+      Universe.errorExit(e.toString());
     }
+    if (printIR > 0) {
+      Disassembler.dump(sysClass.getSOMClass());
+      Disassembler.dump(sysClass);
+    }
+    loadPrimitives(sysClass, true);
+  }
 
+  @TruffleBoundary
+  private SClass loadClass(final SSymbol name, final SClass sysClass) {
     // Try loading the class from all different paths
     for (String cpEntry : classPath) {
       try {
         // Load the class from a file and return the loaded class
-        SClass result = sourceCompiler.compileClass(
-            cpEntry, name.getString(), sysClass, structuralProbe);
+        SClass result = getSourceCompiler().compileClass(
+            cpEntry, name.getString(), sysClass, structuralProbe, this);
+        if (!objectSystemInitialized) {
+          systemClassFiles.put(name.getString(), classFile(cpEntry, name.getString()));
+        }
         if (printIR > 0) {
           Disassembler.dump(result.getSOMClass());
           Disassembler.dump(result);
@@ -507,6 +659,38 @@ public final class Universe {
     return null;
   }
 
+  private static File classFile(final String cpEntry, final String name) {
+    File file = new File(cpEntry + File.separator + name + ".som");
+    try {
+      return file.getCanonicalFile();
+    } catch (IOException e) {
+      return file.getAbsoluteFile();
+    }
+  }
+
+  /**
+   * Checks whether the given class path resolves the classes loaded while initializing the
+   * object system to the same files. Only then, an object system initialized ahead of time,
+   * for instance while building a native image, can be reused.
+   */
+  @TruffleBoundary
+  public synchronized boolean resolvesToSameSystemClasses(final String[] path) {
+    for (Map.Entry<String, File> e : systemClassFiles.entrySet()) {
+      File resolved = null;
+      for (String cpEntry : path) {
+        File file = classFile(cpEntry, e.getKey());
+        if (file.isFile()) {
+          resolved = file;
+          break;
+        }
+      }
+      if (!e.getValue().equals(resolved)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   @TruffleBoundary
   public static void errorPrint(final String msg) {
     // Checkstyle: stop
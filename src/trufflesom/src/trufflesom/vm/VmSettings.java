@@ -4,21 +4,40 @@ public class VmSettings {
 
   public static final boolean UseAstInterp;
   public static final boolean UseBcInterp;
+  public static final boolean UseRegisterBcInterp;
+  public static final boolean UseSuperinstructions;
+  public static final boolean ProfileBytecodes;
   public static final boolean UseJitCompiler;
   public static final boolean PrintStackTraceOnDNU;
 
+  /** Directory for the on-disk class cache of the bytecode interpreter, or null. */
+  public static final String ClassCacheDir;
+
+  /** Load all classes on the class path in parallel at startup. */
+  public static final boolean ParallelClassLoading;
+
   public static final boolean UseInstrumentation;
 
+  /** Minimal length of long and double arrays stored off-heap, 0 disables off-heap storage. */
+  public static final int OffHeapArrayThreshold;
+
   static {
     String val = System.getProperty("som.interp", "AST").toUpperCase();
     UseAstInterp = "AST".equals(val);
-    UseBcInterp = "BC".equals(val);
+    UseRegisterBcInterp = "RBC".equals(val);
+    UseBcInterp = "BC".equals(val) || UseRegisterBcInterp;
 
     if (!UseAstInterp && !UseBcInterp) {
       throw new IllegalStateException("The Java property -Dsom.interp=" + val
-          + " was set, which is not supported. Currently, only the values BC and AST are supported.");
+          + " was set, which is not supported. Currently, only the values AST, BC, and RBC are supported.");
     }
 
+    val = System.getProperty("som.superinstructions", "true");
+    UseSuperinstructions = "true".equals(val);
+
+    val = System.getProperty("som.bcProfile", "false");
+    ProfileBytecodes = "true".equals(val);
+
     val = System.getProperty("som.jitCompiler", "true");
     UseJitCompiler = "true".equals(val);
 
@@ -28,5 +47,12 @@ public class VmSettings {
 
     val = System.getProperty("som.printStackTraceOnDNU", "false");
     PrintStackTraceOnDNU = "true".equals(val);
+
+    ClassCacheDir = System.getProperty("som.classCache");
+
+    val = System.getProperty("som.parallelClassLoading", "false");
+    ParallelClassLoading = "true".equals(val);
+
+    OffHeapArrayThreshold = Integer.getInteger("som.offHeapArrayThreshold", 1 << 20);
   }
 }
@@ -16,8 +16,38 @@ import trufflesom.interpreter.Types;
 @ExportLibrary(InteropLibrary.class)
 public abstract class SAbstractObject implements TruffleObject {
 
+  /** State of the xorshift generator for identity hashes, never 0. */
+  private static int identityHashSeed = 0x2545F491;
+
+  /** Assigned lazily on first use, 0 means not yet assigned. */
+  private int identityHash;
+
   public abstract SClass getSOMClass();
 
+  /**
+   * Returns a stable hash for the identity of this object. Unlike Java's
+   * {@link Object#hashCode()}, it is a plain field read once assigned, and can be compiled
+   * without a boundary.
+   */
+  public int getIdentityHash() {
+    int hash = identityHash;
+    if (hash == 0) {
+      hash = nextIdentityHash();
+      identityHash = hash;
+    }
+    return hash;
+  }
+
+  private static int nextIdentityHash() {
+    // races between threads may hand out the same hash twice, which is harmless
+    int x = identityHashSeed;
+    x ^= x << 13;
+    x ^= x >>> 17;
+    x ^= x << 5;
+    identityHashSeed = x;
+    return x;
+  }
+
   @Override
   public String toString() {
     CompilerAsserts.neverPartOfCompilation();
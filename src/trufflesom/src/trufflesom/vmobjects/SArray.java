@@ -1,10 +1,15 @@
 package trufflesom.vmobjects;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
 import java.util.Arrays;
 
 import com.oracle.truffle.api.CompilerDirectives;
 
 import trufflesom.vm.Classes;
+import trufflesom.vm.VmSettings;
 import trufflesom.vm.constants.Nil;
 
 
@@ -27,6 +32,14 @@ public final class SArray extends SAbstractObject {
     return new SArray(values);
   }
 
+  public static SArray create(final int[] values) {
+    return new SArray(values);
+  }
+
+  public static SArray create(final byte[] values) {
+    return new SArray(values);
+  }
+
   public static SArray create(final double[] values) {
     return new SArray(values);
   }
@@ -61,6 +74,17 @@ public final class SArray extends SAbstractObject {
     return (long[]) storage;
   }
 
+  public int[] getIntStorage() {
+    assert isIntType();
+    return (int[]) storage;
+  }
+
+  /** Byte storage holds the integers 0 to 255, elements are read with {@link #toLong}. */
+  public byte[] getByteStorage() {
+    assert isByteType();
+    return (byte[]) storage;
+  }
+
   public double[] getDoubleStorage() {
     assert isDoubleType();
     return (double[]) storage;
@@ -71,6 +95,16 @@ public final class SArray extends SAbstractObject {
     return (boolean[]) storage;
   }
 
+  public OffHeapLongArray getOffHeapLongStorage() {
+    assert isOffHeapLongType();
+    return (OffHeapLongArray) storage;
+  }
+
+  public OffHeapDoubleArray getOffHeapDoubleStorage() {
+    assert isOffHeapDoubleType();
+    return (OffHeapDoubleArray) storage;
+  }
+
   public boolean isEmptyType() {
     return storage.getClass() == Integer.class;
   }
@@ -87,6 +121,14 @@ public final class SArray extends SAbstractObject {
     return storage.getClass() == long[].class;
   }
 
+  public boolean isIntType() {
+    return storage.getClass() == int[].class;
+  }
+
+  public boolean isByteType() {
+    return storage.getClass() == byte[].class;
+  }
+
   public boolean isDoubleType() {
     return storage.getClass() == double[].class;
   }
@@ -95,6 +137,35 @@ public final class SArray extends SAbstractObject {
     return storage.getClass() == boolean[].class;
   }
 
+  public boolean isOffHeapLongType() {
+    return storage.getClass() == OffHeapLongArray.class;
+  }
+
+  public boolean isOffHeapDoubleType() {
+    return storage.getClass() == OffHeapDoubleArray.class;
+  }
+
+  public static boolean fitsByte(final long value) {
+    return 0 <= value && value <= 255;
+  }
+
+  public static boolean fitsInt(final long value) {
+    return (int) value == value;
+  }
+
+  public static long toLong(final byte value) {
+    return value & 0xFF;
+  }
+
+  /**
+   * Large arrays of longs and doubles are kept off-heap, so that the garbage collector
+   * neither needs to copy nor to scan them.
+   */
+  public static boolean useOffHeapStorage(final long length) {
+    return VmSettings.OffHeapArrayThreshold > 0 && length >= VmSettings.OffHeapArrayThreshold
+        && length <= OffHeapLongArray.MAX_LENGTH;
+  }
+
   /**
    * Creates and empty array, using the EMPTY strategy.
    *
@@ -120,7 +191,7 @@ public final class SArray extends SAbstractObject {
    * Transition from the Empty, to the PartiallyEmpty state/strategy.
    */
   public void transitionFromEmptyToPartiallyEmptyWith(final long idx, final long val) {
-    fromEmptyToParticalWithType(PartiallyEmptyArray.Type.LONG, idx, val);
+    fromEmptyToParticalWithType(PartiallyEmptyArray.integerTypeFor(val), idx, val);
   }
 
   public void transitionFromEmptyToPartiallyEmptyWith(final long idx, final double val) {
@@ -145,13 +216,42 @@ public final class SArray extends SAbstractObject {
     storage = arr;
   }
 
+  /** Uses byte or int storage if the value fits into it. */
   public void transitionToLongWithAll(final long length, final long val) {
+    if (fitsByte(val)) {
+      byte[] arr = new byte[(int) length];
+      Arrays.fill(arr, (byte) val);
+      storage = arr;
+      return;
+    }
+
+    if (fitsInt(val)) {
+      int[] arr = new int[(int) length];
+      Arrays.fill(arr, (int) val);
+      storage = arr;
+      return;
+    }
+
+    if (useOffHeapStorage(length)) {
+      OffHeapLongArray arr = new OffHeapLongArray((int) length);
+      arr.fill(val);
+      storage = arr;
+      return;
+    }
+
     long[] arr = new long[(int) length];
     Arrays.fill(arr, val);
     storage = arr;
   }
 
   public void transitionToDoubleWithAll(final long length, final double val) {
+    if (useOffHeapStorage(length)) {
+      OffHeapDoubleArray arr = new OffHeapDoubleArray((int) length);
+      arr.fill(val);
+      storage = arr;
+      return;
+    }
+
     double[] arr = new double[(int) length];
     Arrays.fill(arr, val);
     storage = arr;
@@ -165,6 +265,89 @@ public final class SArray extends SAbstractObject {
     storage = arr;
   }
 
+  /**
+   * Picks the most compact storage for the given integers, i.e., byte, int, or long storage.
+   */
+  public static Object createIntegerStorage(final long[] values) {
+    boolean allBytes = true;
+    boolean allInts = true;
+    for (long v : values) {
+      allBytes = allBytes && fitsByte(v);
+      allInts = allInts && fitsInt(v);
+    }
+
+    if (allBytes) {
+      byte[] result = new byte[values.length];
+      for (int i = 0; i < values.length; i++) {
+        result[i] = (byte) values[i];
+      }
+      return result;
+    }
+
+    if (allInts) {
+      int[] result = new int[values.length];
+      for (int i = 0; i < values.length; i++) {
+        result[i] = (int) values[i];
+      }
+      return result;
+    }
+
+    if (useOffHeapStorage(values.length)) {
+      OffHeapLongArray result = new OffHeapLongArray(values.length);
+      for (int i = 0; i < values.length; i++) {
+        result.set(i, values[i]);
+      }
+      return result;
+    }
+    return values;
+  }
+
+  /**
+   * Sets a value that does not fit into the current byte or int storage, and transitions
+   * to a storage that is wide enough for it.
+   */
+  public void widenIntegerStorageAndSet(final long idx, final long value) {
+    long[] values;
+    if (isByteType()) {
+      byte[] arr = getByteStorage();
+      values = new long[arr.length];
+      for (int i = 0; i < arr.length; i++) {
+        values[i] = toLong(arr[i]);
+      }
+    } else {
+      int[] arr = getIntStorage();
+      values = new long[arr.length];
+      for (int i = 0; i < arr.length; i++) {
+        values[i] = arr[i];
+      }
+    }
+
+    values[(int) idx] = value;
+    storage = createIntegerStorage(values);
+  }
+
+  private static Object createLongStorage(final Object[] arr) {
+    if (useOffHeapStorage(arr.length)) {
+      OffHeapLongArray storage = new OffHeapLongArray(arr.length);
+      for (int i = 0; i < arr.length; i++) {
+        storage.set(i, (long) arr[i]);
+      }
+      return storage;
+    }
+    return createLong(arr);
+  }
+
+  private static Object createDoubleStorage(final Object[] arr) {
+    if (useOffHeapStorage(arr.length)) {
+      OffHeapDoubleArray storage = new OffHeapDoubleArray(arr.length);
+      for (int i = 0; i < arr.length; i++) {
+        storage.set(i, (double) arr[i]);
+      }
+      return storage;
+    }
+    return createDouble(arr);
+  }
+
   private static long[] createLong(final Object[] arr) {
     long[] storage = new long[arr.length];
     for (int i = 0; i < arr.length; i++) {
@@ -173,6 +356,22 @@ public final class SArray extends SAbstractObject {
     return storage;
   }
 
+  private static int[] createInt(final Object[] arr) {
+    int[] storage = new int[arr.length];
+    for (int i = 0; i < arr.length; i++) {
+      storage[i] = (int) (long) arr[i];
+    }
+    return storage;
+  }
+
+  private static byte[] createByte(final Object[] arr) {
+    byte[] storage = new byte[arr.length];
+    for (int i = 0; i < arr.length; i++) {
+      storage[i] = (byte) (long) arr[i];
+    }
+    return storage;
+  }
+
   private static double[] createDouble(final Object[] arr) {
     double[] storage = new double[arr.length];
     for (int i = 0; i < arr.length; i++) {
@@ -198,10 +397,14 @@ public final class SArray extends SAbstractObject {
     }
 
     if (arr.isFull()) {
-      if (arr.type == PartiallyEmptyArray.Type.LONG) {
-        storage = createLong(arr.getStorage());
+      if (arr.type == PartiallyEmptyArray.Type.BYTE) {
+        storage = createByte(arr.getStorage());
+      } else if (arr.type == PartiallyEmptyArray.Type.INT) {
+        storage = createInt(arr.getStorage());
+      } else if (arr.type == PartiallyEmptyArray.Type.LONG) {
+        storage = createLongStorage(arr.getStorage());
       } else if (arr.type == PartiallyEmptyArray.Type.DOUBLE) {
-        storage = createDouble(arr.getStorage());
+        storage = createDoubleStorage(arr.getStorage());
       } else if (arr.type == PartiallyEmptyArray.Type.BOOLEAN) {
         storage = createBoolean(arr.getStorage());
       } else {
@@ -215,8 +418,19 @@ public final class SArray extends SAbstractObject {
     private int            emptyElements;
     private Type           type;
 
+    /** The integer types BYTE, INT, and LONG are ordered from the narrowest to the widest. */
     public enum Type {
-      EMPTY, PARTIAL_EMPTY, LONG, DOUBLE, BOOLEAN, OBJECT;
+      EMPTY, PARTIAL_EMPTY, BYTE, INT, LONG, DOUBLE, BOOLEAN, OBJECT;
+    }
+
+    public static Type integerTypeFor(final long value) {
+      if (fitsByte(value)) {
+        return Type.BYTE;
+      }
+      if (fitsInt(value)) {
+        return Type.INT;
+      }
+      return Type.LONG;
     }
 
     public PartiallyEmptyArray(final Type type, final int length,
@@ -248,6 +462,19 @@ public final class SArray extends SAbstractObject {
       this.type = type;
     }
 
+    /** Widens the type, if needed, so that the array can also hold the given integer. */
+    public void widenIntegerType(final long value) {
+      if (type != Type.BYTE && type != Type.INT && type != Type.LONG) {
+        type = Type.OBJECT;
+        return;
+      }
+
+      Type valueType = integerTypeFor(value);
+      if (valueType.ordinal() > type.ordinal()) {
+        type = valueType;
+      }
+    }
+
     public int getLength() {
       return arr.length;
     }
@@ -277,6 +504,104 @@ public final class SArray extends SAbstractObject {
     }
   }
 
+  /**
+   * Storage for large arrays of longs, allocated outside of the Java heap.
+   */
+  public static final class OffHeapLongArray {
+    public static final int MAX_LENGTH = Integer.MAX_VALUE / Long.BYTES;
+
+    private final LongBuffer buffer;
+
+    public OffHeapLongArray(final int length) {
+      buffer = ByteBuffer.allocateDirect(length * Long.BYTES)
+                         .order(ByteOrder.nativeOrder()).asLongBuffer();
+    }
+
+    public int getLength() {
+      return buffer.capacity();
+    }
+
+    public long get(final long idx) {
+      return buffer.get((int) idx);
+    }
+
+    public void set(final long idx, final long val) {
+      buffer.put((int) idx, val);
+    }
+
+    public void fill(final long val) {
+      if (val == 0) {
+        // direct buffers are zeroed on allocation
+        return;
+      }
+      for (int i = 0; i < buffer.capacity(); i++) {
+        buffer.put(i, val);
+      }
+    }
+
+    public Object[] toObjectArray() {
+      Object[] result = new Object[buffer.capacity()];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = buffer.get(i);
+      }
+      return result;
+    }
+
+    public OffHeapLongArray copy() {
+      OffHeapLongArray result = new OffHeapLongArray(buffer.capacity());
+      result.buffer.duplicate().put(buffer.duplicate().clear());
+      return result;
+    }
+  }
+
+  /**
+   * Storage for large arrays of doubles, allocated outside of the Java heap.
+   */
+  public static final class OffHeapDoubleArray {
+    private final DoubleBuffer buffer;
+
+    public OffHeapDoubleArray(final int length) {
+      buffer = ByteBuffer.allocateDirect(length * Double.BYTES)
+                         .order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+
+    public int getLength() {
+      return buffer.capacity();
+    }
+
+    public double get(final long idx) {
+      return buffer.get((int) idx);
+    }
+
+    public void set(final long idx, final double val) {
+      buffer.put((int) idx, val);
+    }
+
+    public void fill(final double val) {
+      if (Double.doubleToRawLongBits(val) == 0) {
+        // direct buffers are zeroed on allocation
+        return;
+      }
+      for (int i = 0; i < buffer.capacity(); i++) {
+        buffer.put(i, val);
+      }
+    }
+
+    public Object[] toObjectArray() {
+      Object[] result = new Object[buffer.capacity()];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = buffer.get(i);
+      }
+      return result;
+    }
+
+    public OffHeapDoubleArray copy() {
+      OffHeapDoubleArray result = new OffHeapDoubleArray(buffer.capacity());
+      result.buffer.duplicate().put(buffer.duplicate().clear());
+      return result;
+    }
+  }
+
   /**
    * For internal use only, specifically, for SClass.
    * There we now, it is either empty, or of OBJECT type.
@@ -299,7 +624,7 @@ public final class SArray extends SAbstractObject {
 
   @Override
   public SClass getSOMClass() {
-    return Classes.arrayClass;
+    return Classes.get(null).arrayClass;
   }
 
   public Object debugGetObject(final int i) {
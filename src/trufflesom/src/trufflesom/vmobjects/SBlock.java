@@ -31,11 +31,27 @@ public final class SBlock extends SAbstractObject {
 
   public SBlock(final SInvokable blockMethod, final SClass blockClass,
       final MaterializedFrame context) {
+    this(blockMethod, blockClass, context, context == null ? null : context.getArguments());
+  }
+
+  private SBlock(final SInvokable blockMethod, final SClass blockClass,
+      final MaterializedFrame context, final Object[] outerArguments) {
     this.method = blockMethod;
     this.context = context;
+    this.outerArguments = outerArguments;
     this.blockClass = blockClass;
   }
 
+  /**
+   * Creates a block that accesses only the arguments of its outer method, including self.
+   * It keeps the arguments array, which is shared with the outer frame, instead of the
+   * frame itself, so that the frame does not need to be materialized.
+   */
+  public static SBlock withOuterArguments(final SInvokable blockMethod,
+      final SClass blockClass, final Object[] outerArguments) {
+    return new SBlock(blockMethod, blockClass, null, outerArguments);
+  }
+
   public SInvokable getMethod() {
     return method;
   }
@@ -49,16 +65,22 @@ public final class SBlock extends SAbstractObject {
     return context;
   }
 
+  public Object[] getOuterArguments() {
+    assert outerArguments != null;
+    return outerArguments;
+  }
+
   @Override
   public SClass getSOMClass() {
     return blockClass;
   }
 
   public Object getOuterSelf() {
-    return context.getArguments()[0];
+    return outerArguments[0];
   }
 
   private final SClass            blockClass;
   private final SInvokable        method;
   private final MaterializedFrame context;
+  private final Object[]          outerArguments;
 }
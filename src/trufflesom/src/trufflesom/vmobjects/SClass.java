@@ -40,11 +40,16 @@ import com.oracle.truffle.api.source.SourceSection;
 
 import trufflesom.compiler.Field;
 import trufflesom.interpreter.objectstorage.ObjectLayout;
-import trufflesom.vm.Classes;
+import trufflesom.vm.LookupCache;
 import trufflesom.vm.constants.Nil;
+import trufflesom.vmobjects.SObject.SObject5;
 
 
-public final class SClass extends SObject {
+/**
+ * All classes are instances of this Java class, independent of the number of class-side
+ * fields. Thus, they use the largest object shape.
+ */
+public final class SClass extends SObject5 {
 
   private SourceSection sourceSection;
   private boolean       hasPrimitives;
@@ -65,22 +70,6 @@ public final class SClass extends SObject {
     this.superclass = Nil.nilObject;
   }
 
-  public void resetSystemClass() {
-    invokablesTable = null;
-    superclass = Nil.nilObject;
-    layoutForInstances = new ObjectLayout(0, this);
-    setClass(new SClass(0));
-    getSOMClass().setClass(Classes.metaclassClass);
-  }
-
-  public void resetMetaclassClass() {
-    invokablesTable = null;
-    superclass = Nil.nilObject;
-    layoutForInstances = new ObjectLayout(0, this);
-    setClass(new SClass(0));
-    getSOMClass().setClass(this);
-  }
-
   public SObject getSuperClass() {
     return superclass;
   }
@@ -88,6 +77,7 @@ public final class SClass extends SObject {
   public void setSuperClass(final SClass value) {
     transferToInterpreterAndInvalidate();
     superclass = value;
+    LookupCache.invalidate();
   }
 
   public boolean hasSuperClass() {
@@ -168,6 +158,7 @@ public final class SClass extends SObject {
     }
 
     invokablesTable = value;
+    LookupCache.invalidate();
 
     // Make sure this class is the holder of all invokables
     for (SInvokable i : invokablesTable.values()) {
@@ -190,13 +181,27 @@ public final class SClass extends SObject {
     return invokablesTable.values();
   }
 
+  /**
+   * Looks up the method for the selector in this class and its superclasses. The result is
+   * cached in the {@link LookupCache}, including a failed lookup.
+   */
   @TruffleBoundary
   public SInvokable lookupInvokable(final SSymbol selector) {
-    SInvokable invokable;
+    LookupCache.Entry cached = LookupCache.get(this, selector);
+    if (cached != null) {
+      return cached.method;
+    }
+
+    int version = LookupCache.getVersion();
+    SInvokable invokable = lookupUncached(selector);
+    LookupCache.put(this, selector, invokable, version);
+    return invokable;
+  }
 
+  private SInvokable lookupUncached(final SSymbol selector) {
     if (invokablesTable != null) {
       // Lookup invokable and return if found
-      invokable = invokablesTable.get(selector);
+      SInvokable invokable = invokablesTable.get(selector);
       if (invokable != null) {
         return invokable;
       }
@@ -204,14 +209,7 @@ public final class SClass extends SObject {
 
     // Traverse the super class chain by calling lookup on the super class
     if (hasSuperClass()) {
-      invokable = ((SClass) superclass).lookupInvokable(selector);
-      if (invokable != null) {
-        if (invokablesTable == null) {
-          invokablesTable = new LinkedHashMap<>();
-        }
-        invokablesTable.put(selector, invokable);
-        return invokable;
-      }
+      return ((SClass) superclass).lookupUncached(selector);
     }
 
     // Invokable not found
@@ -236,6 +234,7 @@ public final class SClass extends SObject {
 
     value.setHolder(this);
     invokablesTable.put(value.getSignature(), value);
+    LookupCache.invalidate();
   }
 
   public SSymbol getInstanceFieldName(final int index) {
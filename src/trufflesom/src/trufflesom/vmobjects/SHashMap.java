@@ -0,0 +1,385 @@
+package trufflesom.vmobjects;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import trufflesom.vm.Classes;
+
+
+/**
+ * SHashMaps are VM-level hash tables. Like {@link SArray}, they use a Strategy-like approach,
+ * which specializes the storage on the keys:
+ *
+ * <ul>
+ * <li>empty, holding only the initial capacity,
+ * <li>a {@link LongKeyMap} for integer keys, which avoids boxing them,
+ * <li>a {@link HashMap} for string keys, which compares keys by equality,
+ * <li>an {@link IdentityHashMap} for all other SOM objects, including symbols, and
+ * <li>a generic {@link HashMap}, when keys of different kinds are mixed.
+ * </ul>
+ *
+ * <p>
+ * Values are never null, SOM's nil is {@link trufflesom.vm.constants.Nil#nilObject}. A null
+ * result of a lookup thus means that the key is absent.
+ */
+public final class SHashMap extends SAbstractObject {
+
+  private Object storage;
+
+  /**
+   * Creates an empty hash map, using the EMPTY strategy.
+   */
+  public SHashMap(final long capacity) {
+    storage = (int) capacity;
+  }
+
+  public boolean isEmptyType() {
+    return storage.getClass() == Integer.class;
+  }
+
+  public boolean isLongType() {
+    return storage.getClass() == LongKeyMap.class;
+  }
+
+  public boolean isStringType() {
+    return storage.getClass() == StringKeyMap.class;
+  }
+
+  public boolean isIdentityType() {
+    return storage.getClass() == IdentityKeyMap.class;
+  }
+
+  public boolean isGenericType() {
+    return storage.getClass() == GenericKeyMap.class;
+  }
+
+  public LongKeyMap getLongStorage() {
+    assert isLongType();
+    return (LongKeyMap) storage;
+  }
+
+  public StringKeyMap getStringStorage() {
+    assert isStringType();
+    return (StringKeyMap) storage;
+  }
+
+  public IdentityKeyMap getIdentityStorage() {
+    assert isIdentityType();
+    return (IdentityKeyMap) storage;
+  }
+
+  public void transitionFromEmptyToLong() {
+    storage = new LongKeyMap((int) storage);
+  }
+
+  @TruffleBoundary
+  public void transitionFromEmptyToString() {
+    storage = new StringKeyMap((int) storage);
+  }
+
+  @TruffleBoundary
+  public void transitionFromEmptyToIdentity() {
+    storage = new IdentityKeyMap((int) storage);
+  }
+
+  @TruffleBoundary
+  private void transitionToGeneric() {
+    GenericKeyMap map;
+    if (isEmptyType()) {
+      map = new GenericKeyMap((int) storage);
+    } else if (isLongType()) {
+      LongKeyMap old = getLongStorage();
+      map = new GenericKeyMap(old.size());
+      for (long k : old.getKeys()) {
+        map.put(k, old.get(k));
+      }
+    } else {
+      @SuppressWarnings("unchecked")
+      Map<Object, Object> old = (Map<Object, Object>) storage;
+      map = new GenericKeyMap(old.size());
+      map.putAll(old);
+    }
+    storage = map;
+  }
+
+  /** Ropes are Strings, and need to be flattened to be compared to them. */
+  private static Object normalize(final Object key) {
+    if (key instanceof SRope) {
+      return ((SRope) key).flatten();
+    }
+    return key;
+  }
+
+  /** Generic lookup, which handles keys that do not match the strategy. */
+  @TruffleBoundary
+  public Object get(final Object rawKey) {
+    Object key = normalize(rawKey);
+    if (isEmptyType()) {
+      return null;
+    }
+
+    if (isLongType()) {
+      if (key instanceof Long) {
+        return getLongStorage().get((long) key);
+      }
+      return null;
+    }
+
+    return ((Map<?, ?>) storage).get(key);
+  }
+
+  /** Generic update, which transitions the strategy if necessary. */
+  @TruffleBoundary
+  public void put(final Object rawKey, final Object value) {
+    Object key = normalize(rawKey);
+    if (isEmptyType()) {
+      if (key instanceof Long) {
+        transitionFromEmptyToLong();
+      } else if (key instanceof String) {
+        transitionFromEmptyToString();
+      } else if (key instanceof SAbstractObject) {
+        transitionFromEmptyToIdentity();
+      } else {
+        transitionToGeneric();
+      }
+    } else if ((isLongType() && !(key instanceof Long))
+        || (isStringType() && !(key instanceof String))
+        || (isIdentityType() && !(key instanceof SAbstractObject))) {
+      transitionToGeneric();
+    }
+
+    if (isLongType()) {
+      getLongStorage().put((long) key, value);
+    } else {
+      @SuppressWarnings("unchecked")
+      Map<Object, Object> map = (Map<Object, Object>) storage;
+      map.put(key, value);
+    }
+  }
+
+  @TruffleBoundary
+  public Object removeKey(final Object rawKey) {
+    Object key = normalize(rawKey);
+    if (isEmptyType()) {
+      return null;
+    }
+
+    if (isLongType()) {
+      if (key instanceof Long) {
+        return getLongStorage().remove((long) key);
+      }
+      return null;
+    }
+
+    return ((Map<?, ?>) storage).remove(key);
+  }
+
+  /** Returns a snapshot of the keys, which allows the map to be changed while iterating. */
+  @TruffleBoundary
+  public Object[] getKeys() {
+    if (isEmptyType()) {
+      return new Object[0];
+    }
+
+    if (isLongType()) {
+      long[] keys = getLongStorage().getKeys();
+      Object[] result = new Object[keys.length];
+      for (int i = 0; i < keys.length; i++) {
+        result[i] = keys[i];
+      }
+      return result;
+    }
+
+    return ((Map<?, ?>) storage).keySet().toArray();
+  }
+
+  @TruffleBoundary
+  public int size() {
+    if (isEmptyType()) {
+      return 0;
+    }
+    if (isLongType()) {
+      return getLongStorage().size();
+    }
+    return ((Map<?, ?>) storage).size();
+  }
+
+  @Override
+  public SClass getSOMClass() {
+    return Classes.get(null).dictionaryClass;
+  }
+
+  @SuppressWarnings("serial")
+  public static final class StringKeyMap extends HashMap<String, Object> {
+    StringKeyMap(final int capacity) {
+      super(capacity);
+    }
+
+    @TruffleBoundary
+    public Object lookup(final String key) {
+      return get(key);
+    }
+
+    @TruffleBoundary
+    public void store(final String key, final Object value) {
+      put(key, value);
+    }
+  }
+
+  @SuppressWarnings("serial")
+  public static final class IdentityKeyMap extends IdentityHashMap<SAbstractObject, Object> {
+    IdentityKeyMap(final int capacity) {
+      super(capacity);
+    }
+
+    @TruffleBoundary
+    public Object lookup(final SAbstractObject key) {
+      return get(key);
+    }
+
+    @TruffleBoundary
+    public void store(final SAbstractObject key, final Object value) {
+      put(key, value);
+    }
+  }
+
+  @SuppressWarnings("serial")
+  private static final class GenericKeyMap extends HashMap<Object, Object> {
+    GenericKeyMap(final int capacity) {
+      super(capacity);
+    }
+  }
+
+  /**
+   * An open-addressing hash table with linear probing for long keys. Keys are stored
+   * unboxed, and lookups do not allocate, so that they can be compiled without a boundary.
+   */
+  public static final class LongKeyMap {
+    private static final int MIN_CAPACITY = 8;
+
+    private long[]   keys;
+    private Object[] values;
+    private int      size;
+
+    LongKeyMap(final int expectedSize) {
+      int capacity = Integer.highestOneBit(Math.max(expectedSize * 2, MIN_CAPACITY) - 1) << 1;
+      keys = new long[capacity];
+      values = new Object[capacity];
+    }
+
+    private static int hash(final long key) {
+      long h = key * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32));
+    }
+
+    public int size() {
+      return size;
+    }
+
+    private int indexOf(final long key) {
+      int mask = keys.length - 1;
+      int i = hash(key) & mask;
+      while (values[i] != null) {
+        if (keys[i] == key) {
+          return i;
+        }
+        i = (i + 1) & mask;
+      }
+      return -1;
+    }
+
+    public Object get(final long key) {
+      int i = indexOf(key);
+      if (i < 0) {
+        return null;
+      }
+      return values[i];
+    }
+
+    public void put(final long key, final Object value) {
+      assert value != null;
+      if ((size + 1) * 2 > keys.length) {
+        grow();
+      }
+
+      int mask = keys.length - 1;
+      int i = hash(key) & mask;
+      while (values[i] != null) {
+        if (keys[i] == key) {
+          values[i] = value;
+          return;
+        }
+        i = (i + 1) & mask;
+      }
+
+      keys[i] = key;
+      values[i] = value;
+      size += 1;
+    }
+
+    public Object remove(final long key) {
+      int i = indexOf(key);
+      if (i < 0) {
+        return null;
+      }
+
+      Object old = values[i];
+      int mask = keys.length - 1;
+
+      // shift back the following entries of the probe sequence, instead of using tombstones
+      int gap = i;
+      int j = i;
+      while (true) {
+        j = (j + 1) & mask;
+        if (values[j] == null) {
+          break;
+        }
+
+        int home = hash(keys[j]) & mask;
+        boolean homeBetweenGapAndJ = gap <= j
+            ? (gap < home && home <= j)
+            : (gap < home || home <= j);
+        if (!homeBetweenGapAndJ) {
+          keys[gap] = keys[j];
+          values[gap] = values[j];
+          gap = j;
+        }
+      }
+
+      values[gap] = null;
+      size -= 1;
+      return old;
+    }
+
+    public long[] getKeys() {
+      long[] result = new long[size];
+      int k = 0;
+      for (int i = 0; i < keys.length; i++) {
+        if (values[i] != null) {
+          result[k] = keys[i];
+          k += 1;
+        }
+      }
+      return result;
+    }
+
+    private void grow() {
+      long[] oldKeys = keys;
+      Object[] oldValues = values;
+
+      keys = new long[oldKeys.length * 2];
+      values = new Object[oldValues.length * 2];
+      size = 0;
+
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldValues[i] != null) {
+          put(oldKeys[i], oldValues[i]);
+        }
+      }
+    }
+  }
+}
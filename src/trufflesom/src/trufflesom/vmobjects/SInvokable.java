@@ -84,7 +84,7 @@ public abstract class SInvokable extends SAbstractObject {
 
     @Override
     public SClass getSOMClass() {
-      return Classes.methodClass;
+      return Classes.get(null).methodClass;
     }
 
     @Override
@@ -113,7 +113,7 @@ public abstract class SInvokable extends SAbstractObject {
 
     @Override
     public SClass getSOMClass() {
-      return Classes.primitiveClass;
+      return Classes.get(null).primitiveClass;
     }
 
     @Override
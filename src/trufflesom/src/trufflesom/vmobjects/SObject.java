@@ -36,28 +36,31 @@ import com.oracle.truffle.api.nodes.ExplodeLoop;
 import trufflesom.interpreter.objectstorage.ObjectLayout;
 import trufflesom.interpreter.objectstorage.StorageLocation;
 import trufflesom.interpreter.objectstorage.StorageLocation.AbstractObjectStorageLocation;
+import trufflesom.tools.layoutstats.LayoutStatistics;
+import trufflesom.vm.Classes;
 import trufflesom.vm.constants.Nil;
 
 
+/**
+ * A SOM object. The fields are stored in a shape sized to the number of fields of the class.
+ * {@code SObject} itself has no inline fields and is used for instances of classes without
+ * fields. The subclasses {@link SObject1} to {@link SObject5} each add one primitive and one
+ * object field to their superclass, so that a field has the same offset in all shapes that
+ * contain it. Fields beyond the fifth are stored in the extension arrays.
+ *
+ * <p>
+ * {@link ObjectLayout} uses {@link #getNumberOfInlineFields(int)} to decide which fields are
+ * stored inline, and instances are to be allocated with the {@code create(..)} methods, which
+ * pick the shape matching the layout.
+ */
 public class SObject extends SAbstractObject {
 
   @CompilationFinal protected SClass clazz;
 
+  /** The maximum number of fields stored directly in an object, i.e., in {@link SObject5}. */
   public static final int NUM_PRIMITIVE_FIELDS = 5;
   public static final int NUM_OBJECT_FIELDS    = 5;
 
-  protected long primField1;
-  protected long primField2;
-  protected long primField3;
-  protected long primField4;
-  protected long primField5;
-
-  protected Object field1;
-  protected Object field2;
-  protected Object field3;
-  protected Object field4;
-  protected Object field5;
-
   @CompilationFinal(dimensions = 0) protected long[]   extensionPrimFields;
   @CompilationFinal(dimensions = 0) protected Object[] extensionObjFields;
 
@@ -67,12 +70,12 @@ public class SObject extends SAbstractObject {
 
   private int primitiveUsedMap;
 
-  public SObject(final SClass instanceClass) {
+  protected SObject(final SClass instanceClass) {
     clazz = instanceClass;
     setLayoutInitially(instanceClass.getLayoutForInstances());
   }
 
-  public SObject(final SClass instanceClass, final ObjectLayout layout) {
+  protected SObject(final SClass instanceClass, final ObjectLayout layout) {
     CompilerAsserts.partialEvaluationConstant(layout);
     clazz = instanceClass;
     setLayoutInitially(layout);
@@ -83,7 +86,7 @@ public class SObject extends SAbstractObject {
   }
 
   private void setLayoutInitially(final ObjectLayout layout) {
-    field1 = field2 = field3 = field4 = field5 = Nil.nilObject;
+    resetInlineFields(Nil.nilObject, 0);
 
     objectLayout = layout;
     // Can't check this cheaply
@@ -154,8 +157,9 @@ public class SObject extends SAbstractObject {
 
   @ExplodeLoop
   private void setAllFields(final Object[] fieldValues) {
-    field1 = field2 = field3 = field4 = field5 = null;
-    primField1 = primField2 = primField3 = primField4 = primField5 = Long.MIN_VALUE;
+    // primitive fields need to be zero, because boolean fields track in them whether they
+    // were set
+    resetInlineFields(null, 0);
 
     assert fieldValues.length == objectLayout.getNumberOfFields();
 
@@ -179,6 +183,7 @@ public class SObject extends SAbstractObject {
     if (objectLayout != layoutAtClass) {
       assert !objectLayout.isValid();
       assert layoutAtClass.isValid();
+      LayoutStatistics.instanceMigrated(clazz);
       setLayoutAndTransferFields(layoutAtClass);
       return true;
     } else {
@@ -221,15 +226,65 @@ public class SObject extends SAbstractObject {
 
   @Override
   public final SClass getSOMClass() {
+    if (clazz == null) {
+      // nil is shared by all universes, and is an instance of the nil class of each
+      assert this == Nil.nilObject;
+      return Classes.get(null).nilClass;
+    }
     return clazz;
   }
 
   public final long getFieldIndex(final SSymbol fieldName) {
-    return clazz.lookupFieldIndex(fieldName);
+    return getSOMClass().lookupFieldIndex(fieldName);
+  }
+
+  /**
+   * Set all inline fields of the shape to the given values. Each shape overrides this method
+   * to reset the fields it adds.
+   */
+  protected void resetInlineFields(final Object objValue, final long primValue) {}
+
+  /** @return the number of primitive and object fields stored inline for the given class */
+  public static int getNumberOfInlineFields(final int numberOfFields) {
+    return Math.min(numberOfFields, NUM_OBJECT_FIELDS);
   }
 
   public static SObject create(final int numFields) {
-    return new SObject(numFields);
+    switch (getNumberOfInlineFields(numFields)) {
+      case 0:
+        return new SObject(numFields);
+      case 1:
+        return new SObject1(numFields);
+      case 2:
+        return new SObject2(numFields);
+      case 3:
+        return new SObject3(numFields);
+      case 4:
+        return new SObject4(numFields);
+      default:
+        return new SObject5(numFields);
+    }
+  }
+
+  public static SObject create(final SClass instanceClass) {
+    return create(instanceClass, instanceClass.getLayoutForInstances());
+  }
+
+  public static SObject create(final SClass instanceClass, final ObjectLayout layout) {
+    switch (getNumberOfInlineFields(layout.getNumberOfFields())) {
+      case 0:
+        return new SObject(instanceClass, layout);
+      case 1:
+        return new SObject1(instanceClass, layout);
+      case 2:
+        return new SObject2(instanceClass, layout);
+      case 3:
+        return new SObject3(instanceClass, layout);
+      case 4:
+        return new SObject4(instanceClass, layout);
+      default:
+        return new SObject5(instanceClass, layout);
+    }
   }
 
   public static int getPrimitiveFieldMask(final int fieldIndex) {
@@ -300,6 +355,125 @@ public class SObject extends SAbstractObject {
     if (clazz == null) {
       return "an Object(clazz==null)";
     }
-    return "a " + clazz.getName().getString();
+    return "a " + getSOMClass().getName().getString();
+  }
+
+  public static class SObject1 extends SObject {
+    protected long   primField1;
+    protected Object field1;
+
+    protected SObject1(final SClass instanceClass, final ObjectLayout layout) {
+      super(instanceClass, layout);
+    }
+
+    protected SObject1(final SClass instanceClass) {
+      super(instanceClass);
+    }
+
+    protected SObject1(final int numFields) {
+      super(numFields);
+    }
+
+    @Override
+    protected void resetInlineFields(final Object objValue, final long primValue) {
+      primField1 = primValue;
+      field1 = objValue;
+    }
+  }
+
+  public static class SObject2 extends SObject1 {
+    protected long   primField2;
+    protected Object field2;
+
+    protected SObject2(final SClass instanceClass, final ObjectLayout layout) {
+      super(instanceClass, layout);
+    }
+
+    protected SObject2(final SClass instanceClass) {
+      super(instanceClass);
+    }
+
+    protected SObject2(final int numFields) {
+      super(numFields);
+    }
+
+    @Override
+    protected void resetInlineFields(final Object objValue, final long primValue) {
+      super.resetInlineFields(objValue, primValue);
+      primField2 = primValue;
+      field2 = objValue;
+    }
+  }
+
+  public static class SObject3 extends SObject2 {
+    protected long   primField3;
+    protected Object field3;
+
+    protected SObject3(final SClass instanceClass, final ObjectLayout layout) {
+      super(instanceClass, layout);
+    }
+
+    protected SObject3(final SClass instanceClass) {
+      super(instanceClass);
+    }
+
+    protected SObject3(final int numFields) {
+      super(numFields);
+    }
+
+    @Override
+    protected void resetInlineFields(final Object objValue, final long primValue) {
+      super.resetInlineFields(objValue, primValue);
+      primField3 = primValue;
+      field3 = objValue;
+    }
+  }
+
+  public static class SObject4 extends SObject3 {
+    protected long   primField4;
+    protected Object field4;
+
+    protected SObject4(final SClass instanceClass, final ObjectLayout layout) {
+      super(instanceClass, layout);
+    }
+
+    protected SObject4(final SClass instanceClass) {
+      super(instanceClass);
+    }
+
+    protected SObject4(final int numFields) {
+      super(numFields);
+    }
+
+    @Override
+    protected void resetInlineFields(final Object objValue, final long primValue) {
+      super.resetInlineFields(objValue, primValue);
+      primField4 = primValue;
+      field4 = objValue;
+    }
+  }
+
+  public static class SObject5 extends SObject4 {
+    protected long   primField5;
+    protected Object field5;
+
+    protected SObject5(final SClass instanceClass, final ObjectLayout layout) {
+      super(instanceClass, layout);
+    }
+
+    protected SObject5(final SClass instanceClass) {
+      super(instanceClass);
+    }
+
+    protected SObject5(final int numFields) {
+      super(numFields);
+    }
+
+    @Override
+    protected void resetInlineFields(final Object objValue, final long primValue) {
+      super.resetInlineFields(objValue, primValue);
+      primField5 = primValue;
+      field5 = objValue;
+    }
   }
 }
@@ -0,0 +1,124 @@
+package trufflesom.vmobjects;
+
+import java.util.ArrayDeque;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+
+
+/**
+ * A lazily concatenated string. Concatenating a rope with another string only allocates a
+ * new tree node, which makes building strings in loops linear instead of quadratic.
+ *
+ * <p>
+ * A rope is a SOM String. The type system casts it implicitly to a {@link String}, which
+ * flattens it on first use. The flat string is cached, and the tree released.
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class SRope implements TruffleObject {
+
+  /** Results shorter than this are concatenated directly. */
+  public static final int MIN_ROPE_LENGTH = 64;
+
+  private final int length;
+
+  /** A {@link String} or {@link SRope}, null once flattened. */
+  private Object left;
+  private Object right;
+
+  private String flat;
+
+  private SRope(final Object left, final Object right, final int length) {
+    this.left = left;
+    this.right = right;
+    this.length = length;
+  }
+
+  private static int lengthOf(final Object str) {
+    if (str instanceof SRope) {
+      return ((SRope) str).length;
+    }
+    return ((String) str).length();
+  }
+
+  /**
+   * Concatenates two strings, each either a {@link String} or a {@link SRope}.
+   *
+   * @return a {@link String} for short results, a {@link SRope} otherwise
+   */
+  public static Object concat(final Object left, final Object right) {
+    int length = lengthOf(left) + lengthOf(right);
+    if (length < MIN_ROPE_LENGTH) {
+      return concatFlat(left, right);
+    }
+    return new SRope(left, right, length);
+  }
+
+  @TruffleBoundary
+  private static String concatFlat(final Object left, final Object right) {
+    return left.toString().concat(right.toString());
+  }
+
+  public int length() {
+    return length;
+  }
+
+  /** Compares the characters with the given string, without flattening for other lengths. */
+  public boolean contentEquals(final String str) {
+    return length == str.length() && flatten().equals(str);
+  }
+
+  public String flatten() {
+    String result = flat;
+    if (result == null) {
+      result = flattenTree();
+    }
+    return result;
+  }
+
+  @TruffleBoundary
+  private String flattenTree() {
+    StringBuilder sb = new StringBuilder(length);
+
+    // iterate explicitly, because ropes built in loops are deep
+    ArrayDeque<Object> todo = new ArrayDeque<>();
+    todo.push(this);
+    while (!todo.isEmpty()) {
+      Object current = todo.pop();
+      if (current instanceof String) {
+        sb.append((String) current);
+      } else {
+        SRope rope = (SRope) current;
+        if (rope.flat != null) {
+          sb.append(rope.flat);
+        } else {
+          todo.push(rope.right);
+          todo.push(rope.left);
+        }
+      }
+    }
+
+    flat = sb.toString();
+    left = null;
+    right = null;
+    return flat;
+  }
+
+  @Override
+  public String toString() {
+    return flatten();
+  }
+
+  @ExportMessage
+  public boolean isString() {
+    return true;
+  }
+
+  @ExportMessage
+  public String asString() {
+    return flatten();
+  }
+}
@@ -31,15 +31,23 @@ public final class SSymbol extends SAbstractObject {
   private final String string;
   private final int    numberOfSignatureArguments;
 
+  /** The hash of the string, so that symbols and equal strings hash the same. */
+  private final int hash;
+
   public SSymbol(final String value) {
     super();
     string = value;
+    hash = value.hashCode();
     numberOfSignatureArguments = determineNumberOfSignatureArguments();
   }
 
+  public int getHash() {
+    return hash;
+  }
+
   @Override
   public SClass getSOMClass() {
-    return Classes.symbolClass;
+    return Classes.get(null).symbolClass;
   }
 
   public String getString() {
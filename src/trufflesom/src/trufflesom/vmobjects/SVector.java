@@ -0,0 +1,157 @@
+package trufflesom.vmobjects;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives;
+
+import trufflesom.vm.Classes;
+
+
+/**
+ * SVectors are growable arrays, which separate their capacity from their size. Appending
+ * grows the storage by doubling its capacity, which makes appends amortized constant time.
+ *
+ * <p>
+ * Like {@link SArray}, SVectors use a Strategy-like approach. The storage is either empty,
+ * holding only the initial capacity, or a long[], double[], or Object[]. The strategy
+ * behavior is implemented directly in the AST nodes.
+ */
+public final class SVector extends SAbstractObject {
+  private static final int MIN_CAPACITY = 4;
+
+  private Object storage;
+  private int    size;
+
+  /**
+   * Creates an empty vector, using the EMPTY strategy.
+   */
+  public SVector(final long capacity) {
+    storage = (int) capacity;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public boolean isEmptyType() {
+    return storage.getClass() == Integer.class;
+  }
+
+  public boolean isObjectType() {
+    return storage.getClass() == Object[].class;
+  }
+
+  public boolean isLongType() {
+    return storage.getClass() == long[].class;
+  }
+
+  public boolean isDoubleType() {
+    return storage.getClass() == double[].class;
+  }
+
+  public int getEmptyStorage() {
+    assert isEmptyType();
+    return (int) storage;
+  }
+
+  public Object[] getObjectStorage() {
+    assert isObjectType();
+    return CompilerDirectives.castExact(storage, Object[].class);
+  }
+
+  public long[] getLongStorage() {
+    assert isLongType();
+    return (long[]) storage;
+  }
+
+  public double[] getDoubleStorage() {
+    assert isDoubleType();
+    return (double[]) storage;
+  }
+
+  private static int grownCapacity(final int capacity) {
+    return Math.max(capacity * 2, MIN_CAPACITY);
+  }
+
+  public void transitionFromEmptyToLong() {
+    storage = new long[getEmptyStorage()];
+  }
+
+  public void transitionFromEmptyToDouble() {
+    storage = new double[getEmptyStorage()];
+  }
+
+  public void transitionToObject() {
+    Object[] newStorage;
+    if (isEmptyType()) {
+      newStorage = new Object[getEmptyStorage()];
+    } else if (isLongType()) {
+      long[] old = getLongStorage();
+      newStorage = new Object[old.length];
+      for (int i = 0; i < size; i++) {
+        newStorage[i] = old[i];
+      }
+    } else {
+      double[] old = getDoubleStorage();
+      newStorage = new Object[old.length];
+      for (int i = 0; i < size; i++) {
+        newStorage[i] = old[i];
+      }
+    }
+    storage = newStorage;
+  }
+
+  public void appendLong(final long value) {
+    long[] s = getLongStorage();
+    if (size == s.length) {
+      s = Arrays.copyOf(s, grownCapacity(s.length));
+      storage = s;
+    }
+    s[size] = value;
+    size += 1;
+  }
+
+  public void appendDouble(final double value) {
+    double[] s = getDoubleStorage();
+    if (size == s.length) {
+      s = Arrays.copyOf(s, grownCapacity(s.length));
+      storage = s;
+    }
+    s[size] = value;
+    size += 1;
+  }
+
+  public void appendObject(final Object value) {
+    Object[] s = getObjectStorage();
+    if (size == s.length) {
+      s = Arrays.copyOf(s, grownCapacity(s.length));
+      storage = s;
+    }
+    s[size] = value;
+    size += 1;
+  }
+
+  public long removeLastLong() {
+    size -= 1;
+    return getLongStorage()[size];
+  }
+
+  public double removeLastDouble() {
+    size -= 1;
+    return getDoubleStorage()[size];
+  }
+
+  public Object removeLastObject() {
+    size -= 1;
+    Object[] s = getObjectStorage();
+    Object value = s[size];
+    // do not keep the removed object alive
+    s[size] = null;
+    return value;
+  }
+
+  @Override
+  public SClass getSOMClass() {
+    return Classes.get(null).vectorClass;
+  }
+}
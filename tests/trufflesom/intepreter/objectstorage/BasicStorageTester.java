@@ -9,6 +9,7 @@ import trufflesom.interpreter.objectstorage.StorageLocation;
 import trufflesom.vm.Universe;
 import trufflesom.vm.constants.Nil;
 import trufflesom.vmobjects.SObject;
+import trufflesom.vmobjects.SObject.SObject5;
 
 
 @Ignore // Make sure JUnit doesn't fail, but ignores our custom test
@@ -16,7 +17,9 @@ public class BasicStorageTester {
 
   private static boolean someAssertionsFailed = false;
 
-  private static final class STestObject extends SObject {
+  private static final int INLINE = SObject.NUM_OBJECT_FIELDS;
+
+  private static final class STestObject extends SObject5 {
 
     STestObject(final int numFields) {
       super(numFields);
@@ -92,7 +95,7 @@ public class BasicStorageTester {
   }
 
   private static void testDirectDouble(final SObject obj) {
-    StorageLocation sl = StorageLocation.createForDouble(0, 0);
+    StorageLocation sl = StorageLocation.createForDouble(0, 0, INLINE);
     assertIsInitiallyNil(obj, sl);
 
     sl.write(obj, 5.5);
@@ -104,7 +107,7 @@ public class BasicStorageTester {
   }
 
   private static void testDirectLong(final SObject obj) {
-    StorageLocation sl = StorageLocation.createForLong(1, 1);
+    StorageLocation sl = StorageLocation.createForLong(1, 1, INLINE);
     assertIsInitiallyNil(obj, sl);
 
     sl.write(obj, 32L);
@@ -116,7 +119,7 @@ public class BasicStorageTester {
   }
 
   private static void testDirectObject(final SObject obj) {
-    StorageLocation sl = StorageLocation.createForObject(2);
+    StorageLocation sl = StorageLocation.createForObject(2, INLINE);
     assertIsInitiallyNil(obj, sl);
 
     sl.write(obj, obj);
@@ -128,7 +131,7 @@ public class BasicStorageTester {
   }
 
   private static void testExtDouble(final SObject obj) {
-    StorageLocation sl = StorageLocation.createForDouble(0, 10);
+    StorageLocation sl = StorageLocation.createForDouble(0, 10, INLINE);
     assertIsInitiallyNil(obj, sl);
 
     sl.write(obj, 5.5);
@@ -139,7 +142,7 @@ public class BasicStorageTester {
   }
 
   private static void testExtLong(final SObject obj) {
-    StorageLocation sl = StorageLocation.createForLong(1, 11);
+    StorageLocation sl = StorageLocation.createForLong(1, 11, INLINE);
     assertIsInitiallyNil(obj, sl);
 
     sl.write(obj, 32L);
@@ -150,7 +153,7 @@ public class BasicStorageTester {
   }
 
   private static void testExtObject(final SObject obj) {
-    StorageLocation sl = StorageLocation.createForObject(12);
+    StorageLocation sl = StorageLocation.createForObject(12, INLINE);
     assertIsInitiallyNil(obj, sl);
 
     sl.write(obj, obj);
@@ -162,7 +165,7 @@ public class BasicStorageTester {
 
   private static StorageLocation testDouble(final SObject obj, final int idx,
       final double value) {
-    StorageLocation sl = StorageLocation.createForDouble(idx, idx);
+    StorageLocation sl = StorageLocation.createForDouble(idx, idx, INLINE);
     assertIsInitiallyNil(obj, sl);
 
     sl.write(obj, value);
@@ -174,7 +177,7 @@ public class BasicStorageTester {
   }
 
   private static StorageLocation testLong(final SObject obj, final int idx, final long value) {
-    StorageLocation sl = StorageLocation.createForLong(idx, idx);
+    StorageLocation sl = StorageLocation.createForLong(idx, idx, INLINE);
     assertIsInitiallyNil(obj, sl);
 
     sl.write(obj, value);
@@ -187,7 +190,7 @@ public class BasicStorageTester {
 
   private static StorageLocation testObject(final SObject obj, final int idx,
       final Object value) {
-    StorageLocation sl = StorageLocation.createForObject(idx);
+    StorageLocation sl = StorageLocation.createForObject(idx, INLINE);
     assertIsInitiallyNil(obj, sl);
 
     sl.write(obj, value);
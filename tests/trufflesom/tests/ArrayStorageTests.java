@@ -0,0 +1,115 @@
+package trufflesom.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import trufflesom.vm.VmSettings;
+import trufflesom.vmobjects.SArray;
+import trufflesom.vmobjects.SArray.OffHeapDoubleArray;
+import trufflesom.vmobjects.SArray.OffHeapLongArray;
+import trufflesom.vmobjects.SArray.PartiallyEmptyArray;
+
+
+public class ArrayStorageTests {
+  private static final long LARGE = 1L << 40;
+
+  @Test
+  public void testOffHeapLongArray() {
+    OffHeapLongArray arr = new OffHeapLongArray(10);
+    assertEquals(10, arr.getLength());
+    assertEquals(0L, arr.get(3));
+
+    arr.fill(7);
+    arr.set(3, -42);
+    assertEquals(7L, arr.get(0));
+    assertEquals(-42L, arr.get(3));
+
+    OffHeapLongArray copy = arr.copy();
+    copy.set(0, 1);
+    assertEquals(7L, arr.get(0));
+    assertEquals(1L, copy.get(0));
+    assertEquals(-42L, copy.get(3));
+    assertEquals(-42L, copy.toObjectArray()[3]);
+  }
+
+  @Test
+  public void testOffHeapDoubleArray() {
+    OffHeapDoubleArray arr = new OffHeapDoubleArray(5);
+    arr.fill(1.5);
+    arr.set(4, 2.5);
+
+    OffHeapDoubleArray copy = arr.copy();
+    arr.set(0, 0.0);
+    assertEquals(1.5, copy.get(0), 0.0);
+    assertEquals(2.5, copy.get(4), 0.0);
+    assertEquals(2.5, copy.toObjectArray()[4]);
+  }
+
+  @Test
+  public void testLargeArraysUseOffHeapStorage() {
+    if (VmSettings.OffHeapArrayThreshold <= 0) {
+      return;
+    }
+
+    SArray arr = new SArray(VmSettings.OffHeapArrayThreshold);
+    arr.transitionToLongWithAll(VmSettings.OffHeapArrayThreshold, LARGE);
+    assertTrue(arr.isOffHeapLongType());
+    assertEquals(LARGE,
+        arr.getOffHeapLongStorage().get(VmSettings.OffHeapArrayThreshold - 1));
+
+    arr.transitionToDoubleWithAll(VmSettings.OffHeapArrayThreshold, 0.5);
+    assertTrue(arr.isOffHeapDoubleType());
+
+    SArray small = new SArray(VmSettings.OffHeapArrayThreshold - 1);
+    small.transitionToLongWithAll(VmSettings.OffHeapArrayThreshold - 1, LARGE);
+    assertTrue(small.isLongType());
+  }
+
+  @Test
+  public void testSmallIntegersUseCompactStorage() {
+    SArray bytes = new SArray(3);
+    bytes.transitionToLongWithAll(3, 255);
+    assertTrue(bytes.isByteType());
+    assertEquals(255L, SArray.toLong(bytes.getByteStorage()[0]));
+
+    SArray ints = new SArray(3);
+    ints.transitionToLongWithAll(3, -1);
+    assertTrue(ints.isIntType());
+
+    assertTrue(SArray.createIntegerStorage(new long[] {0, 1, 200}) instanceof byte[]);
+    assertTrue(SArray.createIntegerStorage(new long[] {0, 256}) instanceof int[]);
+    assertTrue(SArray.createIntegerStorage(new long[] {0, LARGE}) instanceof long[]);
+  }
+
+  @Test
+  public void testCompactIntegerStorageWidensOnOverflow() {
+    SArray arr = new SArray(3);
+    arr.transitionToLongWithAll(3, 7);
+    assertTrue(arr.isByteType());
+
+    arr.widenIntegerStorageAndSet(1, 1000);
+    assertTrue(arr.isIntType());
+    assertEquals(7, arr.getIntStorage()[0]);
+    assertEquals(1000, arr.getIntStorage()[1]);
+
+    arr.widenIntegerStorageAndSet(2, LARGE);
+    assertTrue(arr.isLongType());
+    assertEquals(1000L, arr.getLongStorage()[1]);
+    assertEquals(LARGE, arr.getLongStorage()[2]);
+  }
+
+  @Test
+  public void testPartiallyEmptyArrayTracksNarrowestIntegerType() {
+    SArray arr = new SArray(2);
+    arr.transitionFromEmptyToPartiallyEmptyWith(0, 5);
+    PartiallyEmptyArray storage = arr.getPartiallyEmptyStorage();
+    assertEquals(PartiallyEmptyArray.Type.BYTE, storage.getType());
+
+    storage.widenIntegerType(-5);
+    assertEquals(PartiallyEmptyArray.Type.INT, storage.getType());
+    storage.widenIntegerType(3);
+    assertEquals(PartiallyEmptyArray.Type.INT, storage.getType());
+  }
+}
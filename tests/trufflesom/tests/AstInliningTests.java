@@ -3,10 +3,12 @@ package trufflesom.tests;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
+import com.oracle.truffle.api.nodes.LoopNode;
 import com.oracle.truffle.api.nodes.Node;
 
 import trufflesom.interpreter.nodes.ArgumentReadNode.LocalArgumentReadNode;
@@ -20,6 +22,8 @@ import trufflesom.interpreter.nodes.GlobalNode.UninitializedGlobalReadNode;
 import trufflesom.interpreter.nodes.LocalVariableNode.LocalVariableWriteNode;
 import trufflesom.interpreter.nodes.NonLocalVariableNode.NonLocalVariableReadNode;
 import trufflesom.interpreter.nodes.NonLocalVariableNode.NonLocalVariableWriteNode;
+import trufflesom.interpreter.nodes.ReturnNonLocalNode.CatchLocalReturnNode;
+import trufflesom.interpreter.nodes.ReturnNonLocalNode.CatchNonLocalReturnNode;
 import trufflesom.interpreter.nodes.ReturnNonLocalNode.ReturnLocalNode;
 import trufflesom.interpreter.nodes.SequenceNode;
 import trufflesom.interpreter.nodes.literals.BlockNode;
@@ -38,11 +42,13 @@ import trufflesom.interpreter.nodes.specialized.IfTrueIfFalseInlinedLiteralsNode
 import trufflesom.interpreter.nodes.specialized.IfTrueIfFalseInlinedLiteralsNode.TrueIfElseLiteralNode;
 import trufflesom.interpreter.nodes.specialized.IntToDoInlinedLiteralsNode;
 import trufflesom.interpreter.nodes.specialized.whileloops.WhileInlinedLiteralsNode;
+import trufflesom.interpreter.supernodes.NonLocalVariableReadSquareWriteNode;
 import trufflesom.interpreter.supernodes.inc.IncExpWithValueNode;
 import trufflesom.interpreter.supernodes.inc.IncNonLocalVarWithValueNode;
 import trufflesom.interpreter.supernodes.inc.UninitIncFieldWithValueNode;
 import trufflesom.primitives.arithmetic.SubtractionPrim;
 import trufflesom.primitives.arrays.DoPrim;
+import trufflesom.vmobjects.SInvokable.SMethod;
 
 
 public class AstInliningTests extends AstTestSetup {
@@ -229,6 +235,23 @@ public class AstInliningTests extends AstTestSetup {
     assertThat((Object) body[1], instanceOf(ReturnLocalNode.class));
   }
 
+  @Test
+  public void testInlinedReturnIsCaughtWithoutMarker() {
+    ExpressionNode body = parseMethod("test: arg = ( arg ifTrue: [ ^ 1 ]. ^ 2 )");
+    SMethod method = assembleLastMethod(body);
+
+    assertThat(read(method.getInvokable(), "body"), instanceOf(CatchLocalReturnNode.class));
+  }
+
+  @Test
+  public void testNonLocalReturnIsCaughtWithMarker() {
+    ExpressionNode body = parseMethod("test: arg = ( #(1 2) do: [:e | ^ e ]. ^ 2 )");
+    SMethod method = assembleLastMethod(body);
+
+    assertThat(read(method.getInvokable(), "body"),
+        instanceOf(CatchNonLocalReturnNode.class));
+  }
+
   @Test
   public void testNestedIfsAndNonInlinedBlocks() {
     addField("field");
@@ -306,6 +329,42 @@ public class AstInliningTests extends AstTestSetup {
     assertEquals("b", readB.getInvocationIdentifier());
   }
 
+  private BlockNodeWithContext lastBlock(final String source) {
+    SequenceNode seq = (SequenceNode) parseMethod(source);
+    ExpressionNode[] exprs = read(seq, "expressions", ExpressionNode[].class);
+    return (BlockNodeWithContext) exprs[exprs.length - 1];
+  }
+
+  @Test
+  public void testBlockSquaringOuterLocalNeedsOuterFrame() {
+    BlockNodeWithContext blockNode = lastBlock(
+        "test = ( | a |\n"
+            + "  a := 2.\n"
+            + "  [ | b | b := a * a. b ]\n"
+            + ")");
+
+    NonLocalVariableReadSquareWriteNode square =
+        (NonLocalVariableReadSquareWriteNode) getBlockExprs(blockNode)[0];
+    assertEquals(0, square.getContextLevel());
+    assertEquals(1, (int) read(square, "readContextLevel", Integer.class));
+
+    assertTrue(blockNode.accessesOuterFrame());
+  }
+
+  @Test
+  public void testBlockUsingOnlyOuterArgumentsDoesNotNeedOuterFrame() {
+    assertFalse(lastBlock("test: a = ( a. [ a + 1. self ] )").accessesOuterFrame());
+    assertFalse(lastBlock("test: a = ( a. [ a := 1. a ] )").accessesOuterFrame());
+    assertFalse(lastBlock("test: a = ( a. [ [ a. self ] ] )").accessesOuterFrame());
+  }
+
+  @Test
+  public void testBlockUsingOuterLocalsNeedsOuterFrame() {
+    assertTrue(lastBlock("test = ( | l | l := 1. [ l + 1 ] )").accessesOuterFrame());
+    assertTrue(lastBlock("test = ( | l | l := 1. [ [ l ] ] )").accessesOuterFrame());
+    assertTrue(lastBlock("test = ( | l | l := 1. [ l := 2. 3 ] )").accessesOuterFrame());
+  }
+
   private void ifTrueIfFalseReturn(final String sel1, final String sel2,
       final Class<?> cls) {
     SequenceNode seq = (SequenceNode) parseMethod(
@@ -355,7 +414,8 @@ public class AstInliningTests extends AstTestSetup {
 
     WhileInlinedLiteralsNode whileNode =
         (WhileInlinedLiteralsNode) read(seq, "expressions", 0);
-    assertEquals(expectedBool, read(whileNode, "expectedBool", Boolean.class));
+    Node repeatingNode = (Node) read(whileNode, "loop", LoopNode.class).getRepeatingNode();
+    assertEquals(expectedBool, read(repeatingNode, "expectedBool", Boolean.class));
   }
 
   @Test
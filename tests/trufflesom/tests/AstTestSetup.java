@@ -24,14 +24,14 @@ public abstract class AstTestSetup extends TruffleTestSetup {
   protected ExpressionNode parseMethod(final String source) {
     Source s = SomLanguage.getSyntheticSource(source, "test");
 
-    cgenc = new ClassGenerationContext(s, null);
+    cgenc = new ClassGenerationContext(s, null, universe);
     cgenc.setName(symbolFor("Test"));
     addAllFields();
 
     mgenc = new MethodGenerationContext(cgenc, probe);
     mgenc.addArgumentIfAbsent(strSelf, 0);
 
-    ParserAst parser = new ParserAst(source, s, null);
+    ParserAst parser = new ParserAst(source, s, null, universe);
     try {
       return parser.method(mgenc);
     } catch (ProgramDefinitionError e) {
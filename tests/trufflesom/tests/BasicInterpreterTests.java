@@ -40,7 +40,6 @@ import trufflesom.compiler.SourcecodeCompiler.AstCompiler;
 import trufflesom.compiler.SourcecodeCompiler.BcCompiler;
 import trufflesom.interpreter.SomLanguage;
 import trufflesom.interpreter.objectstorage.StorageAnalyzer;
-import trufflesom.vm.Classes;
 import trufflesom.vm.Universe;
 import trufflesom.vm.VmSettings;
 import trufflesom.vmobjects.SClass;
@@ -199,8 +198,6 @@ public class BasicInterpreterTests {
   @Test
   public void testBasicInterpreterBehavior() {
     StorageAnalyzer.initAccessors();
-    Classes.reset();
-
     if (VmSettings.UseAstInterp) {
       Universe.setSourceCompiler(new AstCompiler(), true);
     } else {
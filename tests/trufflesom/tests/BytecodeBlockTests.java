@@ -31,7 +31,7 @@ public class BytecodeBlockTests extends BytecodeTestSetup {
   private byte[] blockToBytecodes(final String source) {
     Source s = SomLanguage.getSyntheticSource(source, "test");
 
-    cgenc = new ClassGenerationContext(s, null);
+    cgenc = new ClassGenerationContext(s, null, universe);
     cgenc.setName(symbolFor("Test"));
     addAllFields();
 
@@ -43,7 +43,7 @@ public class BytecodeBlockTests extends BytecodeTestSetup {
 
     bgenc = new BytecodeMethodGenContext(cgenc, mgenc);
 
-    ParserBc parser = new ParserBc(source, s, probe);
+    ParserBc parser = new ParserBc(source, s, probe, universe);
     try {
       parser.nestedBlock(bgenc);
     } catch (ProgramDefinitionError e) {
@@ -55,7 +55,7 @@ public class BytecodeBlockTests extends BytecodeTestSetup {
   private byte[] blockToBytecodes(final String source, final String outerMethodArgName) {
     Source s = SomLanguage.getSyntheticSource(source, "test");
 
-    cgenc = new ClassGenerationContext(s, null);
+    cgenc = new ClassGenerationContext(s, null, universe);
     cgenc.setName(symbolFor("Test"));
     addAllFields();
 
@@ -68,7 +68,7 @@ public class BytecodeBlockTests extends BytecodeTestSetup {
 
     bgenc = new BytecodeMethodGenContext(cgenc, mgenc);
 
-    ParserBc parser = new ParserBc(source, s, probe);
+    ParserBc parser = new ParserBc(source, s, probe, universe);
     try {
       parser.nestedBlock(bgenc);
     } catch (ProgramDefinitionError e) {
@@ -25,14 +25,14 @@ public class BytecodeMethodTests extends BytecodeTestSetup {
   private byte[] methodToBytecodes(final String source) {
     Source s = SomLanguage.getSyntheticSource(source, "test");
 
-    cgenc = new ClassGenerationContext(s, null);
+    cgenc = new ClassGenerationContext(s, null, universe);
     cgenc.setName(symbolFor("Test"));
     addAllFields();
 
     mgenc = new BytecodeMethodGenContext(cgenc, probe);
     mgenc.addArgumentIfAbsent(strSelf, SourceCoordinate.create(1, 1));
 
-    ParserBc parser = new ParserBc(source, s, probe);
+    ParserBc parser = new ParserBc(source, s, probe, universe);
     try {
       parser.method(mgenc);
     } catch (ProgramDefinitionError e) {
@@ -1101,4 +1101,25 @@ public class BytecodeMethodTests extends BytecodeTestSetup {
     returnField(3, new BC(Bytecodes.PUSH_FIELD, 3));
     returnField(4, new BC(Bytecodes.PUSH_FIELD, 4));
   }
+
+  @Test
+  public void testPushArgAndBinarySendAreFused() {
+    methodToBytecodes("test = ( ^ [:a :b | a < b ] )");
+
+    check(getBytecodesOfBlock(0),
+        Bytecodes.PUSH_ARG1,
+        Bytecodes.PUSH_ARG2_SEND,
+        Bytecodes.SEND,
+        Bytecodes.RETURN_LOCAL);
+  }
+
+  @Test
+  public void testPushAndUnarySendAreNotFused() {
+    methodToBytecodes("test = ( ^ [:a | a foo ] )");
+
+    check(getBytecodesOfBlock(0),
+        Bytecodes.PUSH_ARG1,
+        Bytecodes.SEND,
+        Bytecodes.RETURN_LOCAL);
+  }
 }
@@ -0,0 +1,140 @@
+package trufflesom.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.oracle.truffle.api.source.Source;
+
+import trufflesom.bdt.basic.ProgramDefinitionError;
+import trufflesom.compiler.ClassCache;
+import trufflesom.compiler.ClassGenerationContext;
+import trufflesom.compiler.ParserBc;
+import trufflesom.compiler.SourcecodeCompiler;
+import trufflesom.interpreter.SomLanguage;
+import trufflesom.interpreter.nodes.ExpressionNode;
+import trufflesom.interpreter.nodes.bc.BytecodeLoopNode;
+import trufflesom.vmobjects.SClass;
+import trufflesom.vmobjects.SInvokable;
+import trufflesom.vmobjects.SInvokable.SMethod;
+
+
+public class ClassCacheTests extends BytecodeTestSetup {
+  private static final String CLASS = "CacheTest = nil (\n"
+      + "  | a b |\n"
+      + "  a = ( ^ a )\n"
+      + "  a: v = ( a := v )\n"
+      + "  one = ( ^ 1 )\n"
+      + "  sum: x = ( ^ #(1 2) inject: 0 into: [:acc :e | acc + e + x + b ] )\n"
+      + "  loop = ( | i | i := 0. [ i < 10 ] whileTrue: [ i := i + 1 ]. ^ i )\n"
+      + "  find: c = ( c do: [:e | e = 1 ifTrue: [ ^ e ] ]. ^ nil )\n"
+      + "  ----\n"
+      + "  | c |\n"
+      + "  c = ( ^ c )\n"
+      + "  str = ( ^ 'abc', #sym, 1.5 printString )\n"
+      + ")\n";
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private Source writeClass(final File file, final String code) throws IOException {
+    Files.write(file.toPath(), code.getBytes(StandardCharsets.UTF_8));
+    return SomLanguage.getSource(file);
+  }
+
+  private ClassGenerationContext parse(final Source source) throws ProgramDefinitionError {
+    return SourcecodeCompiler.parse(
+        new ParserBc(source.getCharacters().toString(), source, probe, universe));
+  }
+
+  private List<SInvokable> getInvokables(final SClass clazz) {
+    return new ArrayList<>(clazz.getInstanceInvokablesForDisassembler());
+  }
+
+  private ExpressionNode getBody(final SInvokable method) {
+    return read(method.getInvokable(), "body", ExpressionNode.class).getFirstMethodBodyNode();
+  }
+
+  private void assertSameMethod(final SInvokable expected, final SInvokable actual) {
+    assertEquals(expected.getSignature(), actual.getSignature());
+    assertEquals(expected.getClass(), actual.getClass());
+    if (!(expected instanceof SMethod)) {
+      return;
+    }
+
+    ExpressionNode expectedBody = getBody(expected);
+    ExpressionNode actualBody = getBody(actual);
+    assertEquals(expectedBody.getClass(), actualBody.getClass());
+
+    if (expectedBody instanceof BytecodeLoopNode) {
+      BytecodeLoopNode e = (BytecodeLoopNode) expectedBody;
+      BytecodeLoopNode a = (BytecodeLoopNode) actualBody;
+      assertArrayEquals(e.getBytecodeArray(), a.getBytecodeArray());
+      assertEquals(e.getNumberOfLocals(), a.getNumberOfLocals());
+      assertEquals(e.getMaximumNumberOfStackElements(), a.getMaximumNumberOfStackElements());
+
+      Object[] expectedLiterals = e.getLiterals();
+      Object[] actualLiterals = a.getLiterals();
+      assertEquals(expectedLiterals.length, actualLiterals.length);
+      for (int i = 0; i < expectedLiterals.length; i += 1) {
+        if (expectedLiterals[i] instanceof SMethod) {
+          assertSameMethod((SMethod) expectedLiterals[i], (SMethod) actualLiterals[i]);
+        } else {
+          assertEquals(expectedLiterals[i], actualLiterals[i]);
+        }
+      }
+    }
+  }
+
+  private void assertSameClass(final SClass expected, final SClass actual) {
+    assertEquals(expected.getName(), actual.getName());
+    assertEquals(expected.getNumberOfInstanceFields(), actual.getNumberOfInstanceFields());
+
+    List<SInvokable> expectedMethods = getInvokables(expected);
+    List<SInvokable> actualMethods = getInvokables(actual);
+    assertEquals(expectedMethods.size(), actualMethods.size());
+    for (int i = 0; i < expectedMethods.size(); i += 1) {
+      assertSameMethod(expectedMethods.get(i), actualMethods.get(i));
+    }
+  }
+
+  @Test
+  public void testRestoredClassMatchesParsedClass()
+      throws IOException, ProgramDefinitionError {
+    Source source = writeClass(folder.newFile("CacheTest.som"), CLASS);
+    ClassCache cache = new ClassCache(folder.newFolder("cache"));
+
+    ClassGenerationContext parsed = parse(source);
+    cache.store(parsed);
+
+    ClassGenerationContext restored = cache.load(source, universe);
+    assertNotNull(restored);
+
+    SClass parsedClass = parsed.assemble();
+    SClass restoredClass = restored.assemble();
+    assertSameClass(parsedClass, restoredClass);
+    assertSameClass(parsedClass.getSOMClass(), restoredClass.getSOMClass());
+  }
+
+  @Test
+  public void testChangedSourceInvalidatesEntry() throws IOException, ProgramDefinitionError {
+    File file = folder.newFile("CacheTest.som");
+    ClassCache cache = new ClassCache(folder.newFolder("cache"));
+
+    cache.store(parse(writeClass(file, CLASS)));
+
+    Source changed = writeClass(file, CLASS.replace("^ 1", "^ 2"));
+    assertNull(cache.load(changed, universe));
+  }
+}
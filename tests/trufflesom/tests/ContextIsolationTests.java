@@ -0,0 +1,87 @@
+package trufflesom.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Context.Builder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import trufflesom.Launcher;
+import trufflesom.compiler.SourcecodeCompiler.AstCompiler;
+import trufflesom.compiler.SourcecodeCompiler.BcCompiler;
+import trufflesom.interpreter.SomLanguage;
+import trufflesom.interpreter.objectstorage.StorageAnalyzer;
+import trufflesom.vm.Universe;
+import trufflesom.vm.VmSettings;
+
+
+public class ContextIsolationTests {
+  private static final int ITERATIONS = 100_000;
+
+  private static final String CLASS = "Conflict = (\n"
+      + "  ----\n"
+      + "  one = ( ^ self check: 1 )\n"
+      + "  two = ( ^ self check: 2 )\n"
+      + "  check: value = (\n"
+      + "    system global: #ConflictingGlobal put: value.\n"
+      + "    1 to: " + ITERATIONS + " do: [:i |\n"
+      + "      (system global: #ConflictingGlobal) = value ifFalse: [ ^ 0 - i ] ].\n"
+      + "    ^ value\n"
+      + "  )\n"
+      + ")\n";
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private static long run(final File dir, final String selector, final CountDownLatch start)
+      throws InterruptedException {
+    Builder builder = Launcher.createContextBuilder();
+    builder.option("som.CLASS_PATH", "Smalltalk" + File.pathSeparator + dir.getPath());
+    builder.option("som.TEST_CLASS", "Conflict");
+    builder.option("som.TEST_SELECTOR", selector);
+
+    try (Context context = builder.build()) {
+      start.countDown();
+      start.await();
+      return context.eval(SomLanguage.START).asLong();
+    }
+  }
+
+  @Test
+  public void testConcurrentContextsHaveOwnGlobals()
+      throws IOException, InterruptedException, ExecutionException {
+    StorageAnalyzer.initAccessors();
+    if (VmSettings.UseAstInterp) {
+      Universe.setSourceCompiler(new AstCompiler(), true);
+    } else {
+      Universe.setSourceCompiler(new BcCompiler(), true);
+    }
+
+    File dir = folder.newFolder();
+    Files.write(new File(dir, "Conflict.som").toPath(),
+        CLASS.getBytes(StandardCharsets.UTF_8));
+
+    CountDownLatch start = new CountDownLatch(2);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<Long> one = executor.submit(() -> run(dir, "one", start));
+      Future<Long> two = executor.submit(() -> run(dir, "two", start));
+
+      assertEquals(1, (long) one.get());
+      assertEquals(2, (long) two.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
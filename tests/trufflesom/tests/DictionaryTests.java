@@ -0,0 +1,87 @@
+package trufflesom.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static trufflesom.vm.SymbolTable.symbolFor;
+
+import java.util.HashMap;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import trufflesom.vm.Classes;
+import trufflesom.vmobjects.SHashMap;
+import trufflesom.vmobjects.SInvokable;
+import trufflesom.vmobjects.SInvokable.SPrimitive;
+
+
+public class DictionaryTests extends TruffleTestSetup {
+  private static Classes classes;
+
+  @BeforeClass
+  public static void init() {
+    reinitTruffleAndEnterContext();
+    universe.initializeObjectSystem();
+    classes = universe.getClasses();
+  }
+
+  @AfterClass
+  public static void close() {
+    closeContext();
+  }
+
+  @Test
+  public void testHashMapWithLongKeysMatchesJavaMap() {
+    SHashMap map = new SHashMap(0);
+    HashMap<Long, Object> expected = new HashMap<>();
+
+    for (long i = 0; i < 1000; i++) {
+      map.put(i * 31, i);
+      expected.put(i * 31, i);
+    }
+    for (long i = 0; i < 1000; i += 3) {
+      assertEquals(expected.remove(i * 31), map.removeKey(i * 31));
+    }
+
+    assertTrue(map.isLongType());
+    assertEquals(expected.size(), map.size());
+    for (long i = 0; i < 1000; i++) {
+      assertEquals(expected.get(i * 31), map.getLongStorage().get(i * 31));
+    }
+  }
+
+  @Test
+  public void testHashMapTransitionsToGenericKeys() {
+    SHashMap map = new SHashMap(4);
+    map.put("a", 1L);
+    assertTrue(map.isStringType());
+    assertEquals(1L, map.getStringStorage().lookup("a"));
+
+    map.put(2L, "b");
+    assertTrue(map.isGenericType());
+    assertEquals(1L, map.get("a"));
+    assertEquals("b", map.get(2L));
+    assertEquals(2, map.getKeys().length);
+  }
+
+  @Test
+  public void testDictionaryClassHasPrimitives() {
+    for (String selector : new String[] {"at:", "at:put:", "at:ifAbsent:", "removeKey:",
+        "keysDo:", "size"}) {
+      SInvokable method = classes.dictionaryClass.lookupInvokable(symbolFor(selector));
+      assertTrue(selector, method instanceof SPrimitive);
+      assertEquals(classes.dictionaryClass, method.getHolder());
+    }
+  }
+
+  @Test
+  public void testNewCreatesDictionary() {
+    SInvokable newPrim =
+        classes.dictionaryClass.getSOMClass().lookupInvokable(symbolFor("new"));
+    Object map = newPrim.invoke(new Object[] {classes.dictionaryClass});
+
+    assertTrue(map instanceof SHashMap);
+    assertEquals(0, ((SHashMap) map).size());
+  }
+}
@@ -0,0 +1,67 @@
+package trufflesom.tests;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static trufflesom.vm.SymbolTable.symbolFor;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import trufflesom.vm.Classes;
+import trufflesom.vm.LookupCache;
+import trufflesom.vm.LookupCache.Entry;
+import trufflesom.vmobjects.SClass;
+import trufflesom.vmobjects.SInvokable;
+import trufflesom.vmobjects.SSymbol;
+
+
+public class LookupCacheTests extends TruffleTestSetup {
+  private static Classes classes;
+
+  @BeforeClass
+  public static void init() {
+    reinitTruffleAndEnterContext();
+    universe.initializeObjectSystem();
+    classes = universe.getClasses();
+  }
+
+  @AfterClass
+  public static void close() {
+    closeContext();
+  }
+
+  @Test
+  public void testLookupOfInheritedMethodIsCached() {
+    SSymbol isNil = symbolFor("isNil");
+    SInvokable method = classes.integerClass.lookupInvokable(isNil);
+
+    assertSame(classes.objectClass, method.getHolder());
+    Entry entry = LookupCache.get(classes.integerClass, isNil);
+    assertNotNull(entry);
+    assertSame(method, entry.method);
+  }
+
+  @Test
+  public void testLookupStartedBeforeInvalidationIsStale() {
+    SSymbol isNil = symbolFor("isNil");
+    SInvokable method = classes.objectClass.lookupInvokable(isNil);
+
+    int version = LookupCache.getVersion();
+    LookupCache.invalidate();
+    LookupCache.put(classes.integerClass, isNil, method, version);
+
+    assertNull(LookupCache.get(classes.integerClass, isNil));
+  }
+
+  @Test
+  public void testChangeOfSuperclassInvalidatesFailedLookup() {
+    SSymbol isNil = symbolFor("isNil");
+    SClass clazz = new SClass(0);
+    assertNull(clazz.lookupInvokable(isNil));
+
+    clazz.setSuperClass(classes.objectClass);
+    assertSame(classes.objectClass.lookupInvokable(isNil), clazz.lookupInvokable(isNil));
+  }
+}
@@ -0,0 +1,166 @@
+package trufflesom.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import trufflesom.bdt.basic.ProgramDefinitionError;
+import trufflesom.compiler.Parser;
+import trufflesom.compiler.ParserAst;
+import trufflesom.compiler.ParserBc;
+import trufflesom.compiler.SourcecodeCompiler;
+import trufflesom.interpreter.SomLanguage;
+import trufflesom.interpreter.objectstorage.ObjectLayout;
+import trufflesom.interpreter.objectstorage.StorageLocation.AbstractBooleanStorageLocation;
+import trufflesom.interpreter.objectstorage.StorageLocation.AbstractObjectStorageLocation;
+import trufflesom.vm.VmSettings;
+import trufflesom.vm.constants.Nil;
+import trufflesom.vmobjects.SClass;
+import trufflesom.vmobjects.SObject;
+import trufflesom.vmobjects.SObject.SObject1;
+import trufflesom.vmobjects.SObject.SObject2;
+import trufflesom.vmobjects.SObject.SObject3;
+import trufflesom.vmobjects.SObject.SObject4;
+import trufflesom.vmobjects.SObject.SObject5;
+
+
+public class ObjectShapeTests extends TruffleTestSetup {
+
+  private static SClass compileClassWithFields(final int numFields) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("Shape").append(numFields).append(" = nil ( |");
+    for (int i = 0; i < numFields; i += 1) {
+      sb.append(" f").append(i);
+    }
+    sb.append(" | )");
+
+    String code = sb.toString();
+    Parser<?> parser;
+    if (VmSettings.UseBcInterp) {
+      parser = new ParserBc(code, SomLanguage.getSyntheticSource(code, "shape"), null, universe);
+    } else {
+      parser =
+          new ParserAst(code, SomLanguage.getSyntheticSource(code, "shape"), null, universe);
+    }
+
+    try {
+      return SourcecodeCompiler.compile(parser, null);
+    } catch (ProgramDefinitionError e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Test
+  public void testShapeIsSizedToNumberOfFields() {
+    Class<?>[] expectedShapes = new Class<?>[] {
+        SObject.class, SObject1.class, SObject2.class, SObject3.class, SObject4.class,
+        SObject5.class, SObject5.class, SObject5.class};
+
+    for (int i = 0; i < expectedShapes.length; i += 1) {
+      SObject obj = SObject.create(compileClassWithFields(i));
+      assertSame(expectedShapes[i], obj.getClass());
+      assertEquals(Math.min(i, SObject.NUM_OBJECT_FIELDS),
+          obj.getObjectLayout().getNumberOfInlineFields());
+    }
+  }
+
+  @Test
+  public void testFieldsOfSmallShapeKeepValuesOnLayoutChange() {
+    SObject obj = SObject.create(compileClassWithFields(2));
+    assertSame(Nil.nilObject, obj.getField(0));
+
+    obj.setField(0, 42L);
+    obj.setField(1, "str");
+    obj.setField(0, 4.2);
+
+    assertEquals(4.2, obj.getField(0));
+    assertEquals("str", obj.getField(1));
+  }
+
+  @Test
+  public void testFieldsBeyondShapeUseExtensionStorage() {
+    int numFields = SObject.NUM_OBJECT_FIELDS + 3;
+    SObject obj = SObject.create(compileClassWithFields(numFields));
+
+    for (int i = 0; i < numFields; i += 1) {
+      obj.setField(i, (long) i);
+    }
+    obj.setField(numFields - 1, "last");
+
+    for (int i = 0; i < numFields - 1; i += 1) {
+      assertEquals((long) i, obj.getField(i));
+    }
+    assertEquals("last", obj.getField(numFields - 1));
+  }
+
+  @Test
+  public void testBooleanFieldsArePackedIntoOnePrimitiveField() {
+    SClass clazz = compileClassWithFields(4);
+    SObject obj = SObject.create(clazz);
+    obj.setField(0, true);
+    obj.setField(1, 1L);
+    obj.setField(2, false);
+
+    ObjectLayout layout = obj.getObjectLayout();
+    assertTrue(layout.getStorageLocation(0) instanceof AbstractBooleanStorageLocation);
+    assertTrue(layout.getStorageLocation(2) instanceof AbstractBooleanStorageLocation);
+    assertEquals(true, obj.getField(0));
+    assertEquals(1L, obj.getField(1));
+    assertEquals(false, obj.getField(2));
+    assertSame(Nil.nilObject, obj.getField(3));
+
+    SObject other = SObject.create(clazz);
+    assertSame(Nil.nilObject, other.getField(0));
+    assertSame(Nil.nilObject, other.getField(2));
+    other.setField(2, true);
+    assertFalse(layout.getStorageLocation(0).isSet(other));
+    assertEquals(true, other.getField(2));
+  }
+
+  @Test
+  public void testBooleanFieldIsGeneralizedOnOtherValue() {
+    SObject obj = SObject.create(compileClassWithFields(2));
+    obj.setField(0, true);
+    obj.setField(1, false);
+    obj.setField(0, "str");
+
+    ObjectLayout layout = obj.getObjectLayout();
+    assertTrue(layout.getStorageLocation(0) instanceof AbstractObjectStorageLocation);
+    assertEquals("str", obj.getField(0));
+    assertEquals(false, obj.getField(1));
+  }
+
+  @Test
+  public void testNewInstancesStartInLayoutReachedByEarlierInstances() {
+    SClass clazz = compileClassWithFields(3);
+    SObject first = SObject.create(clazz);
+    first.setField(0, 1L);
+    first.setField(1, 2.5);
+    first.setField(2, "str");
+    ObjectLayout reached = first.getObjectLayout();
+
+    SObject second = SObject.create(clazz);
+    assertSame(reached, second.getObjectLayout());
+
+    second.setField(0, 3L);
+    second.setField(1, 4.5);
+    second.setField(2, "other");
+    assertSame(reached, second.getObjectLayout());
+    assertTrue(reached.isValid());
+  }
+
+  @Test
+  public void testIdentityHashIsStableAcrossLayoutChanges() {
+    SObject obj = SObject.create(compileClassWithFields(1));
+    int hash = obj.getIdentityHash();
+    assertTrue(hash != 0);
+
+    obj.setField(0, 42L);
+    obj.setField(0, "str");
+    assertEquals(hash, obj.getIdentityHash());
+    assertFalse(hash == SObject.create(compileClassWithFields(1)).getIdentityHash());
+  }
+}
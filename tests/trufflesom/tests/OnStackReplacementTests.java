@@ -0,0 +1,96 @@
+package trufflesom.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+import static trufflesom.vm.SymbolTable.symbolFor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Context.Builder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import trufflesom.Launcher;
+import trufflesom.compiler.SourcecodeCompiler.BcCompiler;
+import trufflesom.interpreter.Invokable;
+import trufflesom.interpreter.Method;
+import trufflesom.interpreter.SomContext;
+import trufflesom.interpreter.SomLanguage;
+import trufflesom.interpreter.nodes.bc.BytecodeLoopNode;
+import trufflesom.interpreter.objectstorage.StorageAnalyzer;
+import trufflesom.vm.Globals;
+import trufflesom.vm.Universe;
+import trufflesom.vm.VmSettings;
+import trufflesom.vmobjects.SClass;
+
+
+public class OnStackReplacementTests {
+  private static final int ITERATIONS = 100_000;
+
+  /** The block refers to the frame of the loop, and is created before the loop. */
+  private static final String CLASS = "Osr = (\n"
+      + "  ----\n"
+      + "  test = (\n"
+      + "    | sum i add |\n"
+      + "    sum := 0.\n"
+      + "    i := 0.\n"
+      + "    add := [:x | sum := sum + x ].\n"
+      + "    [ i < " + ITERATIONS + " ] whileTrue: [\n"
+      + "      add value: i.\n"
+      + "      i := i + 1 ].\n"
+      + "    ^ sum\n"
+      + "  )\n"
+      + ")\n";
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private static Object readBody(final Method method) {
+    try {
+      java.lang.reflect.Field body = Method.class.getDeclaredField("body");
+      body.setAccessible(true);
+      return body.get(method);
+    } catch (ReflectiveOperationException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Test
+  public void testLoopOfMethodWithBlockIsReplacedOnStack() throws IOException {
+    assumeFalse(VmSettings.UseAstInterp);
+    assumeTrue(VmSettings.UseJitCompiler);
+
+    StorageAnalyzer.initAccessors();
+    Universe.setSourceCompiler(new BcCompiler(), true);
+
+    File dir = folder.newFolder();
+    Files.write(new File(dir, "Osr.som").toPath(), CLASS.getBytes(StandardCharsets.UTF_8));
+
+    Builder builder = Launcher.createContextBuilder();
+    builder.allowExperimentalOptions(true);
+    builder.option("engine.OSRCompilationThreshold", "100");
+    builder.option("engine.BackgroundCompilation", "false");
+    builder.option("som.CLASS_PATH", "Smalltalk" + File.pathSeparator + dir.getPath());
+    builder.option("som.TEST_CLASS", "Osr");
+    builder.option("som.TEST_SELECTOR", "test");
+
+    try (Context context = builder.build()) {
+      long expected = (long) ITERATIONS * (ITERATIONS - 1) / 2;
+      assertEquals(expected, context.eval(SomLanguage.START).asLong());
+
+      context.enter();
+      Globals globals = SomContext.get(null).getUniverse().getGlobals();
+      SClass osr = (SClass) globals.getGlobal(symbolFor("Osr"));
+      Invokable test = osr.getSOMClass().lookupInvokable(symbolFor("test")).getInvokable();
+      BytecodeLoopNode loop = (BytecodeLoopNode) readBody((Method) test);
+      assertNotNull(loop.getOSRMetadata());
+      context.leave();
+    }
+  }
+}
@@ -49,7 +49,6 @@ import trufflesom.interpreter.nodes.literals.IntegerLiteralNode;
 import trufflesom.interpreter.objectstorage.ObjectLayout;
 import trufflesom.primitives.Primitives;
 import trufflesom.primitives.basics.NewObjectPrimFactory;
-import trufflesom.vm.Universe;
 import trufflesom.vm.VmSettings;
 import trufflesom.vmobjects.SClass;
 import trufflesom.vmobjects.SInvokable;
@@ -67,7 +66,7 @@ public class OptimizeTrivialTests extends TruffleTestSetup {
   private SInvokable parseMethodToSInvokable(final String source) {
     Source s = SomLanguage.getSyntheticSource(source, "test");
 
-    cgenc = new ClassGenerationContext(s, null);
+    cgenc = new ClassGenerationContext(s, null, universe);
     cgenc.setName(symbolFor("Test"));
     addAllFields();
 
@@ -82,11 +81,11 @@ public class OptimizeTrivialTests extends TruffleTestSetup {
 
     try {
       if (VmSettings.UseAstInterp) {
-        ParserAst parser = new ParserAst(source, s, null);
+        ParserAst parser = new ParserAst(source, s, null, universe);
         ExpressionNode body = parser.method(mgenc);
         return mgenc.assemble(body, coord);
       } else {
-        ParserBc parser = new ParserBc(source, s, probe);
+        ParserBc parser = new ParserBc(source, s, probe, universe);
         parser.method((BytecodeMethodGenContext) mgenc);
         return mgenc.assemble(null, coord);
       }
@@ -117,7 +116,7 @@ public class OptimizeTrivialTests extends TruffleTestSetup {
 
   private Method parseBlock(final String source) {
     Source s = SomLanguage.getSyntheticSource(source, "test");
-    cgenc = new ClassGenerationContext(s, null);
+    cgenc = new ClassGenerationContext(s, null, universe);
     cgenc.setName(symbolFor("Test"));
     addAllFields();
 
@@ -142,11 +141,11 @@ public class OptimizeTrivialTests extends TruffleTestSetup {
 
     try {
       if (VmSettings.UseAstInterp) {
-        ParserAst parser = new ParserAst(source, s, null);
+        ParserAst parser = new ParserAst(source, s, null, universe);
         ExpressionNode body = parser.nestedBlock(bgenc);
         ivkbl = bgenc.assemble(body, coord);
       } else {
-        ParserBc parser = new ParserBc(source, s, probe);
+        ParserBc parser = new ParserBc(source, s, probe, universe);
         parser.nestedBlock((BytecodeMethodGenContext) bgenc);
         ivkbl = bgenc.assemble(null, coord);
       }
@@ -416,7 +415,7 @@ public class OptimizeTrivialTests extends TruffleTestSetup {
     int numFields = fieldNames.size();
     SClass clazz =
         parseMethodAndConstructClass(methodSig + " = ( " + methodBody + " )", superClass);
-    SObject object = new SObject(clazz, new ObjectLayout(numFields, clazz));
+    SObject object = SObject.create(clazz, new ObjectLayout(numFields, clazz));
     AbstractDispatchNode dispatch =
         UninitializedDispatchNode.createDispatch(object, symbolFor(methodName),
             null);
@@ -494,41 +493,46 @@ public class OptimizeTrivialTests extends TruffleTestSetup {
 
   private SClass constructDummyObjectClass() {
     Source s = SomLanguage.getSyntheticSource("dummy-content", "test");
-    ClassGenerationContext objCgenc = new ClassGenerationContext(s, null);
+    ClassGenerationContext objCgenc = new ClassGenerationContext(s, null, universe);
     objCgenc.setName(symbolFor("Object"));
+    SomLanguage lang = universe.getLanguage();
 
     try {
       objCgenc.addInstanceMethod(
-          Primitives.constructEmptyPrimitive(symbolFor("="), s, 1, probe), null);
+          Primitives.constructEmptyPrimitive(symbolFor("="), s, 1, probe, lang), null);
       objCgenc.addInstanceMethod(
-          Primitives.constructEmptyPrimitive(symbolFor("=="), s, 1, probe), null);
+          Primitives.constructEmptyPrimitive(symbolFor("=="), s, 1, probe, lang), null);
       objCgenc.addInstanceMethod(
-          Primitives.constructEmptyPrimitive(symbolFor("~="), s, 1, probe), null);
+          Primitives.constructEmptyPrimitive(symbolFor("~="), s, 1, probe, lang), null);
       objCgenc.addInstanceMethod(
-          Primitives.constructEmptyPrimitive(symbolFor("class"), s, 1, probe), null);
+          Primitives.constructEmptyPrimitive(symbolFor("class"), s, 1, probe, lang), null);
       objCgenc.addInstanceMethod(
-          Primitives.constructEmptyPrimitive(symbolFor("halt"), s, 1, probe), null);
+          Primitives.constructEmptyPrimitive(symbolFor("halt"), s, 1, probe, lang), null);
       objCgenc.addInstanceMethod(
-          Primitives.constructEmptyPrimitive(symbolFor("hashcode"), s, 1, probe), null);
+          Primitives.constructEmptyPrimitive(symbolFor("hashcode"), s, 1, probe, lang), null);
       objCgenc.addInstanceMethod(
-          Primitives.constructEmptyPrimitive(symbolFor("objectSize"), s, 1, probe), null);
+          Primitives.constructEmptyPrimitive(symbolFor("objectSize"), s, 1, probe, lang), null);
       objCgenc.addInstanceMethod(
-          Primitives.constructEmptyPrimitive(symbolFor("instVarNamed:"), s, 1, probe), null);
+          Primitives.constructEmptyPrimitive(symbolFor("instVarNamed:"), s, 1, probe, lang),
+          null);
       objCgenc.addInstanceMethod(
-          Primitives.constructEmptyPrimitive(symbolFor("instVarAt:"), s, 1, probe), null);
+          Primitives.constructEmptyPrimitive(symbolFor("instVarAt:"), s, 1, probe, lang), null);
       objCgenc.addInstanceMethod(
-          Primitives.constructEmptyPrimitive(symbolFor("instVarAt:put:"), s, 1, probe), null);
+          Primitives.constructEmptyPrimitive(symbolFor("instVarAt:put:"), s, 1, probe, lang),
+          null);
       objCgenc.addInstanceMethod(
-          Primitives.constructEmptyPrimitive(symbolFor("perform:"), s, 1, probe), null);
+          Primitives.constructEmptyPrimitive(symbolFor("perform:"), s, 1, probe, lang), null);
       objCgenc.addInstanceMethod(
-          Primitives.constructEmptyPrimitive(symbolFor("perform:withArguments:"), s, 1, probe),
+          Primitives.constructEmptyPrimitive(symbolFor("perform:withArguments:"), s, 1, probe,
+              lang),
           null);
       objCgenc.addInstanceMethod(
           Primitives.constructEmptyPrimitive(symbolFor("perform:withArguments:inSuperclass:"),
-              s, 1, probe),
+              s, 1, probe, lang),
           null);
       objCgenc.addInstanceMethod(
-          Primitives.constructEmptyPrimitive(symbolFor("perform:inSuperclass:"), s, 1, probe),
+          Primitives.constructEmptyPrimitive(symbolFor("perform:inSuperclass:"), s, 1, probe,
+              lang),
           null);
 
       objCgenc.addClassMethod(constructDummyNewPrim(s), null);
@@ -537,15 +541,16 @@ public class OptimizeTrivialTests extends TruffleTestSetup {
     }
 
     SClass objClazz = objCgenc.assemble();
-    Universe.loadPrimitives(objClazz, true);
+    universe.loadPrimitives(objClazz, true);
 
     return objClazz;
   }
 
-  private static SPrimitive constructDummyNewPrim(final Source s) {
+  private SPrimitive constructDummyNewPrim(final Source s) {
     ExpressionNode newPrim = NewObjectPrimFactory.create(null);
     SSymbol symNew = symbolFor("new");
-    Primitive primMethodNode = new Primitive("new", s, 1, newPrim, newPrim);
+    Primitive primMethodNode = new Primitive("new", s, 1, newPrim, newPrim,
+        universe.getLanguage());
     return new SPrimitive(symNew, primMethodNode);
   }
 }
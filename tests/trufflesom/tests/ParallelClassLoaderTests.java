@@ -0,0 +1,83 @@
+package trufflesom.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static trufflesom.vm.SymbolTable.symbolFor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import trufflesom.compiler.ParallelClassLoader;
+import trufflesom.compiler.SourcecodeCompiler;
+import trufflesom.compiler.SourcecodeCompiler.AstCompiler;
+import trufflesom.compiler.SourcecodeCompiler.BcCompiler;
+import trufflesom.vm.Globals;
+import trufflesom.vm.Universe;
+import trufflesom.vm.VmSettings;
+import trufflesom.vmobjects.SClass;
+
+
+public class ParallelClassLoaderTests extends TruffleTestSetup {
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private void writeClass(final File dir, final String name, final String code)
+      throws IOException {
+    Files.write(new File(dir, name + ".som").toPath(), code.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static SourcecodeCompiler createCompiler() {
+    if (VmSettings.UseAstInterp) {
+      return new AstCompiler();
+    }
+    return new BcCompiler();
+  }
+
+  @Test
+  public void testLoadsSubclassesAfterTheirSuperclass() throws IOException {
+    File dir = folder.newFolder("classes");
+    writeClass(dir, "ParallelSub", "ParallelSub = ParallelBase ( | c | c = ( ^ c ) "
+        + "others = ( ^ Array with: ParallelBroken with: ParallelMisnamed ) )");
+    writeClass(dir, "ParallelBase", "ParallelBase = nil ( | a b | a = ( ^ a ) )");
+    writeClass(dir, "ParallelBroken", "ParallelBroken = nil ( a = ( ^ ) )");
+    writeClass(dir, "ParallelMisnamed", "SomethingElse = nil ( )");
+
+    Universe loader = new Universe(universe.getLanguage(), new String[] {dir.getPath()});
+    ParallelClassLoader.loadReachable(loader, "ParallelSub", createCompiler());
+    Globals globals = loader.getGlobals();
+
+    SClass base = (SClass) globals.getGlobal(symbolFor("ParallelBase"));
+    SClass sub = (SClass) globals.getGlobal(symbolFor("ParallelSub"));
+    assertEquals("ParallelBase", base.getName().getString());
+    assertSame(base, sub.getSuperClass());
+    assertEquals(3, sub.getNumberOfInstanceFields());
+
+    assertNull(globals.getGlobal(symbolFor("ParallelBroken")));
+    assertNull(globals.getGlobal(symbolFor("ParallelMisnamed")));
+    assertNull(globals.getGlobal(symbolFor("SomethingElse")));
+  }
+
+  @Test
+  public void testLoadsOnlyClassesReachableFromMainClass() throws IOException {
+    File dir = folder.newFolder("reachable");
+    writeClass(dir, "ReachableMain",
+        "ReachableMain = nil ( run = ( ^ ReachableHelper new value ) )");
+    writeClass(dir, "ReachableHelper", "ReachableHelper = nil ( value = ( ^ 42 ) )");
+    writeClass(dir, "ReachableUnused", "ReachableUnused = nil ( )");
+
+    Universe loader = new Universe(universe.getLanguage(), new String[] {dir.getPath()});
+    ParallelClassLoader.loadReachable(loader, "ReachableMain", createCompiler());
+    Globals globals = loader.getGlobals();
+
+    assertNotNull(globals.getGlobal(symbolFor("ReachableMain")));
+    assertNotNull(globals.getGlobal(symbolFor("ReachableHelper")));
+    assertNull(globals.getGlobal(symbolFor("ReachableUnused")));
+  }
+}
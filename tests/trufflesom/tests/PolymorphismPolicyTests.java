@@ -0,0 +1,135 @@
+package trufflesom.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Context.Builder;
+import org.graalvm.polyglot.Engine;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import trufflesom.Launcher;
+import trufflesom.compiler.SourcecodeCompiler.AstCompiler;
+import trufflesom.compiler.SourcecodeCompiler.BcCompiler;
+import trufflesom.interpreter.SomLanguage;
+import trufflesom.interpreter.objectstorage.StorageAnalyzer;
+import trufflesom.vm.PolymorphismPolicy;
+import trufflesom.vm.Universe;
+import trufflesom.vm.VmSettings;
+
+
+public class PolymorphismPolicyTests {
+  private static final String CLASS = "Poly = (\n"
+      + "  ----\n"
+      + "  test = (\n"
+      + "    | sum |\n"
+      + "    sum := 0.\n"
+      + "    1 to: 10 do: [:i |\n"
+      + "      #(1 'a' #b 2.5) do: [:e | sum := sum + e printString length ] ].\n"
+      + "    ^ sum\n"
+      + "  )\n"
+      + ")\n";
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private Builder createBuilder() throws IOException {
+    StorageAnalyzer.initAccessors();
+    if (VmSettings.UseAstInterp) {
+      Universe.setSourceCompiler(new AstCompiler(), true);
+    } else {
+      Universe.setSourceCompiler(new BcCompiler(), true);
+    }
+
+    File dir = folder.newFolder();
+    Files.write(new File(dir, "Poly.som").toPath(), CLASS.getBytes(StandardCharsets.UTF_8));
+
+    Builder builder = Launcher.createContextBuilder();
+    builder.option("som.CLASS_PATH", "Smalltalk" + File.pathSeparator + dir.getPath());
+    builder.option("som.TEST_CLASS", "Poly");
+    builder.option("som.TEST_SELECTOR", "test");
+    return builder;
+  }
+
+  private static PolymorphismPolicy evalAndGetPolicy(final Context context) {
+    context.eval(SomLanguage.START);
+
+    context.enter();
+    PolymorphismPolicy policy = SomLanguage.getCurrent().getPolicy();
+    context.leave();
+    return policy;
+  }
+
+  private List<String> runWithReport(final boolean adaptive) throws IOException {
+    Builder builder = createBuilder();
+    builder.option("som.InlineCacheSize", "1");
+    builder.option("som.AdaptiveInlineCaches", Boolean.toString(adaptive));
+    builder.option("som.AdaptiveMinHits", "0");
+    builder.option("som.MegamorphicReport", "true");
+
+    try (Context context = builder.build()) {
+      return evalAndGetPolicy(context).getMegamorphicSites();
+    }
+  }
+
+  private static boolean reports(final List<String> sites, final String selector) {
+    for (String site : sites) {
+      if (site.contains(" #" + selector + " ")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Test
+  public void testFullInlineCacheGoesMegamorphic() throws IOException {
+    List<String> sites = runWithReport(false);
+    assertTrue(sites.toString(), reports(sites, "printString"));
+  }
+
+  @Test
+  public void testAdaptiveInlineCacheKeepsHotReceivers() throws IOException {
+    List<String> sites = runWithReport(true);
+    assertFalse(sites.toString(), reports(sites, "printString"));
+  }
+
+  @Test
+  public void testAdaptiveCacheNeedsHitsOnAllEntries() {
+    PolymorphismPolicy policy = new PolymorphismPolicy(1, true, 4, 10, false);
+
+    assertTrue(policy.mayExtendDispatchChain(0, 0));
+    assertFalse(policy.mayExtendDispatchChain(1, 9));
+    assertTrue(policy.mayExtendDispatchChain(1, 10));
+    assertTrue(policy.mayExtendDispatchChain(3, 100));
+    assertFalse(policy.mayExtendDispatchChain(4, 100));
+  }
+
+  @Test
+  public void testContextsOfSharedEngineUseTheirOwnPolicy() throws IOException {
+    try (Engine engine = Launcher.createSharedEngine()) {
+      Builder builder = createBuilder().engine(engine);
+      PolymorphismPolicy small;
+      try (Context context = builder.option("som.InlineCacheSize", "2").build()) {
+        small = evalAndGetPolicy(context);
+      }
+
+      PolymorphismPolicy large;
+      try (Context context = builder.option("som.InlineCacheSize", "4").build()) {
+        large = evalAndGetPolicy(context);
+      }
+
+      assertEquals(2, small.getInlineCacheSize());
+      assertEquals(4, large.getInlineCacheSize());
+      assertNotSame(small, large);
+    }
+  }
+}
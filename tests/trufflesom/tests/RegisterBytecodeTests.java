@@ -0,0 +1,123 @@
+package trufflesom.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static trufflesom.vm.SymbolTable.strSelf;
+import static trufflesom.vm.SymbolTable.symbolFor;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.source.Source;
+
+import trufflesom.bdt.basic.ProgramDefinitionError;
+import trufflesom.bdt.source.SourceCoordinate;
+import trufflesom.compiler.ClassGenerationContext;
+import trufflesom.compiler.ParserBc;
+import trufflesom.compiler.bc.BytecodeMethodGenContext;
+import trufflesom.compiler.bc.RegisterCodeGenerator;
+import trufflesom.compiler.bc.RegisterCodeGenerator.RegisterCode;
+import trufflesom.interpreter.SomLanguage;
+import trufflesom.interpreter.bc.Bytecodes;
+import trufflesom.interpreter.bc.RegisterBytecodes;
+
+
+public class RegisterBytecodeTests extends BytecodeTestSetup {
+
+  private RegisterCode methodToRegisterCode(final String source) {
+    Source s = SomLanguage.getSyntheticSource(source, "test");
+
+    cgenc = new ClassGenerationContext(s, null, universe);
+    cgenc.setName(symbolFor("Test"));
+    addAllFields();
+
+    mgenc = new BytecodeMethodGenContext(cgenc, probe);
+    mgenc.addArgumentIfAbsent(strSelf, SourceCoordinate.create(1, 1));
+
+    ParserBc parser = new ParserBc(source, s, probe, universe);
+    try {
+      parser.method(mgenc);
+    } catch (ProgramDefinitionError e) {
+      throw new RuntimeException(e);
+    }
+
+    RegisterCode code =
+        RegisterCodeGenerator.translate(mgenc.getBytecodeArray(), mgenc.getLiteralsArray());
+    assertNotNull(code);
+    return code;
+  }
+
+  private static void checkRegisterCode(final byte[] actual, final byte... expected) {
+    int i = 0;
+    int e = 0;
+    while (i < actual.length) {
+      assertTrue("More register bytecodes than expected", e < expected.length);
+      assertEquals("Register bytecode " + i + " expected "
+          + RegisterBytecodes.getName(expected[e]) + " but got "
+          + RegisterBytecodes.getName(actual[i]), expected[e], actual[i]);
+      i += RegisterBytecodes.getLength(actual, i);
+      e += 1;
+    }
+    assertEquals(expected.length, e);
+  }
+
+  private static boolean contains(final byte[] code, final byte bytecode) {
+    for (int i = 0; i < code.length; i += RegisterBytecodes.getLength(code, i)) {
+      if (code[i] == bytecode) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Test
+  public void testReturnSelf() {
+    RegisterCode code = methodToRegisterCode("test = ( )");
+    checkRegisterCode(code.code, RegisterBytecodes.R_RETURN_SELF);
+    assertEquals(0, code.numRegisters);
+  }
+
+  @Test
+  public void testIncrementOfArgumentReadsArgumentDirectly() {
+    RegisterCode code = methodToRegisterCode("test: a = ( ^ a + 1 )");
+    checkRegisterCode(code.code, RegisterBytecodes.R_INC, RegisterBytecodes.R_RETURN);
+
+    assertEquals(RegisterBytecodes.OPND_ARG, code.code[2]);
+    assertEquals(1, code.code[3]);
+    assertEquals(1, code.numRegisters);
+  }
+
+  @Test
+  public void testSendUsesOperandsWithoutMoves() {
+    RegisterCode code = methodToRegisterCode("test: a = ( ^ a foo: 2 )");
+    checkRegisterCode(code.code, RegisterBytecodes.R_SEND, RegisterBytecodes.R_RETURN);
+
+    assertEquals(2, code.code[3]);
+    assertEquals(RegisterBytecodes.OPND_ARG, code.code[4]);
+    assertEquals(1, code.code[5]);
+    assertEquals(RegisterBytecodes.OPND_CONST, code.code[6]);
+  }
+
+  @Test
+  public void testAssignmentToLocalIsSingleStore() {
+    RegisterCode code = methodToRegisterCode("test: a = ( | l | l := a. ^ l )");
+    checkRegisterCode(code.code, RegisterBytecodes.R_STORE_LOCAL,
+        RegisterBytecodes.R_RETURN);
+  }
+
+  @Test
+  public void testWhileLoopIsTranslated() {
+    RegisterCode code = methodToRegisterCode(
+        "test = ( | i | i := 0. [ i < 10 ] whileTrue: [ i := i + 1 ] )");
+
+    assertTrue(contains(code.code, RegisterBytecodes.R_JUMP_ON_FALSE));
+    assertTrue(contains(code.code, RegisterBytecodes.R_JUMP_BACKWARDS));
+    assertTrue(code.code.length < mgenc.getBytecodeArray().length * 3);
+  }
+
+  @Test
+  public void testQuickenedBytecodeIsNotTranslated() {
+    byte[] quickened = new byte[] {Bytecodes.Q_SEND, 0, Bytecodes.RETURN_LOCAL};
+    assertEquals(null, RegisterCodeGenerator.translate(quickened, new Object[0]));
+  }
+}
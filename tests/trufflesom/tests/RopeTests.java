@@ -0,0 +1,147 @@
+package trufflesom.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static trufflesom.vm.SymbolTable.symbolFor;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import trufflesom.interpreter.Types;
+import trufflesom.vm.Classes;
+import trufflesom.vmobjects.SHashMap;
+import trufflesom.vmobjects.SRope;
+
+
+public class RopeTests extends TruffleTestSetup {
+  private static Classes classes;
+
+  @BeforeClass
+  public static void init() {
+    reinitTruffleAndEnterContext();
+    universe.initializeObjectSystem();
+    classes = universe.getClasses();
+  }
+
+  @AfterClass
+  public static void close() {
+    closeContext();
+  }
+
+  /** Invokes the method the receiver's class has for the selector, as a send would. */
+  private static Object send(final String selector, final Object... arguments) {
+    return Types.getClassOf(arguments[0]).lookupInvokable(symbolFor(selector))
+                .invoke(arguments);
+  }
+
+  private static String longString(final char c) {
+    return String.valueOf(c).repeat(SRope.MIN_ROPE_LENGTH);
+  }
+
+  @Test
+  public void testShortConcatenationStaysFlat() {
+    assertEquals("abcd", SRope.concat("ab", "cd"));
+  }
+
+  @Test
+  public void testDeepRopeFlattensIteratively() {
+    String part = "0123456789";
+    Object str = "";
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 100_000; i++) {
+      str = SRope.concat(str, part);
+      expected.append(part);
+    }
+
+    assertTrue(str instanceof SRope);
+    assertEquals(expected.length(), ((SRope) str).length());
+    assertEquals(expected.toString(), ((SRope) str).flatten());
+  }
+
+  @Test
+  public void testRopeKeysAreStrings() {
+    String key = "k".repeat(SRope.MIN_ROPE_LENGTH);
+    Object rope = SRope.concat(key.substring(0, 10), key.substring(10));
+    assertTrue(rope instanceof SRope);
+
+    SHashMap map = new SHashMap(4);
+    map.put(rope, 1L);
+    assertTrue(map.isStringType());
+    assertEquals(1L, map.get(key));
+  }
+
+  @Test
+  public void testCastFlattensRope() {
+    String left = longString('a');
+    String right = longString('b');
+    SRope rope = (SRope) SRope.concat(left, right);
+
+    String flat = Types.castRope(rope);
+    assertEquals(left + right, flat);
+    assertSame(flat, Types.castRope(rope));
+  }
+
+  @Test
+  public void testRopeIsString() {
+    Object rope = SRope.concat(longString('a'), longString('b'));
+    assertSame(classes.stringClass, Types.getClassOf(rope));
+  }
+
+  @Test
+  public void testConcatenatePrimitiveCreatesRopes() {
+    String left = longString('a');
+    String right = longString('b');
+
+    Object rope = send("concatenate:", left, right);
+    assertTrue(rope instanceof SRope);
+
+    Object longer = send("concatenate:", rope, rope);
+    assertTrue(longer instanceof SRope);
+    assertEquals(4 * SRope.MIN_ROPE_LENGTH, ((SRope) longer).length());
+  }
+
+  @Test
+  public void testRopeEqualsString() {
+    String left = longString('a');
+    String right = longString('b');
+    Object rope = send("concatenate:", left, right);
+
+    assertEquals(true, send("=", rope, left + right));
+    assertEquals(true, send("=", left + right, rope));
+    assertEquals(false, send("=", rope, right + left));
+  }
+
+  @Test
+  public void testRopeHashcodeIsStringHashcode() {
+    String left = longString('a');
+    String right = longString('b');
+    Object rope = send("concatenate:", left, right);
+
+    assertEquals(send("hashcode", left + right), send("hashcode", rope));
+  }
+
+  @Test
+  public void testLengthDoesNotFlatten() {
+    Object rope = send("concatenate:", longString('a'), longString('b'));
+
+    assertEquals((long) 2 * SRope.MIN_ROPE_LENGTH, send("length", rope));
+    assertNull(read(rope, "flat", String.class));
+  }
+
+  @Test
+  public void testContentEqualsFlattensOnlyForSameLength() {
+    String left = longString('a');
+    String right = longString('b');
+    SRope rope = (SRope) SRope.concat(left, right);
+
+    assertFalse(rope.contentEquals(left));
+    assertNull(read(rope, "flat", String.class));
+
+    assertTrue(rope.contentEquals(left + right));
+    assertFalse(rope.contentEquals(right + left));
+  }
+}
@@ -0,0 +1,135 @@
+package trufflesom.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static trufflesom.vm.SymbolTable.symbolFor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Context.Builder;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Value;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import trufflesom.Launcher;
+import trufflesom.compiler.SourcecodeCompiler.AstCompiler;
+import trufflesom.compiler.SourcecodeCompiler.BcCompiler;
+import trufflesom.interpreter.SomContext;
+import trufflesom.interpreter.SomLanguage;
+import trufflesom.interpreter.objectstorage.StorageAnalyzer;
+import trufflesom.vm.Universe;
+import trufflesom.vm.VmSettings;
+import trufflesom.vmobjects.SClass;
+
+
+public class SharedEngineTests {
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private static Universe evalInContext(final Engine engine) {
+    Builder builder = Launcher.createContextBuilder();
+    builder.engine(engine);
+    builder.option("som.CLASS_PATH", "Smalltalk:TestSuite/BasicInterpreterTests");
+    builder.option("som.TEST_CLASS", "MethodCall");
+    builder.option("som.TEST_SELECTOR", "test");
+
+    try (Context context = builder.build()) {
+      Value result = context.eval(SomLanguage.START);
+      assertEquals(42, result.asLong());
+
+      context.enter();
+      Universe universe = SomContext.get(null).getUniverse();
+      context.leave();
+      return universe;
+    }
+  }
+
+  private static void initCompiler() {
+    StorageAnalyzer.initAccessors();
+
+    if (VmSettings.UseAstInterp) {
+      Universe.setSourceCompiler(new AstCompiler(), true);
+    } else {
+      Universe.setSourceCompiler(new BcCompiler(), true);
+    }
+  }
+
+  @Test
+  public void testContextsReuseLanguageAndClasses() {
+    initCompiler();
+
+    try (Engine engine = Launcher.createSharedEngine()) {
+      Universe universe = evalInContext(engine);
+      SClass clazz = (SClass) universe.getGlobals().getGlobal(symbolFor("MethodCall"));
+
+      Universe other = evalInContext(engine);
+      assertSame(universe.getLanguage(), other.getLanguage());
+      assertSame(universe, other);
+      assertSame(clazz, other.getGlobals().getGlobal(symbolFor("MethodCall")));
+    }
+  }
+
+  private File writeMain(final String dirName, final int exitCode) throws IOException {
+    File dir = folder.newFolder(dirName);
+    File main = new File(dir, "Main.som");
+    String code = "Main = ( run = ( system exit: " + exitCode + " ) )";
+    Files.write(main.toPath(), code.getBytes(StandardCharsets.UTF_8));
+    return main;
+  }
+
+  @Test
+  public void testEvalFromDifferentDirectoriesOnSharedEngine() throws IOException {
+    initCompiler();
+
+    File first = writeMain("first", 3);
+    File second = writeMain("second", 4);
+
+    try (Engine engine = Launcher.createSharedEngine()) {
+      assertEquals(3, Launcher.eval(engine, new String[] {"-cp", "Smalltalk", first.getPath()}));
+      assertEquals(4,
+          Launcher.eval(engine, new String[] {"-cp", "Smalltalk", second.getPath()}));
+      assertEquals(3, Launcher.eval(engine, new String[] {"-cp", "Smalltalk", first.getPath()}));
+    }
+  }
+
+  @Test
+  public void testPreinitializedSystemClassesNeedSameClassPath() {
+    initCompiler();
+
+    try (Context context = Launcher.createContextBuilder().build()) {
+      context.eval(SomLanguage.INIT);
+      context.enter();
+      Universe universe =
+          SomContext.get(null).useClassPath(Universe.classPathFor("Smalltalk"));
+      universe.initializeObjectSystem();
+
+      assertTrue(universe.resolvesToSameSystemClasses(Universe.classPathFor("Smalltalk")));
+      assertTrue(universe.resolvesToSameSystemClasses(
+          Universe.classPathForArguments(new String[] {"-cp", "./Smalltalk", "Hello.som"}, "")));
+      assertFalse(universe.resolvesToSameSystemClasses(
+          Universe.classPathForArguments(new String[] {"-cp", "TestSuite", "Hello.som"}, "")));
+      context.leave();
+    }
+  }
+
+  @Test
+  public void testClassPathOptionIsUsedWithoutClassPathArgument() {
+    String[] path = Universe.classPathForArguments(new String[] {"Examples/Hello.som"},
+        "Smalltalk" + File.pathSeparator + "TestSuite");
+    assertEquals("Examples", path[0]);
+    assertEquals("Smalltalk", path[1]);
+    assertEquals("TestSuite", path[2]);
+
+    path = Universe.classPathForArguments(
+        new String[] {"-cp", "Smalltalk", "Examples/Hello.som"}, "TestSuite");
+    assertEquals("Examples", path[0]);
+    assertEquals("Smalltalk", path[1]);
+  }
+}
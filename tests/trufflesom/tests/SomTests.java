@@ -33,7 +33,6 @@ import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 
 import trufflesom.Launcher;
-import trufflesom.vm.Classes;
 import trufflesom.vmobjects.SObject;
 
 
@@ -98,8 +97,6 @@ public class SomTests {
 
   @Test
   public void testSomeTest() {
-    Classes.reset();
-
     Value returnCode = Launcher.eval(
         new String[] {"-cp", "Smalltalk", "TestSuite/TestHarness.som", testName});
     if (returnCode.isNumber()) {
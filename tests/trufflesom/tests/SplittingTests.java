@@ -9,7 +9,6 @@ import org.junit.Test;
 
 import trufflesom.interpreter.Invokable;
 import trufflesom.interpreter.nodes.ExpressionNode;
-import trufflesom.vm.Universe;
 import trufflesom.vm.constants.Nil;
 import trufflesom.vmobjects.SInvokable.SMethod;
 
@@ -18,10 +17,8 @@ public class SplittingTests extends AstTestSetup {
 
   @BeforeClass
   public static void init() {
-    Universe.setupClassPath("Smalltalk");
-
     reinitTruffleAndEnterContext();
-    Universe.initializeObjectSystem();
+    universe.initializeObjectSystem();
   }
 
   @AfterClass
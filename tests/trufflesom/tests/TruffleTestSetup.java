@@ -19,6 +19,7 @@ import trufflesom.compiler.Field;
 import trufflesom.compiler.SourcecodeCompiler.AstCompiler;
 import trufflesom.compiler.SourcecodeCompiler.BcCompiler;
 import trufflesom.compiler.Variable;
+import trufflesom.interpreter.SomContext;
 import trufflesom.interpreter.SomLanguage;
 import trufflesom.interpreter.nodes.ExpressionNode;
 import trufflesom.interpreter.nodes.literals.BlockNode;
@@ -34,6 +35,8 @@ import trufflesom.vmobjects.SSymbol;
 public class TruffleTestSetup {
   private static Context truffleContext;
 
+  protected static Universe universe;
+
   protected ClassGenerationContext cgenc;
 
   protected final StructuralProbe<SSymbol, SClass, SInvokable, Field, Variable> probe;
@@ -62,8 +65,11 @@ public class TruffleTestSetup {
     Context context = builder.build();
     context.eval(SomLanguage.INIT);
 
-    Universe.selfSource = SomLanguage.getSyntheticSource("self", "self");
-    Universe.selfCoord = SourceCoordinate.createEmpty();
+    context.enter();
+    universe = SomContext.get(null).useClassPath(Universe.classPathFor("Smalltalk"));
+    universe.setSelf(SomLanguage.getSyntheticSource("self", "self"),
+        SourceCoordinate.createEmpty());
+    context.leave();
     return context;
   }
 
@@ -0,0 +1,84 @@
+package trufflesom.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static trufflesom.vm.SymbolTable.symbolFor;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import trufflesom.vm.Classes;
+import trufflesom.vmobjects.SInvokable;
+import trufflesom.vmobjects.SInvokable.SPrimitive;
+import trufflesom.vmobjects.SVector;
+
+
+public class VectorTests extends TruffleTestSetup {
+  private static Classes classes;
+
+  @BeforeClass
+  public static void init() {
+    reinitTruffleAndEnterContext();
+    universe.initializeObjectSystem();
+    classes = universe.getClasses();
+  }
+
+  @AfterClass
+  public static void close() {
+    closeContext();
+  }
+
+  @Test
+  public void testVectorGrowsOnAppend() {
+    SVector vec = new SVector(0);
+    assertTrue(vec.isEmptyType());
+
+    vec.transitionFromEmptyToLong();
+    for (long i = 0; i < 100; i++) {
+      vec.appendLong(i);
+    }
+    assertEquals(100, vec.getSize());
+    assertTrue(vec.getLongStorage().length >= 100);
+    assertEquals(99L, vec.getLongStorage()[99]);
+
+    assertEquals(99L, vec.removeLastLong());
+    assertEquals(99, vec.getSize());
+  }
+
+  @Test
+  public void testVectorTransitionsToObjectStorage() {
+    SVector vec = new SVector(2);
+    vec.transitionFromEmptyToDouble();
+    vec.appendDouble(1.5);
+    vec.appendDouble(2.5);
+
+    vec.transitionToObject();
+    vec.appendObject("str");
+    assertTrue(vec.isObjectType());
+    assertEquals(3, vec.getSize());
+    assertEquals(2.5, vec.getObjectStorage()[1]);
+
+    assertEquals("str", vec.removeLastObject());
+    assertEquals(null, vec.getObjectStorage()[2]);
+  }
+
+  @Test
+  public void testVectorClassHasPrimitives() {
+    for (String selector : new String[] {"at:", "append:", "removeLast", "size", "do:"}) {
+      SInvokable method = classes.vectorClass.lookupInvokable(symbolFor(selector));
+      assertTrue(selector, method instanceof SPrimitive);
+      assertEquals(classes.vectorClass, method.getHolder());
+    }
+  }
+
+  @Test
+  public void testNewCreatesVector() {
+    SInvokable newPrim =
+        classes.vectorClass.getSOMClass().lookupInvokable(symbolFor("new"));
+    Object vec = newPrim.invoke(new Object[] {classes.vectorClass});
+
+    assertTrue(vec instanceof SVector);
+    assertEquals(0, ((SVector) vec).getSize());
+  }
+}
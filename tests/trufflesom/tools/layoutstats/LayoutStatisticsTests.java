@@ -0,0 +1,49 @@
+package trufflesom.tools.layoutstats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.graalvm.polyglot.Engine;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import trufflesom.interpreter.objectstorage.StorageAnalyzer;
+import trufflesom.vmobjects.SClass;
+
+
+public class LayoutStatisticsTests {
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private static Engine createEngine(final File report) {
+    return Engine.newBuilder()
+                 .option(LayoutStatsTool.ID, "true")
+                 .option(LayoutStatsTool.ID + ".OutputFile", report.getPath())
+                 .build();
+  }
+
+  @Test
+  public void testEachEngineStartsWithEmptyStatistics() throws IOException {
+    StorageAnalyzer.initAccessors();
+    SClass clazz = new SClass(0);
+    File report = folder.newFile("layouts.yml");
+
+    try (Engine engine = createEngine(report)) {
+      assertTrue(LayoutStatistics.isEnabled());
+      LayoutStatistics.layoutInvalidated(clazz);
+      assertEquals(1, LayoutStatistics.getNumberOfClasses());
+      assertEquals(1, LayoutStatistics.getTotalInvalidations());
+    }
+    assertFalse(LayoutStatistics.isEnabled());
+    assertEquals(0, LayoutStatistics.getNumberOfClasses());
+
+    try (Engine engine = createEngine(report)) {
+      assertTrue(LayoutStatistics.isEnabled());
+      assertEquals(0, LayoutStatistics.getTotalInvalidations());
+    }
+  }
+}
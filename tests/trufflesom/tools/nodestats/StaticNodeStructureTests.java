@@ -102,6 +102,6 @@ public class StaticNodeStructureTests extends TruffleTestSetup {
   private Method constructMethod(final ExpressionNode body) {
     LexicalScope scope = new LexicalScope(null);
     scope.finalizeVariables(0);
-    return new Method("test", null, 0, body, scope, body);
+    return new Method("test", null, 0, body, scope, body, null);
   }
 }